@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.github.anba.es6draft.runtime.internal.IndexedMap;
+import com.github.anba.es6draft.runtime.types.builtins.ArrayObject;
+
+/**
+ * Array element access through {@link IndexedMap}, both directly and through {@link ArrayObject}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArrayElementBenchmark extends EngineState {
+    @Param({ "1", "64" })
+    public int stride;
+
+    @Param({ "1024" })
+    public int size;
+
+    private IndexedMap<Object> map;
+    private ArrayObject array;
+
+    @Setup
+    public void setUp() throws Exception {
+        setUpEngine();
+        map = new IndexedMap<>();
+        array = ArrayObject.ArrayCreate(cx, 0);
+        for (int i = 0; i < size; ++i) {
+            long index = (long) i * stride;
+            map.put(index, i);
+            array.set(cx, index, (Object) i, array);
+        }
+    }
+
+    @Benchmark
+    public void indexedMapGet(Blackhole bh) {
+        for (int i = 0; i < size; ++i) {
+            bh.consume(map.get((long) i * stride));
+        }
+    }
+
+    @Benchmark
+    public IndexedMap<Object> indexedMapPut() {
+        IndexedMap<Object> m = new IndexedMap<>();
+        for (int i = 0; i < size; ++i) {
+            m.put((long) i * stride, i);
+        }
+        return m;
+    }
+
+    @Benchmark
+    public void arrayGet(Blackhole bh) {
+        for (int i = 0; i < size; ++i) {
+            bh.consume(array.get(cx, (long) i * stride, array));
+        }
+    }
+
+    @Benchmark
+    public void arraySet() {
+        for (int i = 0; i < size; ++i) {
+            array.set(cx, (long) i * stride, (Object) i, array);
+        }
+    }
+}
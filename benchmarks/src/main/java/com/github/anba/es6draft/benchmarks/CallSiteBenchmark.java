@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmarks;
+
+import static com.github.anba.es6draft.runtime.AbstractOperations.Call;
+import static com.github.anba.es6draft.runtime.types.Undefined.UNDEFINED;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.anba.es6draft.runtime.internal.Bootstrap;
+
+/**
+ * {@link Bootstrap} call sites and property accesses from compiled code with a monomorphic, polymorphic or megamorphic
+ * set of receivers and call targets.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallSiteBenchmark extends EngineState {
+    @Param({ "1", "4", "16" })
+    public int targets;
+
+    private Object run;
+
+    @Setup
+    public void setUp() throws Exception {
+        setUpEngine();
+        eval("var receivers = [];\n" //
+                + "for (var i = 0; i < " + targets + "; ++i) {\n" //
+                + "  var o = {x: i};\n" //
+                + "  o['p' + i] = i;\n" //
+                + "  o.f = Function('a', 'return this.x + a + ' + i);\n" //
+                + "  receivers.push(o);\n" //
+                + "}\n" //
+                + "function run() {\n" //
+                + "  var s = 0;\n" //
+                + "  for (var i = 0; i < 1000; ++i) {\n" //
+                + "    var o = receivers[i % receivers.length];\n" //
+                + "    s += o.f(o.x);\n" //
+                + "  }\n" //
+                + "  return s;\n" //
+                + "}\n");
+        run = eval("run");
+    }
+
+    @Benchmark
+    public Object call() {
+        return Call(cx, run, UNDEFINED);
+    }
+}
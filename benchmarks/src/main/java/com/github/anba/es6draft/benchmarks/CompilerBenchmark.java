@@ -0,0 +1,72 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.anba.es6draft.ast.Script;
+import com.github.anba.es6draft.compiler.CompiledScript;
+import com.github.anba.es6draft.compiler.Compiler;
+import com.github.anba.es6draft.parser.Parser;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.Source;
+
+/**
+ * {@link Compiler} throughput, including class definition. Each invocation compiles a freshly parsed script, because
+ * the compiler annotates the syntax tree.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompilerBenchmark {
+    @Param({ "10", "100" })
+    public int functions;
+
+    private RuntimeContext context;
+    private Source source;
+    private String sourceCode;
+    private Script script;
+
+    @Setup
+    public void setUp() {
+        context = new RuntimeContext.Builder().build();
+        source = new Source("benchmark", 1);
+        sourceCode = Workloads.script(functions);
+    }
+
+    @Setup(Level.Invocation)
+    public void parse() {
+        script = new Parser(context, source).parseScript(sourceCode);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.getExecutor().shutdown();
+    }
+
+    @Benchmark
+    public CompiledScript compile() {
+        return new Compiler(context).compile(script, "#Benchmark");
+    }
+}
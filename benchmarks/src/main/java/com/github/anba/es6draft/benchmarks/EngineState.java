@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.github.anba.es6draft.runtime.ExecutionContext;
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.ScriptLoading;
+
+/**
+ * Shared benchmark state: a runtime context with a single initialized realm. Subclasses call
+ * {@link #setUpEngine()} from their own setup method.
+ */
+@State(Scope.Thread)
+public abstract class EngineState {
+    RuntimeContext context;
+    World world;
+    Realm realm;
+    ExecutionContext cx;
+
+    /**
+     * Creates the runtime context and the benchmark realm.
+     * 
+     * @throws Exception
+     *             if the realm could not be initialized
+     */
+    protected void setUpEngine() throws Exception {
+        context = new RuntimeContext.Builder().build();
+        world = new World(context);
+        realm = Realm.InitializeHostDefinedRealm(world);
+        cx = realm.defaultContext();
+    }
+
+    @TearDown
+    public void tearDownEngine() throws InterruptedException {
+        context.getExecutor().shutdown();
+        context.getExecutor().awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Evaluates the script source code in the benchmark realm.
+     * 
+     * @param sourceCode
+     *            the source code
+     * @return the evaluation result
+     */
+    Object eval(String sourceCode) {
+        return ScriptLoading.eval(realm, "benchmark", sourceCode);
+    }
+}
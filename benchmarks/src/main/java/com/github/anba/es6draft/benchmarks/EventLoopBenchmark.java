@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmarks;
+
+import static com.github.anba.es6draft.runtime.AbstractOperations.Call;
+import static com.github.anba.es6draft.runtime.types.Undefined.UNDEFINED;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.anba.es6draft.runtime.World;
+
+/**
+ * Draining promise jobs with {@link World#runEventLoop()}: a chain of {@code then} reactions and an async function
+ * awaiting in a loop.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventLoopBenchmark extends EngineState {
+    @Param({ "1000" })
+    public int jobs;
+
+    private Object promiseChain;
+    private Object asyncLoop;
+
+    @Setup
+    public void setUp() throws Exception {
+        setUpEngine();
+        promiseChain = eval("(function(n) {\n" //
+                + "  var p = Promise.resolve(0);\n" //
+                + "  for (var i = 0; i < n; ++i) p = p.then(v => v + 1);\n" //
+                + "})");
+        asyncLoop = eval("(async function(n) {\n" //
+                + "  var s = 0;\n" //
+                + "  for (var i = 0; i < n; ++i) s += await i;\n" //
+                + "  return s;\n" //
+                + "})");
+    }
+
+    @Benchmark
+    public void promiseChain() {
+        Call(cx, promiseChain, UNDEFINED, jobs);
+        world.runEventLoop();
+    }
+
+    @Benchmark
+    public void asyncAwait() {
+        Call(cx, asyncLoop, UNDEFINED, jobs);
+        world.runEventLoop();
+    }
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.anba.es6draft.parser.JSONParser;
+import com.github.anba.es6draft.runtime.objects.JSONObject;
+
+/**
+ * {@link JSONParser} and {@link JSONObject#stringify(com.github.anba.es6draft.runtime.ExecutionContext, Object)
+ * JSONObject.stringify}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JSONBenchmark extends EngineState {
+    @Param({ "10", "1000" })
+    public int records;
+
+    private String json;
+    private Object value;
+
+    @Setup
+    public void setUp() throws Exception {
+        setUpEngine();
+        json = (String) eval("var records = [];\n" //
+                + "for (var i = 0; i < " + records + "; ++i) {\n" //
+                + "  records.push({id: i, name: 'record \"' + i + '\"', score: i / 7, active: i % 2 == 0,\n" //
+                + "                tags: ['a', 'b\\n', 'c\\u00e4'], nested: {x: null, y: [1, 2, {z: 'z'}]}});\n" //
+                + "}\n" //
+                + "JSON.stringify(records);\n").toString();
+        value = JSONParser.parse(cx, json);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return JSONParser.parse(cx, json);
+    }
+
+    @Benchmark
+    public String stringify() {
+        return JSONObject.stringify(cx, value);
+    }
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.anba.es6draft.ast.Script;
+import com.github.anba.es6draft.parser.Parser;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.Source;
+
+/**
+ * {@link Parser} throughput for script and module code, from strings and from memory-mapped files.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+    @Param({ "100", "1000" })
+    public int functions;
+
+    private RuntimeContext context;
+    private Source source;
+    private String sourceCode;
+    private Path file;
+
+    @Setup
+    public void setUp() throws Exception {
+        context = new RuntimeContext.Builder().build();
+        source = new Source("benchmark", 1);
+        sourceCode = Workloads.script(functions);
+        file = Files.createTempFile("benchmark", ".js");
+        Files.write(file, sourceCode.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+        context.getExecutor().shutdown();
+    }
+
+    @Benchmark
+    public Script parseScript() {
+        return new Parser(context, source).parseScript(sourceCode);
+    }
+
+    @Benchmark
+    public Object parseModule() {
+        return new Parser(context, source).parseModule(sourceCode);
+    }
+
+    @Benchmark
+    public Script parseScriptFile() throws Exception {
+        return new Parser(context, source).parseScript(file);
+    }
+}
@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.anba.es6draft.runtime.types.Intrinsics;
+import com.github.anba.es6draft.runtime.types.builtins.OrdinaryObject;
+
+/**
+ * Property get and set on {@link OrdinaryObject}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyAccessBenchmark extends EngineState {
+    private static final String[] KEYS = { "a", "b", "c", "d", "e", "f", "g", "h" };
+
+    private OrdinaryObject object;
+    private OrdinaryObject inherited;
+    private Object value;
+
+    @Setup
+    public void setUp() throws Exception {
+        setUpEngine();
+        object = OrdinaryObject.ObjectCreate(cx, Intrinsics.ObjectPrototype);
+        for (String key : KEYS) {
+            object.set(cx, key, key, object);
+        }
+        inherited = OrdinaryObject.ObjectCreate(cx, object);
+        value = 1.5;
+    }
+
+    @Benchmark
+    public Object getOwn() {
+        return object.get(cx, "e", object);
+    }
+
+    @Benchmark
+    public Object getInherited() {
+        return inherited.get(cx, "e", inherited);
+    }
+
+    @Benchmark
+    public Object getMissing() {
+        return inherited.get(cx, "missing", inherited);
+    }
+
+    @Benchmark
+    public boolean setExisting() {
+        return object.set(cx, "e", value, object);
+    }
+
+    @Benchmark
+    public OrdinaryObject createAndInitialize() {
+        OrdinaryObject o = OrdinaryObject.ObjectCreate(cx, Intrinsics.ObjectPrototype);
+        for (String key : KEYS) {
+            o.set(cx, key, value, o);
+        }
+        return o;
+    }
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+
+/**
+ * {@link Realm#InitializeHostDefinedRealm(World)} with a shared runtime context, either with a new world per realm or
+ * with a single shared world. The shared world variant reports realms per second, run it with {@code -prof gc} to
+ * also report the allocated bytes per realm.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RealmBenchmark {
+    private RuntimeContext context;
+    private World world;
+
+    @Setup
+    public void setUp() {
+        context = new RuntimeContext.Builder().build();
+        world = new World(context);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.getExecutor().shutdown();
+    }
+
+    @Benchmark
+    public Realm initializeRealm() throws Exception {
+        return Realm.InitializeHostDefinedRealm(new World(context));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    public Realm initializeRealmSharedWorld() throws Exception {
+        return Realm.InitializeHostDefinedRealm(world);
+    }
+}
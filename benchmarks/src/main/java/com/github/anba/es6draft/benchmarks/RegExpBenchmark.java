@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.anba.es6draft.regexp.MatcherResult;
+import com.github.anba.es6draft.regexp.MatcherState;
+import com.github.anba.es6draft.regexp.RegExpMatcher;
+import com.github.anba.es6draft.regexp.RegExpParser;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+
+/**
+ * {@link RegExpParser#parse(RuntimeContext, String, String, String, int, int) RegExpParser.parse} and matching with
+ * the parsed {@link RegExpMatcher}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegExpBenchmark {
+    @Param({ "simple", "digits", "email", "alternation", "unicode" })
+    public String pattern;
+
+    private RuntimeContext context;
+    private String source;
+    private String flags;
+    private String input;
+    private RegExpMatcher matcher;
+
+    @Setup
+    public void setUp() {
+        context = new RuntimeContext.Builder().build();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 200; ++i) {
+            sb.append("user").append(i).append("@example.com 2018-").append(i % 12).append(" abbbc ÄÖü ");
+        }
+        input = sb.toString();
+        switch (pattern) {
+        case "simple":
+            source = "example";
+            flags = "g";
+            break;
+        case "digits":
+            source = "(\\d+)-(\\d+)";
+            flags = "g";
+            break;
+        case "email":
+            source = "[\\w.]+@[\\w]+\\.(?:com|org|net)";
+            flags = "gi";
+            break;
+        case "alternation":
+            source = "(?:a|b)+c|xyz|(ab)*";
+            flags = "g";
+            break;
+        case "unicode":
+            source = "[\\u{C4}-\\u{FC}]+";
+            flags = "gu";
+            break;
+        default:
+            throw new IllegalArgumentException(pattern);
+        }
+        matcher = parse();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.getExecutor().shutdown();
+    }
+
+    @Benchmark
+    public RegExpMatcher parse() {
+        return RegExpParser.parse(context, source, flags, "benchmark", 1, 1);
+    }
+
+    @Benchmark
+    public int matchAll() {
+        MatcherState state = matcher.matcher(input);
+        int count = 0;
+        for (int start = 0; start <= input.length() && state.find(start); ++count) {
+            MatcherResult result = state.toMatchResult();
+            start = result.end() > result.start() ? result.end() : result.end() + 1;
+        }
+        return count;
+    }
+}
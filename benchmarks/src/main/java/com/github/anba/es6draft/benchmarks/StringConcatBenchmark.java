@@ -0,0 +1,73 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmarks;
+
+import static com.github.anba.es6draft.runtime.AbstractOperations.Call;
+import static com.github.anba.es6draft.runtime.types.Undefined.UNDEFINED;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.github.anba.es6draft.runtime.language.Operators;
+
+/**
+ * String concatenation through {@link Operators} and the resulting rope strings.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StringConcatBenchmark extends EngineState {
+    @Param({ "16", "1024" })
+    public int count;
+
+    private Object concat;
+
+    @Setup
+    public void setUp() throws Exception {
+        setUpEngine();
+        concat = eval("(function(n) { var s = ''; for (var i = 0; i < n; ++i) s += 'ab' + i; return s.length; })");
+    }
+
+    @Benchmark
+    public CharSequence append() {
+        CharSequence s = "";
+        for (int i = 0; i < count; ++i) {
+            s = Operators.add(s, "ab", cx);
+        }
+        return s;
+    }
+
+    @Benchmark
+    public String appendAndFlatten() {
+        return append().toString();
+    }
+
+    @Benchmark
+    public String prependAndFlatten() {
+        CharSequence s = "";
+        for (int i = 0; i < count; ++i) {
+            s = Operators.add("ab", s, cx);
+        }
+        return s.toString();
+    }
+
+    @Benchmark
+    public Object script() {
+        return Call(cx, concat, UNDEFINED, count);
+    }
+}
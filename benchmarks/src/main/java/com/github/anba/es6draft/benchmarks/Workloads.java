@@ -0,0 +1,41 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmarks;
+
+/**
+ * Synthetic script sources for the parser and compiler benchmarks.
+ */
+final class Workloads {
+    private Workloads() {
+    }
+
+    /**
+     * Returns a script source with {@code functions} function declarations, each using a mix of statements and
+     * expressions.
+     * 
+     * @param functions
+     *            the number of function declarations
+     * @return the script source
+     */
+    static String script(int functions) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < functions; ++i) {
+            sb.append("function f").append(i).append("(a, b, ...rest) {\n");
+            sb.append("  var o = {x: a, y: [b, 2, 3], ['k' + a]: `t${b}`, m() { return this.x; }};\n");
+            sb.append("  let sum = 0;\n");
+            sb.append("  for (let i = 0; i < rest.length; ++i) {\n");
+            sb.append("    if (rest[i] > 10 && !(rest[i] % 2)) { sum += rest[i] * 2; } else { sum -= 1; }\n");
+            sb.append("  }\n");
+            sb.append("  for (const [k, v] of Object.entries(o)) { sum += typeof v === 'number' ? v : k.length; }\n");
+            sb.append("  const g = (x, y) => x instanceof Object ? x : y;\n");
+            sb.append("  class C extends Object { constructor() { super(); this.v = sum; } get w() { return 1; } }\n");
+            sb.append("  try { return g(new C(), /ab+c/gi.test('abbc')); } catch (e) { throw e; } finally { sum = 0; }\n");
+            sb.append("}\n");
+        }
+        return sb.toString();
+    }
+}
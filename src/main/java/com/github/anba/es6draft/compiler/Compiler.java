@@ -13,8 +13,8 @@ import java.security.AccessController;
 import java.security.PrivilegedActionException;
 import java.security.PrivilegedExceptionAction;
 import java.util.Collections;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.LongAdder;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.BiConsumer;
 
 import com.github.anba.es6draft.ast.AsyncFunctionDefinition;
@@ -35,6 +35,8 @@ import com.github.anba.es6draft.compiler.assembler.SourceInfo;
 import com.github.anba.es6draft.compiler.assembler.Type;
 import com.github.anba.es6draft.compiler.completion.CompletionValueVisitor;
 import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.RuntimeEvents;
+import com.github.anba.es6draft.runtime.internal.RuntimeMetrics;
 import com.github.anba.es6draft.runtime.internal.Source;
 import com.github.anba.es6draft.runtime.modules.SourceTextModuleRecord;
 
@@ -53,62 +55,6 @@ public final class Compiler {
         this.context = context;
     }
 
-    private static final boolean MEASURE_COMPILE_TIME = false;
-    private static final boolean MEASURE_LOAD_TIME = false;
-    private static final boolean COUNT_CLASSES = false;
-    private static final boolean COLLECT_STATISTICS = MEASURE_COMPILE_TIME | MEASURE_LOAD_TIME | COUNT_CLASSES;
-
-    private static final Statistics STATISTICS;
-
-    static {
-        if (COLLECT_STATISTICS) {
-            STATISTICS = new Statistics();
-            Runtime.getRuntime().addShutdownHook(new Thread(STATISTICS::print));
-        } else {
-            STATISTICS = null;
-        }
-    }
-
-    private static final class Statistics {
-        final LongAdder compileTime = new LongAdder();
-        final LongAdder compileTimeScript = new LongAdder();
-        final LongAdder compileTimeModule = new LongAdder();
-        final LongAdder compileTimeFunction = new LongAdder();
-
-        final LongAdder loadTime = new LongAdder();
-        final LongAdder loadTimeScript = new LongAdder();
-        final LongAdder loadTimeModule = new LongAdder();
-        final LongAdder loadTimeFunction = new LongAdder();
-
-        final LongAdder defaultClasses = new LongAdder();
-        final LongAdder anonymousClasses = new LongAdder();
-
-        void print() {
-            if (MEASURE_COMPILE_TIME) {
-                System.out.printf("Compile-time: %d ms%n", TimeUnit.NANOSECONDS.toMillis(compileTime.longValue()));
-                System.out.printf("Compile-time (script): %d ms%n",
-                        TimeUnit.NANOSECONDS.toMillis(compileTimeScript.longValue()));
-                System.out.printf("Compile-time (module): %d ms%n",
-                        TimeUnit.NANOSECONDS.toMillis(compileTimeModule.longValue()));
-                System.out.printf("Compile-time (function): %d ms%n",
-                        TimeUnit.NANOSECONDS.toMillis(compileTimeFunction.longValue()));
-            }
-            if (MEASURE_LOAD_TIME) {
-                System.out.printf("Load-time: %d ms%n", TimeUnit.NANOSECONDS.toMillis(loadTime.longValue()));
-                System.out.printf("Load-time (script): %d ms%n",
-                        TimeUnit.NANOSECONDS.toMillis(loadTimeScript.longValue()));
-                System.out.printf("Load-time (module): %d ms%n",
-                        TimeUnit.NANOSECONDS.toMillis(loadTimeModule.longValue()));
-                System.out.printf("Load-time (function): %d ms%n",
-                        TimeUnit.NANOSECONDS.toMillis(loadTimeFunction.longValue()));
-            }
-            if (COUNT_CLASSES) {
-                System.out.printf("Default classes: %d%n", defaultClasses.longValue());
-                System.out.printf("Anonymous classes: %d%n", anonymousClasses.longValue());
-            }
-        }
-    }
-
     /**
      * Compiles a script node to Java bytecode.
      * 
@@ -128,10 +74,9 @@ public final class Compiler {
             CompletionValueVisitor.performCompletion(script);
         }
 
-        long startCompile = 0;
-        if (MEASURE_COMPILE_TIME) {
-            startCompile = System.nanoTime();
-        }
+        RuntimeMetrics metrics = context.getMetrics();
+        long startCompile = metrics.start();
+        Object compileEvent = RuntimeEvents.begin(RuntimeEvents.Type.Compile);
 
         Code code = new Code(Modifier.PUBLIC | Modifier.FINAL, className, ClassSignature.NONE, Types.CompiledScript,
                 Collections.<Type> emptyList(), NodeSourceInfo.create(script, isEnabled(Option.SourceMap)));
@@ -142,16 +87,10 @@ public final class Compiler {
             throw handleAsmError(e);
         }
 
-        if (MEASURE_COMPILE_TIME) {
-            long time = System.nanoTime() - startCompile;
-            STATISTICS.compileTime.add(time);
-            STATISTICS.compileTimeScript.add(time);
-        }
+        metrics.stop(RuntimeMetrics.Distribution.CompileTimeScript, startCompile);
+        RuntimeEvents.endCompile(compileEvent, script.getSource(), "script", className);
 
-        long startLoad = 0;
-        if (MEASURE_LOAD_TIME) {
-            startLoad = System.nanoTime();
-        }
+        long startLoad = metrics.start();
         CompiledScript compiledScript;
         try {
             if (useAnonymousLoader(code)) {
@@ -162,11 +101,7 @@ public final class Compiler {
         } catch (RuntimeException e) {
             throw handleAsmError(e);
         }
-        if (MEASURE_LOAD_TIME) {
-            long time = System.nanoTime() - startLoad;
-            STATISTICS.loadTime.add(time);
-            STATISTICS.loadTimeScript.add(time);
-        }
+        metrics.stop(RuntimeMetrics.Distribution.ClassDefinitionTime, startLoad);
         return compiledScript;
     }
 
@@ -189,10 +124,9 @@ public final class Compiler {
             CodeSize.analyze(module);
         }
 
-        long startCompile = 0;
-        if (MEASURE_COMPILE_TIME) {
-            startCompile = System.nanoTime();
-        }
+        RuntimeMetrics metrics = context.getMetrics();
+        long startCompile = metrics.start();
+        Object compileEvent = RuntimeEvents.begin(RuntimeEvents.Type.Compile);
 
         Code code = new Code(Modifier.PUBLIC | Modifier.FINAL, className, ClassSignature.NONE, Types.CompiledModule,
                 Collections.<Type> emptyList(), NodeSourceInfo.create(module, isEnabled(Option.SourceMap)));
@@ -203,16 +137,10 @@ public final class Compiler {
             throw handleAsmError(e);
         }
 
-        if (MEASURE_COMPILE_TIME) {
-            long time = System.nanoTime() - startCompile;
-            STATISTICS.compileTime.add(time);
-            STATISTICS.compileTimeModule.add(time);
-        }
+        metrics.stop(RuntimeMetrics.Distribution.CompileTimeModule, startCompile);
+        RuntimeEvents.endCompile(compileEvent, module.getSource(), "module", className);
 
-        long startLoad = 0;
-        if (MEASURE_LOAD_TIME) {
-            startLoad = System.nanoTime();
-        }
+        long startLoad = metrics.start();
         CompiledModule compiledModule;
         try {
             if (useAnonymousLoader(code)) {
@@ -223,11 +151,69 @@ public final class Compiler {
         } catch (RuntimeException e) {
             throw handleAsmError(e);
         }
-        if (MEASURE_LOAD_TIME) {
-            long time = System.nanoTime() - startLoad;
-            STATISTICS.loadTime.add(time);
-            STATISTICS.loadTimeModule.add(time);
+        metrics.stop(RuntimeMetrics.Distribution.ClassDefinitionTime, startLoad);
+        return compiledModule;
+    }
+
+    /**
+     * Compiles a module node to Java class files without loading the generated classes.
+     * 
+     * @param module
+     *            the module node
+     * @param moduleRecord
+     *            the module record
+     * @param className
+     *            the class name
+     * @return the generated class files in definition order, mapped by their binary class names
+     * @throws CompilationException
+     *             if the module node could not be compiled
+     * @see #loadModule(Source, String, Map)
+     */
+    public LinkedHashMap<String, byte[]> compileToClassFiles(Module module, SourceTextModuleRecord moduleRecord,
+            String className) throws CompilationException {
+        if (!isEnabled(Compiler.Option.NoByteCodeSizeValidation)) {
+            CodeSize.analyze(module);
+        }
+
+        Code code = new Code(Modifier.PUBLIC | Modifier.FINAL, className, ClassSignature.NONE, Types.CompiledModule,
+                Collections.<Type> emptyList(), NodeSourceInfo.create(module, isEnabled(Option.SourceMap)));
+        RuntimeMetrics metrics = context.getMetrics();
+        long startCompile = metrics.start();
+        Object compileEvent = RuntimeEvents.begin(RuntimeEvents.Type.Compile);
+        CodeGenerator codegen = new CodeGenerator(context, code, module);
+        try {
+            codegen.compile(module, moduleRecord);
+        } catch (RuntimeException e) {
+            throw handleAsmError(e);
+        }
+        metrics.stop(RuntimeMetrics.Distribution.CompileTimeModule, startCompile);
+        RuntimeEvents.endCompile(compileEvent, module.getSource(), "module", className);
+
+        try {
+            return toClassFiles(code);
+        } catch (RuntimeException e) {
+            throw handleAsmError(e);
         }
+    }
+
+    /**
+     * Defines and loads the class files of a module previously generated by
+     * {@link #compileToClassFiles(Module, SourceTextModuleRecord, String)}. The class files must have been generated
+     * with the same compiler options.
+     * 
+     * @param source
+     *            the module source descriptor
+     * @param className
+     *            the class name of the module
+     * @param classFiles
+     *            the class files mapped by their binary class names
+     * @return the compiled module
+     */
+    public CompiledModule loadModule(Source source, String className, Map<String, byte[]> classFiles) {
+        RuntimeMetrics metrics = context.getMetrics();
+        long startLoad = metrics.start();
+        CompiledModule compiledModule = defineAndLoad(source, classFiles, className);
+        metrics.stop(RuntimeMetrics.Distribution.ClassDefinitionTime, startLoad);
         return compiledModule;
     }
 
@@ -300,10 +286,9 @@ public final class Compiler {
             CodeSize.analyze(function);
         }
 
-        long startCompile = 0;
-        if (MEASURE_COMPILE_TIME) {
-            startCompile = System.nanoTime();
-        }
+        RuntimeMetrics metrics = context.getMetrics();
+        long startCompile = metrics.start();
+        Object compileEvent = RuntimeEvents.begin(RuntimeEvents.Type.Compile);
 
         Code code = new Code(Modifier.PUBLIC | Modifier.FINAL, className, ClassSignature.NONE, Types.CompiledFunction,
                 Collections.<Type> emptyList(), NodeSourceInfo.create(function, isEnabled(Option.SourceMap)));
@@ -314,16 +299,10 @@ public final class Compiler {
             throw handleAsmError(e);
         }
 
-        if (MEASURE_COMPILE_TIME) {
-            long time = System.nanoTime() - startCompile;
-            STATISTICS.compileTime.add(time);
-            STATISTICS.compileTimeFunction.add(time);
-        }
+        metrics.stop(RuntimeMetrics.Distribution.CompileTimeFunction, startCompile);
+        RuntimeEvents.endCompile(compileEvent, script.getSource(), "function", className);
 
-        long startLoad = 0;
-        if (MEASURE_LOAD_TIME) {
-            startLoad = System.nanoTime();
-        }
+        long startLoad = metrics.start();
         CompiledFunction compiledFunction;
         try {
             if (useAnonymousLoader(code)) {
@@ -334,11 +313,7 @@ public final class Compiler {
         } catch (RuntimeException e) {
             throw handleAsmError(e);
         }
-        if (MEASURE_LOAD_TIME) {
-            long time = System.nanoTime() - startLoad;
-            STATISTICS.loadTime.add(time);
-            STATISTICS.loadTimeFunction.add(time);
-        }
+        metrics.stop(RuntimeMetrics.Distribution.ClassDefinitionTime, startLoad);
         return compiledFunction;
     }
 
@@ -384,14 +359,15 @@ public final class Compiler {
         if (printCode) {
             System.out.println(Code.toByteCode(bytes, printSimple));
         }
+        context.getMetrics().record(RuntimeMetrics.Distribution.BytecodeSize, bytes.length);
+        Object defineEvent = RuntimeEvents.begin(RuntimeEvents.Type.DefineClasses);
         // System.out.printf("define class '%s'%n", className);
         Class<?> c = loader.defineClass(className, bytes);
         if (debugInfo) {
             initializeClassBytes(c, bytes);
         }
-        if (COUNT_CLASSES) {
-            STATISTICS.anonymousClasses.increment();
-        }
+        context.getMetrics().increment(RuntimeMetrics.Counter.AnonymousClasses);
+        RuntimeEvents.endDefineClasses(defineEvent, source, className, 1, bytes.length);
 
         try {
             @SuppressWarnings("unchecked")
@@ -403,11 +379,15 @@ public final class Compiler {
     }
 
     private <T> T defineAndLoad(Program program, Code code, String mainClassName) {
-        Source source = program.getSource();
+        return defineAndLoad(program.getSource(), toClassFiles(code), mainClassName);
+    }
+
+    private LinkedHashMap<String, byte[]> toClassFiles(Code code) {
         boolean printCode = isEnabled(Option.PrintCode);
         boolean printSimple = printCode && !isEnabled(Option.PrintFullCode);
         boolean debugInfo = isEnabled(Option.DebugInfo);
-        CodeLoader loader = new CodeLoader();
+        RuntimeMetrics metrics = context.getMetrics();
+        LinkedHashMap<String, byte[]> classFiles = new LinkedHashMap<>();
         for (ClassCode classCode : code.getClasses()) {
             String className = Type.className(classCode.className);
             if (debugInfo) {
@@ -417,15 +397,29 @@ public final class Compiler {
             if (printCode) {
                 System.out.println(Code.toByteCode(bytes, printSimple));
             }
+            metrics.record(RuntimeMetrics.Distribution.BytecodeSize, bytes.length);
+            classFiles.put(className, bytes);
+        }
+        return classFiles;
+    }
+
+    private <T> T defineAndLoad(Source source, Map<String, byte[]> classFiles, String mainClassName) {
+        boolean debugInfo = isEnabled(Option.DebugInfo);
+        Object defineEvent = RuntimeEvents.begin(RuntimeEvents.Type.DefineClasses);
+        CodeLoader loader = new CodeLoader();
+        long bytecodeSize = 0;
+        for (Map.Entry<String, byte[]> classFile : classFiles.entrySet()) {
+            String className = classFile.getKey();
+            byte[] bytes = classFile.getValue();
             // System.out.printf("define class '%s'%n", className);
             Class<?> c = loader.defineClass(className, bytes);
             if (debugInfo) {
                 initializeClassBytes(c, bytes);
             }
+            bytecodeSize += bytes.length;
         }
-        if (COUNT_CLASSES) {
-            STATISTICS.defaultClasses.increment();
-        }
+        context.getMetrics().add(RuntimeMetrics.Counter.DefinedClasses, classFiles.size());
+        RuntimeEvents.endDefineClasses(defineEvent, source, mainClassName, classFiles.size(), bytecodeSize);
 
         try {
             Class<?> c = loader.loadClass(Type.className(mainClassName));
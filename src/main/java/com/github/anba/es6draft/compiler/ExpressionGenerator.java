@@ -161,7 +161,7 @@ final class ExpressionGenerator extends DefaultCodeGenerator<ValType> {
                 Type.methodType(Types.BigInteger, Types.Object, Types.ExecutionContext));
 
         static final MethodName Operators_throw = MethodName.findStatic(Types.Operators, "_throw",
-                Type.methodType(Types.Object, Types.Object));
+                Type.methodType(Types.Object, Types.Object, Types.ExecutionContext));
 
         // class: ArrayOperations
         static final MethodName ArrayOperations_spreadElement = MethodName.findStatic(Types.ArrayOperations,
@@ -4135,6 +4135,7 @@ final class ExpressionGenerator extends DefaultCodeGenerator<ValType> {
     @Override
     public ValType visit(ThrowExpression node, CodeVisitor mv) {
         expressionBoxed(node.getExpression(), mv);
+        mv.loadExecutionContext();
         mv.lineInfo(node);
         mv.invoke(Methods.Operators_throw);
         return ValType.Any;
@@ -165,7 +165,7 @@ final class StatementGenerator extends DefaultCodeGenerator<StatementGenerator.C
 
         // class: ScriptException
         static final MethodName ScriptException_create = MethodName.findStatic(Types.ScriptException, "create",
-                Type.methodType(Types.ScriptException, Types.Object));
+                Type.methodType(Types.ScriptException, Types.Object, Types.ExecutionContext));
 
         static final MethodName ScriptException_getValue = MethodName.findVirtual(Types.ScriptException, "getValue",
                 Type.methodType(Types.Object));
@@ -211,6 +211,10 @@ final class StatementGenerator extends DefaultCodeGenerator<StatementGenerator.C
                 "toInternalError",
                 Type.methodType(Types.ScriptException, Types.StackOverflowError, Types.ExecutionContext));
 
+        // class: ExecutionBudget
+        static final MethodName ExecutionBudget_safepoint = MethodName.findStatic(Types.ExecutionBudget, "safepoint",
+                Type.methodType(Type.VOID_TYPE, Types.ExecutionContext));
+
         // class: ScriptIterator
         static final MethodName ScriptIterator_getScriptObject = MethodName.findInterface(Types.ScriptIterator,
                 "getScriptObject", Type.methodType(Types.ScriptObject));
@@ -486,6 +490,7 @@ final class StatementGenerator extends DefaultCodeGenerator<StatementGenerator.C
         }
         /* step 2 (repeat loop) */
         mv.mark(lblNext);
+        loopSafepoint(mv);
 
         /* steps 2.a-c */
         Completion result;
@@ -850,6 +855,7 @@ final class StatementGenerator extends DefaultCodeGenerator<StatementGenerator.C
 
         /* steps 5.d-e */
         mv.mark(enter);
+        loopSafepoint(mv);
         mv.load(iterator);
         mv.lineInfo(node);
         mv.invoke(Methods.Iterator_next);
@@ -941,6 +947,7 @@ final class StatementGenerator extends DefaultCodeGenerator<StatementGenerator.C
 
         /* steps 5.d-e */
         mv.mark(enter);
+        loopSafepoint(mv);
         mv.load(iterator);
         mv.lineInfo(node);
         mv.invoke(Methods.Iterator_next);
@@ -1023,6 +1030,7 @@ final class StatementGenerator extends DefaultCodeGenerator<StatementGenerator.C
 
         /* steps 5.d-e */
         mv.mark(enter);
+        loopSafepoint(mv);
         IteratorValue(node, nextResult, mv);
         mv.store(nextValue);
 
@@ -1303,6 +1311,7 @@ final class StatementGenerator extends DefaultCodeGenerator<StatementGenerator.C
             mv.nonDestructiveGoTo(lblTest);
         }
         mv.mark(lblStmt);
+        loopSafepoint(mv);
         {
             mv.enterIteration(node, lblBreak, lblContinue);
             result = node.getStatement().accept(this, mv);
@@ -1365,6 +1374,17 @@ final class StatementGenerator extends DefaultCodeGenerator<StatementGenerator.C
         /* step 2 (not applicable) */
     }
 
+    /**
+     * Emits the execution budget safepoint at the head of a loop iteration.
+     *
+     * @param mv
+     *            the code visitor
+     */
+    private static void loopSafepoint(CodeVisitor mv) {
+        mv.loadExecutionContext();
+        mv.invoke(Methods.ExecutionBudget_safepoint);
+    }
+
     /**
      * 14.1.20 Runtime Semantics: Evaluation
      */
@@ -1690,6 +1710,7 @@ final class StatementGenerator extends DefaultCodeGenerator<StatementGenerator.C
     public Completion visit(ThrowStatement node, CodeVisitor mv) {
         /* steps 1-3 */
         expressionBoxed(node.getExpression(), mv);
+        mv.loadExecutionContext();
         mv.lineInfo(node);
         mv.invoke(Methods.ScriptException_create);
 
@@ -2119,6 +2140,7 @@ final class StatementGenerator extends DefaultCodeGenerator<StatementGenerator.C
             mv.nonDestructiveGoTo(lblTest);
         }
         mv.mark(lblNext);
+        loopSafepoint(mv);
 
         /* steps 2.e-g */
         Completion result;
@@ -103,6 +103,7 @@ final class Types {
     static final Type DeclarativeEnvironmentRecord = Type.of(DeclarativeEnvironmentRecord.class);
     static final Type DeclarativeEnvironmentRecord$Binding = Type.of(DeclarativeEnvironmentRecord.Binding.class);
     static final Type EnvironmentRecord = Type.of(EnvironmentRecord.class);
+    static final Type ExecutionBudget = Type.of(ExecutionBudget.class);
     static final Type ExecutionContext = Type.of(ExecutionContext.class);
     static final Type FunctionEnvironmentRecord = Type.of(FunctionEnvironmentRecord.class);
     static final Type GlobalEnvironmentRecord = Type.of(GlobalEnvironmentRecord.class);
@@ -26,6 +26,7 @@ import java.util.List;
 import com.github.anba.es6draft.ast.*;
 import com.github.anba.es6draft.ast.BinaryExpression.Operator;
 import com.github.anba.es6draft.parser.Parser;
+import com.github.anba.es6draft.runtime.ExecutionBudget;
 import com.github.anba.es6draft.runtime.ExecutionContext;
 import com.github.anba.es6draft.runtime.internal.CompatibilityOption;
 import com.github.anba.es6draft.runtime.internal.IndexedMap;
@@ -951,6 +952,8 @@ public final class Interpreter extends DefaultNodeVisitor<Object, ExecutionConte
 
     @Override
     public Object visit(CallExpression node, ExecutionContext cx) {
+        // Call safepoint, built-in functions do not have a function prologue.
+        ExecutionBudget.safepoint(cx);
         Object ref = node.getBase().accept(this, cx);
         return EvaluateCall(node, ref, node.getArguments(), directEval(node), cx);
     }
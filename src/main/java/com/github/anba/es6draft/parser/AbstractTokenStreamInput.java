@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.parser;
+
+/**
+ * Base class for {@link TokenStreamInput} implementations with random access to the input characters.
+ */
+abstract class AbstractTokenStreamInput implements TokenStreamInput {
+    private final int length;
+    private int cursor = 0;
+
+    protected AbstractTokenStreamInput(int length) {
+        this.length = length;
+    }
+
+    /**
+     * Returns the character at {@code index}.
+     * 
+     * @param index
+     *            the character index
+     * @return the character at {@code index}
+     */
+    protected abstract char charAt(int index);
+
+    private int codePointAt(int index) {
+        char c = charAt(index);
+        if (Character.isHighSurrogate(c) && index + 1 < length) {
+            char d = charAt(index + 1);
+            if (Character.isLowSurrogate(d)) {
+                return Character.toCodePoint(c, d);
+            }
+        }
+        return c;
+    }
+
+    @Override
+    public final int length() {
+        return length;
+    }
+
+    @Override
+    public final int get() {
+        if (cursor >= length)
+            return EOF;
+        int cp = codePointAt(cursor);
+        cursor += Character.charCount(cp);
+        return cp;
+    }
+
+    @Override
+    public final int getChar() {
+        if (cursor >= length)
+            return EOF;
+        return charAt(cursor++);
+    }
+
+    @Override
+    public final int lastChar() {
+        assert cursor > 0 : cursor;
+        return charAt(cursor - 1);
+    }
+
+    @Override
+    public final void unget(int c) {
+        assert c != EOF ? codePointAt(cursor - Character.charCount(c)) == c : cursor >= length;
+        if (c != EOF)
+            cursor -= Character.charCount(c);
+    }
+
+    @Override
+    public final void ungetChar(int c) {
+        assert c != EOF ? charAt(cursor - 1) == c : cursor >= length;
+        if (c != EOF)
+            cursor -= 1;
+    }
+
+    @Override
+    public final boolean match(char c) {
+        if (cursor >= length || charAt(cursor) != c)
+            return false;
+        cursor += 1;
+        return true;
+    }
+
+    @Override
+    public final int peek(int offset) {
+        assert offset >= 0;
+        if (cursor + offset >= length)
+            return EOF;
+        return charAt(cursor + offset);
+    }
+
+    @Override
+    public final int position() {
+        return cursor;
+    }
+
+    @Override
+    public final void reset(int position) {
+        assert position >= 0 && position <= cursor;
+        cursor = position;
+    }
+
+    @Override
+    public String range(int from, int to) {
+        char[] array = new char[to - from];
+        chars(from, to, array, 0);
+        return new String(array);
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.parser;
+
+import java.nio.CharBuffer;
+
+/**
+ * Class to provide character-based access to the remaining characters of a {@link CharBuffer}
+ */
+final class CharBufferTokenStreamInput extends AbstractTokenStreamInput {
+    private final CharBuffer source;
+
+    public CharBufferTokenStreamInput(CharBuffer source) {
+        super(source.remaining());
+        // Use a slice to make positions relative to the current buffer position.
+        this.source = source.slice();
+    }
+
+    @Override
+    protected char charAt(int index) {
+        return source.get(index);
+    }
+
+    @Override
+    public String range(int from, int to) {
+        return source.subSequence(from, to).toString();
+    }
+
+    @Override
+    public void chars(int from, int to, char[] array, int offset) {
+        CharBuffer duplicate = source.duplicate();
+        duplicate.position(from);
+        duplicate.get(array, offset, to - from);
+    }
+}
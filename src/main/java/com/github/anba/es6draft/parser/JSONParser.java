@@ -37,7 +37,7 @@ public final class JSONParser {
     public JSONParser(ExecutionContext cx, String source) {
         this.cx = cx;
         this.sourceName = "<json>";
-        ts = new JSONTokenStream(this, new TokenStreamInput(source));
+        ts = new JSONTokenStream(this, new StringTokenStreamInput(source));
     }
 
     private static int toLine(long sourcePosition) {
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Class to provide character-based access to a memory-mapped, UTF-8 encoded source file.
+ * <p>
+ * The file is decoded in blocks of up to {@value #BLOCK_SIZE} characters. When the input is opened, a single pass
+ * over the file records the character and byte offsets of each block, afterwards only the two most recently accessed
+ * blocks are kept in decoded form. Malformed input is replaced with U+FFFD, the same as
+ * {@code new String(bytes, StandardCharsets.UTF_8)}.
+ */
+final class MappedFileTokenStreamInput extends AbstractTokenStreamInput {
+    static final int BLOCK_SIZE = 8192;
+
+    private final ByteBuffer bytes;
+    private final CharsetDecoder decoder = newDecoder();
+    private final int blockCount;
+    private final int[] blockChars;
+    private final int[] blockBytes;
+
+    // The current decoded block.
+    private char[] block = new char[BLOCK_SIZE];
+    private int blockStart = 0, blockEnd = 0;
+
+    // The previous decoded block.
+    private char[] previousBlock = new char[BLOCK_SIZE];
+    private int previousStart = 0, previousEnd = 0;
+
+    private MappedFileTokenStreamInput(ByteBuffer bytes, int length, int blockCount, int[] blockChars,
+            int[] blockBytes) {
+        super(length);
+        this.bytes = bytes;
+        this.blockCount = blockCount;
+        this.blockChars = blockChars;
+        this.blockBytes = blockBytes;
+    }
+
+    /**
+     * Maps the UTF-8 encoded file into memory.
+     *
+     * @param file
+     *            the source file
+     * @return the token stream input for the file
+     * @throws IOException
+     *             if there was any I/O error
+     */
+    public static MappedFileTokenStreamInput open(Path file) throws IOException {
+        ByteBuffer bytes;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("File too large: " + file);
+            }
+            // The mapping stays valid after the channel has been closed.
+            bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+        return create(bytes);
+    }
+
+    static MappedFileTokenStreamInput create(ByteBuffer bytes) {
+        CharsetDecoder decoder = newDecoder();
+        ByteBuffer in = bytes.duplicate();
+        CharBuffer out = CharBuffer.allocate(BLOCK_SIZE);
+        int[] blockChars = new int[16], blockBytes = new int[16];
+        int blocks = 0, length = 0;
+        for (;;) {
+            if (blocks + 1 >= blockChars.length) {
+                blockChars = Arrays.copyOf(blockChars, blockChars.length * 2);
+                blockBytes = Arrays.copyOf(blockBytes, blockBytes.length * 2);
+            }
+            blockChars[blocks] = length;
+            blockBytes[blocks] = in.position();
+            blocks += 1;
+            out.clear();
+            CoderResult result = decoder.decode(in, out, true);
+            if (result.isUnderflow()) {
+                decoder.flush(out);
+            }
+            length += out.position();
+            if (result.isUnderflow()) {
+                break;
+            }
+            assert result.isOverflow() && out.position() > 0 : result;
+        }
+        // Sentinel entry for the end of the last block.
+        blockChars[blocks] = length;
+        blockBytes[blocks] = in.position();
+        return new MappedFileTokenStreamInput(bytes, length, blocks, blockChars, blockBytes);
+    }
+
+    private static CharsetDecoder newDecoder() {
+        return StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    @Override
+    protected char charAt(int index) {
+        int offset = index - blockStart;
+        if (offset >= 0 && index < blockEnd) {
+            return block[offset];
+        }
+        loadBlock(index);
+        return block[index - blockStart];
+    }
+
+    @Override
+    public void chars(int from, int to, char[] array, int offset) {
+        for (int index = from; index < to;) {
+            if (!(index >= blockStart && index < blockEnd)) {
+                loadBlock(index);
+            }
+            int count = Math.min(to, blockEnd) - index;
+            System.arraycopy(block, index - blockStart, array, offset, count);
+            index += count;
+            offset += count;
+        }
+    }
+
+    private void loadBlock(int index) {
+        assert index >= 0 && index < length() : index;
+        char[] current = block;
+        int currentStart = blockStart, currentEnd = blockEnd;
+        if (index >= previousStart && index < previousEnd) {
+            block = previousBlock;
+            blockStart = previousStart;
+            blockEnd = previousEnd;
+        } else {
+            decodeBlock(findBlock(index), previousBlock);
+        }
+        previousBlock = current;
+        previousStart = currentStart;
+        previousEnd = currentEnd;
+    }
+
+    private int findBlock(int index) {
+        int lo = 0, hi = blockCount - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (blockChars[mid] <= index) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    private void decodeBlock(int blockIndex, char[] chars) {
+        int start = blockChars[blockIndex], end = blockChars[blockIndex + 1];
+        ByteBuffer in = bytes.duplicate();
+        in.limit(blockBytes[blockIndex + 1]).position(blockBytes[blockIndex]);
+        CharBuffer out = CharBuffer.wrap(chars, 0, end - start);
+        decoder.reset();
+        CoderResult result = decoder.decode(in, out, true);
+        decoder.flush(out);
+        assert result.isUnderflow() && !out.hasRemaining() : result;
+        block = chars;
+        blockStart = start;
+        blockEnd = end;
+    }
+}
@@ -10,7 +10,10 @@ import static com.github.anba.es6draft.semantics.StaticSemantics.*;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 
+import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.CharBuffer;
+import java.nio.file.Path;
 import java.util.*;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
@@ -2099,9 +2102,42 @@ public final class Parser {
      *             if the input source could not be parsed successfully
      */
     public Script parseScript(String source) throws ParserException {
+        return parseScript(new StringTokenStreamInput(source));
+    }
+
+    /**
+     * Parses the remaining characters of the input buffer as script code.
+     * 
+     * @param source
+     *            the source buffer to parse
+     * @return the parsed script
+     * @throws ParserException
+     *             if the input source could not be parsed successfully
+     */
+    public Script parseScript(CharBuffer source) throws ParserException {
+        return parseScript(new CharBufferTokenStreamInput(source));
+    }
+
+    /**
+     * Parses the UTF-8 encoded file as script code. The file is memory-mapped and decoded incrementally, only the
+     * source text of functions and classes is retained.
+     * 
+     * @param file
+     *            the source file to parse
+     * @return the parsed script
+     * @throws IOException
+     *             if there was any I/O error
+     * @throws ParserException
+     *             if the input source could not be parsed successfully
+     */
+    public Script parseScript(Path file) throws IOException, ParserException {
+        return parseScript(MappedFileTokenStreamInput.open(file));
+    }
+
+    private Script parseScript(TokenStreamInput input) throws ParserException {
         if (ts != null)
             throw new IllegalStateException();
-        ts = new TokenStream(this, new TokenStreamInput(source));
+        ts = new TokenStream(this, input);
         return script();
     }
 
@@ -2115,9 +2151,42 @@ public final class Parser {
      *             if the input source could not be parsed successfully
      */
     public Module parseModule(String source) throws ParserException {
+        return parseModule(new StringTokenStreamInput(source));
+    }
+
+    /**
+     * Parses the remaining characters of the input buffer as module code.
+     * 
+     * @param source
+     *            the source buffer to parse
+     * @return the parsed module
+     * @throws ParserException
+     *             if the input source could not be parsed successfully
+     */
+    public Module parseModule(CharBuffer source) throws ParserException {
+        return parseModule(new CharBufferTokenStreamInput(source));
+    }
+
+    /**
+     * Parses the UTF-8 encoded file as module code. The file is memory-mapped and decoded incrementally, only the
+     * source text of functions and classes is retained.
+     * 
+     * @param file
+     *            the source file to parse
+     * @return the parsed module
+     * @throws IOException
+     *             if there was any I/O error
+     * @throws ParserException
+     *             if the input source could not be parsed successfully
+     */
+    public Module parseModule(Path file) throws IOException, ParserException {
+        return parseModule(MappedFileTokenStreamInput.open(file));
+    }
+
+    private Module parseModule(TokenStreamInput input) throws ParserException {
         if (ts != null)
             throw new IllegalStateException();
-        ts = new TokenStream(this, new TokenStreamInput(source));
+        ts = new TokenStream(this, input);
         moduleCode = true;
         return module();
     }
@@ -2144,14 +2213,14 @@ public final class Parser {
             FunctionDeclaration function;
             newContext(ContextKind.Function);
             try {
-                ts = new TokenStream(this, new TokenStreamInput(formals)).initialize();
+                ts = new TokenStream(this, new StringTokenStreamInput(formals)).initialize();
                 FormalParameterList parameters = formalParameters(Token.EOF);
                 if (token() != Token.EOF) {
                     reportSyntaxError(Messages.Key.InvalidFormalParameterList);
                 }
                 int lastParametersTokenPosition = ts.position();
 
-                ts = new TokenStream(this, new TokenStreamInput(bodyText)).initialize();
+                ts = new TokenStream(this, new StringTokenStreamInput(bodyText)).initialize();
                 List<StatementListItem> statements = functionBody(parameters, Token.EOF);
                 if (token() != Token.EOF) {
                     reportSyntaxError(Messages.Key.InvalidFunctionBody);
@@ -2202,14 +2271,14 @@ public final class Parser {
             GeneratorDeclaration generator;
             newContext(ContextKind.Generator);
             try {
-                ts = new TokenStream(this, new TokenStreamInput(formals)).initialize();
+                ts = new TokenStream(this, new StringTokenStreamInput(formals)).initialize();
                 FormalParameterList parameters = formalParameters(Token.EOF);
                 if (token() != Token.EOF) {
                     reportSyntaxError(Messages.Key.InvalidFormalParameterList);
                 }
                 int lastParametersTokenPosition = ts.position();
 
-                ts = new TokenStream(this, new TokenStreamInput(bodyText)).initialize();
+                ts = new TokenStream(this, new StringTokenStreamInput(bodyText)).initialize();
                 List<StatementListItem> statements = functionBody(parameters, Token.EOF);
                 if (token() != Token.EOF) {
                     reportSyntaxError(Messages.Key.InvalidFunctionBody);
@@ -2260,14 +2329,14 @@ public final class Parser {
             AsyncFunctionDeclaration asyncFunction;
             newContext(ContextKind.AsyncFunction);
             try {
-                ts = new TokenStream(this, new TokenStreamInput(formals)).initialize();
+                ts = new TokenStream(this, new StringTokenStreamInput(formals)).initialize();
                 FormalParameterList parameters = formalParameters(Token.EOF);
                 if (token() != Token.EOF) {
                     reportSyntaxError(Messages.Key.InvalidFormalParameterList);
                 }
                 int lastParametersTokenPosition = ts.position();
 
-                ts = new TokenStream(this, new TokenStreamInput(bodyText)).initialize();
+                ts = new TokenStream(this, new StringTokenStreamInput(bodyText)).initialize();
                 List<StatementListItem> statements = functionBody(parameters, Token.EOF);
                 if (token() != Token.EOF) {
                     reportSyntaxError(Messages.Key.InvalidFunctionBody);
@@ -2318,14 +2387,14 @@ public final class Parser {
             AsyncGeneratorDeclaration asyncFunction;
             newContext(ContextKind.AsyncGenerator);
             try {
-                ts = new TokenStream(this, new TokenStreamInput(formals)).initialize();
+                ts = new TokenStream(this, new StringTokenStreamInput(formals)).initialize();
                 FormalParameterList parameters = formalParameters(Token.EOF);
                 if (token() != Token.EOF) {
                     reportSyntaxError(Messages.Key.InvalidFormalParameterList);
                 }
                 int lastParametersTokenPosition = ts.position();
 
-                ts = new TokenStream(this, new TokenStreamInput(bodyText)).initialize();
+                ts = new TokenStream(this, new StringTokenStreamInput(bodyText)).initialize();
                 List<StatementListItem> statements = functionBody(parameters, Token.EOF);
                 if (token() != Token.EOF) {
                     reportSyntaxError(Messages.Key.InvalidFunctionBody);
@@ -5098,7 +5167,7 @@ public final class Parser {
             sourceText = "constructor(...args){super(...args);}";
         }
         TokenStream tokenStream = ts;
-        TokenStream syntheticStream = new TokenStream(this, new TokenStreamInput(sourceText));
+        TokenStream syntheticStream = new TokenStream(this, new StringTokenStreamInput(sourceText));
         MethodDefinition classConstructor;
         try {
             ts = syntheticStream.initialize(beginLine);
@@ -5120,7 +5189,7 @@ public final class Parser {
         String sourceText = "$initializer(){const fields = %GetClassFields(); %GetNextClassField(fields);}";
 
         TokenStream tokenStream = ts;
-        TokenStream syntheticStream = new TokenStream(this, new TokenStreamInput(sourceText));
+        TokenStream syntheticStream = new TokenStream(this, new StringTokenStreamInput(sourceText));
         MethodDefinition fieldInitializer;
         try {
             ts = syntheticStream.initialize(beginLine);
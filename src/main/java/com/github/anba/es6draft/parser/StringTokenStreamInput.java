@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.parser;
+
+/**
+ * Class to provide character-based access to an input source string
+ */
+final class StringTokenStreamInput implements TokenStreamInput {
+    private final String source;
+    private final int length;
+    private int cursor = 0;
+
+    public StringTokenStreamInput(String source) {
+        this.source = source;
+        this.length = source.length();
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public int get() {
+        if (cursor >= length)
+            return EOF;
+        int cp = source.codePointAt(cursor);
+        cursor += Character.charCount(cp);
+        return cp;
+    }
+
+    @Override
+    public int getChar() {
+        if (cursor >= length)
+            return EOF;
+        return source.charAt(cursor++);
+    }
+
+    @Override
+    public int lastChar() {
+        assert cursor > 0 : cursor;
+        return source.charAt(cursor - 1);
+    }
+
+    @Override
+    public void unget(int c) {
+        assert c != EOF ? source.codePointAt(cursor - Character.charCount(c)) == c : cursor >= length;
+        if (c != EOF)
+            cursor -= Character.charCount(c);
+    }
+
+    @Override
+    public void ungetChar(int c) {
+        assert c != EOF ? source.charAt(cursor - 1) == c : cursor >= length;
+        if (c != EOF)
+            cursor -= 1;
+    }
+
+    @Override
+    public boolean match(char c) {
+        if (cursor >= length || source.charAt(cursor) != c)
+            return false;
+        cursor += 1;
+        return true;
+    }
+
+    @Override
+    public int peek(int offset) {
+        assert offset >= 0;
+        if (cursor + offset >= length)
+            return EOF;
+        return source.charAt(cursor + offset);
+    }
+
+    @Override
+    public int position() {
+        return cursor;
+    }
+
+    @Override
+    public void reset(int position) {
+        assert position >= 0 && position <= cursor;
+        cursor = position;
+    }
+
+    @Override
+    public String range(int from, int to) {
+        return source.substring(from, to);
+    }
+
+    @Override
+    public void chars(int from, int to, char[] array, int offset) {
+        source.getChars(from, to, array, offset);
+    }
+}
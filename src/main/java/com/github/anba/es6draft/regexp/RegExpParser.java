@@ -25,6 +25,7 @@ import com.github.anba.es6draft.parser.ParserException.ExceptionType;
 import com.github.anba.es6draft.runtime.internal.CompatibilityOption;
 import com.github.anba.es6draft.runtime.internal.Messages;
 import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.RuntimeEvents;
 
 /**
  * <h1>21 Text Processing</h1><br>
@@ -97,6 +98,14 @@ public final class RegExpParser {
 
     public static RegExpMatcher parse(RuntimeContext context, String pattern, String flags, String sourceFile,
             int sourceLine, int sourceColumn) throws ParserException {
+        Object event = RuntimeEvents.begin(RuntimeEvents.Type.RegExpParse);
+        RegExpMatcher matcher = createMatcher(context, pattern, flags, sourceFile, sourceLine, sourceColumn);
+        RuntimeEvents.endRegExpParse(event, pattern, flags, matcher);
+        return matcher;
+    }
+
+    private static RegExpMatcher createMatcher(RuntimeContext context, String pattern, String flags,
+            String sourceFile, int sourceLine, int sourceColumn) throws ParserException {
         int iflags = parseFlags(context, flags, sourceFile, sourceLine, sourceColumn);
         if ((iflags & Pattern.CASE_INSENSITIVE) == 0 && isSimpleRegExp(pattern)) {
             return new SimpleRegExpMatcher(pattern);
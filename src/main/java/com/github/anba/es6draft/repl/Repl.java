@@ -37,11 +37,14 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import javax.management.JMException;
+
 import org.kohsuke.args4j.Argument;
 import org.kohsuke.args4j.CmdLineException;
 import org.kohsuke.args4j.CmdLineParser;
@@ -82,6 +85,7 @@ import com.github.anba.es6draft.runtime.Realm;
 import com.github.anba.es6draft.runtime.RealmData;
 import com.github.anba.es6draft.runtime.World;
 import com.github.anba.es6draft.runtime.extensions.timer.Timers;
+import com.github.anba.es6draft.runtime.extensions.worker.Workers;
 import com.github.anba.es6draft.runtime.internal.*;
 import com.github.anba.es6draft.runtime.modules.MalformedNameException;
 import com.github.anba.es6draft.runtime.modules.ModuleLoader;
@@ -106,6 +110,9 @@ public final class Repl {
         Options options = new Options();
         try {
             parseOptions(options, args);
+            if (options.profile != null) {
+                startProfiler(options.profile);
+            }
             ShellConsole console = createConsole(options);
             new Repl(console, options).loop();
         } catch (Throwable e) {
@@ -114,6 +121,23 @@ public final class Repl {
         }
     }
 
+    private static void startProfiler(Path file) {
+        ScriptProfiler profiler = new ScriptProfiler(Thread.currentThread(), 1, TimeUnit.MILLISECONDS);
+        // The shell may terminate through System.exit(), write the profile from a shutdown hook.
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                profiler.stop();
+                try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                    profiler.writeCollapsedStacks(writer);
+                }
+                profiler.writeReport(new PrintWriter(System.err));
+            } catch (IOException | InterruptedException e) {
+                e.printStackTrace();
+            }
+        }, "es6draft-profiler-shutdown"));
+        profiler.start();
+    }
+
     private static ShellConsole createConsole(Options options) throws IOException {
         ShellConsole console;
         if (!options.noJLine) {
@@ -447,6 +471,9 @@ public final class Repl {
         @Option(name = "--timers", usage = "options.timers")
         boolean timers;
 
+        @Option(name = "--workers", usage = "options.workers")
+        boolean workers;
+
         @Option(name = "--console", usage = "options.console", handler = ExplicitBooleanOptionHandler.class,
                 metaVar = "meta.bool")
         boolean console = true;
@@ -488,6 +515,12 @@ public final class Repl {
         @Option(name = "--promise-rejection", hidden = true, usage = "options.promise_rejection")
         boolean promiseRejection;
 
+        @Option(name = "--metrics", hidden = true, usage = "options.metrics")
+        boolean metrics;
+
+        @Option(name = "--profile", hidden = true, metaVar = "meta.file", usage = "options.profile")
+        Path profile;
+
         @Option(name = "--xhelp", help = true, hidden = true, usage = "options.extended_help")
         boolean showExtendedHelp;
 
@@ -913,7 +946,11 @@ public final class Repl {
             sources.add(new InteractiveJobSource(realm));
         }
         if (options.timers) {
-            sources.add(realm.createGlobalProperties(new Timers(), Timers.class));
+            Timers timers = new Timers(realm.getRuntimeContext().getTimerQueue().get());
+            sources.add(realm.createGlobalProperties(timers, Timers.class));
+        }
+        if (options.workers) {
+            sources.add(realm.createGlobalProperties(new Workers(), Workers.class));
         }
         switch (sources.size()) {
         case 0:
@@ -1103,8 +1140,17 @@ public final class Repl {
                                                    .setOptions(compatibilityOptions(options))
                                                    .setParserOptions(parserOptions(options))
                                                    .setCompilerOptions(compilerOptions(options))
+                                                   .setMetrics(new RuntimeMetrics(options.metrics))
+                                                   .setValueStackTraces(options.scriptStacktrace)
                                                    .build();
         /* @formatter:on */
+        if (options.metrics) {
+            try {
+                context.getMetrics().registerMBean("repl");
+            } catch (JMException e) {
+                throw new RuntimeException(e);
+            }
+        }
 
         World world = new World(context);
         Realm realm = new Realm(world);
@@ -40,10 +40,21 @@ public class NodeModuleLoader extends AbstractFileModuleLoader<ModuleRecord> {
     private final HashMap<SourceIdentifier, ModuleRecord> modules = new HashMap<>();
     private final WeakHashMap<Realm, Constructor> moduleConstructors = new WeakHashMap<>();
     private final ScriptLoader scriptLoader;
+    private final NodeModuleResolution resolution;
 
     public NodeModuleLoader(RuntimeContext context, ScriptLoader scriptLoader) {
         super(context);
         this.scriptLoader = scriptLoader;
+        this.resolution = new NodeModuleResolution(getBaseDirectory());
+    }
+
+    /**
+     * Returns the Node module resolution of this loader.
+     * 
+     * @return the module resolution
+     */
+    public NodeModuleResolution getResolution() {
+        return resolution;
     }
 
     private ScriptObject createModuleObject(NodeModuleRecord module, Realm realm) {
@@ -116,6 +127,6 @@ public class NodeModuleLoader extends AbstractFileModuleLoader<ModuleRecord> {
     public FileSourceIdentifier normalizeName(String unnormalizedName, SourceIdentifier referrerId)
             throws MalformedNameException {
         FileSourceIdentifier normalizedName = super.normalizeName(unnormalizedName, referrerId);
-        return NodeModuleResolution.resolve(getBaseDirectory(), normalizedName, unnormalizedName, referrerId);
+        return resolution.resolve(normalizedName, unnormalizedName, referrerId);
     }
 }
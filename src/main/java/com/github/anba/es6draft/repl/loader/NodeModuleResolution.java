@@ -8,10 +8,20 @@ package com.github.anba.es6draft.repl.loader;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 
 import com.github.anba.es6draft.parser.JSONBuilder;
 import com.github.anba.es6draft.parser.JSONParser;
@@ -22,24 +32,206 @@ import com.github.anba.es6draft.runtime.modules.loader.FileSourceIdentifier;
 
 /**
  * Node module file resolution.
+ * <p>
+ * File system probes and parsed package {@code main} entries are cached per directory. Cached results are only
+ * invalidated when file system watching is enabled or when the cache is cleared explicitly.
  * 
  * @see https://nodejs.org/api/modules.html#modules_all_together
  */
-final class NodeModuleResolution {
+public final class NodeModuleResolution {
     private static final String INDEX_FILE_NAME = "index";
     private static final String PACKAGE_FILE_NAME = "package.json";
     private static final String MODULES_DIR_NAME = "node_modules";
     private static final String EXECUTABLE_NAME = "main";
     private static final String[] FILE_EXTENSIONS = { ".js", ".json" };
+    private static final AtomicInteger watcherCount = new AtomicInteger(0);
 
-    private NodeModuleResolution() {
+    private final Path baseDirectory;
+    private final ConcurrentHashMap<Path, DirectoryEntry> directories = new ConcurrentHashMap<>();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder fileSystemLookups = new LongAdder();
+    private WatchService watchService;
+
+    private static final class DirectoryEntry {
+        final boolean exists;
+        final ConcurrentHashMap<String, Boolean> regularFiles = new ConcurrentHashMap<>();
+        volatile Optional<Path> packageMain;
+        WatchKey watchKey;
+
+        DirectoryEntry(boolean exists) {
+            this.exists = exists;
+        }
+    }
+
+    NodeModuleResolution(Path baseDirectory) {
+        this.baseDirectory = baseDirectory;
+    }
+
+    /**
+     * Returns the number of file system probes answered from the cache.
+     * 
+     * @return the number of cache hits
+     */
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    /**
+     * Returns the number of file system probes and package file reads.
+     * 
+     * @return the number of file system lookups
+     */
+    public long getFileSystemLookups() {
+        return fileSystemLookups.sum();
+    }
+
+    /**
+     * Removes all cached file system information.
+     */
+    public synchronized void clear() {
+        for (DirectoryEntry entry : directories.values()) {
+            if (entry.watchKey != null) {
+                entry.watchKey.cancel();
+            }
+        }
+        directories.clear();
+    }
+
+    /**
+     * Starts watching all cached directories and invalidates cached entries when a directory is modified.
+     * 
+     * @throws IOException
+     *             if the watch service cannot be created
+     */
+    public synchronized void startWatching() throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        watchService = baseDirectory.getFileSystem().newWatchService();
+        for (Map.Entry<Path, DirectoryEntry> entry : directories.entrySet()) {
+            register(entry.getKey(), entry.getValue());
+        }
+        WatchService service = watchService;
+        Thread watcher = new Thread(() -> processEvents(service),
+                "node-module-watcher-" + watcherCount.incrementAndGet());
+        watcher.setDaemon(true);
+        watcher.start();
+    }
+
+    /**
+     * Stops watching the cached directories. All cached entries are removed.
+     */
+    public synchronized void stopWatching() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            // ignore
+        }
+        watchService = null;
+        directories.clear();
+    }
+
+    private void register(Path dir, DirectoryEntry entry) {
+        assert Thread.holdsLock(this);
+        if (watchService != null && entry.exists && entry.watchKey == null) {
+            try {
+                entry.watchKey = dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_DELETE, StandardWatchEventKinds.ENTRY_MODIFY);
+            } catch (IOException e) {
+                // Directory was removed concurrently, don't cache the entry.
+                directories.remove(dir, entry);
+            }
+        }
+    }
+
+    private void processEvents(WatchService service) {
+        try {
+            for (;;) {
+                WatchKey key = service.take();
+                Path dir = (Path) key.watchable();
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        invalidate(dir);
+                    } else {
+                        invalidate(dir, (Path) event.context());
+                    }
+                }
+                if (!key.reset()) {
+                    invalidate(dir);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // Watch service closed.
+        }
+    }
+
+    private synchronized void invalidate(Path dir) {
+        directories.keySet().removeIf(p -> p.startsWith(dir));
+    }
+
+    private synchronized void invalidate(Path dir, Path name) {
+        DirectoryEntry entry = directories.get(dir);
+        if (entry != null) {
+            entry.regularFiles.remove(name.toString());
+            if (name.toString().equals(PACKAGE_FILE_NAME)) {
+                entry.packageMain = null;
+            }
+        }
+        Path child = dir.resolve(name);
+        directories.keySet().removeIf(p -> p.startsWith(child));
+    }
+
+    private DirectoryEntry directory(Path dir) {
+        DirectoryEntry entry = directories.get(dir);
+        if (entry != null) {
+            return entry;
+        }
+        fileSystemLookups.increment();
+        boolean exists = Files.isDirectory(dir);
+        if (!exists && dir.getParent() != null) {
+            // Watch the parent directory to observe the creation of this directory.
+            directory(dir.getParent());
+        }
+        synchronized (this) {
+            entry = directories.get(dir);
+            if (entry == null) {
+                entry = new DirectoryEntry(exists);
+                directories.put(dir, entry);
+                register(dir, entry);
+            }
+            return entry;
+        }
+    }
+
+    private boolean isRegularFile(Path path) {
+        Path dir = path.getParent();
+        if (dir == null) {
+            fileSystemLookups.increment();
+            return Files.isRegularFile(path);
+        }
+        DirectoryEntry entry = directory(dir);
+        if (!entry.exists) {
+            cacheHits.increment();
+            return false;
+        }
+        String name = path.getFileName().toString();
+        Boolean regularFile = entry.regularFiles.get(name);
+        if (regularFile != null) {
+            cacheHits.increment();
+            return regularFile;
+        }
+        fileSystemLookups.increment();
+        boolean result = Files.isRegularFile(path);
+        entry.regularFiles.put(name, result);
+        return result;
     }
 
     /**
      * Resolves a module name.
      * 
-     * @param baseDirectory
-     *            the base directory
      * @param normalizedName
      *            the normalized module identifier
      * @param unnormalizedName
@@ -50,8 +242,8 @@ final class NodeModuleResolution {
      * @throws MalformedNameException
      *             if the name cannot be normalized
      */
-    static FileSourceIdentifier resolve(Path baseDirectory, FileSourceIdentifier normalizedName,
-            String unnormalizedName, SourceIdentifier referrerId) throws MalformedNameException {
+    FileSourceIdentifier resolve(FileSourceIdentifier normalizedName, String unnormalizedName,
+            SourceIdentifier referrerId) throws MalformedNameException {
         if (referrerId != null) {
             try {
                 Path unnormalizedPath = Paths.get(unnormalizedName);
@@ -69,7 +261,7 @@ final class NodeModuleResolution {
                     }
                 }
 
-                Path file = loadNodeModules(unnormalizedPath, referrer, baseDirectory);
+                Path file = loadNodeModules(unnormalizedPath, referrer);
                 if (file != null) {
                     return new FileSourceIdentifier(file);
                 }
@@ -82,33 +274,33 @@ final class NodeModuleResolution {
         return normalizedName;
     }
 
-    private static Path loadAsFile(Path path) {
-        if (Files.isRegularFile(path)) {
+    private Path loadAsFile(Path path) {
+        if (isRegularFile(path)) {
             return path;
         }
         for (String ext : FILE_EXTENSIONS) {
             Path pathWithExt = Paths.get(path + ext);
-            if (Files.isRegularFile(pathWithExt)) {
+            if (isRegularFile(pathWithExt)) {
                 return pathWithExt;
             }
         }
         return null;
     }
 
-    private static Path loadIndex(Path path) {
+    private Path loadIndex(Path path) {
         for (String ext : FILE_EXTENSIONS) {
             Path indexFile = path.resolve(INDEX_FILE_NAME + ext);
-            if (Files.isRegularFile(indexFile)) {
+            if (isRegularFile(indexFile)) {
                 return indexFile;
             }
         }
         return null;
     }
 
-    private static Path loadAsDirectory(Path path) {
+    private Path loadAsDirectory(Path path) {
         Path jsonPackage = path.resolve(PACKAGE_FILE_NAME);
-        if (Files.isRegularFile(jsonPackage)) {
-            Path executable = readPackage(jsonPackage);
+        if (isRegularFile(jsonPackage)) {
+            Path executable = packageMain(path, jsonPackage);
             if (executable != null) {
                 executable = path.resolve(executable);
                 Path file = loadAsFile(executable);
@@ -124,7 +316,7 @@ final class NodeModuleResolution {
         return loadIndex(path);
     }
 
-    private static Path loadNodeModules(Path path, Path referrer, Path baseDirectory) {
+    private Path loadNodeModules(Path path, Path referrer) {
         Path start = referrer.getParent();
         if (start != null) {
             start = baseDirectory.relativize(baseDirectory.resolve(start));
@@ -138,7 +330,12 @@ final class NodeModuleResolution {
             if (dirName == null || dirName.equals(nodeModules)) {
                 continue;
             }
-            Path p = baseDirectory.resolve(dir.resolve(nodeModules).resolve(path));
+            Path modulesDir = baseDirectory.resolve(dir.resolve(nodeModules));
+            if (!directory(modulesDir).exists) {
+                cacheHits.increment();
+                continue;
+            }
+            Path p = modulesDir.resolve(path);
             Path file = loadAsFile(p);
             if (file != null) {
                 return file;
@@ -151,6 +348,19 @@ final class NodeModuleResolution {
         return null;
     }
 
+    private Path packageMain(Path dir, Path jsonPackage) {
+        DirectoryEntry entry = directory(dir);
+        Optional<Path> packageMain = entry.packageMain;
+        if (packageMain != null) {
+            cacheHits.increment();
+            return packageMain.orElse(null);
+        }
+        fileSystemLookups.increment();
+        Path executable = readPackage(jsonPackage);
+        entry.packageMain = Optional.ofNullable(executable);
+        return executable;
+    }
+
     private static Path readPackage(Path path) {
         String executable;
         try {
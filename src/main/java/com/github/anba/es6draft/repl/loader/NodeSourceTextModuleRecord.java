@@ -138,8 +138,7 @@ public final class NodeSourceTextModuleRecord implements ModuleRecord, Cloneable
     public static NodeSourceTextModuleRecord ParseModule(ScriptLoader scriptLoader, SourceIdentifier sourceCodeId,
             ModuleSource source) throws IOException, ParserException, CompilationException {
         // Add an implicit "require" binding to the lexical environment of the module.
-        com.github.anba.es6draft.ast.Module parsedBody = scriptLoader.parseModule(source.toSource(),
-                source.sourceCode());
+        com.github.anba.es6draft.ast.Module parsedBody = source.parse(scriptLoader);
         ModuleScope moduleScope = parsedBody.getScope();
         if (!moduleScope.isDeclared(new Name("require"))) {
             moduleScope.addImplicitBinding(new Name("require"));
@@ -17,14 +17,26 @@ import com.github.anba.es6draft.runtime.modules.loader.FileSourceIdentifier;
  * 
  */
 public class NodeStandardModuleLoader extends FileModuleLoader {
+    private final NodeModuleResolution resolution;
+
     public NodeStandardModuleLoader(RuntimeContext context, ScriptLoader scriptLoader) {
         super(context, scriptLoader);
+        this.resolution = new NodeModuleResolution(getBaseDirectory());
+    }
+
+    /**
+     * Returns the Node module resolution of this loader.
+     * 
+     * @return the module resolution
+     */
+    public NodeModuleResolution getResolution() {
+        return resolution;
     }
 
     @Override
     public FileSourceIdentifier normalizeName(String unnormalizedName, SourceIdentifier referrerId)
             throws MalformedNameException {
         FileSourceIdentifier normalizedName = super.normalizeName(unnormalizedName, referrerId);
-        return NodeModuleResolution.resolve(getBaseDirectory(), normalizedName, unnormalizedName, referrerId);
+        return resolution.resolve(normalizedName, unnormalizedName, referrerId);
     }
 }
@@ -140,7 +140,15 @@ public class DeclarativeEnvironmentRecord implements EnvironmentRecord {
         bindings.put(name, binding);
     }
 
-    protected final Binding getBinding(String name) {
+    /**
+     * Returns the binding object for {@code name}. Callers may retain the binding object to access the binding
+     * directly, provided the binding is not deletable.
+     * 
+     * @param name
+     *            the binding name
+     * @return the binding object or {@code null} if not found
+     */
+    public final Binding getBinding(String name) {
         return bindings.get(name);
     }
 
@@ -0,0 +1,216 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime;
+
+import static com.github.anba.es6draft.runtime.internal.Errors.newInternalError;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.anba.es6draft.runtime.internal.ExecutionTerminatedError;
+import com.github.anba.es6draft.runtime.internal.Messages;
+
+/**
+ * Execution budget for a {@link World}.
+ * <p>
+ * Compiled code reaches a safepoint at the head of each loop iteration and in each function prologue. Every safepoint
+ * consumes one step of the budget. The fast path only decrements a counter, the deadline and any pending termination
+ * request are checked once every {@value #CHECK_INTERVAL} safepoints.
+ * <p>
+ * When the budget is exhausted, the safepoint either throws a catchable {@code InternalError} or an
+ * {@link ExecutionTerminatedError}, which cannot be intercepted by script code. In both cases every subsequent
+ * safepoint fails again until the budget is {@link #reset() reset}.
+ *
+ * @see World#setExecutionBudget(ExecutionBudget)
+ */
+public final class ExecutionBudget {
+    /**
+     * The number of safepoints between two checks of the slow path.
+     */
+    public static final int CHECK_INTERVAL = 1024;
+
+    /**
+     * The value for an unlimited number of steps or an unlimited execution time.
+     */
+    public static final long UNLIMITED = -1;
+
+    /**
+     * Termination modes
+     */
+    public enum Termination {
+        /**
+         * Throw an {@code InternalError} which can be caught by script code.
+         */
+        Catchable,
+
+        /**
+         * Throw an {@link ExecutionTerminatedError} which cannot be caught by script code.
+         */
+        Uncatchable
+    }
+
+    private final long maxSteps;
+    private final long timeoutNanos;
+    private final Termination termination;
+    private volatile boolean terminationRequested;
+    private int counter;
+    private int interval;
+    private long remainingSteps;
+    private long deadline;
+    private Messages.Key exhausted;
+
+    /**
+     * Constructs a new execution budget.
+     *
+     * @param maxSteps
+     *            the maximum number of safepoints or {@link #UNLIMITED}
+     * @param timeout
+     *            the maximum execution time or {@link #UNLIMITED}
+     * @param unit
+     *            the time unit of the execution time
+     * @param termination
+     *            the termination mode
+     */
+    public ExecutionBudget(long maxSteps, long timeout, TimeUnit unit, Termination termination) {
+        if (maxSteps < 0 && maxSteps != UNLIMITED) {
+            throw new IllegalArgumentException("maxSteps: " + maxSteps);
+        }
+        if (timeout < 0 && timeout != UNLIMITED) {
+            throw new IllegalArgumentException("timeout: " + timeout);
+        }
+        this.maxSteps = maxSteps;
+        this.timeoutNanos = timeout == UNLIMITED ? UNLIMITED : unit.toNanos(timeout);
+        this.termination = termination;
+        reset();
+    }
+
+    /**
+     * Returns a new execution budget which limits the number of safepoints.
+     *
+     * @param maxSteps
+     *            the maximum number of safepoints
+     * @param termination
+     *            the termination mode
+     * @return the new execution budget
+     */
+    public static ExecutionBudget ofSteps(long maxSteps, Termination termination) {
+        return new ExecutionBudget(maxSteps, UNLIMITED, TimeUnit.NANOSECONDS, termination);
+    }
+
+    /**
+     * Returns a new execution budget which limits the execution time.
+     *
+     * @param timeout
+     *            the maximum execution time
+     * @param unit
+     *            the time unit of the execution time
+     * @param termination
+     *            the termination mode
+     * @return the new execution budget
+     */
+    public static ExecutionBudget ofTime(long timeout, TimeUnit unit, Termination termination) {
+        return new ExecutionBudget(UNLIMITED, timeout, unit, termination);
+    }
+
+    /**
+     * Returns the termination mode.
+     *
+     * @return the termination mode
+     */
+    public Termination getTermination() {
+        return termination;
+    }
+
+    /**
+     * Returns the number of remaining steps or {@link #UNLIMITED}. The result is only exact to
+     * {@value #CHECK_INTERVAL} steps while the budget is in use.
+     *
+     * @return the number of remaining steps
+     */
+    public long getRemainingSteps() {
+        if (maxSteps == UNLIMITED) {
+            return UNLIMITED;
+        }
+        return Math.max(remainingSteps - (interval - counter), 0);
+    }
+
+    /**
+     * Returns {@code true} if this budget is exhausted or execution was terminated.
+     *
+     * @return {@code true} if the budget is exhausted
+     */
+    public boolean isExhausted() {
+        return exhausted != null;
+    }
+
+    /**
+     * Resets the step count and restarts the execution time. Must not be called while script code is running.
+     */
+    public void reset() {
+        this.terminationRequested = false;
+        this.exhausted = null;
+        this.remainingSteps = maxSteps;
+        this.deadline = System.nanoTime() + Math.max(timeoutNanos, 0);
+        refill();
+    }
+
+    /**
+     * Requests termination of the running script code. This method may be called from any thread, the request is
+     * observed at one of the next {@value #CHECK_INTERVAL} safepoints.
+     */
+    public void terminate() {
+        terminationRequested = true;
+    }
+
+    private void refill() {
+        interval = maxSteps == UNLIMITED ? CHECK_INTERVAL : (int) Math.min(remainingSteps, CHECK_INTERVAL);
+        counter = interval;
+    }
+
+    /**
+     * Safepoint: consumes one step of the execution budget of the current world.
+     *
+     * @param cx
+     *            the execution context
+     * @throws ExecutionTerminatedError
+     *             if the budget is exhausted and termination is uncatchable
+     */
+    public static void safepoint(ExecutionContext cx) {
+        ExecutionBudget budget = cx.getRealm().getWorld().getExecutionBudget();
+        if (budget != null && --budget.counter < 0) {
+            budget.slowPath(cx);
+        }
+    }
+
+    private void slowPath(ExecutionContext cx) {
+        if (exhausted == null) {
+            if (maxSteps != UNLIMITED) {
+                // The current safepoint is the first step beyond the interval.
+                remainingSteps -= interval + 1;
+                if (remainingSteps < 0) {
+                    remainingSteps = 0;
+                    exhausted = Messages.Key.ExecutionBudgetSteps;
+                }
+            }
+            if (exhausted == null && timeoutNanos != UNLIMITED && System.nanoTime() - deadline >= 0) {
+                exhausted = Messages.Key.ExecutionBudgetTime;
+            }
+            if (exhausted == null && terminationRequested) {
+                exhausted = Messages.Key.ExecutionTerminated;
+            }
+            if (exhausted == null) {
+                refill();
+                return;
+            }
+        }
+        // Fail again at the next safepoint.
+        interval = counter = 0;
+        if (termination == Termination.Catchable) {
+            throw newInternalError(cx, exhausted);
+        }
+        throw new ExecutionTerminatedError(cx.getRealm().getWorld().message(exhausted));
+    }
+}
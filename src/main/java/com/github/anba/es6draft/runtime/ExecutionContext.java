@@ -435,7 +435,11 @@ public final class ExecutionContext {
             LexicalEnvironment<FunctionEnvironmentRecord> localEnv) {
         /* steps 1-2, 7 (not applicable) */
         /* steps 3-6, 8-13 */
-        return new ExecutionContext(f.getRealm(), localEnv, localEnv, localEnv, f.getExecutable(), f);
+        ExecutionContext calleeContext = new ExecutionContext(f.getRealm(), localEnv, localEnv, localEnv,
+                f.getExecutable(), f);
+        // Function prologue safepoint.
+        ExecutionBudget.safepoint(calleeContext);
+        return calleeContext;
     }
 
     /**
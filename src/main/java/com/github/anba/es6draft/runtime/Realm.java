@@ -24,6 +24,7 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Random;
 import java.util.TimeZone;
+import java.util.function.Consumer;
 
 import com.github.anba.es6draft.compiler.CompilationException;
 import com.github.anba.es6draft.parser.ParserException;
@@ -32,6 +33,7 @@ import com.github.anba.es6draft.runtime.internal.Messages;
 import com.github.anba.es6draft.runtime.internal.Permission;
 import com.github.anba.es6draft.runtime.internal.Properties;
 import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.RuntimeEvents;
 import com.github.anba.es6draft.runtime.internal.ScriptLoader;
 import com.github.anba.es6draft.runtime.modules.ModuleLoader;
 import com.github.anba.es6draft.runtime.objects.*;
@@ -114,6 +116,11 @@ public final class Realm {
      */
     private final EnumMap<Intrinsics, OrdinaryObject> intrinsics = new EnumMap<>(Intrinsics.class);
 
+    /**
+     * Modules whose intrinsics are created on first access.
+     */
+    private final EnumSet<LazyModule> lazyModules = EnumSet.noneOf(LazyModule.class);
+
     /**
      * [[realmObject]]
      */
@@ -177,7 +184,7 @@ public final class Realm {
 
     private final GlobalObject globalPropertiesObject;
 
-    private final SecureRandom random = new SecureRandom();
+    private SecureRandom random;
 
     private final EnumSet<Permission> permissions = EnumSet.allOf(Permission.class);
 
@@ -247,9 +254,32 @@ public final class Realm {
      * @return the intrinsic object
      */
     public OrdinaryObject getIntrinsic(Intrinsics id) {
+        OrdinaryObject intrinsic = intrinsics.get(id);
+        if (intrinsic == null && !lazyModules.isEmpty()) {
+            intrinsic = initializeLazyIntrinsic(id);
+        }
+        return intrinsic;
+    }
+
+    private OrdinaryObject initializeLazyIntrinsic(Intrinsics id) {
+        LazyModule module = LazyModule.of(id);
+        if (module != null && lazyModules.remove(module)) {
+            module.initialize(this);
+        }
         return intrinsics.get(id);
     }
 
+    /**
+     * Returns {@code true} if the intrinsic object is created on first access and hasn't yet been created.
+     * 
+     * @param id
+     *            the intrinsic identifier
+     * @return {@code true} if the intrinsic is not yet initialized
+     */
+    public boolean isLazyIntrinsic(Intrinsics id) {
+        return !lazyModules.isEmpty() && lazyModules.contains(LazyModule.of(id)) && !intrinsics.containsKey(id);
+    }
+
     /**
      * [[intrinsics]]
      * 
@@ -259,6 +289,10 @@ public final class Realm {
      *            the intrinsic object
      */
     public void setIntrinsic(Intrinsics id, OrdinaryObject intrinsic) {
+        if (isLazyIntrinsic(id)) {
+            // Create the remaining intrinsics of the module, so they don't replace the new intrinsic later on.
+            initializeLazyIntrinsic(id);
+        }
         intrinsics.put(id, intrinsic);
     }
 
@@ -372,6 +406,10 @@ public final class Realm {
      * @return the random object
      */
     public Random getRandom() {
+        // Seeding is expensive, defer until first use.
+        if (random == null) {
+            random = new SecureRandom();
+        }
         return random;
     }
 
@@ -698,6 +736,12 @@ public final class Realm {
         for (Object key : globalProperties.ownPropertyKeys(cx)) {
             Property prop = globalProperties.getOwnProperty(cx, key);
             if (prop != null) {
+                if (key instanceof String && globalObject instanceof GlobalObject && globalObject.isExtensible(cx)
+                        && ((GlobalObject) globalObject).lookupOwnProperty((String) key) == null) {
+                    // Copy the property record to keep lazily initialized values.
+                    ((GlobalObject) globalObject).infallibleDefineOwnProperty((String) key, prop.clone());
+                    continue;
+                }
                 PropertyDescriptor desc = prop.toPropertyDescriptor();
                 DefinePropertyOrThrow(cx, globalObject, key, desc);
             }
@@ -722,6 +766,7 @@ public final class Realm {
      */
     public static void InitializeHostDefinedRealm(Realm realm)
             throws IOException, ParserException, CompilationException {
+        Object event = RuntimeEvents.begin(RuntimeEvents.Type.RealmInitialization);
         /* steps 1-9 (not applicable) */
         /* step 10 */
         // Run initialization scripts before installing global bindings and extensions.
@@ -729,6 +774,7 @@ public final class Realm {
         SetDefaultGlobalBindings(realm.defaultContext(), realm);
         /* step 11 */
         realm.getRealmData().initializeExtensions();
+        RuntimeEvents.endRealmInitialization(event);
     }
 
     /**
@@ -755,6 +801,119 @@ public final class Realm {
         return realm;
     }
 
+    /**
+     * Groups of intrinsics which are only created when one of their members is first accessed.
+     */
+    private enum LazyModule {
+        Binary(Realm::initializeBinaryModule), Intl(Realm::initializeInternationalisation),
+        Loader(Realm::initializeLoaderModule), SIMD(Realm::initializeSIMDModule),
+        Observable(Realm::initializeObservableModule), Atomics(Realm::initializeAtomicsModule),
+        Zones(Realm::initializeZonesModule), BigIntArray(Realm::initializeBigIntArrayModule);
+
+        private final Consumer<Realm> initializer;
+
+        private LazyModule(Consumer<Realm> initializer) {
+            this.initializer = initializer;
+        }
+
+        void initialize(Realm realm) {
+            initializer.accept(realm);
+        }
+
+        static LazyModule of(Intrinsics id) {
+            switch (id) {
+            case ArrayBuffer:
+            case ArrayBufferPrototype:
+            case DataView:
+            case DataViewPrototype:
+            case TypedArray:
+            case TypedArrayPrototype:
+            case Int8Array:
+            case Int8ArrayPrototype:
+            case Uint8Array:
+            case Uint8ArrayPrototype:
+            case Uint8ClampedArray:
+            case Uint8ClampedArrayPrototype:
+            case Int16Array:
+            case Int16ArrayPrototype:
+            case Uint16Array:
+            case Uint16ArrayPrototype:
+            case Int32Array:
+            case Int32ArrayPrototype:
+            case Uint32Array:
+            case Uint32ArrayPrototype:
+            case Float32Array:
+            case Float32ArrayPrototype:
+            case Float64Array:
+            case Float64ArrayPrototype:
+                return Binary;
+            case Intl:
+            case Intl_Collator:
+            case Intl_CollatorPrototype:
+            case Intl_NumberFormat:
+            case Intl_NumberFormatPrototype:
+            case Intl_DateTimeFormat:
+            case Intl_DateTimeFormatPrototype:
+            case Intl_PluralRules:
+            case Intl_PluralRulesPrototype:
+            case Intl_Segmenter:
+            case Intl_SegmenterPrototype:
+            case Intl_SegmentIteratorPrototype:
+            case Intl_ListFormat:
+            case Intl_ListFormatPrototype:
+                return Intl;
+            case Loader:
+            case LoaderPrototype:
+                return Loader;
+            case SIMD:
+            case SIMD_Float32x4:
+            case SIMD_Float32x4Prototype:
+            case SIMD_Int32x4:
+            case SIMD_Int32x4Prototype:
+            case SIMD_Int16x8:
+            case SIMD_Int16x8Prototype:
+            case SIMD_Int8x16:
+            case SIMD_Int8x16Prototype:
+            case SIMD_Uint32x4:
+            case SIMD_Uint32x4Prototype:
+            case SIMD_Uint16x8:
+            case SIMD_Uint16x8Prototype:
+            case SIMD_Uint8x16:
+            case SIMD_Uint8x16Prototype:
+            case SIMD_Bool32x4:
+            case SIMD_Bool32x4Prototype:
+            case SIMD_Bool16x8:
+            case SIMD_Bool16x8Prototype:
+            case SIMD_Bool8x16:
+            case SIMD_Bool8x16Prototype:
+            case SIMD_Float64x2:
+            case SIMD_Float64x2Prototype:
+            case SIMD_Bool64x2:
+            case SIMD_Bool64x2Prototype:
+                return SIMD;
+            case Observable:
+            case ObservablePrototype:
+            case SubscriptionPrototype:
+            case SubscriptionObserverPrototype:
+                return Observable;
+            case Atomics:
+            case SharedArrayBuffer:
+            case SharedArrayBufferPrototype:
+                return Atomics;
+            case Zone:
+            case ZonePrototype:
+                return Zones;
+            case BigInt64Array:
+            case BigInt64ArrayPrototype:
+            case BigUint64Array:
+            case BigUint64ArrayPrototype:
+                return BigIntArray;
+            default:
+                return null;
+            }
+        }
+    }
+
     /**
      * 8.2.2 CreateIntrinsics ( realmRec )
      * 
@@ -766,7 +925,7 @@ public final class Realm {
         initializeFundamentalObjects(realm);
         initializeStandardObjects(realm);
         initializeNativeErrors(realm);
-        initializeBinaryModule(realm);
+        realm.lazyModules.add(LazyModule.Binary);
         initializeCollectionModule(realm);
         initializeReflectModule(realm);
         initializeIterationModule(realm);
@@ -774,7 +933,7 @@ public final class Realm {
         initializeAsyncModule(realm);
 
         // intrinsics: Internationalization API
-        initializeInternationalisation(realm);
+        realm.lazyModules.add(LazyModule.Intl);
 
         // intrinsics: Async generators
         if (realm.getRuntimeContext().isEnabled(CompatibilityOption.AsyncIteration)) {
@@ -783,25 +942,26 @@ public final class Realm {
 
         // intrinsics: SIMD
         if (realm.getRuntimeContext().isEnabled(CompatibilityOption.SIMD)) {
-            initializeSIMDModule(realm);
+            realm.lazyModules.add(LazyModule.SIMD);
         }
 
         // intrinsics: Observable
         if (realm.getRuntimeContext().isEnabled(CompatibilityOption.Observable)) {
-            initializeObservableModule(realm);
+            realm.lazyModules.add(LazyModule.Observable);
         }
 
         // intrinsics: Shared Memory and Atomics
-        initializeAtomicsModule(realm);
+        realm.lazyModules.add(LazyModule.Atomics);
 
         // intrinsics: Zones
         if (realm.getRuntimeContext().isEnabled(CompatibilityOption.Zones)) {
-            initializeZonesModule(realm);
+            realm.lazyModules.add(LazyModule.Zones);
         }
 
         // intrinsics: BigInt
         if (realm.getRuntimeContext().isEnabled(CompatibilityOption.BigInt)) {
             initializeBigIntModule(realm);
+            realm.lazyModules.add(LazyModule.BigIntArray);
         }
 
         // Initialized last because it accesses other intrinsics.
@@ -1080,14 +1240,7 @@ public final class Realm {
         }
 
         if (realm.getRuntimeContext().isEnabled(CompatibilityOption.Loader)) {
-            LoaderConstructor loaderConstructor = new LoaderConstructor(realm);
-            LoaderPrototype loaderPrototype = new LoaderPrototype(realm);
-
-            intrinsics.put(Intrinsics.Loader, loaderConstructor);
-            intrinsics.put(Intrinsics.LoaderPrototype, loaderPrototype);
-
-            loaderConstructor.initialize(realm);
-            loaderPrototype.initialize(realm);
+            realm.lazyModules.add(LazyModule.Loader);
         }
 
         if (realm.getRuntimeContext().isEnabled(CompatibilityOption.WeakReference)) {
@@ -1112,6 +1265,28 @@ public final class Realm {
         reflect.initialize(realm);
     }
 
+    /**
+     * <h1>Extension: Loader</h1>
+     * 
+     * @param realm
+     *            the realm instance
+     */
+    private static void initializeLoaderModule(Realm realm) {
+        EnumMap<Intrinsics, OrdinaryObject> intrinsics = realm.intrinsics;
+
+        // allocation phase
+        LoaderConstructor loaderConstructor = new LoaderConstructor(realm);
+        LoaderPrototype loaderPrototype = new LoaderPrototype(realm);
+
+        // registration phase
+        intrinsics.put(Intrinsics.Loader, loaderConstructor);
+        intrinsics.put(Intrinsics.LoaderPrototype, loaderPrototype);
+
+        // initialization phase
+        loaderConstructor.initialize(realm);
+        loaderPrototype.initialize(realm);
+    }
+
     /**
      * <h1>25 Control Abstraction Objects</h1>
      * 
@@ -1581,22 +1756,39 @@ public final class Realm {
         // allocation phase
         BigIntConstructor bigIntConstructor = new BigIntConstructor(realm);
         BigIntPrototype bigIntPrototype = new BigIntPrototype(realm);
+
+        // registration phase
+        intrinsics.put(Intrinsics.BigInt, bigIntConstructor);
+        intrinsics.put(Intrinsics.BigIntPrototype, bigIntPrototype);
+
+        // initialization phase
+        bigIntConstructor.initialize(realm);
+        bigIntPrototype.initialize(realm);
+    }
+
+    /**
+     * <h1>Extension: BigInt</h1><br>
+     * <h2>BigInt64Array and BigUint64Array</h2>
+     * 
+     * @param realm
+     *            the realm instance
+     */
+    private static void initializeBigIntArrayModule(Realm realm) {
+        EnumMap<Intrinsics, OrdinaryObject> intrinsics = realm.intrinsics;
+
+        // allocation phase
         TypedArrayConstructor int64ArrayConstructor = new TypedArrayConstructor(realm, ElementType.BigInt64);
         TypedArrayPrototype int64ArrayPrototype = new TypedArrayPrototype(realm, ElementType.BigInt64);
         TypedArrayConstructor uint64ArrayConstructor = new TypedArrayConstructor(realm, ElementType.BigUint64);
         TypedArrayPrototype uint64ArrayPrototype = new TypedArrayPrototype(realm, ElementType.BigUint64);
 
         // registration phase
-        intrinsics.put(Intrinsics.BigInt, bigIntConstructor);
-        intrinsics.put(Intrinsics.BigIntPrototype, bigIntPrototype);
         intrinsics.put(Intrinsics.BigInt64Array, int64ArrayConstructor);
         intrinsics.put(Intrinsics.BigInt64ArrayPrototype, int64ArrayPrototype);
         intrinsics.put(Intrinsics.BigUint64Array, uint64ArrayConstructor);
         intrinsics.put(Intrinsics.BigUint64ArrayPrototype, uint64ArrayPrototype);
 
         // initialization phase
-        bigIntConstructor.initialize(realm);
-        bigIntPrototype.initialize(realm);
         int64ArrayConstructor.initialize(realm);
         int64ArrayPrototype.initialize(realm);
         uint64ArrayConstructor.initialize(realm);
@@ -18,6 +18,7 @@ import com.github.anba.es6draft.runtime.internal.JobSource;
 import com.github.anba.es6draft.runtime.internal.Messages;
 import com.github.anba.es6draft.runtime.internal.Ref;
 import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.RuntimeEvents;
 import com.github.anba.es6draft.runtime.internal.ScriptLoader;
 import com.github.anba.es6draft.runtime.internal.UnhandledRejectionException;
 import com.github.anba.es6draft.runtime.internal.WeakReferenceWithFinalizer;
@@ -48,6 +49,8 @@ public final class World {
     private final ReferenceQueue<ScriptObject> weakQueue = new ReferenceQueue<>();
 
     private ExecutionContext scriptContext;
+    private volatile Runnable asyncJobListener;
+    private ExecutionBudget executionBudget;
 
     private static final JobSource EMPTY_JOB_SOURCE = new JobSource() {
         @Override
@@ -147,6 +150,30 @@ public final class World {
      */
     public void enqueueAsyncJob(Job job) {
         asyncJobs.offer(job);
+        Runnable listener = asyncJobListener;
+        if (listener != null) {
+            listener.run();
+        }
+    }
+
+    /**
+     * Sets the listener which is called after a new async-job was enqueued. The listener may be called from any
+     * thread.
+     * 
+     * @param listener
+     *            the async-job listener or {@code null}
+     */
+    public void setAsyncJobListener(Runnable listener) {
+        this.asyncJobListener = listener;
+    }
+
+    /**
+     * Returns {@code true} if there are any pending jobs.
+     * 
+     * @return {@code true} if there are pending jobs
+     */
+    public boolean hasPendingJobs() {
+        return !(scriptJobs.isEmpty() && promiseJobs.isEmpty() && finalizerJobs.isEmpty() && asyncJobs.isEmpty());
     }
 
     /**
@@ -185,30 +212,40 @@ public final class World {
         ArrayDeque<Job> finalizerJobs = this.finalizerJobs;
         ConcurrentLinkedDeque<Job> asyncJobs = this.asyncJobs;
         ArrayDeque<Object> unhandledRejections = this.unhandledRejections;
+        Object event = RuntimeEvents.begin(RuntimeEvents.Type.EventLoop);
+        int jobCount = 0;
         for (;;) {
             while (!(scriptJobs.isEmpty() && promiseJobs.isEmpty() && finalizerJobs.isEmpty() && asyncJobs.isEmpty())) {
-                executeJobs(scriptJobs);
-                executeJobs(promiseJobs);
-                executeJobs(finalizerJobs);
-                executeJobs(asyncJobs);
+                jobCount += executeJobs(scriptJobs, "script");
+                jobCount += executeJobs(promiseJobs, "promise");
+                jobCount += executeJobs(finalizerJobs, "finalizer");
+                jobCount += executeJobs(asyncJobs, "async");
             }
             if (!unhandledRejections.isEmpty()) {
+                RuntimeEvents.endEventLoop(event, jobCount);
                 throw new UnhandledRejectionException(unhandledRejections.poll());
             }
+            RuntimeEvents.endEventLoop(event, jobCount);
             Job job = jobSource.nextJob();
             if (job == null) {
                 break;
             }
             enqueueScriptJob(job);
+            event = RuntimeEvents.begin(RuntimeEvents.Type.EventLoop);
+            jobCount = 0;
         }
     }
 
-    private void executeJobs(Deque<Job> jobs) {
+    private int executeJobs(Deque<Job> jobs, String kind) {
         // Execute all pending jobs until the queue is empty
-        for (Job job; (job = jobs.poll()) != null;) {
+        int jobCount = 0;
+        for (Job job; (job = jobs.poll()) != null; ++jobCount) {
+            Object event = RuntimeEvents.begin(RuntimeEvents.Type.Job);
             job.execute();
+            RuntimeEvents.endJob(event, kind, job, jobs);
             enqueueWeakFinalizers();
         }
+        return jobCount;
     }
 
     private void enqueueWeakFinalizers() {
@@ -323,4 +360,26 @@ public final class World {
     public void setScriptContext(ExecutionContext scriptContext) {
         this.scriptContext = scriptContext;
     }
+
+    /**
+     * Returns the execution budget for this object.
+     * 
+     * @return the execution budget or {@code null} if unlimited
+     */
+    public ExecutionBudget getExecutionBudget() {
+        return executionBudget;
+    }
+
+    /**
+     * Sets a new execution budget for this object. The step count and the execution time of the budget are restarted.
+     * 
+     * @param executionBudget
+     *            the new execution budget or {@code null} to remove the current budget
+     */
+    public void setExecutionBudget(ExecutionBudget executionBudget) {
+        if (executionBudget != null) {
+            executionBudget.reset();
+        }
+        this.executionBudget = executionBudget;
+    }
 }
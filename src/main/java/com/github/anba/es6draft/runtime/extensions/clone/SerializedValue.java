@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.extensions.clone;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import com.github.anba.es6draft.runtime.objects.atomics.SharedByteBuffer;
+
+/**
+ * Realm-independent result of a structured serialization.
+ * <p>
+ * A serialized value consists of the binary encoded object graph and two side tables for the data blocks of
+ * transferred array buffers and for shared array buffer memory. Serialized values are immutable and can be safely
+ * passed between threads. Transferred data blocks are handed over to the first realm which deserializes the value.
+ * <p>
+ * Values without shared or transferred array buffers are self-contained and can be written to byte buffers and
+ * channels, for example to store them in an external cache.
+ *
+ * @see StructuredClone
+ */
+public final class SerializedValue {
+    private static final int MAGIC = 0x4553_4331; // "ESC1"
+    private static final int HEADER_LENGTH = 8;
+    private static final ByteBuffer[] NO_TRANSFERS = new ByteBuffer[0];
+    private static final SharedByteBuffer[] NO_SHARED_BUFFERS = new SharedByteBuffer[0];
+
+    private final byte[] data;
+    private final SharedByteBuffer[] sharedBuffers;
+    private ByteBuffer[] transferredBuffers;
+
+    SerializedValue(byte[] data, SharedByteBuffer[] sharedBuffers, ByteBuffer[] transferredBuffers) {
+        this.data = data;
+        this.sharedBuffers = sharedBuffers;
+        this.transferredBuffers = transferredBuffers;
+    }
+
+    byte[] getData() {
+        return data;
+    }
+
+    SharedByteBuffer[] getSharedBuffers() {
+        return sharedBuffers;
+    }
+
+    /**
+     * Returns the transferred data blocks and clears the transfer table.
+     *
+     * @return the transferred data blocks or {@code null} if the data blocks were already taken
+     */
+    synchronized ByteBuffer[] takeTransferredBuffers() {
+        ByteBuffer[] buffers = transferredBuffers;
+        if (buffers != null && buffers.length != 0) {
+            transferredBuffers = null;
+        }
+        return buffers;
+    }
+
+    /**
+     * Returns the length of the binary encoded object graph in bytes.
+     *
+     * @return the encoded length in bytes
+     */
+    public int byteLength() {
+        return data.length;
+    }
+
+    /**
+     * Returns {@code true} if this value contains references to shared array buffer memory.
+     *
+     * @return {@code true} if shared array buffers are present
+     */
+    public boolean hasSharedBuffers() {
+        return sharedBuffers.length != 0;
+    }
+
+    /**
+     * Returns {@code true} if this value holds transferred array buffer data blocks.
+     *
+     * @return {@code true} if array buffers were transferred
+     */
+    public synchronized boolean hasTransferredBuffers() {
+        return transferredBuffers == null || transferredBuffers.length != 0;
+    }
+
+    /**
+     * Returns the number of bytes required to write this value to a byte buffer or channel.
+     *
+     * @return the external length in bytes
+     */
+    public int externalLength() {
+        return HEADER_LENGTH + data.length;
+    }
+
+    /**
+     * Writes this value to the byte buffer.
+     *
+     * @param target
+     *            the target byte buffer
+     * @throws IllegalStateException
+     *             if this value is not self-contained
+     * @throws BufferOverflowException
+     *             if the target buffer does not have enough remaining space
+     */
+    public void writeTo(ByteBuffer target) {
+        checkSelfContained();
+        if (target.remaining() < externalLength()) {
+            throw new BufferOverflowException();
+        }
+        target.putInt(MAGIC).putInt(data.length).put(data);
+    }
+
+    /**
+     * Writes this value to the channel.
+     *
+     * @param channel
+     *            the target channel
+     * @throws IOException
+     *             if there was any I/O error
+     * @throws IllegalStateException
+     *             if this value is not self-contained
+     */
+    public void writeTo(WritableByteChannel channel) throws IOException {
+        checkSelfContained();
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).putInt(data.length);
+        header.flip();
+        ByteBuffer body = ByteBuffer.wrap(data);
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        while (body.hasRemaining()) {
+            channel.write(body);
+        }
+    }
+
+    /**
+     * Reads a value from the byte buffer.
+     *
+     * @param source
+     *            the source byte buffer
+     * @return the serialized value
+     * @throws IllegalArgumentException
+     *             if the source does not contain a serialized value
+     * @throws BufferUnderflowException
+     *             if the source buffer ends before the serialized value
+     */
+    public static SerializedValue readFrom(ByteBuffer source) {
+        if (source.remaining() < HEADER_LENGTH) {
+            throw new BufferUnderflowException();
+        }
+        int length = readHeader(source.getInt(), source.getInt());
+        if (source.remaining() < length) {
+            throw new BufferUnderflowException();
+        }
+        byte[] data = new byte[length];
+        source.get(data);
+        return new SerializedValue(data, NO_SHARED_BUFFERS, NO_TRANSFERS);
+    }
+
+    /**
+     * Reads a value from the channel.
+     *
+     * @param channel
+     *            the source channel
+     * @return the serialized value
+     * @throws IOException
+     *             if there was any I/O error
+     * @throws IllegalArgumentException
+     *             if the channel does not contain a serialized value
+     */
+    public static SerializedValue readFrom(ReadableByteChannel channel) throws IOException {
+        ByteBuffer header = readFully(channel, ByteBuffer.allocate(HEADER_LENGTH));
+        header.flip();
+        int length = readHeader(header.getInt(), header.getInt());
+        byte[] data = new byte[length];
+        readFully(channel, ByteBuffer.wrap(data));
+        return new SerializedValue(data, NO_SHARED_BUFFERS, NO_TRANSFERS);
+    }
+
+    private static int readHeader(int magic, int length) {
+        if (magic != MAGIC || length < 0) {
+            throw new IllegalArgumentException("Invalid serialized value header");
+        }
+        return length;
+    }
+
+    private static ByteBuffer readFully(ReadableByteChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException();
+            }
+        }
+        return buffer;
+    }
+
+    private void checkSelfContained() {
+        if (hasSharedBuffers() || hasTransferredBuffers()) {
+            throw new IllegalStateException("Serialized value references shared or transferred array buffers");
+        }
+    }
+}
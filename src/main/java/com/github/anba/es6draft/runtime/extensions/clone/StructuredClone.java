@@ -0,0 +1,695 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.extensions.clone;
+
+import static com.github.anba.es6draft.runtime.AbstractOperations.CreateDataProperty;
+import static com.github.anba.es6draft.runtime.AbstractOperations.EnumerableOwnNames;
+import static com.github.anba.es6draft.runtime.AbstractOperations.Get;
+import static com.github.anba.es6draft.runtime.AbstractOperations.HasOwnProperty;
+import static com.github.anba.es6draft.runtime.internal.Errors.newTypeError;
+import static com.github.anba.es6draft.runtime.objects.BooleanObject.BooleanCreate;
+import static com.github.anba.es6draft.runtime.objects.binary.ArrayBufferConstructor.CreateByteDataBlock;
+import static com.github.anba.es6draft.runtime.objects.binary.ArrayBufferConstructor.DetachArrayBuffer;
+import static com.github.anba.es6draft.runtime.objects.binary.ArrayBufferConstructor.IsDetachedBuffer;
+import static com.github.anba.es6draft.runtime.objects.bigint.BigIntObject.BigIntCreate;
+import static com.github.anba.es6draft.runtime.objects.number.NumberObject.NumberCreate;
+import static com.github.anba.es6draft.runtime.objects.text.RegExpConstructor.RegExpCreate;
+import static com.github.anba.es6draft.runtime.types.builtins.ArrayObject.ArrayCreate;
+import static com.github.anba.es6draft.runtime.types.builtins.OrdinaryObject.ObjectCreate;
+import static com.github.anba.es6draft.runtime.types.builtins.StringObject.StringCreate;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.github.anba.es6draft.runtime.ExecutionContext;
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.internal.IndexedMap;
+import com.github.anba.es6draft.runtime.internal.LinkedMap;
+import com.github.anba.es6draft.runtime.internal.Messages;
+import com.github.anba.es6draft.runtime.language.Operators;
+import com.github.anba.es6draft.runtime.objects.BooleanObject;
+import com.github.anba.es6draft.runtime.objects.atomics.SharedArrayBufferObject;
+import com.github.anba.es6draft.runtime.objects.atomics.SharedByteBuffer;
+import com.github.anba.es6draft.runtime.objects.binary.ArrayBuffer;
+import com.github.anba.es6draft.runtime.objects.binary.ArrayBufferObject;
+import com.github.anba.es6draft.runtime.objects.binary.DataViewObject;
+import com.github.anba.es6draft.runtime.objects.binary.ElementType;
+import com.github.anba.es6draft.runtime.objects.binary.TypedArrayObject;
+import com.github.anba.es6draft.runtime.objects.bigint.BigIntObject;
+import com.github.anba.es6draft.runtime.objects.collection.MapObject;
+import com.github.anba.es6draft.runtime.objects.collection.SetObject;
+import com.github.anba.es6draft.runtime.objects.date.DateObject;
+import com.github.anba.es6draft.runtime.objects.number.NumberObject;
+import com.github.anba.es6draft.runtime.objects.text.RegExpObject;
+import com.github.anba.es6draft.runtime.types.Intrinsics;
+import com.github.anba.es6draft.runtime.types.Null;
+import com.github.anba.es6draft.runtime.types.ScriptObject;
+import com.github.anba.es6draft.runtime.types.Type;
+import com.github.anba.es6draft.runtime.types.Undefined;
+import com.github.anba.es6draft.runtime.types.builtins.ArrayObject;
+import com.github.anba.es6draft.runtime.types.builtins.OrdinaryObject;
+import com.github.anba.es6draft.runtime.types.builtins.StringObject;
+
+/**
+ * Structured serialization and deserialization of script values.
+ * <p>
+ * Supported values are primitive values except symbols, ordinary objects, arrays, boolean, number, string and BigInt
+ * wrapper objects, Date, RegExp, Map and Set objects, array buffers, shared array buffers, typed arrays and data views.
+ * The serialized object graph may contain cycles. Array buffers can be transferred instead of copied, a transferred
+ * array buffer is detached and its data block is moved into the target realm without copying.
+ *
+ * @see <a href="https://html.spec.whatwg.org/multipage/structured-data.html">HTML - Safe passing of structured
+ *      data</a>
+ */
+public final class StructuredClone {
+    private StructuredClone() {
+    }
+
+    private static final ByteBuffer[] NO_TRANSFERS = new ByteBuffer[0];
+    private static final SharedByteBuffer[] NO_SHARED_BUFFERS = new SharedByteBuffer[0];
+    private static final long NEGATIVE_ZERO_BITS = Double.doubleToRawLongBits(-0.0);
+
+    private static final byte TAG_END = 0;
+    private static final byte TAG_UNDEFINED = 1;
+    private static final byte TAG_NULL = 2;
+    private static final byte TAG_FALSE = 3;
+    private static final byte TAG_TRUE = 4;
+    private static final byte TAG_INT32 = 5;
+    private static final byte TAG_DOUBLE = 6;
+    private static final byte TAG_STRING_LATIN1 = 7;
+    private static final byte TAG_STRING_UTF16 = 8;
+    private static final byte TAG_INDEX = 9;
+    private static final byte TAG_OBJECT = 10;
+    private static final byte TAG_ARRAY = 11;
+    private static final byte TAG_OBJECT_REFERENCE = 12;
+    private static final byte TAG_ARRAY_BUFFER = 13;
+    private static final byte TAG_TRANSFERRED_ARRAY_BUFFER = 14;
+    private static final byte TAG_SHARED_ARRAY_BUFFER = 15;
+    private static final byte TAG_TYPED_ARRAY = 16;
+    private static final byte TAG_DATA_VIEW = 17;
+    private static final byte TAG_BIGINT = 18;
+    private static final byte TAG_BOOLEAN_OBJECT = 19;
+    private static final byte TAG_NUMBER_OBJECT = 20;
+    private static final byte TAG_STRING_OBJECT = 21;
+    private static final byte TAG_BIGINT_OBJECT = 22;
+    private static final byte TAG_DATE = 23;
+    private static final byte TAG_REGEXP = 24;
+    private static final byte TAG_MAP = 25;
+    private static final byte TAG_SET = 26;
+
+    /**
+     * StructuredSerialize ( value )
+     *
+     * @param cx
+     *            the execution context
+     * @param value
+     *            the value to serialize
+     * @return the serialized value
+     */
+    public static SerializedValue StructuredSerialize(ExecutionContext cx, Object value) {
+        return StructuredSerializeWithTransfer(cx, value, Collections.emptyList());
+    }
+
+    /**
+     * StructuredSerializeWithTransfer ( value, transferList )
+     *
+     * @param cx
+     *            the execution context
+     * @param value
+     *            the value to serialize
+     * @param transferList
+     *            the list of array buffers to transfer
+     * @return the serialized value
+     */
+    public static SerializedValue StructuredSerializeWithTransfer(ExecutionContext cx, Object value,
+            List<?> transferList) {
+        /* steps 1-2 */
+        IdentityHashMap<ArrayBufferObject, Integer> transfers = new IdentityHashMap<>();
+        for (Object transferable : transferList) {
+            if (!(transferable instanceof ArrayBufferObject)) {
+                throw newTypeError(cx, Messages.Key.CloneNotTransferable);
+            }
+            ArrayBufferObject buffer = (ArrayBufferObject) transferable;
+            if (transfers.containsKey(buffer)) {
+                throw newTypeError(cx, Messages.Key.CloneDuplicateTransfer);
+            }
+            if (IsDetachedBuffer(buffer)) {
+                throw newTypeError(cx, Messages.Key.BufferDetached);
+            }
+            transfers.put(buffer, transfers.size());
+        }
+        /* step 3 */
+        Serializer serializer = new Serializer(cx, transfers);
+        serializer.writeValue(value);
+        /* steps 4-5 */
+        ByteBuffer[] transferredBuffers = NO_TRANSFERS;
+        if (!transfers.isEmpty()) {
+            transferredBuffers = new ByteBuffer[transfers.size()];
+            for (Object transferable : transferList) {
+                ArrayBufferObject buffer = (ArrayBufferObject) transferable;
+                if (IsDetachedBuffer(buffer)) {
+                    throw newTypeError(cx, Messages.Key.BufferDetached);
+                }
+                transferredBuffers[transfers.get(buffer)] = buffer.getData();
+            }
+            for (Object transferable : transferList) {
+                DetachArrayBuffer(cx, (ArrayBufferObject) transferable);
+            }
+        }
+        /* step 6 */
+        return new SerializedValue(serializer.toByteArray(), serializer.sharedBuffers(), transferredBuffers);
+    }
+
+    /**
+     * StructuredDeserialize ( serialized, targetRealm )
+     *
+     * @param cx
+     *            the execution context of the target realm
+     * @param serialized
+     *            the serialized value
+     * @return the deserialized value
+     * @throws IllegalStateException
+     *             if the transferred array buffers were already received by another realm
+     * @throws IllegalArgumentException
+     *             if the serialized data is malformed
+     */
+    public static Object StructuredDeserialize(ExecutionContext cx, SerializedValue serialized) {
+        ByteBuffer[] transferredBuffers = serialized.takeTransferredBuffers();
+        if (transferredBuffers == null) {
+            throw new IllegalStateException("transferred array buffers already received");
+        }
+        ArrayBufferObject[] transferred = new ArrayBufferObject[transferredBuffers.length];
+        for (int i = 0; i < transferredBuffers.length; ++i) {
+            ByteBuffer data = transferredBuffers[i];
+            transferred[i] = new ArrayBufferObject(cx.getRealm(), data, data.capacity(),
+                    cx.getIntrinsic(Intrinsics.ArrayBufferPrototype));
+        }
+        Deserializer deserializer = new Deserializer(cx, serialized.getData(), serialized.getSharedBuffers(),
+                transferred);
+        try {
+            Object value = deserializer.readValue();
+            if (!deserializer.isAtEnd()) {
+                throw new IllegalArgumentException("Trailing data in serialized value");
+            }
+            return value;
+        } catch (IndexOutOfBoundsException | ClassCastException | NegativeArraySizeException e) {
+            throw new IllegalArgumentException("Malformed serialized value", e);
+        }
+    }
+
+    private static final class Serializer {
+        private final ExecutionContext cx;
+        private final IdentityHashMap<ArrayBufferObject, Integer> transfers;
+        private final IdentityHashMap<ScriptObject, Integer> memory = new IdentityHashMap<>();
+        private final ArrayList<SharedByteBuffer> sharedBuffers = new ArrayList<>();
+        private byte[] buffer = new byte[64];
+        private int position = 0;
+
+        Serializer(ExecutionContext cx, IdentityHashMap<ArrayBufferObject, Integer> transfers) {
+            this.cx = cx;
+            this.transfers = transfers;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        SharedByteBuffer[] sharedBuffers() {
+            if (sharedBuffers.isEmpty()) {
+                return NO_SHARED_BUFFERS;
+            }
+            return sharedBuffers.toArray(new SharedByteBuffer[sharedBuffers.size()]);
+        }
+
+        private void ensureCapacity(int length) {
+            if (buffer.length - position < length) {
+                int newLength = Math.max(buffer.length << 1, position + length);
+                if (newLength < 0) {
+                    throw new OutOfMemoryError();
+                }
+                buffer = Arrays.copyOf(buffer, newLength);
+            }
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            assert value >= 0;
+            ensureCapacity(10);
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeInt32(int value) {
+            writeVarLong(((value << 1) ^ (value >> 31)) & 0xFFFF_FFFFL);
+        }
+
+        void writeDouble(double value) {
+            long bits = Double.doubleToRawLongBits(value);
+            ensureCapacity(8);
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (bits >>> shift);
+            }
+        }
+
+        void writeString(String s) {
+            int length = s.length();
+            boolean latin1 = true;
+            for (int i = 0; i < length; ++i) {
+                if (s.charAt(i) > 0xFF) {
+                    latin1 = false;
+                    break;
+                }
+            }
+            if (latin1) {
+                writeByte(TAG_STRING_LATIN1);
+                writeVarLong(length);
+                ensureCapacity(length);
+                for (int i = 0; i < length; ++i) {
+                    buffer[position++] = (byte) s.charAt(i);
+                }
+            } else {
+                writeByte(TAG_STRING_UTF16);
+                writeVarLong(length);
+                ensureCapacity(length * 2);
+                for (int i = 0; i < length; ++i) {
+                    char c = s.charAt(i);
+                    buffer[position++] = (byte) (c >>> 8);
+                    buffer[position++] = (byte) c;
+                }
+            }
+        }
+
+        void writeBigInt(BigInteger value) {
+            byte[] bytes = value.toByteArray();
+            writeVarLong(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeBytes(ByteBuffer data, int length) {
+            ensureCapacity(length);
+            ByteBuffer source = data.duplicate();
+            source.clear();
+            source.get(buffer, position, length);
+            position += length;
+        }
+
+        void writeNumber(double value) {
+            int intValue = (int) value;
+            if (intValue == value && Double.doubleToRawLongBits(value) != NEGATIVE_ZERO_BITS) {
+                writeByte(TAG_INT32);
+                writeInt32(intValue);
+            } else {
+                writeByte(TAG_DOUBLE);
+                writeDouble(value);
+            }
+        }
+
+        void writeValue(Object value) {
+            switch (Type.of(value)) {
+            case Undefined:
+                writeByte(TAG_UNDEFINED);
+                return;
+            case Null:
+                writeByte(TAG_NULL);
+                return;
+            case Boolean:
+                writeByte(Type.booleanValue(value) ? TAG_TRUE : TAG_FALSE);
+                return;
+            case Number:
+                if (value instanceof Integer) {
+                    writeByte(TAG_INT32);
+                    writeInt32((Integer) value);
+                } else {
+                    writeNumber(Type.numberValue(value));
+                }
+                return;
+            case String:
+                writeString(Type.stringValue(value).toString());
+                return;
+            case BigInt:
+                writeByte(TAG_BIGINT);
+                writeBigInt(Type.bigIntValue(value));
+                return;
+            case Object:
+                writeObject((ScriptObject) value);
+                return;
+            case Symbol:
+            case SIMD:
+            default:
+                throw newTypeError(cx, Messages.Key.CloneNotCloneable, Operators.typeof(value));
+            }
+        }
+
+        private void writeObject(ScriptObject object) {
+            Integer transferIndex = transfers.get(object);
+            if (transferIndex != null) {
+                writeByte(TAG_TRANSFERRED_ARRAY_BUFFER);
+                writeVarLong(transferIndex);
+                return;
+            }
+            Integer reference = memory.get(object);
+            if (reference != null) {
+                writeByte(TAG_OBJECT_REFERENCE);
+                writeVarLong(reference);
+                return;
+            }
+            memory.put(object, memory.size());
+
+            if (object instanceof ArrayObject) {
+                writeByte(TAG_ARRAY);
+                writeVarLong(((ArrayObject) object).getLength());
+                writeProperties(object);
+            } else if (object.getClass() == OrdinaryObject.class) {
+                writeByte(TAG_OBJECT);
+                writeProperties(object);
+            } else if (object instanceof BooleanObject) {
+                writeByte(TAG_BOOLEAN_OBJECT);
+                writeByte(((BooleanObject) object).getBooleanData() ? TAG_TRUE : TAG_FALSE);
+            } else if (object instanceof NumberObject) {
+                writeByte(TAG_NUMBER_OBJECT);
+                writeDouble(((NumberObject) object).getNumberData());
+            } else if (object instanceof StringObject) {
+                writeByte(TAG_STRING_OBJECT);
+                writeString(((StringObject) object).getStringData().toString());
+            } else if (object instanceof BigIntObject) {
+                writeByte(TAG_BIGINT_OBJECT);
+                writeBigInt(((BigIntObject) object).getBigIntData());
+            } else if (object instanceof DateObject) {
+                writeByte(TAG_DATE);
+                writeDouble(((DateObject) object).getDateValue());
+            } else if (object instanceof RegExpObject && ((RegExpObject) object).getRegExpMatcher() != null) {
+                RegExpObject regExp = (RegExpObject) object;
+                writeByte(TAG_REGEXP);
+                writeString(regExp.getOriginalSource());
+                writeString(regExp.getOriginalFlags());
+            } else if (object instanceof MapObject) {
+                // Copy the entries first, serializing the entries may run user code which modifies the map.
+                ArrayList<Map.Entry<Object, Object>> entries = new ArrayList<>();
+                for (Map.Entry<Object, Object> entry : ((MapObject) object).getMapData()) {
+                    entries.add(entry);
+                }
+                writeByte(TAG_MAP);
+                writeVarLong(entries.size());
+                for (Map.Entry<Object, Object> entry : entries) {
+                    writeValue(entry.getKey());
+                    writeValue(entry.getValue());
+                }
+            } else if (object instanceof SetObject) {
+                ArrayList<Object> entries = new ArrayList<>();
+                for (Map.Entry<Object, Void> entry : ((SetObject) object).getSetData()) {
+                    entries.add(entry.getKey());
+                }
+                writeByte(TAG_SET);
+                writeVarLong(entries.size());
+                for (Object entry : entries) {
+                    writeValue(entry);
+                }
+            } else if (object instanceof ArrayBufferObject) {
+                ArrayBufferObject buffer = (ArrayBufferObject) object;
+                if (IsDetachedBuffer(buffer)) {
+                    throw newTypeError(cx, Messages.Key.BufferDetached);
+                }
+                int byteLength = (int) buffer.getByteLength();
+                writeByte(TAG_ARRAY_BUFFER);
+                writeVarLong(byteLength);
+                writeBytes(buffer.getData(), byteLength);
+            } else if (object instanceof SharedArrayBufferObject) {
+                SharedArrayBufferObject buffer = (SharedArrayBufferObject) object;
+                writeByte(TAG_SHARED_ARRAY_BUFFER);
+                writeVarLong(sharedBuffers.size());
+                writeVarLong(buffer.getByteLength());
+                sharedBuffers.add(buffer.getSharedData());
+            } else if (object instanceof TypedArrayObject) {
+                TypedArrayObject typedArray = (TypedArrayObject) object;
+                if (IsDetachedBuffer(typedArray.getBuffer())) {
+                    throw newTypeError(cx, Messages.Key.BufferDetached);
+                }
+                writeByte(TAG_TYPED_ARRAY);
+                writeByte(typedArray.getElementType().ordinal());
+                writeVarLong(typedArray.getByteOffset());
+                writeVarLong(typedArray.getArrayLength());
+                writeObject(typedArray.getBuffer());
+            } else if (object instanceof DataViewObject) {
+                DataViewObject dataView = (DataViewObject) object;
+                if (IsDetachedBuffer(dataView.getBuffer())) {
+                    throw newTypeError(cx, Messages.Key.BufferDetached);
+                }
+                writeByte(TAG_DATA_VIEW);
+                writeVarLong(dataView.getByteOffset());
+                writeVarLong(dataView.getByteLength());
+                writeObject(dataView.getBuffer());
+            } else {
+                throw newTypeError(cx, Messages.Key.CloneNotCloneable, Operators.typeof(object));
+            }
+        }
+
+        private void writeProperties(ScriptObject object) {
+            for (String key : EnumerableOwnNames(cx, object)) {
+                long index = IndexedMap.toIndex(key);
+                if (IndexedMap.isIndex(index)) {
+                    if (HasOwnProperty(cx, object, index)) {
+                        writeByte(TAG_INDEX);
+                        writeVarLong(index);
+                        writeValue(Get(cx, object, index));
+                    }
+                } else if (HasOwnProperty(cx, object, key)) {
+                    writeString(key);
+                    writeValue(Get(cx, object, key));
+                }
+            }
+            writeByte(TAG_END);
+        }
+    }
+
+    private static final class Deserializer {
+        private final ExecutionContext cx;
+        private final Realm realm;
+        private final byte[] data;
+        private final SharedByteBuffer[] sharedBuffers;
+        private final ArrayBufferObject[] transferred;
+        private final ArrayList<ScriptObject> memory = new ArrayList<>();
+        private int position = 0;
+
+        Deserializer(ExecutionContext cx, byte[] data, SharedByteBuffer[] sharedBuffers,
+                ArrayBufferObject[] transferred) {
+            this.cx = cx;
+            this.realm = cx.getRealm();
+            this.data = data;
+            this.sharedBuffers = sharedBuffers;
+            this.transferred = transferred;
+        }
+
+        boolean isAtEnd() {
+            return position == data.length;
+        }
+
+        int readByte() {
+            return data[position++];
+        }
+
+        long readVarLong() {
+            long value = 0;
+            for (int shift = 0;; shift += 7) {
+                byte b = data[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+        }
+
+        int readInt32() {
+            int value = (int) readVarLong();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        double readDouble() {
+            long bits = 0;
+            for (int i = 0; i < 8; ++i) {
+                bits = (bits << 8) | (data[position++] & 0xFF);
+            }
+            return Double.longBitsToDouble(bits);
+        }
+
+        BigInteger readBigInt() {
+            int length = (int) readVarLong();
+            BigInteger value = new BigInteger(Arrays.copyOfRange(data, position, position + length));
+            position += length;
+            return value;
+        }
+
+        String readString(int tag) {
+            int length = (int) readVarLong();
+            char[] chars = new char[length];
+            if (tag == TAG_STRING_LATIN1) {
+                for (int i = 0; i < length; ++i) {
+                    chars[i] = (char) (data[position++] & 0xFF);
+                }
+            } else {
+                assert tag == TAG_STRING_UTF16;
+                for (int i = 0; i < length; ++i) {
+                    chars[i] = (char) (((data[position] & 0xFF) << 8) | (data[position + 1] & 0xFF));
+                    position += 2;
+                }
+            }
+            return new String(chars);
+        }
+
+        Object readValue() {
+            int tag = readByte();
+            switch (tag) {
+            case TAG_UNDEFINED:
+                return Undefined.UNDEFINED;
+            case TAG_NULL:
+                return Null.NULL;
+            case TAG_FALSE:
+                return false;
+            case TAG_TRUE:
+                return true;
+            case TAG_INT32:
+                return readInt32();
+            case TAG_DOUBLE:
+                return readDouble();
+            case TAG_STRING_LATIN1:
+            case TAG_STRING_UTF16:
+                return readString(tag);
+            case TAG_OBJECT: {
+                OrdinaryObject object = ObjectCreate(cx, Intrinsics.ObjectPrototype);
+                memory.add(object);
+                readProperties(object);
+                return object;
+            }
+            case TAG_ARRAY: {
+                ArrayObject array = ArrayCreate(cx, readVarLong());
+                memory.add(array);
+                readProperties(array);
+                return array;
+            }
+            case TAG_BIGINT:
+                return readBigInt();
+            case TAG_OBJECT_REFERENCE:
+                return memory.get((int) readVarLong());
+            case TAG_BOOLEAN_OBJECT:
+                return remember(BooleanCreate(cx, readByte() == TAG_TRUE));
+            case TAG_NUMBER_OBJECT:
+                return remember(NumberCreate(cx, readDouble()));
+            case TAG_STRING_OBJECT:
+                return remember(StringCreate(cx, readString(readByte())));
+            case TAG_BIGINT_OBJECT:
+                return remember(BigIntCreate(cx, readBigInt()));
+            case TAG_DATE: {
+                DateObject date = ObjectCreate(cx, Intrinsics.DatePrototype, DateObject::new);
+                date.setDateValue(readDouble());
+                return remember(date);
+            }
+            case TAG_REGEXP: {
+                String pattern = readString(readByte());
+                String flags = readString(readByte());
+                return remember(RegExpCreate(cx, pattern, flags));
+            }
+            case TAG_MAP: {
+                MapObject map = remember(ObjectCreate(cx, Intrinsics.MapPrototype, MapObject::new));
+                LinkedMap<Object, Object> mapData = map.getMapData();
+                for (long size = readVarLong(); size > 0; --size) {
+                    Object key = readValue();
+                    mapData.set(key, readValue());
+                }
+                return map;
+            }
+            case TAG_SET: {
+                SetObject set = remember(ObjectCreate(cx, Intrinsics.SetPrototype, SetObject::new));
+                LinkedMap<Object, Void> setData = set.getSetData();
+                for (long size = readVarLong(); size > 0; --size) {
+                    setData.set(readValue(), null);
+                }
+                return set;
+            }
+            case TAG_ARRAY_BUFFER: {
+                int byteLength = (int) readVarLong();
+                ByteBuffer buffer = CreateByteDataBlock(cx, byteLength);
+                buffer.put(data, position, byteLength).clear();
+                position += byteLength;
+                ArrayBufferObject arrayBuffer = new ArrayBufferObject(realm, buffer, byteLength,
+                        cx.getIntrinsic(Intrinsics.ArrayBufferPrototype));
+                memory.add(arrayBuffer);
+                return arrayBuffer;
+            }
+            case TAG_TRANSFERRED_ARRAY_BUFFER:
+                return transferred[(int) readVarLong()];
+            case TAG_SHARED_ARRAY_BUFFER: {
+                SharedByteBuffer sharedData = sharedBuffers[(int) readVarLong()];
+                long byteLength = readVarLong();
+                SharedArrayBufferObject sharedBuffer = new SharedArrayBufferObject(realm, sharedData.duplicate(),
+                        byteLength, cx.getIntrinsic(Intrinsics.SharedArrayBufferPrototype));
+                memory.add(sharedBuffer);
+                return sharedBuffer;
+            }
+            case TAG_TYPED_ARRAY: {
+                int index = reserve();
+                ElementType elementType = ElementType.values()[readByte()];
+                long byteOffset = readVarLong();
+                long length = readVarLong();
+                ArrayBuffer buffer = (ArrayBuffer) readValue();
+                TypedArrayObject typedArray = new TypedArrayObject(realm, elementType, buffer,
+                        elementType.toBytes(length), byteOffset, length,
+                        cx.getIntrinsic(elementType.getPrototype()));
+                memory.set(index, typedArray);
+                return typedArray;
+            }
+            case TAG_DATA_VIEW: {
+                int index = reserve();
+                long byteOffset = readVarLong();
+                long byteLength = readVarLong();
+                ArrayBuffer buffer = (ArrayBuffer) readValue();
+                DataViewObject dataView = new DataViewObject(realm, buffer, byteLength, byteOffset,
+                        cx.getIntrinsic(Intrinsics.DataViewPrototype));
+                memory.set(index, dataView);
+                return dataView;
+            }
+            default:
+                throw new IllegalArgumentException("Invalid tag: " + tag);
+            }
+        }
+
+        private <T extends ScriptObject> T remember(T object) {
+            memory.add(object);
+            return object;
+        }
+
+        private int reserve() {
+            memory.add(null);
+            return memory.size() - 1;
+        }
+
+        private void readProperties(ScriptObject object) {
+            for (int tag; (tag = readByte()) != TAG_END;) {
+                if (tag == TAG_INDEX) {
+                    long index = readVarLong();
+                    CreateDataProperty(cx, object, index, readValue());
+                } else {
+                    String key = readString(tag);
+                    CreateDataProperty(cx, object, key, readValue());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.extensions.eventloop;
+
+import java.util.Objects;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.github.anba.es6draft.runtime.Job;
+import com.github.anba.es6draft.runtime.World;
+
+/**
+ * Event loop host which multiplexes many {@link World} objects on a small number of carrier threads.
+ * <p>
+ * Each registered world is driven by an {@link EventLoopAgent}. An agent only occupies a carrier thread while its
+ * world has pending jobs, idle worlds which wait for host-provided asynchronous operations do not use any thread.
+ * Asynchronous operations complete by enqueueing a job with {@link World#enqueueAsyncJob(Job)}, which schedules the
+ * world's agent on a carrier thread.
+ */
+public final class EventLoop implements AutoCloseable {
+    private static final AtomicInteger eventLoopCount = new AtomicInteger(0);
+
+    private final ScheduledExecutorService executor;
+    private final boolean shutdownExecutorOnClose;
+    private final AtomicInteger activeAgents = new AtomicInteger(0);
+
+    /**
+     * Constructs a new event loop with its own carrier threads.
+     *
+     * @param carrierThreads
+     *            the number of carrier threads
+     */
+    public EventLoop(int carrierThreads) {
+        if (carrierThreads <= 0) {
+            throw new IllegalArgumentException("carrierThreads: " + carrierThreads);
+        }
+        String namePrefix = "eventloop-" + eventLoopCount.incrementAndGet() + "-carrier-";
+        AtomicInteger carrierCount = new AtomicInteger(0);
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(carrierThreads, r -> {
+            Thread thread = new Thread(r, namePrefix + carrierCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true);
+        this.executor = executor;
+        this.shutdownExecutorOnClose = true;
+    }
+
+    /**
+     * Constructs a new event loop which uses the given executor for carrier threads and timers.
+     *
+     * @param executor
+     *            the executor service
+     */
+    public EventLoop(ScheduledExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor);
+        this.shutdownExecutorOnClose = false;
+    }
+
+    ScheduledExecutorService getExecutor() {
+        return executor;
+    }
+
+    void agentTerminated() {
+        activeAgents.decrementAndGet();
+    }
+
+    /**
+     * Registers a world with this event loop. The returned agent is idle until {@link EventLoopAgent#start()} is
+     * called or a job is submitted.
+     *
+     * @param world
+     *            the world
+     * @return the agent for the world
+     */
+    public EventLoopAgent register(World world) {
+        EventLoopAgent agent = new EventLoopAgent(this, world);
+        activeAgents.incrementAndGet();
+        world.setAsyncJobListener(agent::wakeUp);
+        return agent;
+    }
+
+    /**
+     * Returns the number of registered agents which have not yet terminated.
+     *
+     * @return the number of active agents
+     */
+    public int getActiveAgents() {
+        return activeAgents.get();
+    }
+
+    /**
+     * Shuts down the carrier threads if they were created by this event loop.
+     */
+    @Override
+    public void close() {
+        if (shutdownExecutorOnClose) {
+            executor.shutdown();
+        }
+    }
+}
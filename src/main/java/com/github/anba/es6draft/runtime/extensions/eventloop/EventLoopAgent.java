@@ -0,0 +1,245 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.extensions.eventloop;
+
+import java.nio.channels.CompletionHandler;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+
+import com.github.anba.es6draft.runtime.Job;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.extensions.timer.TimerQueue;
+
+/**
+ * Drives the jobs of a single {@link World} on the carrier threads of an {@link EventLoop}.
+ * <p>
+ * The jobs of a world are never executed concurrently, but consecutive runs may happen on different carrier threads.
+ * Host-provided asynchronous operations are registered with {@link #onComplete(CompletionStage, BiConsumer)},
+ * {@link #completionHandler(BiConsumer)} or {@link #schedule(Job, long, TimeUnit)}, their continuations are executed
+ * as async-jobs in the world. The agent terminates when the world has no pending jobs and no asynchronous operations
+ * are in progress. Jobs submitted after termination are discarded.
+ */
+public final class EventLoopAgent {
+    private static final int IDLE = 0, SCHEDULED = 1, TERMINATED = 2;
+
+    private final EventLoop eventLoop;
+    private final World world;
+    private final AtomicInteger state = new AtomicInteger(IDLE);
+    private final AtomicInteger pendingOperations = new AtomicInteger(0);
+    private final CompletableFuture<Void> termination = new CompletableFuture<>();
+
+    EventLoopAgent(EventLoop eventLoop, World world) {
+        this.eventLoop = eventLoop;
+        this.world = world;
+    }
+
+    /**
+     * Returns the world of this agent.
+     *
+     * @return the world
+     */
+    public World getWorld() {
+        return world;
+    }
+
+    /**
+     * Returns the termination future of this agent. The future completes exceptionally if a job threw an exception.
+     *
+     * @return the termination future
+     */
+    public CompletableFuture<Void> getTermination() {
+        return termination;
+    }
+
+    /**
+     * Returns {@code true} if this agent has terminated.
+     *
+     * @return {@code true} if terminated
+     */
+    public boolean isTerminated() {
+        return state.get() == TERMINATED;
+    }
+
+    /**
+     * Returns the number of asynchronous operations in progress.
+     *
+     * @return the number of pending operations
+     */
+    public int getPendingOperations() {
+        return pendingOperations.get();
+    }
+
+    /**
+     * Starts executing the pending jobs of the world.
+     */
+    public void start() {
+        wakeUp();
+    }
+
+    /**
+     * Submits a new job. This method may be called from any thread.
+     *
+     * @param job
+     *            the job
+     * @throws IllegalStateException
+     *             if this agent has already terminated
+     */
+    public void submit(Job job) {
+        if (isTerminated()) {
+            throw new IllegalStateException("agent terminated");
+        }
+        world.enqueueAsyncJob(job);
+    }
+
+    /**
+     * Registers an asynchronous operation. When the operation has completed, {@code continuation} is executed as an
+     * async-job in the world.
+     *
+     * @param <T>
+     *            the result type
+     * @param operation
+     *            the asynchronous operation
+     * @param continuation
+     *            the continuation function
+     */
+    public <T> void onComplete(CompletionStage<T> operation, BiConsumer<? super T, ? super Throwable> continuation) {
+        beginOperation();
+        operation.whenComplete((result, error) -> {
+            world.enqueueAsyncJob(() -> continuation.accept(result, error));
+            endOperation();
+        });
+    }
+
+    /**
+     * Registers an asynchronous channel operation, for example for a
+     * {@link java.nio.channels.AsynchronousFileChannel} or {@link java.nio.channels.AsynchronousSocketChannel}. When
+     * the returned handler is notified, {@code continuation} is executed as an async-job in the world. The handler
+     * must be passed to exactly one channel operation.
+     *
+     * @param <V>
+     *            the result type
+     * @param <A>
+     *            the attachment type
+     * @param continuation
+     *            the continuation function
+     * @return the completion handler
+     */
+    public <V, A> CompletionHandler<V, A> completionHandler(BiConsumer<? super V, ? super Throwable> continuation) {
+        beginOperation();
+        AtomicBoolean done = new AtomicBoolean(false);
+        return new CompletionHandler<V, A>() {
+            @Override
+            public void completed(V result, A attachment) {
+                complete(result, null);
+            }
+
+            @Override
+            public void failed(Throwable exc, A attachment) {
+                complete(null, exc);
+            }
+
+            private void complete(V result, Throwable error) {
+                if (done.compareAndSet(false, true)) {
+                    world.enqueueAsyncJob(() -> continuation.accept(result, error));
+                    endOperation();
+                }
+            }
+        };
+    }
+
+    /**
+     * Schedules a job to be executed after the given delay.
+     *
+     * @param job
+     *            the job
+     * @param delay
+     *            the delay
+     * @param unit
+     *            the delay time unit
+     * @return the handle to cancel the job
+     */
+    public TimerQueue.Timeout schedule(Job job, long delay, TimeUnit unit) {
+        beginOperation();
+        AtomicBoolean done = new AtomicBoolean(false);
+        ScheduledFuture<?> future;
+        try {
+            future = eventLoop.getExecutor().schedule(() -> {
+                if (done.compareAndSet(false, true)) {
+                    world.enqueueAsyncJob(job);
+                    endOperation();
+                }
+            }, delay, unit);
+        } catch (RejectedExecutionException e) {
+            endOperation();
+            throw e;
+        }
+        return () -> {
+            if (done.compareAndSet(false, true)) {
+                future.cancel(false);
+                endOperation();
+                return true;
+            }
+            return false;
+        };
+    }
+
+    private void beginOperation() {
+        if (isTerminated()) {
+            throw new IllegalStateException("agent terminated");
+        }
+        pendingOperations.incrementAndGet();
+    }
+
+    private void endOperation() {
+        if (pendingOperations.decrementAndGet() == 0) {
+            // Give the agent a chance to terminate.
+            wakeUp();
+        }
+    }
+
+    void wakeUp() {
+        if (state.compareAndSet(IDLE, SCHEDULED)) {
+            try {
+                eventLoop.getExecutor().execute(this::run);
+            } catch (RejectedExecutionException e) {
+                terminate(e);
+            }
+        }
+    }
+
+    private void run() {
+        try {
+            world.runEventLoop();
+        } catch (Throwable e) {
+            terminate(e);
+            return;
+        }
+        state.set(IDLE);
+        if (world.hasPendingJobs()) {
+            // New async-jobs were enqueued while the state was still 'scheduled'.
+            wakeUp();
+        } else if (pendingOperations.get() == 0 && state.compareAndSet(IDLE, TERMINATED)) {
+            world.setAsyncJobListener(null);
+            eventLoop.agentTerminated();
+            termination.complete(null);
+        }
+    }
+
+    private void terminate(Throwable error) {
+        if (state.getAndSet(TERMINATED) != TERMINATED) {
+            world.setAsyncJobListener(null);
+            eventLoop.agentTerminated();
+            termination.completeExceptionally(error);
+        }
+    }
+}
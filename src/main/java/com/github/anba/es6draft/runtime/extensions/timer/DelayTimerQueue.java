@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.extensions.timer;
+
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+import com.github.anba.es6draft.runtime.Job;
+
+/**
+ * {@link TimerQueue} implementation backed by a {@link DelayQueue}.
+ * <p>
+ * Scheduling a job takes <code>O(log n)</code> time and cancelling a job takes <code>O(n)</code> time.
+ */
+public final class DelayTimerQueue implements TimerQueue {
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+    private long sequence = 0;
+
+    private final class Entry implements Timeout, Delayed {
+        private final Job job;
+        private final long time;
+        private final long sequenceNumber;
+
+        Entry(Job job, long time, long sequenceNumber) {
+            this.job = job;
+            this.time = time;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        @Override
+        public boolean cancel() {
+            return queue.remove(this);
+        }
+
+        @Override
+        public int compareTo(Delayed o) {
+            if (o == this) {
+                return 0;
+            }
+            if (o instanceof Entry) {
+                Entry x = (Entry) o;
+                long delta = time - x.time;
+                return delta < 0 ? -1 : delta > 0 ? 1 : sequenceNumber < x.sequenceNumber ? -1 : 1;
+            }
+            long delta = getDelay(TimeUnit.NANOSECONDS) - o.getDelay(TimeUnit.NANOSECONDS);
+            return delta == 0 ? 0 : delta < 0 ? -1 : 1;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(time - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public Timeout schedule(Job job, long delay, TimeUnit unit) {
+        long time = System.nanoTime() + unit.toNanos(Math.max(delay, 0));
+        Entry entry;
+        synchronized (this) {
+            entry = new Entry(job, time, sequence++);
+        }
+        queue.offer(entry);
+        return entry;
+    }
+
+    @Override
+    public int size() {
+        return queue.size();
+    }
+
+    @Override
+    public Job nextJob() throws InterruptedException {
+        if (queue.isEmpty()) {
+            return null;
+        }
+        return awaitJob();
+    }
+
+    @Override
+    public Job awaitJob() throws InterruptedException {
+        return queue.take().job;
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.extensions.timer;
+
+import java.util.concurrent.TimeUnit;
+
+import com.github.anba.es6draft.runtime.Job;
+import com.github.anba.es6draft.runtime.internal.JobSource;
+
+/**
+ * Job source for delayed jobs.
+ * <p>
+ * {@link #nextJob()} returns {@code null} if no jobs are scheduled, otherwise it waits until the next scheduled job is
+ * due. Jobs which are due at the same time are returned in scheduling order.
+ *
+ * @see DelayTimerQueue
+ * @see TimingWheel
+ */
+public interface TimerQueue extends JobSource {
+    /**
+     * Handle for a scheduled job.
+     */
+    interface Timeout {
+        /**
+         * Cancels the scheduled job.
+         *
+         * @return {@code true} if the job was cancelled, {@code false} if the job was already returned from the queue
+         *         or was already cancelled
+         */
+        boolean cancel();
+    }
+
+    /**
+     * Schedules a new job.
+     *
+     * @param job
+     *            the job
+     * @param delay
+     *            the delay, non-positive values schedule the job to run immediately
+     * @param unit
+     *            the delay time unit
+     * @return the handle to cancel the job
+     */
+    Timeout schedule(Job job, long delay, TimeUnit unit);
+
+    /**
+     * Returns the number of scheduled jobs.
+     *
+     * @return the number of scheduled jobs
+     */
+    int size();
+}
@@ -9,9 +9,8 @@ package com.github.anba.es6draft.runtime.extensions.timer;
 import static com.github.anba.es6draft.runtime.AbstractOperations.IsCallable;
 import static com.github.anba.es6draft.runtime.AbstractOperations.ToFlatString;
 
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.DelayQueue;
-import java.util.concurrent.Delayed;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -27,6 +26,9 @@ import com.github.anba.es6draft.runtime.types.Callable;
 
 /**
  * Simple <code>Timers</code> implementation.
+ * <p>
+ * Timers are scheduled in a {@link TimerQueue}, the timer queue for a runtime context is available through
+ * {@link com.github.anba.es6draft.runtime.internal.RuntimeContext#getTimerQueue()}.
  * 
  * @see <a href="http://www.whatwg.org/specs/web-apps/current-work/multipage/webappapis.html#timers">Web application
  *      APIs - Timers</a>
@@ -37,74 +39,70 @@ public final class Timers implements JobSource {
     private static final int TIMER_CLAMP_INTERVAL = 4;
     private static final int MAX_TIMEOUT = Integer.MAX_VALUE;
     private final AtomicInteger timerIds = new AtomicInteger();
-    private final DelayQueue<TimerJob> queue = new DelayQueue<>();
     private final ConcurrentHashMap<Integer, TimerJob> activeTimers = new ConcurrentHashMap<>(16, 0.75f, 2);
+    private final TimerQueue queue;
     private int nestingLevel = 0;
 
-    private abstract class TimerJob implements Job, Delayed {
+    /**
+     * Constructs a new Timers object using a {@link DelayTimerQueue}.
+     */
+    public Timers() {
+        this(new DelayTimerQueue());
+    }
+
+    /**
+     * Constructs a new Timers object.
+     * 
+     * @param queue
+     *            the timer queue
+     */
+    public Timers(TimerQueue queue) {
+        this.queue = Objects.requireNonNull(queue);
+    }
+
+    private abstract class TimerJob implements Job {
         private final int timerId;
         private final long delay;
         private final boolean interval;
         private boolean cancelled = false;
-        private long time;
+        private TimerQueue.Timeout timeout;
 
         protected TimerJob(long delay, boolean interval) {
             this.timerId = timerIds.incrementAndGet();
             this.delay = delay;
             this.interval = interval;
-            this.time = nextStart();
-        }
-
-        private long nextStart() {
-            return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
         }
 
         int getTimerId() {
             return timerId;
         }
 
-        boolean isInterval() {
-            return interval;
+        void schedule(long delayNanos) {
+            timeout = queue.schedule(this, delayNanos, TimeUnit.NANOSECONDS);
         }
 
         void cancel() {
             if (!cancelled) {
                 cancelled = true;
-                queue.remove(this);
-            }
-        }
-
-        @Override
-        public int compareTo(Delayed o) {
-            if (o == this) {
-                return 0;
-            }
-            if (o instanceof TimerJob) {
-                TimerJob x = (TimerJob) o;
-                long delta = time - x.time;
-                return delta < 0 ? -1 : delta > 0 ? 1 : timerId < x.timerId ? -1 : 1;
+                timeout.cancel();
             }
-            long delta = getDelay(TimeUnit.NANOSECONDS) - o.getDelay(TimeUnit.NANOSECONDS);
-            return delta == 0 ? 0 : delta < 0 ? -1 : 1;
-        }
-
-        @Override
-        public long getDelay(TimeUnit unit) {
-            return unit.convert(time - System.nanoTime(), TimeUnit.NANOSECONDS);
         }
 
         @Override
         public final void execute() {
             if (!cancelled) {
-                long nextStart = interval ? nextStart() : 0;
+                if (!interval) {
+                    activeTimers.remove(timerId);
+                }
+                long start = interval ? System.nanoTime() : 0;
                 try {
                     nestingLevel++;
                     executeInner();
                 } finally {
                     nestingLevel--;
                     if (!cancelled && interval) {
-                        time = nextStart;
-                        queue.offer(this);
+                        long elapsed = System.nanoTime() - start;
+                        schedule(TimeUnit.MILLISECONDS.toNanos(delay) - elapsed);
                     }
                 }
             }
@@ -162,7 +160,7 @@ public final class Timers implements JobSource {
             job = new ScriptedTimerJob(delay, interval, cx, ToFlatString(cx, f));
         }
         activeTimers.put(job.getTimerId(), job);
-        queue.offer(job);
+        job.schedule(TimeUnit.MILLISECONDS.toNanos(delay));
         return job;
     }
 
@@ -175,19 +173,12 @@ public final class Timers implements JobSource {
 
     @Override
     public Job nextJob() throws InterruptedException {
-        if (queue.isEmpty()) {
-            return null;
-        }
-        return awaitJob();
+        return queue.nextJob();
     }
 
     @Override
     public Job awaitJob() throws InterruptedException {
-        TimerJob job = queue.take();
-        if (!job.isInterval()) {
-            activeTimers.remove(job.getTimerId());
-        }
-        return job;
+        return queue.awaitJob();
     }
 
     @Function(name = "setTimeout", arity = 2)
@@ -0,0 +1,341 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.extensions.timer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import com.github.anba.es6draft.runtime.Job;
+
+/**
+ * {@link TimerQueue} implementation using a hierarchical timing wheel.
+ * <p>
+ * Scheduling and cancelling a job take constant time. Time advances in ticks of the configured resolution, all jobs
+ * due in the same tick are expired as a single batch. Jobs are never run before their delay has elapsed, but may be
+ * delayed by up to one tick.
+ * <p>
+ * The wheel consists of multiple levels, each level with the same number of slots. A slot at level {@code n} covers
+ * {@code wheelSize}<sup>{@code n}</sup> ticks, and when the lower levels wrap around, the jobs of the next slot at
+ * level {@code n} are moved to the lower levels.
+ *
+ * @see <a href="http://www.cs.columbia.edu/~nahum/w6998/papers/sosp87-timing-wheels.pdf">Hashed and Hierarchical
+ *      Timing Wheels</a>
+ */
+public final class TimingWheel implements TimerQueue {
+    private static final int DEFAULT_WHEEL_SIZE = 256;
+    private static final long MAX_DELAY_NANOS = Long.MAX_VALUE >> 2;
+    private static final int SCHEDULED = 0, EXPIRED = 1, DONE = 2;
+    private static final Comparator<Entry> BY_DEADLINE = (a, b) -> {
+        long delta = a.deadline - b.deadline;
+        return delta < 0 ? -1 : delta > 0 ? 1 : Long.compare(a.sequenceNumber, b.sequenceNumber);
+    };
+
+    private final long startTime = System.nanoTime();
+    private final long tickNanos;
+    private final int wheelSize;
+    private final int wheelBits;
+    private final int wheelMask;
+    private final Entry[][] wheels;
+    private final ArrayDeque<Entry> expired = new ArrayDeque<>();
+    private final ArrayList<Entry> batch = new ArrayList<>();
+    private long currentTick = 0;
+    private long sequence = 0;
+    private int size = 0;
+    private int scheduled = 0;
+    private int levelZeroCount = 0;
+    private boolean waiting = false;
+
+    private final class Entry implements Timeout {
+        private final Job job;
+        private final long deadline;
+        private final long sequenceNumber;
+        private long deadlineTick;
+        private int state = SCHEDULED;
+        private int level, index;
+        private Entry prev, next;
+
+        Entry(Job job, long deadline, long sequenceNumber) {
+            this.job = job;
+            this.deadline = deadline;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        @Override
+        public boolean cancel() {
+            synchronized (TimingWheel.this) {
+                switch (state) {
+                case SCHEDULED:
+                    unlink(this);
+                    break;
+                case EXPIRED:
+                    // Skipped when polled from the expired queue.
+                    break;
+                case DONE:
+                default:
+                    return false;
+                }
+                state = DONE;
+                size -= 1;
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Constructs a new timing wheel with a resolution of one millisecond.
+     */
+    public TimingWheel() {
+        this(1, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Constructs a new timing wheel.
+     *
+     * @param resolution
+     *            the tick duration
+     * @param unit
+     *            the time unit of the tick duration
+     */
+    public TimingWheel(long resolution, TimeUnit unit) {
+        this(resolution, unit, DEFAULT_WHEEL_SIZE);
+    }
+
+    /**
+     * Constructs a new timing wheel.
+     *
+     * @param resolution
+     *            the tick duration
+     * @param unit
+     *            the time unit of the tick duration
+     * @param wheelSize
+     *            the number of slots per wheel level, must be a power of two
+     */
+    public TimingWheel(long resolution, TimeUnit unit, int wheelSize) {
+        if (resolution <= 0) {
+            throw new IllegalArgumentException("resolution: " + resolution);
+        }
+        if (wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("wheelSize: " + wheelSize);
+        }
+        this.tickNanos = unit.toNanos(resolution);
+        this.wheelSize = wheelSize;
+        this.wheelBits = Integer.numberOfTrailingZeros(wheelSize);
+        this.wheelMask = wheelSize - 1;
+        this.wheels = new Entry[(Long.SIZE - 1 + wheelBits - 1) / wheelBits][];
+    }
+
+    /**
+     * Returns the tick duration in nanoseconds.
+     *
+     * @return the tick duration in nanoseconds
+     */
+    public long getResolution() {
+        return tickNanos;
+    }
+
+    @Override
+    public Timeout schedule(Job job, long delay, TimeUnit unit) {
+        long delayNanos = Math.min(unit.toNanos(Math.max(delay, 0)), MAX_DELAY_NANOS);
+        long now = System.nanoTime();
+        synchronized (this) {
+            Entry entry = new Entry(job, now + delayNanos, sequence++);
+            size += 1;
+            if (delayNanos == 0) {
+                entry.state = EXPIRED;
+                expired.add(entry);
+            } else {
+                long elapsed = entry.deadline - startTime;
+                long tick = elapsed / tickNanos + (elapsed % tickNanos != 0 ? 1 : 0);
+                entry.deadlineTick = Math.max(tick, currentTick + 1);
+                insert(entry);
+                scheduled += 1;
+            }
+            if (waiting) {
+                notifyAll();
+            }
+            return entry;
+        }
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public synchronized Job nextJob() throws InterruptedException {
+        if (size == 0) {
+            return null;
+        }
+        return awaitJob();
+    }
+
+    @Override
+    public synchronized Job awaitJob() throws InterruptedException {
+        for (;;) {
+            Job job = poll();
+            if (job != null) {
+                return job;
+            }
+            long now = System.nanoTime();
+            advance(now);
+            if (!expired.isEmpty()) {
+                continue;
+            }
+            waiting = true;
+            try {
+                if (scheduled == 0) {
+                    wait();
+                } else {
+                    long waitNanos = startTime + nextWakeupTick() * tickNanos - now;
+                    TimeUnit.NANOSECONDS.timedWait(this, Math.max(waitNanos, 1));
+                }
+            } finally {
+                waiting = false;
+            }
+        }
+    }
+
+    /**
+     * Returns the next expired job without waiting.
+     *
+     * @return the next expired job or {@code null} if no job is due
+     */
+    public synchronized Job poll() {
+        if (expired.isEmpty()) {
+            advance(System.nanoTime());
+        }
+        for (Entry entry; (entry = expired.poll()) != null;) {
+            if (entry.state == EXPIRED) {
+                entry.state = DONE;
+                size -= 1;
+                return entry.job;
+            }
+        }
+        return null;
+    }
+
+    private long nextWakeupTick() {
+        // Wake up at the next non-empty slot or when the next level needs to be cascaded.
+        long boundary = (currentTick | wheelMask) + 1;
+        if (levelZeroCount > 0) {
+            Entry[] wheel = wheels[0];
+            for (long tick = currentTick + 1; tick < boundary; ++tick) {
+                if (wheel[(int) tick & wheelMask] != null) {
+                    return tick;
+                }
+            }
+        }
+        return boundary;
+    }
+
+    private void advance(long now) {
+        long targetTick = (now - startTime) / tickNanos;
+        while (currentTick < targetTick) {
+            if (levelZeroCount == 0) {
+                // Skip over empty slots up to the next cascade.
+                long boundary = scheduled == 0 ? Long.MAX_VALUE : currentTick | wheelMask;
+                if (boundary >= targetTick) {
+                    currentTick = targetTick;
+                    break;
+                }
+                currentTick = boundary;
+            }
+            currentTick += 1;
+            if ((currentTick & wheelMask) == 0) {
+                cascade();
+            }
+            expire((int) currentTick & wheelMask);
+        }
+    }
+
+    private void cascade() {
+        for (int level = 1; level < wheels.length; ++level) {
+            int index = (int) (currentTick >>> (level * wheelBits)) & wheelMask;
+            Entry[] wheel = wheels[level];
+            if (wheel != null) {
+                Entry entry = wheel[index];
+                wheel[index] = null;
+                while (entry != null) {
+                    Entry next = entry.next;
+                    entry.prev = entry.next = null;
+                    insert(entry);
+                    entry = next;
+                }
+            }
+            if (index != 0) {
+                break;
+            }
+        }
+    }
+
+    private void expire(int index) {
+        Entry[] wheel = wheels[0];
+        Entry entry;
+        if (wheel == null || (entry = wheel[index]) == null) {
+            return;
+        }
+        wheel[index] = null;
+        while (entry != null) {
+            Entry next = entry.next;
+            entry.prev = entry.next = null;
+            entry.state = EXPIRED;
+            batch.add(entry);
+            entry = next;
+        }
+        scheduled -= batch.size();
+        levelZeroCount -= batch.size();
+        if (batch.size() > 1) {
+            batch.sort(BY_DEADLINE);
+        }
+        expired.addAll(batch);
+        batch.clear();
+    }
+
+    private void insert(Entry entry) {
+        long delta = entry.deadlineTick - currentTick;
+        assert delta >= 0 : String.format("deadline=%d, current=%d", entry.deadlineTick, currentTick);
+        int level = 0;
+        while (level + 1 < wheels.length && delta >= (1L << ((level + 1) * wheelBits))) {
+            level += 1;
+        }
+        int index = (int) (entry.deadlineTick >>> (level * wheelBits)) & wheelMask;
+        Entry[] wheel = wheels[level];
+        if (wheel == null) {
+            wheel = wheels[level] = new Entry[wheelSize];
+        }
+        Entry head = wheel[index];
+        if (head != null) {
+            head.prev = entry;
+        }
+        entry.next = head;
+        entry.level = level;
+        entry.index = index;
+        wheel[index] = entry;
+        if (level == 0) {
+            levelZeroCount += 1;
+        }
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            wheels[entry.level][entry.index] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = entry.next = null;
+        scheduled -= 1;
+        if (entry.level == 0) {
+            levelZeroCount -= 1;
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.extensions.worker;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.github.anba.es6draft.Script;
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.extensions.clone.SerializedValue;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.Source;
+
+/**
+ * A worker agent which evaluates a script in its own {@link World} on a thread from the
+ * {@link RuntimeContext#getWorkerExecutor() worker executor}.
+ * <p>
+ * The worker script communicates with its owner through the global {@code postMessage(message [, transfer])} function
+ * and the global {@code onmessage} event handler. Messages are exchanged as {@link SerializedValue} instances, shared
+ * array buffers share their memory with the owner and transferred array buffers are moved without copying. The worker
+ * runs until the script calls {@code close()} or the owner calls {@link #terminate()}.
+ */
+public final class WorkerAgent {
+    private static final Object TERMINATE = new Object();
+
+    private final RuntimeContext context;
+    private final Source source;
+    private final String sourceCode;
+    private final Path file;
+    private final Listener listener;
+    private final LinkedBlockingQueue<Object> inbox = new LinkedBlockingQueue<>();
+    private final Object threadLock = new Object();
+    private Thread thread;
+    private volatile boolean closed;
+
+    /**
+     * Listener for worker messages and worker termination.
+     * <p>
+     * The listener methods are called from the worker thread.
+     */
+    public interface Listener {
+        /**
+         * Called when the worker script posts a message to its owner.
+         *
+         * @param message
+         *            the message
+         */
+        void onMessage(SerializedValue message);
+
+        /**
+         * Called when the worker has finished.
+         *
+         * @param error
+         *            the uncaught exception which terminated the worker or {@code null}
+         */
+        void onExit(Throwable error);
+    }
+
+    private WorkerAgent(RuntimeContext context, Source source, String sourceCode, Path file, Listener listener) {
+        this.context = context;
+        this.source = source;
+        this.sourceCode = sourceCode;
+        this.file = file;
+        this.listener = listener;
+    }
+
+    /**
+     * Starts a new worker agent for the script source code.
+     *
+     * @param context
+     *            the runtime context of the owner
+     * @param source
+     *            the script source descriptor
+     * @param sourceCode
+     *            the script source code
+     * @param listener
+     *            the worker listener
+     * @return the new worker agent
+     * @throws RejectedExecutionException
+     *             if the worker executor cannot accept new workers
+     */
+    public static WorkerAgent start(RuntimeContext context, Source source, String sourceCode, Listener listener) {
+        WorkerAgent agent = new WorkerAgent(Objects.requireNonNull(context), Objects.requireNonNull(source),
+                Objects.requireNonNull(sourceCode), null, Objects.requireNonNull(listener));
+        context.getWorkerExecutor().execute(agent::run);
+        return agent;
+    }
+
+    /**
+     * Starts a new worker agent for the script file.
+     *
+     * @param context
+     *            the runtime context of the owner
+     * @param file
+     *            the absolute path of the script file
+     * @param listener
+     *            the worker listener
+     * @return the new worker agent
+     * @throws RejectedExecutionException
+     *             if the worker executor cannot accept new workers
+     */
+    public static WorkerAgent start(RuntimeContext context, Path file, Listener listener) {
+        Source source = new Source(file, Objects.requireNonNull(file.getFileName()).toString(), 1);
+        WorkerAgent agent = new WorkerAgent(Objects.requireNonNull(context), source, null, file,
+                Objects.requireNonNull(listener));
+        context.getWorkerExecutor().execute(agent::run);
+        return agent;
+    }
+
+    /**
+     * Posts a message to the worker. Messages to a closed worker are discarded.
+     *
+     * @param message
+     *            the message
+     */
+    public void postMessage(SerializedValue message) {
+        Objects.requireNonNull(message);
+        if (!closed) {
+            inbox.offer(message);
+        }
+    }
+
+    /**
+     * Terminates the worker. Pending messages are discarded and a worker waiting for new messages is stopped
+     * immediately, a worker which is currently executing script code stops when it next waits for messages.
+     */
+    public void terminate() {
+        closed = true;
+        inbox.clear();
+        inbox.offer(TERMINATE);
+        synchronized (threadLock) {
+            if (thread != null) {
+                thread.interrupt();
+            }
+        }
+    }
+
+    /**
+     * Returns {@code true} if the worker was closed or terminated.
+     *
+     * @return {@code true} if the worker is closed
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    void close() {
+        closed = true;
+    }
+
+    void sendMessage(SerializedValue message) {
+        listener.onMessage(message);
+    }
+
+    /**
+     * Returns the next message or {@code null} if the worker was closed.
+     *
+     * @return the next message or {@code null}
+     * @throws InterruptedException
+     *             if interrupted while waiting
+     */
+    SerializedValue nextMessage() throws InterruptedException {
+        if (closed) {
+            return null;
+        }
+        Object message = inbox.take();
+        if (message == TERMINATE) {
+            return null;
+        }
+        return (SerializedValue) message;
+    }
+
+    private void run() {
+        synchronized (threadLock) {
+            thread = Thread.currentThread();
+        }
+        Throwable error = null;
+        try {
+            if (!closed) {
+                evaluate();
+            }
+        } catch (InterruptedException e) {
+            // Worker was terminated while waiting for messages.
+        } catch (Throwable e) {
+            error = e;
+        } finally {
+            synchronized (threadLock) {
+                thread = null;
+                // Clear the interrupted flag before returning the thread to the pool.
+                Thread.interrupted();
+            }
+            closed = true;
+            listener.onExit(error);
+        }
+    }
+
+    private void evaluate() throws Exception {
+        // The worker context shares the owner's executors, so no thread pool is created per worker.
+        RuntimeContext workerContext = new RuntimeContext.Builder(context).build();
+        World world = new World(workerContext);
+        Realm realm = Realm.InitializeHostDefinedRealm(world);
+        WorkerGlobalScope scope = realm.createGlobalProperties(new WorkerGlobalScope(this, realm),
+                WorkerGlobalScope.class);
+
+        Script script;
+        if (file != null) {
+            script = realm.getScriptLoader().script(source, file);
+        } else {
+            script = realm.getScriptLoader().script(source, sourceCode);
+        }
+        script.evaluate(realm);
+        world.runEventLoop(scope);
+    }
+}
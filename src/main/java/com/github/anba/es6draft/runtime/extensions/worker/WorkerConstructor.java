@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.extensions.worker;
+
+import static com.github.anba.es6draft.runtime.AbstractOperations.Get;
+import static com.github.anba.es6draft.runtime.AbstractOperations.ToFlatString;
+import static com.github.anba.es6draft.runtime.internal.Errors.newInternalError;
+import static com.github.anba.es6draft.runtime.internal.Errors.newTypeError;
+
+import java.nio.file.Path;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.github.anba.es6draft.runtime.ExecutionContext;
+import com.github.anba.es6draft.runtime.internal.Messages;
+import com.github.anba.es6draft.runtime.internal.Properties;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.Source;
+import com.github.anba.es6draft.runtime.types.Constructor;
+import com.github.anba.es6draft.runtime.types.Intrinsics;
+import com.github.anba.es6draft.runtime.types.PropertyDescriptor;
+import com.github.anba.es6draft.runtime.types.ScriptObject;
+import com.github.anba.es6draft.runtime.types.Type;
+import com.github.anba.es6draft.runtime.types.builtins.BuiltinConstructor;
+import com.github.anba.es6draft.runtime.types.builtins.OrdinaryObject;
+
+/**
+ * The {@code Worker} constructor function.
+ */
+public final class WorkerConstructor extends BuiltinConstructor {
+    private final Workers workers;
+
+    /**
+     * Constructs a new Worker constructor function.
+     *
+     * @param cx
+     *            the execution context
+     * @param workers
+     *            the workers job source
+     */
+    WorkerConstructor(ExecutionContext cx, Workers workers) {
+        super(cx.getRealm(), "Worker", 1);
+        this.workers = workers;
+        createDefaultFunctionProperties();
+        OrdinaryObject prototype = OrdinaryObject.ObjectCreate(cx, Intrinsics.ObjectPrototype);
+        defineOwnProperty(cx, "prototype", new PropertyDescriptor(prototype, false, false, false));
+        prototype.defineOwnProperty(cx, "constructor", new PropertyDescriptor(this, true, false, true));
+    }
+
+    /**
+     * Worker (script [, options])
+     */
+    @Override
+    public Object call(ExecutionContext callerContext, Object thisValue, Object... args) {
+        throw newTypeError(calleeContext(), Messages.Key.InvalidCall, "Worker");
+    }
+
+    /**
+     * new Worker (script [, options])
+     * <p>
+     * {@code script} is the path of the worker script file relative to the base directory, or the worker script
+     * source code if {@code options.type} is {@code "string"}.
+     */
+    @Override
+    public WorkerObject construct(ExecutionContext callerContext, Constructor newTarget, Object... args) {
+        ExecutionContext calleeContext = calleeContext();
+        String script = ToFlatString(calleeContext, argument(args, 0));
+        Object options = argument(args, 1);
+        boolean sourceText = false;
+        if (Type.isObject(options)) {
+            Object type = Get(calleeContext, Type.objectValue(options), "type");
+            sourceText = "string".equals(ToFlatString(calleeContext, type));
+        }
+        ScriptObject proto = GetPrototypeFromConstructor(calleeContext, newTarget, Intrinsics.ObjectPrototype);
+        WorkerObject worker = new WorkerObject(calleeContext.getRealm(), proto);
+        Properties.createProperties(calleeContext, worker, worker, WorkerObject.class);
+
+        RuntimeContext context = calleeContext.getRuntimeContext();
+        WorkerAgent.Listener listener = workers.newListener(calleeContext, worker);
+        WorkerAgent agent;
+        try {
+            if (sourceText) {
+                Source source = new Source(callerContext.sourceInfo(), "<Worker>", 1);
+                agent = WorkerAgent.start(context, source, script, listener);
+            } else {
+                Path file = context.getBaseDirectory().resolve(script);
+                agent = WorkerAgent.start(context, file, listener);
+            }
+        } catch (RejectedExecutionException e) {
+            throw newInternalError(calleeContext, e, Messages.Key.WorkerCannotStart);
+        }
+        workers.workerStarted();
+        worker.setAgent(agent);
+        return worker;
+    }
+}
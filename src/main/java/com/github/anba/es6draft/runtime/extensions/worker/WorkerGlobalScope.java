@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.extensions.worker;
+
+import static com.github.anba.es6draft.runtime.extensions.clone.StructuredClone.StructuredDeserialize;
+import static com.github.anba.es6draft.runtime.extensions.clone.StructuredClone.StructuredSerializeWithTransfer;
+
+import com.github.anba.es6draft.runtime.ExecutionContext;
+import com.github.anba.es6draft.runtime.Job;
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.extensions.clone.SerializedValue;
+import com.github.anba.es6draft.runtime.internal.JobSource;
+import com.github.anba.es6draft.runtime.internal.Properties.Function;
+
+/**
+ * The global functions and the message queue of a worker script.
+ *
+ * @see WorkerAgent
+ */
+public final class WorkerGlobalScope implements JobSource {
+    private final WorkerAgent agent;
+    private final Realm realm;
+
+    WorkerGlobalScope(WorkerAgent agent, Realm realm) {
+        this.agent = agent;
+        this.realm = realm;
+    }
+
+    private final class MessageJob implements Job {
+        private final SerializedValue message;
+
+        MessageJob(SerializedValue message) {
+            this.message = message;
+        }
+
+        @Override
+        public void execute() {
+            ExecutionContext cx = realm.defaultContext();
+            Object data = StructuredDeserialize(cx, message);
+            Workers.dispatchMessage(cx, realm.getGlobalThis(), data);
+        }
+    }
+
+    @Override
+    public Job nextJob() throws InterruptedException {
+        return awaitJob();
+    }
+
+    @Override
+    public Job awaitJob() throws InterruptedException {
+        SerializedValue message = agent.nextMessage();
+        if (message == null) {
+            return null;
+        }
+        return new MessageJob(message);
+    }
+
+    /**
+     * worker-function: {@code postMessage(message [, transfer])}
+     *
+     * @param cx
+     *            the execution context
+     * @param message
+     *            the message value
+     * @param transfer
+     *            the optional list of array buffers to transfer
+     */
+    @Function(name = "postMessage", arity = 1)
+    public void postMessage(ExecutionContext cx, Object message, Object transfer) {
+        agent.sendMessage(StructuredSerializeWithTransfer(cx, message, Workers.transferList(cx, transfer)));
+    }
+
+    /**
+     * worker-function: {@code close()}
+     */
+    @Function(name = "close", arity = 0)
+    public void close() {
+        agent.close();
+    }
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.extensions.worker;
+
+import static com.github.anba.es6draft.runtime.extensions.clone.StructuredClone.StructuredSerializeWithTransfer;
+
+import com.github.anba.es6draft.runtime.ExecutionContext;
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.internal.Properties.Function;
+import com.github.anba.es6draft.runtime.types.ScriptObject;
+import com.github.anba.es6draft.runtime.types.builtins.OrdinaryObject;
+
+/**
+ * Script object for a worker agent, see {@link WorkerConstructor}.
+ */
+public final class WorkerObject extends OrdinaryObject {
+    private WorkerAgent agent;
+    private boolean terminated;
+
+    /**
+     * Constructs a new Worker object.
+     *
+     * @param realm
+     *            the realm object
+     * @param prototype
+     *            the prototype object
+     */
+    WorkerObject(Realm realm, ScriptObject prototype) {
+        super(realm, prototype);
+    }
+
+    /**
+     * Returns the worker agent.
+     *
+     * @return the worker agent
+     */
+    public WorkerAgent getAgent() {
+        return agent;
+    }
+
+    void setAgent(WorkerAgent agent) {
+        assert this.agent == null;
+        this.agent = agent;
+    }
+
+    /**
+     * Returns {@code true} if the worker was terminated by its owner.
+     *
+     * @return {@code true} if the worker was terminated
+     */
+    public boolean isTerminated() {
+        return terminated;
+    }
+
+    /**
+     * worker-function: {@code postMessage(message [, transfer])}
+     *
+     * @param cx
+     *            the execution context
+     * @param message
+     *            the message value
+     * @param transfer
+     *            the optional list of array buffers to transfer
+     */
+    @Function(name = "postMessage", arity = 1)
+    public void postMessage(ExecutionContext cx, Object message, Object transfer) {
+        if (!terminated) {
+            agent.postMessage(StructuredSerializeWithTransfer(cx, message, Workers.transferList(cx, transfer)));
+        }
+    }
+
+    /**
+     * worker-function: {@code terminate()}
+     */
+    @Function(name = "terminate", arity = 0)
+    public void terminate() {
+        if (!terminated) {
+            terminated = true;
+            agent.terminate();
+        }
+    }
+}
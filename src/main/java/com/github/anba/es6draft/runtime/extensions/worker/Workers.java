@@ -0,0 +1,149 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.extensions.worker;
+
+import static com.github.anba.es6draft.runtime.AbstractOperations.CreateDataProperty;
+import static com.github.anba.es6draft.runtime.AbstractOperations.CreateListFromArrayLike;
+import static com.github.anba.es6draft.runtime.AbstractOperations.Get;
+import static com.github.anba.es6draft.runtime.AbstractOperations.IsCallable;
+import static com.github.anba.es6draft.runtime.extensions.clone.StructuredClone.StructuredDeserialize;
+import static com.github.anba.es6draft.runtime.types.builtins.OrdinaryObject.ObjectCreate;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import com.github.anba.es6draft.runtime.ExecutionContext;
+import com.github.anba.es6draft.runtime.Job;
+import com.github.anba.es6draft.runtime.extensions.clone.SerializedValue;
+import com.github.anba.es6draft.runtime.internal.JobSource;
+import com.github.anba.es6draft.runtime.internal.Properties.Value;
+import com.github.anba.es6draft.runtime.internal.ScriptException;
+import com.github.anba.es6draft.runtime.types.Callable;
+import com.github.anba.es6draft.runtime.types.Intrinsics;
+import com.github.anba.es6draft.runtime.types.ScriptObject;
+import com.github.anba.es6draft.runtime.types.Type;
+import com.github.anba.es6draft.runtime.types.builtins.OrdinaryObject;
+
+/**
+ * Simple <code>Worker</code> implementation.
+ * <p>
+ * Installs the global {@code Worker} constructor and receives the messages posted by the workers created in this
+ * realm. The event loop continues to wait for messages until all workers have finished.
+ *
+ * @see <a href="https://html.spec.whatwg.org/multipage/workers.html">HTML - Web workers</a>
+ */
+public final class Workers implements JobSource {
+    private final LinkedBlockingQueue<Job> jobs = new LinkedBlockingQueue<>();
+    private int activeWorkers = 0;
+
+    private final class WorkerListener implements WorkerAgent.Listener {
+        private final ExecutionContext cx;
+        private final WorkerObject worker;
+
+        WorkerListener(ExecutionContext cx, WorkerObject worker) {
+            this.cx = cx;
+            this.worker = worker;
+        }
+
+        @Override
+        public void onMessage(SerializedValue message) {
+            jobs.offer(() -> {
+                if (!worker.isTerminated()) {
+                    Object data = StructuredDeserialize(cx, message);
+                    dispatchMessage(cx, worker, data);
+                }
+            });
+        }
+
+        @Override
+        public void onExit(Throwable error) {
+            jobs.offer(() -> {
+                activeWorkers -= 1;
+                if (error != null && !worker.isTerminated()) {
+                    dispatchError(cx, worker, error);
+                }
+            });
+        }
+    }
+
+    WorkerAgent.Listener newListener(ExecutionContext cx, WorkerObject worker) {
+        return new WorkerListener(cx, worker);
+    }
+
+    void workerStarted() {
+        activeWorkers += 1;
+    }
+
+    @Override
+    public Job nextJob() throws InterruptedException {
+        if (activeWorkers == 0 && jobs.isEmpty()) {
+            return null;
+        }
+        return awaitJob();
+    }
+
+    @Override
+    public Job awaitJob() throws InterruptedException {
+        return jobs.take();
+    }
+
+    /**
+     * Returns the number of workers which have not yet finished.
+     *
+     * @return the number of active workers
+     */
+    public int getActiveWorkers() {
+        return activeWorkers;
+    }
+
+    /**
+     * global-property: {@code Worker}
+     *
+     * @param cx
+     *            the execution context
+     * @return the worker constructor function
+     */
+    @Value(name = "Worker")
+    public Object workerConstructor(ExecutionContext cx) {
+        return new WorkerConstructor(cx, this);
+    }
+
+    static List<?> transferList(ExecutionContext cx, Object transfer) {
+        if (Type.isUndefined(transfer)) {
+            return Collections.emptyList();
+        }
+        return Arrays.asList(CreateListFromArrayLike(cx, transfer));
+    }
+
+    static void dispatchMessage(ExecutionContext cx, ScriptObject target, Object data) {
+        Object handler = Get(cx, target, "onmessage");
+        if (IsCallable(handler)) {
+            OrdinaryObject event = ObjectCreate(cx, Intrinsics.ObjectPrototype);
+            CreateDataProperty(cx, event, "data", data);
+            ((Callable) handler).call(cx, target, event);
+        }
+    }
+
+    private static void dispatchError(ExecutionContext cx, ScriptObject target, Throwable error) {
+        Object handler = Get(cx, target, "onerror");
+        if (IsCallable(handler)) {
+            String message;
+            if (error instanceof ScriptException) {
+                message = ((ScriptException) error).getMessage();
+            } else {
+                message = error.toString();
+            }
+            OrdinaryObject event = ObjectCreate(cx, Intrinsics.ObjectPrototype);
+            CreateDataProperty(cx, event, "message", message);
+            ((Callable) handler).call(cx, target, event);
+        } else {
+            cx.getRuntimeContext().getWorkerErrorReporter().accept(cx, error);
+        }
+    }
+}
@@ -2041,6 +2041,7 @@ public final class Bootstrap {
             callSiteTarget = target = generic;
         }
         callsite.setTarget(callSiteTarget);
+        RuntimeEvents.callSiteLinked(callsite.type(), target == generic, false);
         return target;
     }
 
@@ -2064,6 +2065,7 @@ public final class Bootstrap {
 
     private static MethodHandle switchToGeneric(MutableCallSite callsite, MethodHandle generic) {
         callsite.setTarget(generic);
+        RuntimeEvents.callSiteLinked(callsite.type(), true, true);
         return generic;
     }
 
@@ -0,0 +1,223 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.internal;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.github.anba.es6draft.Script;
+import com.github.anba.es6draft.compiler.CompilationException;
+import com.github.anba.es6draft.compiler.Compiler;
+import com.github.anba.es6draft.parser.Parser;
+import com.github.anba.es6draft.parser.ParserException;
+import com.github.anba.es6draft.runtime.modules.ModuleSource;
+import com.github.anba.es6draft.runtime.modules.SourceIdentifier;
+import com.github.anba.es6draft.runtime.modules.SourceTextModuleRecord;
+
+/**
+ * Thread-safe repository for compiled scripts and modules.
+ * <p>
+ * Compiled code is realm-independent, so a single repository can be shared by any number of {@link RuntimeContext}
+ * instances and their worlds, see {@link RuntimeContext.Builder#setCodeRepository(CodeRepository)}. Each source is
+ * parsed and compiled at most once per set of runtime options, concurrent requests for the same source wait until the
+ * first request has finished compiling it. Sources which fail to compile are not stored in the repository.
+ * <p>
+ * The number of stored scripts and modules is bounded, when the limit is exceeded the least recently used entries are
+ * removed and compiled again on their next request.
+ * <p>
+ * Modules are stored as unlinked module records, each request returns a fresh {@link SourceTextModuleRecord} which
+ * shares the compiled module body with all other records of the same source.
+ */
+public final class CodeRepository {
+    private static final int DEFAULT_MAX_SIZE = 1024;
+    private final Map<CodeKey, CodeEntry<Script>> scripts;
+    private final Map<CodeKey, CodeEntry<SourceTextModuleRecord>> modules;
+
+    @SuppressWarnings("serial")
+    private static final class Cache<CODE> extends LinkedHashMap<CodeKey, CodeEntry<CODE>> {
+        private final int maxSize;
+
+        Cache(int maxSize) {
+            super(16, .75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CodeKey, CodeEntry<CODE>> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    private static final class CodeKey {
+        private final String sourceId;
+        private final String sourceName;
+        private final int line;
+        private final String sourceCode;
+        private final EnumSet<CompatibilityOption> options;
+        private final EnumSet<Parser.Option> parserOptions;
+        private final EnumSet<Compiler.Option> compilerOptions;
+
+        CodeKey(RuntimeContext context, SourceIdentifier sourceId, Source source, String sourceCode) {
+            this.sourceId = sourceId != null ? sourceId.toUri().toString() : "";
+            this.sourceName = source.getName();
+            this.line = source.getLine();
+            this.sourceCode = sourceCode;
+            this.options = EnumSet.copyOf(context.getOptions());
+            this.parserOptions = EnumSet.copyOf(context.getParserOptions());
+            this.compilerOptions = EnumSet.copyOf(context.getCompilerOptions());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null || obj.getClass() != CodeKey.class) {
+                return false;
+            }
+            CodeKey other = (CodeKey) obj;
+            return line == other.line && sourceCode.equals(other.sourceCode) && sourceId.equals(other.sourceId)
+                    && sourceName.equals(other.sourceName) && options.equals(other.options)
+                    && parserOptions.equals(other.parserOptions) && compilerOptions.equals(other.compilerOptions);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sourceId, sourceName, line, sourceCode, options, parserOptions, compilerOptions);
+        }
+    }
+
+    @FunctionalInterface
+    private interface CodeSupplier<CODE> {
+        CODE get() throws IOException, ParserException, CompilationException;
+    }
+
+    private static final class CodeEntry<CODE> {
+        private CODE code;
+
+        synchronized CODE get(CodeSupplier<CODE> supplier)
+                throws IOException, ParserException, CompilationException {
+            if (code == null) {
+                code = supplier.get();
+            }
+            return code;
+        }
+    }
+
+    private static <CODE> CODE get(Map<CodeKey, CodeEntry<CODE>> map, CodeKey key,
+            CodeSupplier<CODE> supplier) throws IOException, ParserException, CompilationException {
+        CodeEntry<CODE> entry = map.computeIfAbsent(key, k -> new CodeEntry<>());
+        try {
+            return entry.get(supplier);
+        } catch (IOException | RuntimeException | Error e) {
+            map.remove(key, entry);
+            throw e;
+        }
+    }
+
+    /**
+     * Constructs a new {@link CodeRepository} object.
+     */
+    public CodeRepository() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructs a new {@link CodeRepository} object.
+     * 
+     * @param maxSize
+     *            the maximum number of stored scripts resp. modules
+     */
+    public CodeRepository(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.scripts = Collections.synchronizedMap(new Cache<>(maxSize));
+        this.modules = Collections.synchronizedMap(new Cache<>(maxSize));
+    }
+
+    /**
+     * Returns the compiled script for the source code. The script is compiled using {@code scriptLoader} if it is not
+     * already present in this repository.
+     *
+     * @param scriptLoader
+     *            the script loader
+     * @param source
+     *            the script source descriptor
+     * @param sourceCode
+     *            the source code
+     * @return the compiled script
+     * @throws ParserException
+     *             if the source contains any syntax errors
+     * @throws CompilationException
+     *             if the parsed source could not be compiled
+     */
+    public Script script(ScriptLoader scriptLoader, Source source, String sourceCode)
+            throws ParserException, CompilationException {
+        CodeKey key = new CodeKey(scriptLoader.getRuntimeContext(), source.getSourceId(), source, sourceCode);
+        try {
+            return get(scripts, key, () -> scriptLoader.compileScript(source, sourceCode));
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    /**
+     * Returns a new unlinked module record for the module source. The module is parsed and compiled using
+     * {@code scriptLoader} if it is not already present in this repository.
+     *
+     * @param scriptLoader
+     *            the script loader
+     * @param sourceCodeId
+     *            the source code identifier
+     * @param moduleSource
+     *            the module source code
+     * @return the new module record
+     * @throws IOException
+     *             if there was any I/O error
+     * @throws ParserException
+     *             if the module source contains any syntax errors
+     * @throws CompilationException
+     *             if the parsed module source cannot be compiled
+     */
+    public SourceTextModuleRecord module(ScriptLoader scriptLoader, SourceIdentifier sourceCodeId,
+            ModuleSource moduleSource) throws IOException, ParserException, CompilationException {
+        Source source = moduleSource.toSource();
+        String sourceCode = moduleSource.sourceCode();
+        CodeKey key = new CodeKey(scriptLoader.getRuntimeContext(), sourceCodeId, source, sourceCode);
+        SourceTextModuleRecord module = get(modules, key, () -> SourceTextModuleRecord.ParseModule(scriptLoader,
+                sourceCodeId, scriptLoader.parseModule(source, sourceCode)));
+        return module.clone();
+    }
+
+    /**
+     * Returns the number of compiled scripts in this repository.
+     *
+     * @return the number of compiled scripts
+     */
+    public int scriptCount() {
+        return scripts.size();
+    }
+
+    /**
+     * Returns the number of compiled modules in this repository.
+     *
+     * @return the number of compiled modules
+     */
+    public int moduleCount() {
+        return modules.size();
+    }
+
+    /**
+     * Removes all compiled scripts and modules from this repository.
+     */
+    public void clear() {
+        scripts.clear();
+        modules.clear();
+    }
+}
@@ -0,0 +1,26 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.internal;
+
+/**
+ * Error thrown when script execution was terminated because its execution budget is exhausted. Script code cannot
+ * catch this error and {@code finally} blocks are not executed.
+ *
+ * @see com.github.anba.es6draft.runtime.ExecutionBudget
+ */
+@SuppressWarnings("serial")
+public final class ExecutionTerminatedError extends Error {
+    /**
+     * Constructs a new execution terminated error.
+     * 
+     * @param message
+     *            the detail message
+     */
+    public ExecutionTerminatedError(String message) {
+        super(message);
+    }
+}
@@ -6,16 +6,15 @@
  */
 package com.github.anba.es6draft.runtime.internal;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
-import java.util.concurrent.ThreadFactory;
+import java.util.PriorityQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiConsumer;
-import java.util.function.Function;
 
 import com.github.anba.es6draft.runtime.objects.atomics.SharedByteBuffer;
 
@@ -25,72 +24,253 @@ import com.github.anba.es6draft.runtime.objects.atomics.SharedByteBuffer;
  * <ul>
  * <li>Runtime semantics
  * </ul>
+ * <p>
+ * Waiters are kept in per-location queues. Each location is assigned to one of several lock stripes, so agents waiting
+ * on or waking different locations don't contend on a single lock. Enqueuing, waking and removing a waiter only touch
+ * the queue of its location.
  */
 public final class Futex {
-    private static final class FutexWaiter {
-        private static final ScheduledThreadPoolExecutor INSTANCE;
+    private static final int STRIPES = 64;
+
+    // Timeouts larger than this value are treated as infinite.
+    private static final long MAX_TIMEOUT_NANOS = TimeUnit.DAYS.toNanos(365L * 1000);
+
+    /**
+     * Single timer thread for asynchronous waiters with a finite timeout.
+     */
+    private static final class FutexTimer implements Runnable {
+        private static final FutexTimer INSTANCE;
         static {
-            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, new ThreadFactoryImpl());
-            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
-            executor.setRemoveOnCancelPolicy(true);
-            INSTANCE = executor;
+            FutexTimer timer = new FutexTimer();
+            SecurityManager sec = System.getSecurityManager();
+            ThreadGroup group = sec != null ? sec.getThreadGroup() : Thread.currentThread().getThreadGroup();
+            Thread thread = new Thread(group, timer, "futex-waiter");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.NORM_PRIORITY);
+            thread.start();
+            INSTANCE = timer;
         }
 
-        static ScheduledFuture<?> wait(Runnable command, long timeout, TimeUnit timeUnit) {
-            return INSTANCE.schedule(command, timeout, timeUnit);
+        // Cancelled entries are purged once they make up more than half of the queue.
+        private static final int PURGE_THRESHOLD = 64;
+
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition available = lock.newCondition();
+        // Woken waiters are only marked as cancelled and skipped when they reach the head of the queue.
+        private final PriorityQueue<Futex.Entry> queue = new PriorityQueue<>(
+                (x, y) -> Long.compare(x.deadline - y.deadline, 0));
+        private final AtomicInteger cancelled = new AtomicInteger();
+
+        static void schedule(Futex.Entry entry) {
+            INSTANCE.add(entry);
         }
 
-        private static final class ThreadFactoryImpl implements ThreadFactory {
-            private final ThreadGroup group;
+        static void cancel(Futex.Entry entry) {
+            entry.cancelled = true;
+            INSTANCE.cancelled.incrementAndGet();
+        }
 
-            private ThreadFactoryImpl() {
-                SecurityManager sec = System.getSecurityManager();
-                group = sec != null ? sec.getThreadGroup() : Thread.currentThread().getThreadGroup();
+        private void add(Futex.Entry entry) {
+            lock.lock();
+            try {
+                int size = queue.size();
+                if (size >= PURGE_THRESHOLD && cancelled.get() > size / 2) {
+                    int removed = 0;
+                    for (Iterator<Futex.Entry> iter = queue.iterator(); iter.hasNext();) {
+                        if (iter.next().cancelled) {
+                            iter.remove();
+                            removed += 1;
+                        }
+                    }
+                    cancelled.addAndGet(-removed);
+                }
+                queue.add(entry);
+                if (queue.peek() == entry) {
+                    available.signal();
+                }
+            } finally {
+                lock.unlock();
             }
+        }
 
-            @Override
-            public Thread newThread(Runnable r) {
-                Thread newThread = new Thread(group, r, "futex-waiter");
-                if (!newThread.isDaemon()) {
-                    newThread.setDaemon(true);
+        @Override
+        public void run() {
+            for (;;) {
+                Futex.Entry expired;
+                lock.lock();
+                try {
+                    for (;;) {
+                        Futex.Entry entry = queue.peek();
+                        if (entry == null) {
+                            available.awaitUninterruptibly();
+                            continue;
+                        }
+                        if (entry.cancelled) {
+                            queue.poll();
+                            cancelled.decrementAndGet();
+                            continue;
+                        }
+                        long delay = entry.deadline - System.nanoTime();
+                        if (delay > 0) {
+                            try {
+                                available.awaitNanos(delay);
+                            } catch (InterruptedException e) {
+                                // ignore
+                            }
+                            continue;
+                        }
+                        expired = queue.poll();
+                        break;
+                    }
+                } finally {
+                    lock.unlock();
                 }
-                if (newThread.getPriority() != Thread.NORM_PRIORITY) {
-                    newThread.setPriority(Thread.NORM_PRIORITY);
+                try {
+                    expired.timeout();
+                } catch (Throwable e) {
+                    // Keep the timer thread alive, otherwise no other asynchronous waiter would ever time out.
+                    Thread thread = Thread.currentThread();
+                    thread.getUncaughtExceptionHandler().uncaughtException(thread, e);
                 }
-                return newThread;
             }
         }
     }
 
-    private static final class Entry {
-        private final Runnable onWake;
+    private static final class Location {
         private final SharedByteBuffer buffer;
         private final int index;
 
-        Entry(Condition condition, SharedByteBuffer buffer, int index) {
-            this.onWake = () -> condition.signal();
+        Location(SharedByteBuffer buffer, int index) {
             this.buffer = buffer;
             this.index = index;
         }
 
-        Entry(Function<Entry, Runnable> schedule, SharedByteBuffer buffer, int index) {
-            this.onWake = schedule.apply(this);
-            this.buffer = buffer;
-            this.index = index;
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null || obj.getClass() != Location.class) {
+                return false;
+            }
+            Location other = (Location) obj;
+            return index == other.index && buffer.sameData(other.buffer);
         }
 
-        void wake() {
-            onWake.run();
+        @Override
+        public int hashCode() {
+            return buffer.dataHashCode() * 31 + index;
         }
+    }
+
+    private static final class Entry {
+        private final Stripe stripe;
+        private final Location location;
+        private final Condition condition;
+        private final boolean timed;
+        private final long deadline;
+        private BiConsumer<Futex.State, ? super Throwable> action;
+        private Entry prev, next;
+        private boolean queued;
+        private volatile boolean cancelled;
 
-        boolean matches(SharedByteBuffer buffer, int index) {
-            return this.buffer.sameData(buffer) && this.index == index;
+        Entry(Stripe stripe, Location location, Condition condition) {
+            this.stripe = stripe;
+            this.location = location;
+            this.condition = condition;
+            this.timed = false;
+            this.deadline = 0;
+            this.action = null;
         }
+
+        Entry(Stripe stripe, Location location, BiConsumer<Futex.State, ? super Throwable> action, boolean timed,
+                long deadline) {
+            this.stripe = stripe;
+            this.location = location;
+            this.condition = null;
+            this.timed = timed;
+            this.deadline = deadline;
+            this.action = action;
+        }
+
+        void timeout() {
+            BiConsumer<Futex.State, ? super Throwable> action;
+            stripe.lock.lock();
+            try {
+                if (!queued) {
+                    // Already woken.
+                    return;
+                }
+                stripe.remove(this);
+                action = this.action;
+                this.action = null;
+            } finally {
+                stripe.lock.unlock();
+            }
+            action.accept(State.Timedout, null);
+        }
+    }
+
+    /**
+     * Doubly-linked list of waiters for a single location, in FIFO order.
+     */
+    private static final class WaiterList {
+        private Entry head, tail;
     }
 
-    // FIXME: spec issue - define fairness property for 'futex critical section'?
-    private final ReentrantLock lock = new ReentrantLock(true);
-    private final LinkedList<Futex.Entry> queue = new LinkedList<>();
+    private static final class Stripe {
+        // FIXME: spec issue - define fairness property for 'futex critical section'?
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final HashMap<Location, WaiterList> waiters = new HashMap<>();
+
+        void add(Entry entry) {
+            assert lock.isHeldByCurrentThread();
+            WaiterList list = waiters.computeIfAbsent(entry.location, k -> new WaiterList());
+            if (list.tail == null) {
+                list.head = list.tail = entry;
+            } else {
+                entry.prev = list.tail;
+                list.tail.next = entry;
+                list.tail = entry;
+            }
+            entry.queued = true;
+        }
+
+        void remove(Entry entry) {
+            assert lock.isHeldByCurrentThread() && entry.queued;
+            WaiterList list = waiters.get(entry.location);
+            if (entry.prev == null) {
+                list.head = entry.next;
+            } else {
+                entry.prev.next = entry.next;
+            }
+            if (entry.next == null) {
+                list.tail = entry.prev;
+            } else {
+                entry.next.prev = entry.prev;
+            }
+            entry.prev = entry.next = null;
+            entry.queued = false;
+            if (list.head == null) {
+                waiters.remove(entry.location);
+            }
+        }
+    }
+
+    private final Stripe[] stripes;
+
+    /**
+     * Constructs a new futex object.
+     */
+    public Futex() {
+        stripes = new Stripe[STRIPES];
+        for (int i = 0; i < STRIPES; ++i) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    private Stripe stripe(Location location) {
+        int h = location.hashCode();
+        h ^= (h >>> 16);
+        return stripes[h & (STRIPES - 1)];
+    }
 
     /**
      * Result enumeration for {@link Futex#wait(SharedByteBuffer, int, int, long, TimeUnit)}.
@@ -99,40 +279,45 @@ public final class Futex {
         OK, NotEqual, Timedout;
     }
 
-    private Futex.State enqueueAndWait(SharedByteBuffer buffer, int index, long timeout, TimeUnit timeUnit)
+    private static Futex.State enqueueAndWait(Stripe stripe, Location location, long timeout, TimeUnit timeUnit)
             throws InterruptedException {
-        assert lock.isHeldByCurrentThread();
+        assert stripe.lock.isHeldByCurrentThread();
 
-        Condition condition = lock.newCondition();
-        Futex.Entry entry = new Entry(condition, buffer, index);
-        queue.add(entry);
-        if (condition.await(timeout, timeUnit)) {
-            return State.OK;
+        Futex.Entry entry = new Entry(stripe, location, stripe.lock.newCondition());
+        stripe.add(entry);
+        long nanos = timeUnit.toNanos(timeout);
+        boolean infinite = nanos >= MAX_TIMEOUT_NANOS;
+        try {
+            while (entry.queued) {
+                if (infinite) {
+                    entry.condition.await();
+                } else if (nanos > 0) {
+                    nanos = entry.condition.awaitNanos(nanos);
+                } else {
+                    stripe.remove(entry);
+                    return State.Timedout;
+                }
+            }
+        } catch (InterruptedException e) {
+            if (entry.queued) {
+                stripe.remove(entry);
+            }
+            throw e;
         }
-        queue.remove(entry);
-        return State.Timedout;
+        return State.OK;
     }
 
-    private void enqueueAndWait(SharedByteBuffer buffer, int index, long timeout, TimeUnit timeUnit,
-            BiConsumer<Futex.State, ? super Throwable> action) throws InterruptedException {
-        assert lock.isHeldByCurrentThread();
-
-        queue.add(new Entry(entry -> {
-            ScheduledFuture<?> sf = FutexWaiter.wait(() -> {
-                lock.lock();
-                try {
-                    queue.remove(entry);
-                } finally {
-                    lock.unlock();
-                }
-                action.accept(State.Timedout, null);
-            }, timeout, timeUnit);
+    private static void enqueueAndWait(Stripe stripe, Location location, long timeout, TimeUnit timeUnit,
+            BiConsumer<Futex.State, ? super Throwable> action) {
+        assert stripe.lock.isHeldByCurrentThread();
 
-            return () -> {
-                sf.cancel(false);
-                action.accept(State.OK, null);
-            };
-        }, buffer, index));
+        long nanos = timeUnit.toNanos(timeout);
+        boolean infinite = nanos >= MAX_TIMEOUT_NANOS;
+        Futex.Entry entry = new Entry(stripe, location, action, !infinite, infinite ? 0 : System.nanoTime() + nanos);
+        stripe.add(entry);
+        if (!infinite) {
+            FutexTimer.schedule(entry);
+        }
     }
 
     /**
@@ -154,15 +339,17 @@ public final class Futex {
      */
     public Futex.State wait(SharedByteBuffer buffer, int index, int value, long timeout, TimeUnit timeUnit)
             throws InterruptedException {
-        lock.lock();
+        Location location = new Location(buffer, index);
+        Stripe stripe = stripe(location);
+        stripe.lock.lock();
         try {
             int w = UnsafeHolder.getIntVolatile(buffer.get(), index);
             if (w != value) {
                 return State.NotEqual;
             }
-            return enqueueAndWait(buffer, index, timeout, timeUnit);
+            return enqueueAndWait(stripe, location, timeout, timeUnit);
         } finally {
-            lock.unlock();
+            stripe.lock.unlock();
         }
     }
 
@@ -185,15 +372,17 @@ public final class Futex {
      */
     public Futex.State wait(SharedByteBuffer buffer, int index, long value, long timeout, TimeUnit timeUnit)
             throws InterruptedException {
-        lock.lock();
+        Location location = new Location(buffer, index);
+        Stripe stripe = stripe(location);
+        stripe.lock.lock();
         try {
             long w = UnsafeHolder.getLongVolatile(buffer.get(), index);
             if (w != value) {
                 return State.NotEqual;
             }
-            return enqueueAndWait(buffer, index, timeout, timeUnit);
+            return enqueueAndWait(stripe, location, timeout, timeUnit);
         } finally {
-            lock.unlock();
+            stripe.lock.unlock();
         }
     }
 
@@ -211,22 +400,25 @@ public final class Futex {
      * @param timeUnit
      *            the time unit of the timeout parameter
      * @param action
-     * @return
+     *            the action to perform when the waiter is waken or the timeout elapses
+     * @return {@link State#NotEqual} if the value doesn't match, otherwise {@link State#OK}
      * @throws InterruptedException
      *             if interrupted while waiting
      */
     public Futex.State waitAsync(SharedByteBuffer buffer, int index, int value, long timeout, TimeUnit timeUnit,
             BiConsumer<Futex.State, ? super Throwable> action) throws InterruptedException {
-        lock.lock();
+        Location location = new Location(buffer, index);
+        Stripe stripe = stripe(location);
+        stripe.lock.lock();
         try {
             int w = UnsafeHolder.getIntVolatile(buffer.get(), index);
             if (w != value) {
                 return State.NotEqual;
             }
-            enqueueAndWait(buffer, index, timeout, timeUnit, action);
+            enqueueAndWait(stripe, location, timeout, timeUnit, action);
             return State.OK;
         } finally {
-            lock.unlock();
+            stripe.lock.unlock();
         }
     }
 
@@ -244,22 +436,25 @@ public final class Futex {
      * @param timeUnit
      *            the time unit of the timeout parameter
      * @param action
-     * @return
+     *            the action to perform when the waiter is waken or the timeout elapses
+     * @return {@link State#NotEqual} if the value doesn't match, otherwise {@link State#OK}
      * @throws InterruptedException
      *             if interrupted while waiting
      */
     public Futex.State waitAsync(SharedByteBuffer buffer, int index, long value, long timeout, TimeUnit timeUnit,
             BiConsumer<Futex.State, ? super Throwable> action) throws InterruptedException {
-        lock.lock();
+        Location location = new Location(buffer, index);
+        Stripe stripe = stripe(location);
+        stripe.lock.lock();
         try {
             long w = UnsafeHolder.getLongVolatile(buffer.get(), index);
             if (w != value) {
                 return State.NotEqual;
             }
-            enqueueAndWait(buffer, index, timeout, timeUnit, action);
+            enqueueAndWait(stripe, location, timeout, timeUnit, action);
             return State.OK;
         } finally {
-            lock.unlock();
+            stripe.lock.unlock();
         }
     }
 
@@ -275,21 +470,41 @@ public final class Futex {
      * @return the actual number of agents awoken
      */
     public int wake(SharedByteBuffer buffer, int index, int count) {
-        lock.lock();
+        Location location = new Location(buffer, index);
+        Stripe stripe = stripe(location);
+        ArrayList<BiConsumer<Futex.State, ? super Throwable>> asyncWaiters = null;
+        int n = 0;
+        stripe.lock.lock();
         try {
-            int n = 0;
-            for (Iterator<Futex.Entry> it = queue.iterator(); count > 0 && it.hasNext();) {
-                Futex.Entry entry = it.next();
-                if (entry.matches(buffer, index)) {
-                    it.remove();
-                    entry.wake();
-                    count -= 1;
-                    n += 1;
+            WaiterList list = stripe.waiters.get(location);
+            if (list == null) {
+                return 0;
+            }
+            for (; count > 0 && list.head != null; --count, ++n) {
+                Futex.Entry entry = list.head;
+                stripe.remove(entry);
+                if (entry.condition != null) {
+                    entry.condition.signal();
+                } else {
+                    if (asyncWaiters == null) {
+                        asyncWaiters = new ArrayList<>();
+                    }
+                    asyncWaiters.add(entry.action);
+                    entry.action = null;
+                    if (entry.timed) {
+                        FutexTimer.cancel(entry);
+                    }
                 }
             }
-            return n;
         } finally {
-            lock.unlock();
+            stripe.lock.unlock();
+        }
+        if (asyncWaiters != null) {
+            // Run the callbacks outside of the critical section.
+            for (BiConsumer<Futex.State, ? super Throwable> action : asyncWaiters) {
+                action.accept(State.OK, null);
+            }
         }
+        return n;
     }
 }
@@ -6,211 +6,360 @@
  */
 package com.github.anba.es6draft.runtime.internal;
 
-import java.util.AbstractMap.SimpleEntry;
-import java.util.HashMap;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 
 /**
- * Simple double-linked map implementation without fail-fast iterator.
+ * Insertion-ordered hash map implementation without fail-fast iterator.
+ * <p>
+ * The mappings are stored in insertion order in compact entry arrays, each hash bucket holds the index of the first
+ * entry in its collision chain. Deleted entries are replaced with a tombstone until the next compaction. Iterators
+ * remain valid across compactions: a replaced table records the removed entry indices, so iterators of the replaced
+ * table can translate their current position to the new table.
  */
 public class LinkedMap<KEY, VALUE> implements Iterable<Map.Entry<KEY, VALUE>> {
-    @SuppressWarnings("serial")
-    protected static final class Entry<KEY, VALUE> extends SimpleEntry<KEY, VALUE> {
-        private Entry<KEY, VALUE> prev, next;
-        private boolean removed = false;
+    private static final int INITIAL_CAPACITY = 8;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+    private static final Object DELETED = new Object();
 
-        Entry(KEY key, VALUE value) {
-            super(key, value);
+    private static final class Table {
+        // Bucket index to first entry index, or -1 for empty buckets.
+        int[] buckets;
+        int shift;
+        Object[] keys;
+        Object[] values;
+        int[] hashes;
+        // Entry index to next entry index in the same bucket, or -1.
+        int[] chain;
+        // Number of used entry slots, including deleted entries.
+        int length;
+        int deleted;
+
+        // The replacement table and the removed entry indices (or null if the table was cleared).
+        Table next;
+        int[] removed;
+
+        Table(int capacity) {
+            buckets = new int[capacity];
+            Arrays.fill(buckets, -1);
+            shift = Integer.numberOfLeadingZeros(capacity) + 1;
+            keys = new Object[capacity];
+            values = new Object[capacity];
+            hashes = new int[capacity];
+            chain = new int[capacity];
+        }
+
+        int capacity() {
+            return keys.length;
+        }
+
+        int bucket(int hash) {
+            // Fibonacci hashing to spread hash codes with identical lower bits.
+            return (hash * 0x9E3779B9) >>> shift;
+        }
+
+        void add(Object key, Object value, int hash) {
+            int index = length++;
+            int bucket = bucket(hash);
+            keys[index] = key;
+            values[index] = value;
+            hashes[index] = hash;
+            chain[index] = buckets[bucket];
+            buckets[bucket] = index;
+        }
+
+        void retire(Table next, int[] removed) {
+            this.next = next;
+            this.removed = removed;
+            buckets = null;
+            keys = null;
+            values = null;
+            hashes = null;
+            chain = null;
         }
     }
 
-    private final HashMap<KEY, Entry<KEY, VALUE>> map;
-    private final Entry<KEY, VALUE> head;
+    private Table table;
 
     /**
      * Construct a new empty map.
      */
     public LinkedMap() {
-        map = new HashMap<>();
-        head = new Entry<>(null, null);
-        head.prev = head;
-        head.next = head;
+        table = new Table(INITIAL_CAPACITY);
     }
 
-    private void insert(KEY hashKey, KEY key, VALUE value) {
-        Entry<KEY, VALUE> entry = newEntry(key, value);
-        map.put(hashKey, entry);
-        entry.prev = head.prev;
-        entry.next = head;
-        head.prev.next = entry;
-        head.prev = entry;
+    /**
+     * Returns the key to store for a new mapping of <var>key</var>.
+     *
+     * @param key
+     *            the key
+     * @return the key to store
+     */
+    protected KEY normalizeKey(KEY key) {
+        return key;
     }
 
     /**
-     * Creates a new entry object.
-     * 
+     * Returns the hash code for <var>key</var>.
+     *
      * @param key
-     *            the entry key
-     * @param value
-     *            the entry value
-     * @return the new map entry
+     *            the key
+     * @return the hash code
      */
-    protected Entry<KEY, VALUE> newEntry(KEY key, VALUE value) {
-        return new Entry<>(key, value);
+    protected int hash(KEY key) {
+        return Objects.hashCode(key);
     }
 
     /**
-     * Returns the hash-key for <var>key</var>.
-     * 
+     * Returns {@code true} if both keys denote the same mapping.
+     *
      * @param key
-     *            the key
-     * @return the hash-key
+     *            the stored key
+     * @param other
+     *            the requested key
+     * @return {@code true} if both keys are the same
      */
-    protected KEY hashKey(KEY key) {
-        return key;
+    protected boolean isSameKey(KEY key, KEY other) {
+        return Objects.equals(key, other);
+    }
+
+    @SuppressWarnings("unchecked")
+    private int find(KEY key, int hash) {
+        Table t = table;
+        for (int i = t.buckets[t.bucket(hash)]; i >= 0; i = t.chain[i]) {
+            if (t.hashes[i] == hash && isSameKey((KEY) t.keys[i], key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(KEY key, VALUE value, int hash) {
+        Table t = table;
+        if (t.length == t.capacity()) {
+            int capacity = t.capacity();
+            if (t.deleted < capacity / 2) {
+                if (capacity == MAXIMUM_CAPACITY) {
+                    throw new OutOfMemoryError();
+                }
+                capacity <<= 1;
+            }
+            t = rehash(capacity);
+        }
+        t.add(normalizeKey(key), value, hash);
+    }
+
+    private Table rehash(int capacity) {
+        Table t = table;
+        Table newTable = new Table(capacity);
+        int[] removed = new int[t.deleted];
+        Object[] keys = t.keys;
+        for (int i = 0, r = 0, length = t.length; i < length; ++i) {
+            Object key = keys[i];
+            if (key == DELETED) {
+                removed[r++] = i;
+            } else {
+                newTable.add(key, t.values[i], t.hashes[i]);
+            }
+        }
+        t.retire(newTable, removed);
+        return table = newTable;
     }
 
     /**
      * Returns the number of mappings.
-     * 
+     *
      * @return the number of mappings
      */
     public int size() {
-        return map.size();
+        return table.length - table.deleted;
     }
 
     /**
      * Removes all mappings.
      */
     public void clear() {
-        map.clear();
-        for (Entry<KEY, VALUE> e = head.next; e != head; e = e.next) {
-            e.removed = true;
+        Table t = table;
+        if (t.length == 0) {
+            return;
         }
-        head.next = head;
-        head.prev = head;
+        Table newTable = new Table(INITIAL_CAPACITY);
+        t.retire(newTable, null);
+        table = newTable;
     }
 
     /**
      * Deletes the mapping for <var>key</var>.
-     * 
+     *
      * @param key
      *            the key
      * @return {@code true} if <var>key</var> was mapped to a value
      */
+    @SuppressWarnings("unchecked")
     public boolean delete(KEY key) {
-        KEY hashKey = hashKey(key);
-        Entry<KEY, VALUE> entry = map.remove(hashKey);
-        if (entry != null) {
-            entry.removed = true;
-            entry.prev.next = entry.next;
-            entry.next.prev = entry.prev;
-            return true;
+        int hash = hash(key);
+        Table t = table;
+        int bucket = t.bucket(hash);
+        for (int i = t.buckets[bucket], prev = -1; i >= 0; prev = i, i = t.chain[i]) {
+            if (t.hashes[i] == hash && isSameKey((KEY) t.keys[i], key)) {
+                if (prev < 0) {
+                    t.buckets[bucket] = t.chain[i];
+                } else {
+                    t.chain[prev] = t.chain[i];
+                }
+                t.keys[i] = DELETED;
+                t.values[i] = null;
+                t.deleted += 1;
+                int capacity = t.capacity();
+                if (capacity > INITIAL_CAPACITY && size() <= capacity / 8) {
+                    rehash(capacity >>> 1);
+                }
+                return true;
+            }
         }
         return false;
     }
 
     /**
      * Returns the mapped value for <var>key</var> or {@code null} if no mapping was found.
-     * 
+     *
      * @param key
      *            the key
      * @return the mapped value or {@code null}
      */
+    @SuppressWarnings("unchecked")
     public VALUE get(KEY key) {
-        KEY hashKey = hashKey(key);
-        Entry<KEY, VALUE> entry = map.get(hashKey);
-        if (entry != null) {
-            return entry.getValue();
+        int index = find(key, hash(key));
+        if (index >= 0) {
+            return (VALUE) table.values[index];
         }
         return null;
     }
 
     /**
      * Returns {@code true} if a mapping for <var>key</var> is present.
-     * 
+     *
      * @param key
      *            the key
      * @return {@code true} if <var>key</var> is mapped to a value
      */
     public boolean has(KEY key) {
-        KEY hashKey = hashKey(key);
-        return map.containsKey(hashKey);
+        return find(key, hash(key)) >= 0;
     }
 
     /**
      * Inserts or updates the mapping <var>key</var> &rarr; <var>value</var>.
-     * 
+     *
      * @param key
      *            the key
      * @param value
      *            the mapped value
      */
     public void set(KEY key, VALUE value) {
-        KEY hashKey = hashKey(key);
-        Entry<KEY, VALUE> entry = map.get(hashKey);
-        if (entry != null) {
-            entry.setValue(value);
+        int hash = hash(key);
+        int index = find(key, hash);
+        if (index >= 0) {
+            table.values[index] = value;
         } else {
-            insert(hashKey, key, value);
+            insert(key, value, hash);
         }
     }
 
     /**
      * Inserts or updates the mappings from <var>map</var>. (Bulk operation)
-     * 
+     *
      * @param map
      *            the source map
      * @see #set(Object, Object)
      */
+    @SuppressWarnings("unchecked")
     public void setAll(LinkedMap<KEY, VALUE> map) {
-        if (head == head.next) {
-            // empty map
-            for (Entry<KEY, VALUE> e = map.head; e.next != map.head; e = e.next) {
-                KEY hashKey = hashKey(e.getKey());
-                insert(hashKey, e.getKey(), e.getValue());
+        Table source = map.table;
+        if (size() == 0 && getClass() == map.getClass()) {
+            // Empty map with the same key semantics, copy the entries without rehashing the keys.
+            Table t = table;
+            Table newTable = new Table(Math.max(t.capacity(), source.capacity()));
+            for (int i = 0, length = source.length; i < length; ++i) {
+                Object key = source.keys[i];
+                if (key != DELETED) {
+                    newTable.add(key, source.values[i], source.hashes[i]);
+                }
             }
+            t.retire(newTable, null);
+            table = newTable;
         } else {
-            for (Entry<KEY, VALUE> e = map.head; e.next != map.head; e = e.next) {
-                set(e.getKey(), e.getValue());
+            // The source table is not replaced during iteration, set() does not insert new entries if this map is the
+            // source map.
+            for (int i = 0, length = source.length; i < length; ++i) {
+                Object key = source.keys[i];
+                if (key != DELETED) {
+                    set((KEY) key, (VALUE) source.values[i]);
+                }
             }
         }
     }
 
     /**
      * Returns a new {@link Iterator} over this map.
-     * 
+     *
      * @return an iterator over this map
      */
     @Override
     public Iterator<Map.Entry<KEY, VALUE>> iterator() {
-        return new Iterator<Map.Entry<KEY, VALUE>>() {
-            private Entry<KEY, VALUE> cursor = head;
+        return new EntryIterator();
+    }
 
-            private Entry<KEY, VALUE> find() {
-                Entry<KEY, VALUE> entry = cursor;
-                while (entry.removed) {
-                    entry = entry.prev;
-                }
-                return entry.next;
+    private final class EntryIterator implements Iterator<Map.Entry<KEY, VALUE>> {
+        private Table table = LinkedMap.this.table;
+        private int index = 0;
+
+        private Table current() {
+            Table t = table;
+            if (t.next != null) {
+                int index = this.index;
+                do {
+                    index = t.removed != null ? index - countLessThan(t.removed, index) : 0;
+                    t = t.next;
+                } while (t.next != null);
+                this.table = t;
+                this.index = index;
             }
+            return t;
+        }
 
-            @Override
-            public boolean hasNext() {
-                return find() != head;
+        private int find() {
+            Table t = current();
+            int index = this.index;
+            while (index < t.length && t.keys[index] == DELETED) {
+                index += 1;
             }
+            return this.index = index;
+        }
 
-            @Override
-            public Entry<KEY, VALUE> next() {
-                Entry<KEY, VALUE> next = find();
-                if (next == head) {
-                    throw new NoSuchElementException();
-                }
-                cursor = next;
-                return next;
+        @Override
+        public boolean hasNext() {
+            return find() < table.length;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public Map.Entry<KEY, VALUE> next() {
+            int index = find();
+            Table t = table;
+            if (index >= t.length) {
+                throw new NoSuchElementException();
             }
-        };
+            this.index = index + 1;
+            return new SimpleImmutableEntry<>((KEY) t.keys[index], (VALUE) t.values[index]);
+        }
+    }
+
+    private static int countLessThan(int[] sorted, int value) {
+        int index = Arrays.binarySearch(sorted, value);
+        return index >= 0 ? index : -(index + 1);
     }
 }
@@ -13,47 +13,80 @@ import org.mozilla.javascript.ConsString;
 import com.github.anba.es6draft.runtime.objects.simd.SIMDValue;
 
 /**
- * {@link LinkedMap} implementation with additional changes to {@link #newEntry(Object, Object)} and
- * {@link #hashKey(Object)} to properly support runtime types.
+ * {@link LinkedMap} implementation with additional changes to {@link #normalizeKey(Object)}, {@link #hash(Object)} and
+ * {@link #isSameKey(Object, Object)} to properly support runtime types.
+ * <p>
+ * Number keys are compared using SameValueZero semantics without converting {@code Integer} and {@code Long} keys to
+ * {@code Double}.
  */
 public final class LinkedMapImpl<VALUE> extends LinkedMap<Object, VALUE> {
+    private static final Double POSITIVE_ZERO = +0d;
+
     @Override
-    protected Entry<Object, VALUE> newEntry(Object key, VALUE value) {
-        if (key instanceof Double) {
+    protected Object normalizeKey(Object key) {
+        if (key instanceof Double && (Double) key == 0) {
             // Map +/-0 to +0 per Map.prototype.set and Set.prototype.add.
-            double v = (Double) key;
-            return super.newEntry(v == 0 ? +0d : v, value);
+            return POSITIVE_ZERO;
         }
-        return super.newEntry(key, value);
+        return key;
     }
 
     @Override
-    protected Object hashKey(Object key) {
-        if (key instanceof ConsString) {
-            // ConsString -> String
-            return ((ConsString) key).toString();
-        }
+    protected int hash(Object key) {
         if (key instanceof Integer) {
-            // int -> double
-            return (double) (Integer) key;
+            return hashNumber((Integer) key);
+        }
+        if (key instanceof Double) {
+            return hashNumber((Double) key);
         }
         if (key instanceof Long) {
-            // long -> double
-            return (double) (Long) key;
+            return hashNumber((double) (Long) key);
         }
-        if (key instanceof Double) {
-            // Map +/-0 to +0 to enforce SameValueZero comparison semantics.
-            double v = (Double) key;
-            return v == 0 ? +0d : v;
+        if (key instanceof ConsString) {
+            // ConsString -> String
+            return key.toString().hashCode();
         }
         if (key instanceof SIMDValue) {
             // Map +/-0 to +0 to enforce SameValueZero comparison semantics.
-            return hashKeySIMD((SIMDValue) key);
+            return hashKeySIMD((SIMDValue) key).hashCode();
         }
-        return key;
+        return key.hashCode();
+    }
+
+    private static int hashNumber(double v) {
+        // Map +/-0 to +0 to enforce SameValueZero comparison semantics.
+        long bits = Double.doubleToLongBits(v == 0 ? +0d : v);
+        return (int) (bits ^ (bits >>> 32));
+    }
+
+    @Override
+    protected boolean isSameKey(Object key, Object other) {
+        if (key == other) {
+            return true;
+        }
+        if (isNumber(key)) {
+            if (!isNumber(other)) {
+                return false;
+            }
+            double x = ((Number) key).doubleValue(), y = ((Number) other).doubleValue();
+            // SameValueZero: NaN is equal to NaN, +0 is equal to -0.
+            return x == y || (x != x && y != y);
+        }
+        if (key instanceof CharSequence) {
+            return other instanceof CharSequence && key.toString().equals(other.toString());
+        }
+        if (key instanceof SIMDValue) {
+            return other instanceof SIMDValue
+                    && hashKeySIMD((SIMDValue) key).equals(hashKeySIMD((SIMDValue) other));
+        }
+        return key.equals(other);
+    }
+
+    private static boolean isNumber(Object value) {
+        return value instanceof Integer || value instanceof Double || value instanceof Long;
     }
 
-    private SIMDValue hashKeySIMD(SIMDValue value) {
+    private static SIMDValue hashKeySIMD(SIMDValue value) {
         if (!value.getType().isFloatingPoint()) {
             return value;
         }
@@ -97,6 +97,9 @@ public final class Messages {
         TooManyLocals("internal.too_many_locals"),
         TooManySwitchCases("internal.too_many_switch_cases"),
         InvalidStringSize("internal.invalid_string_size"),
+        ExecutionBudgetSteps("internal.execution_budget_steps"),
+        ExecutionBudgetTime("internal.execution_budget_time"),
+        ExecutionTerminated("internal.execution_terminated"),
 
         // TokenStream
         InvalidNumberLiteral("parser.invalid_number_literal"),
@@ -404,6 +407,14 @@ public final class Messages {
         BigIntUnsignedRightShift("bigint.unsigned_right_shift"),
         BigIntCannotJSONStringify("bigint.cannot_json_stringify"),
 
+        // Structured Clone
+        CloneNotCloneable("clone.not_cloneable"),
+        CloneNotTransferable("clone.not_transferable"),
+        CloneDuplicateTransfer("clone.duplicate_transfer"),
+
+        // Worker
+        WorkerCannotStart("worker.cannot_start"),
+
         ;
         /* @formatter:on */
 
@@ -1557,7 +1557,15 @@ public final class Properties {
     }
 
     private static void createValue(Realm realm, OrdinaryObject target, ValueLayout layout) {
-        Object value = resolveValue(realm, layout.rawValue);
+        Object rawValue = layout.rawValue;
+        if (rawValue instanceof Intrinsics && realm.isLazyIntrinsic((Intrinsics) rawValue)) {
+            // Don't create the intrinsic until the property value is actually requested.
+            Intrinsics id = (Intrinsics) rawValue;
+            defineProperty(target, layout, Property.lazyDataProperty(() -> realm.getIntrinsic(id), layout.writable(),
+                    layout.enumerable(), layout.configurable()));
+            return;
+        }
+        Object value = resolveValue(realm, rawValue);
         defineProperty(target, layout, valueProperty(layout, value));
     }
 
@@ -30,6 +30,8 @@ import com.github.anba.es6draft.parser.Parser;
 import com.github.anba.es6draft.runtime.ExecutionContext;
 import com.github.anba.es6draft.runtime.Realm;
 import com.github.anba.es6draft.runtime.RealmData;
+import com.github.anba.es6draft.runtime.extensions.timer.DelayTimerQueue;
+import com.github.anba.es6draft.runtime.extensions.timer.TimerQueue;
 import com.github.anba.es6draft.runtime.modules.ModuleLoader;
 import com.github.anba.es6draft.runtime.modules.ModuleRecord;
 import com.github.anba.es6draft.runtime.modules.loader.FileModuleLoader;
@@ -48,6 +50,10 @@ public final class RuntimeContext {
     private Console console;
 
     private final ScriptCache scriptCache;
+    private final CodeRepository codeRepository;
+    private final RuntimeMetrics metrics;
+    private final int stackTraceDepth;
+    private final boolean valueStackTraces;
     private final ExecutorService executor;
     private final boolean shutdownExecutorOnFinalization;
     private final ExecutorService workerExecutor;
@@ -55,6 +61,7 @@ public final class RuntimeContext {
     private final BiConsumer<ExecutionContext, Throwable> errorReporter;
     private final BiConsumer<ExecutionContext, Throwable> workerErrorReporter;
     private final Futex futex;
+    private final Supplier<? extends TimerQueue> timerQueue;
     private final Consumer<ExecutionContext> debugger;
     private final BiFunction<String, MethodType, MethodHandle> nativeCallResolver;
     private final BiConsumer<ScriptObject, ModuleRecord> importMeta;
@@ -72,10 +79,12 @@ public final class RuntimeContext {
 
     RuntimeContext(Supplier<? extends RuntimeContext.Data> runtimeData, Function<Realm, ? extends RealmData> realmData,
             BiFunction<RuntimeContext, ScriptLoader, ? extends ModuleLoader> moduleLoader, Locale locale,
-            TimeZone timeZone, Path baseDirectory, Console console, ScriptCache scriptCache, ExecutorService executor,
-            BiConsumer<ExecutionContext, Throwable> errorReporter, ExecutorService workerExecutor,
-            BiConsumer<ExecutionContext, Throwable> workerErrorReporter, Futex futex,
-            Consumer<ExecutionContext> debugger, BiFunction<String, MethodType, MethodHandle> nativeCallResolver,
+            TimeZone timeZone, Path baseDirectory, Console console, ScriptCache scriptCache,
+            CodeRepository codeRepository, RuntimeMetrics metrics, int stackTraceDepth, boolean valueStackTraces,
+            ExecutorService executor, BiConsumer<ExecutionContext, Throwable> errorReporter,
+            ExecutorService workerExecutor, BiConsumer<ExecutionContext, Throwable> workerErrorReporter, Futex futex,
+            Supplier<? extends TimerQueue> timerQueue, Consumer<ExecutionContext> debugger,
+            BiFunction<String, MethodType, MethodHandle> nativeCallResolver,
             BiConsumer<ScriptObject, ModuleRecord> importMeta, EnumSet<CompatibilityOption> options,
             EnumSet<Parser.Option> parserOptions, EnumSet<Compiler.Option> compilerOptions) {
         this.runtimeData = runtimeData;
@@ -87,6 +96,10 @@ public final class RuntimeContext {
         this.baseDirectory = baseDirectory;
         this.console = console;
         this.scriptCache = scriptCache;
+        this.codeRepository = codeRepository;
+        this.metrics = metrics;
+        this.stackTraceDepth = stackTraceDepth;
+        this.valueStackTraces = valueStackTraces;
         this.executor = executor != null ? executor : createThreadPoolExecutor();
         this.shutdownExecutorOnFinalization = executor == null;
         this.workerExecutor = workerExecutor != null ? workerExecutor : createWorkerThreadPoolExecutor();
@@ -94,6 +107,7 @@ public final class RuntimeContext {
         this.errorReporter = errorReporter;
         this.workerErrorReporter = workerErrorReporter;
         this.futex = futex;
+        this.timerQueue = timerQueue;
         this.debugger = debugger;
         this.nativeCallResolver = nativeCallResolver;
         this.importMeta = importMeta;
@@ -194,6 +208,42 @@ public final class RuntimeContext {
         return scriptCache;
     }
 
+    /**
+     * Returns the optional code repository for this instance.
+     * 
+     * @return the code repository or {@code null}
+     */
+    public CodeRepository getCodeRepository() {
+        return codeRepository;
+    }
+
+    /**
+     * Returns the runtime metrics for this instance.
+     * 
+     * @return the runtime metrics
+     */
+    public RuntimeMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Returns the maximum number of recorded script stack frames for exceptions.
+     * 
+     * @return the maximum stack trace depth
+     */
+    public int getStackTraceDepth() {
+        return stackTraceDepth;
+    }
+
+    /**
+     * Returns {@code true} if stack traces are recorded when non-Error values are thrown.
+     * 
+     * @return {@code true} if stack traces for thrown values are enabled
+     */
+    public boolean hasValueStackTraces() {
+        return valueStackTraces;
+    }
+
     /**
      * Returns the optional console object for this instance.
      * 
@@ -258,6 +308,15 @@ public final class RuntimeContext {
         return futex;
     }
 
+    /**
+     * Returns the timer queue factory.
+     * 
+     * @return the timer queue factory
+     */
+    public Supplier<? extends TimerQueue> getTimerQueue() {
+        return timerQueue;
+    }
+
     /**
      * Returns the debugger callback.
      * 
@@ -363,11 +422,16 @@ public final class RuntimeContext {
         private Path baseDirectory;
         private Console console;
         private ScriptCache scriptCache;
+        private CodeRepository codeRepository;
+        private RuntimeMetrics metrics;
+        private int stackTraceDepth;
+        private boolean valueStackTraces;
         private ExecutorService executor;
         private ExecutorService workerExecutor;
         private BiConsumer<ExecutionContext, Throwable> errorReporter;
         private BiConsumer<ExecutionContext, Throwable> workerErrorReporter;
         private Futex futex;
+        private Supplier<? extends TimerQueue> timerQueue;
         private Consumer<ExecutionContext> debugger;
         private BiFunction<String, MethodType, MethodHandle> nativeCallResolver;
         private BiConsumer<ScriptObject, ModuleRecord> importMeta;
@@ -383,6 +447,8 @@ public final class RuntimeContext {
             timeZone = TimeZone.getDefault();
             baseDirectory = Paths.get("");
             scriptCache = new ScriptCache();
+            metrics = new RuntimeMetrics();
+            stackTraceDepth = ScriptException.DEFAULT_STACK_TRACE_DEPTH;
             errorReporter = (cx, e) -> {
                 e.printStackTrace();
             };
@@ -390,6 +456,7 @@ public final class RuntimeContext {
                 e.printStackTrace();
             };
             futex = new Futex();
+            timerQueue = DelayTimerQueue::new;
             debugger = cx -> {
                 // empty
             };
@@ -408,11 +475,16 @@ public final class RuntimeContext {
             baseDirectory = context.baseDirectory;
             console = context.console;
             scriptCache = context.scriptCache;
+            codeRepository = context.codeRepository;
+            metrics = context.metrics;
+            stackTraceDepth = context.stackTraceDepth;
+            valueStackTraces = context.valueStackTraces;
             executor = context.executor;
             workerExecutor = context.workerExecutor;
             errorReporter = context.errorReporter;
             workerErrorReporter = context.workerErrorReporter;
             futex = context.futex;
+            timerQueue = context.timerQueue;
             debugger = context.debugger;
             importMeta = context.importMeta;
             options.addAll(context.options);
@@ -427,8 +499,9 @@ public final class RuntimeContext {
          */
         public RuntimeContext build() {
             return new RuntimeContext(runtimeData, realmData, moduleLoader, locale, timeZone, baseDirectory, console,
-                    scriptCache, executor, errorReporter, workerExecutor, workerErrorReporter, futex, debugger,
-                    nativeCallResolver, importMeta, options, parserOptions, compilerOptions);
+                    scriptCache, codeRepository, metrics, stackTraceDepth, valueStackTraces, executor, errorReporter,
+                    workerExecutor, workerErrorReporter, futex,
+                    timerQueue, debugger, nativeCallResolver, importMeta, options, parserOptions, compilerOptions);
         }
 
         /**
@@ -515,6 +588,57 @@ public final class RuntimeContext {
             return this;
         }
 
+        /**
+         * Sets the code repository.
+         * 
+         * @param codeRepository
+         *            the code repository
+         * @return this builder
+         */
+        public Builder setCodeRepository(CodeRepository codeRepository) {
+            this.codeRepository = codeRepository; // null allowed
+            return this;
+        }
+
+        /**
+         * Sets the runtime metrics.
+         * 
+         * @param metrics
+         *            the runtime metrics
+         * @return this builder
+         */
+        public Builder setMetrics(RuntimeMetrics metrics) {
+            this.metrics = Objects.requireNonNull(metrics);
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of recorded script stack frames for exceptions, {@code 0} disables stack traces.
+         * 
+         * @param stackTraceDepth
+         *            the maximum stack trace depth
+         * @return this builder
+         */
+        public Builder setStackTraceDepth(int stackTraceDepth) {
+            if (stackTraceDepth < 0) {
+                throw new IllegalArgumentException();
+            }
+            this.stackTraceDepth = stackTraceDepth;
+            return this;
+        }
+
+        /**
+         * Enables or disables stack traces when non-Error values are thrown.
+         * 
+         * @param valueStackTraces
+         *            {@code true} to record stack traces for thrown values
+         * @return this builder
+         */
+        public Builder setValueStackTraces(boolean valueStackTraces) {
+            this.valueStackTraces = valueStackTraces;
+            return this;
+        }
+
         /**
          * Sets the console.
          * 
@@ -587,6 +711,20 @@ public final class RuntimeContext {
             return this;
         }
 
+        /**
+         * Sets the timer queue factory, for example {@code () -> new TimingWheel(1, TimeUnit.MILLISECONDS)}.
+         * 
+         * @param timerQueue
+         *            the timer queue factory
+         * @return this builder
+         * @see DelayTimerQueue
+         * @see com.github.anba.es6draft.runtime.extensions.timer.TimingWheel
+         */
+        public Builder setTimerQueue(Supplier<? extends TimerQueue> timerQueue) {
+            this.timerQueue = Objects.requireNonNull(timerQueue);
+            return this;
+        }
+
         /**
          * Sets the debugger callback.
          * 
@@ -0,0 +1,319 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.internal;
+
+import java.lang.invoke.MethodType;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * Flight recorder events for parsing, compilation, job execution and realm initialization.
+ * <p>
+ * Events are only emitted when the engine was built with JDK Flight Recorder support (Java 11 or later) and a
+ * recording with the {@code es6draft.*} events enabled is active. Otherwise {@code begin} returns {@code null} and the
+ * {@code end} methods return immediately.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * Object event = RuntimeEvents.begin(RuntimeEvents.Type.Parse);
+ * // ...
+ * RuntimeEvents.endParse(event, source, "script", sourceCode.length());
+ * </pre>
+ */
+public final class RuntimeEvents {
+    private RuntimeEvents() {
+    }
+
+    private static final String RECORDER_CLASS = "com.github.anba.es6draft.runtime.internal.FlightRecorderEvents";
+    private static final Recorder RECORDER = loadRecorder();
+
+    /**
+     * Duration event types.
+     */
+    public enum Type {
+        /** Parsing of scripts, modules and functions */
+        Parse,
+
+        /** Bytecode generation of scripts, modules and functions */
+        Compile,
+
+        /** Definition of generated classes */
+        DefineClasses,
+
+        /** Execution of a single job */
+        Job,
+
+        /** Execution of the event loop */
+        EventLoop,
+
+        /** Initialization of a realm */
+        RealmInitialization,
+
+        /** Parsing of regular expression patterns */
+        RegExpParse,
+    }
+
+    /**
+     * Event recorder implementation.
+     */
+    interface Recorder {
+        Object begin(Type type);
+
+        void endParse(Object event, Source source, String kind, long size);
+
+        void endParse(Object event, Source source, String kind, Path file);
+
+        void endCompile(Object event, Source source, String kind, String className);
+
+        void endDefineClasses(Object event, Source source, String className, int classCount, long bytecodeSize);
+
+        void endJob(Object event, String kind, Object job, Collection<?> queue);
+
+        void endEventLoop(Object event, int jobCount);
+
+        void endRealmInitialization(Object event);
+
+        void endRegExpParse(Object event, String pattern, String flags, Object matcher);
+
+        void callSiteLinked(MethodType type, boolean generic, boolean fallback);
+    }
+
+    private static final class NoRecorder implements Recorder {
+        @Override
+        public Object begin(Type type) {
+            return null;
+        }
+
+        @Override
+        public void endParse(Object event, Source source, String kind, long size) {
+            // empty
+        }
+
+        @Override
+        public void endParse(Object event, Source source, String kind, Path file) {
+            // empty
+        }
+
+        @Override
+        public void endCompile(Object event, Source source, String kind, String className) {
+            // empty
+        }
+
+        @Override
+        public void endDefineClasses(Object event, Source source, String className, int classCount,
+                long bytecodeSize) {
+            // empty
+        }
+
+        @Override
+        public void endJob(Object event, String kind, Object job, Collection<?> queue) {
+            // empty
+        }
+
+        @Override
+        public void endEventLoop(Object event, int jobCount) {
+            // empty
+        }
+
+        @Override
+        public void endRealmInitialization(Object event) {
+            // empty
+        }
+
+        @Override
+        public void endRegExpParse(Object event, String pattern, String flags, Object matcher) {
+            // empty
+        }
+
+        @Override
+        public void callSiteLinked(MethodType type, boolean generic, boolean fallback) {
+            // empty
+        }
+    }
+
+    private static Recorder loadRecorder() {
+        try {
+            Class<?> recorderClass = Class.forName(RECORDER_CLASS);
+            return (Recorder) recorderClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            // Flight recorder not supported.
+            return new NoRecorder();
+        }
+    }
+
+    /**
+     * Returns {@code true} if flight recorder events are supported.
+     *
+     * @return {@code true} if flight recorder events are supported
+     */
+    public static boolean isSupported() {
+        return !(RECORDER instanceof NoRecorder);
+    }
+
+    /**
+     * Starts a new duration event.
+     *
+     * @param type
+     *            the event type
+     * @return the event object or {@code null} if the event type is not enabled
+     */
+    public static Object begin(Type type) {
+        return RECORDER.begin(type);
+    }
+
+    /**
+     * Ends a {@link Type#Parse} event.
+     *
+     * @param event
+     *            the event object or {@code null}
+     * @param source
+     *            the source descriptor
+     * @param kind
+     *            the parsed code kind
+     * @param size
+     *            the source size in characters
+     */
+    public static void endParse(Object event, Source source, String kind, long size) {
+        if (event != null) {
+            RECORDER.endParse(event, source, kind, size);
+        }
+    }
+
+    /**
+     * Ends a {@link Type#Parse} event.
+     *
+     * @param event
+     *            the event object or {@code null}
+     * @param source
+     *            the source descriptor
+     * @param kind
+     *            the parsed code kind
+     * @param file
+     *            the source file, the source size is the file size in bytes
+     */
+    public static void endParse(Object event, Source source, String kind, Path file) {
+        if (event != null) {
+            RECORDER.endParse(event, source, kind, file);
+        }
+    }
+
+    /**
+     * Ends a {@link Type#Compile} event.
+     *
+     * @param event
+     *            the event object or {@code null}
+     * @param source
+     *            the source descriptor
+     * @param kind
+     *            the compiled code kind
+     * @param className
+     *            the class name
+     */
+    public static void endCompile(Object event, Source source, String kind, String className) {
+        if (event != null) {
+            RECORDER.endCompile(event, source, kind, className);
+        }
+    }
+
+    /**
+     * Ends a {@link Type#DefineClasses} event.
+     *
+     * @param event
+     *            the event object or {@code null}
+     * @param source
+     *            the source descriptor
+     * @param className
+     *            the main class name
+     * @param classCount
+     *            the number of defined classes
+     * @param bytecodeSize
+     *            the total size of the class files in bytes
+     */
+    public static void endDefineClasses(Object event, Source source, String className, int classCount,
+            long bytecodeSize) {
+        if (event != null) {
+            RECORDER.endDefineClasses(event, source, className, classCount, bytecodeSize);
+        }
+    }
+
+    /**
+     * Ends a {@link Type#Job} event.
+     *
+     * @param event
+     *            the event object or {@code null}
+     * @param kind
+     *            the job kind
+     * @param job
+     *            the executed job
+     * @param queue
+     *            the job queue
+     */
+    public static void endJob(Object event, String kind, Object job, Collection<?> queue) {
+        if (event != null) {
+            RECORDER.endJob(event, kind, job, queue);
+        }
+    }
+
+    /**
+     * Ends a {@link Type#EventLoop} event.
+     *
+     * @param event
+     *            the event object or {@code null}
+     * @param jobCount
+     *            the number of executed jobs
+     */
+    public static void endEventLoop(Object event, int jobCount) {
+        if (event != null) {
+            RECORDER.endEventLoop(event, jobCount);
+        }
+    }
+
+    /**
+     * Ends a {@link Type#RealmInitialization} event.
+     *
+     * @param event
+     *            the event object or {@code null}
+     */
+    public static void endRealmInitialization(Object event) {
+        if (event != null) {
+            RECORDER.endRealmInitialization(event);
+        }
+    }
+
+    /**
+     * Ends a {@link Type#RegExpParse} event.
+     *
+     * @param event
+     *            the event object or {@code null}
+     * @param pattern
+     *            the regular expression pattern
+     * @param flags
+     *            the regular expression flags
+     * @param matcher
+     *            the created matcher
+     */
+    public static void endRegExpParse(Object event, String pattern, String flags, Object matcher) {
+        if (event != null) {
+            RECORDER.endRegExpParse(event, pattern, flags, matcher);
+        }
+    }
+
+    /**
+     * Emits an event when a call site is linked to a new target.
+     *
+     * @param type
+     *            the call site type
+     * @param generic
+     *            {@code true} if the call site was linked to the generic target
+     * @param fallback
+     *            {@code true} if the call site was relinked after a guard failure
+     */
+    public static void callSiteLinked(MethodType type, boolean generic, boolean fallback) {
+        RECORDER.callSiteLinked(type, generic, fallback);
+    }
+}
@@ -0,0 +1,486 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.internal;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Parser, compiler and class loading metrics of a {@link RuntimeContext}.
+ * <p>
+ * Metrics are disabled by default and can be enabled and disabled at any time, either directly through
+ * {@link #setEnabled(boolean)} or through the {@link RuntimeMetricsMXBean} interface after the metrics object was
+ * registered with {@link #registerMBean(String)}. Recording sites only perform a single volatile read while metrics
+ * are disabled.
+ */
+public final class RuntimeMetrics {
+    private static final String DOMAIN = "com.github.anba.es6draft";
+
+    /**
+     * Event counters.
+     */
+    public enum Counter {
+        /** Number of classes defined by the default class loader */
+        DefinedClasses,
+
+        /** Number of classes defined as anonymous classes */
+        AnonymousClasses,
+
+        /** Number of script cache hits */
+        ScriptCacheHits,
+
+        /** Number of script cache misses */
+        ScriptCacheMisses,
+
+        /** Number of scripts evaluated by the interpreter */
+        InterpretedScripts,
+
+        /** Number of scripts compiled to Java bytecode */
+        CompiledScripts,
+    }
+
+    /**
+     * Value distributions. Times are measured in nanoseconds, sizes in bytes.
+     */
+    public enum Distribution {
+        /** Parse time of scripts, modules and functions */
+        ParseTime,
+
+        /** Bytecode generation time of scripts */
+        CompileTimeScript,
+
+        /** Bytecode generation time of modules */
+        CompileTimeModule,
+
+        /** Bytecode generation time of functions */
+        CompileTimeFunction,
+
+        /** Class definition and loading time of compiled code */
+        ClassDefinitionTime,
+
+        /** Size of generated class files */
+        BytecodeSize,
+    }
+
+    private volatile boolean enabled;
+    private final EnumMap<Counter, LongAdder> counters = new EnumMap<>(Counter.class);
+    private final EnumMap<Distribution, Histogram> distributions = new EnumMap<>(Distribution.class);
+
+    /**
+     * Constructs a new, disabled {@link RuntimeMetrics} object.
+     */
+    public RuntimeMetrics() {
+        this(false);
+    }
+
+    /**
+     * Constructs a new {@link RuntimeMetrics} object.
+     *
+     * @param enabled
+     *            the initial enabled state
+     */
+    public RuntimeMetrics(boolean enabled) {
+        this.enabled = enabled;
+        for (Counter counter : Counter.values()) {
+            counters.put(counter, new LongAdder());
+        }
+        for (Distribution distribution : Distribution.values()) {
+            distributions.put(distribution, new Histogram());
+        }
+    }
+
+    /**
+     * Returns {@code true} if metrics are currently recorded.
+     *
+     * @return {@code true} if enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Enables or disables recording of metrics.
+     *
+     * @param enabled
+     *            the new enabled state
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the start time for a timed event, or {@code 0} if metrics are disabled.
+     *
+     * @return the start time in nanoseconds or {@code 0}
+     * @see #stop(Distribution, long)
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the elapsed time since {@code start}. Does nothing if {@code start} is {@code 0}.
+     *
+     * @param distribution
+     *            the time distribution
+     * @param start
+     *            the start time returned by {@link #start()}
+     */
+    public void stop(Distribution distribution, long start) {
+        if (start != 0) {
+            distributions.get(distribution).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Increments the counter if metrics are enabled.
+     *
+     * @param counter
+     *            the counter
+     */
+    public void increment(Counter counter) {
+        if (enabled) {
+            counters.get(counter).increment();
+        }
+    }
+
+    /**
+     * Adds {@code value} to the counter if metrics are enabled.
+     *
+     * @param counter
+     *            the counter
+     * @param value
+     *            the value to add
+     */
+    public void add(Counter counter, long value) {
+        if (enabled) {
+            counters.get(counter).add(value);
+        }
+    }
+
+    /**
+     * Records the value if metrics are enabled.
+     *
+     * @param distribution
+     *            the distribution
+     * @param value
+     *            the non-negative value
+     */
+    public void record(Distribution distribution, long value) {
+        if (enabled) {
+            distributions.get(distribution).record(value);
+        }
+    }
+
+    /**
+     * Returns the current counter value.
+     *
+     * @param counter
+     *            the counter
+     * @return the counter value
+     */
+    public long get(Counter counter) {
+        return counters.get(counter).sum();
+    }
+
+    /**
+     * Returns a snapshot of the distribution.
+     *
+     * @param distribution
+     *            the distribution
+     * @return the distribution snapshot
+     */
+    public Snapshot snapshot(Distribution distribution) {
+        return distributions.get(distribution).snapshot();
+    }
+
+    /**
+     * Returns the current values of all counters.
+     *
+     * @return the counter values
+     */
+    public Map<String, Long> getCounters() {
+        LinkedHashMap<String, Long> map = new LinkedHashMap<>();
+        for (Counter counter : Counter.values()) {
+            map.put(counter.name(), get(counter));
+        }
+        return map;
+    }
+
+    /**
+     * Returns snapshots of all distributions.
+     *
+     * @return the distribution snapshots
+     */
+    public Map<String, Snapshot> getDistributions() {
+        LinkedHashMap<String, Snapshot> map = new LinkedHashMap<>();
+        for (Distribution distribution : Distribution.values()) {
+            map.put(distribution.name(), snapshot(distribution));
+        }
+        return map;
+    }
+
+    /**
+     * Resets all counters and distributions.
+     */
+    public void reset() {
+        counters.values().forEach(LongAdder::reset);
+        distributions.values().forEach(Histogram::reset);
+    }
+
+    /**
+     * Registers a management bean for this metrics object with the platform MBean server.
+     *
+     * @param name
+     *            the name to distinguish multiple runtime contexts
+     * @return the object name of the registered management bean
+     * @throws JMException
+     *             if the management bean could not be registered
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = objectName(name);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(new MXBeanImpl(this), objectName);
+        return objectName;
+    }
+
+    /**
+     * Unregisters a management bean previously registered with {@link #registerMBean(String)}.
+     *
+     * @param name
+     *            the name to distinguish multiple runtime contexts
+     * @throws JMException
+     *             if the management bean could not be unregistered
+     */
+    public static void unregisterMBean(String name) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName(name));
+    }
+
+    /**
+     * Returns the object name of a metrics management bean.
+     *
+     * @param name
+     *            the name to distinguish multiple runtime contexts
+     * @return the object name
+     * @throws JMException
+     *             if the name is not valid
+     */
+    public static ObjectName objectName(String name) throws JMException {
+        return new ObjectName(DOMAIN + ":type=RuntimeMetrics,name=" + ObjectName.quote(name));
+    }
+
+    private static final class MXBeanImpl implements RuntimeMetricsMXBean {
+        private final RuntimeMetrics metrics;
+
+        MXBeanImpl(RuntimeMetrics metrics) {
+            this.metrics = metrics;
+        }
+
+        @Override
+        public boolean isEnabled() {
+            return metrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean enabled) {
+            metrics.setEnabled(enabled);
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            return metrics.getCounters();
+        }
+
+        @Override
+        public Map<String, Snapshot> getDistributions() {
+            return metrics.getDistributions();
+        }
+
+        @Override
+        public void reset() {
+            metrics.reset();
+        }
+    }
+
+    /**
+     * Concurrent histogram with power-of-two buckets.
+     */
+    private static final class Histogram {
+        private static final int BUCKETS = Long.SIZE + 1;
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+        void record(long value) {
+            assert value >= 0 : "negative value: " + value;
+            count.increment();
+            sum.add(value);
+            min.accumulateAndGet(value, Math::min);
+            max.accumulateAndGet(value, Math::max);
+            buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(value));
+        }
+
+        void reset() {
+            count.reset();
+            sum.reset();
+            min.set(Long.MAX_VALUE);
+            max.set(Long.MIN_VALUE);
+            for (int i = 0; i < BUCKETS; ++i) {
+                buckets.set(i, 0);
+            }
+        }
+
+        Snapshot snapshot() {
+            long[] bucketCounts = new long[BUCKETS];
+            long total = 0;
+            for (int i = 0; i < BUCKETS; ++i) {
+                total += bucketCounts[i] = buckets.get(i);
+            }
+            if (total == 0) {
+                return new Snapshot(0, 0, 0, 0, bucketCounts);
+            }
+            return new Snapshot(total, sum.sum(), min.get(), max.get(), bucketCounts);
+        }
+    }
+
+    /**
+     * Snapshot of a value distribution.
+     * <p>
+     * Percentiles are approximated by the upper bound of the containing power-of-two bucket, limited to the maximum
+     * recorded value.
+     */
+    public static final class Snapshot {
+        private final long count;
+        private final long sum;
+        private final long min;
+        private final long max;
+        private final long[] buckets;
+
+        Snapshot(long count, long sum, long min, long max, long[] buckets) {
+            this.count = count;
+            this.sum = sum;
+            this.min = min;
+            this.max = max;
+            this.buckets = buckets;
+        }
+
+        /**
+         * Returns the number of recorded values.
+         *
+         * @return the number of values
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the sum of all recorded values.
+         *
+         * @return the sum
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * Returns the minimum recorded value or {@code 0} if no values were recorded.
+         *
+         * @return the minimum value
+         */
+        public long getMin() {
+            return min;
+        }
+
+        /**
+         * Returns the maximum recorded value or {@code 0} if no values were recorded.
+         *
+         * @return the maximum value
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * Returns the mean value or {@code 0} if no values were recorded.
+         *
+         * @return the mean value
+         */
+        public double getMean() {
+            return count != 0 ? (double) sum / count : 0;
+        }
+
+        /**
+         * Returns the approximated median.
+         *
+         * @return the median
+         */
+        public long getMedian() {
+            return percentile(0.5);
+        }
+
+        /**
+         * Returns the approximated 90th percentile.
+         *
+         * @return the 90th percentile
+         */
+        public long getPercentile90() {
+            return percentile(0.9);
+        }
+
+        /**
+         * Returns the approximated 99th percentile.
+         *
+         * @return the 99th percentile
+         */
+        public long getPercentile99() {
+            return percentile(0.99);
+        }
+
+        /**
+         * Returns the approximated percentile.
+         *
+         * @param p
+         *            the percentile in the range {@code [0, 1]}
+         * @return the percentile value or {@code 0} if no values were recorded
+         */
+        public long percentile(double p) {
+            if (!(0 <= p && p <= 1)) {
+                throw new IllegalArgumentException();
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(p * count));
+            long seen = 0;
+            for (int i = 0; i < buckets.length; ++i) {
+                seen += buckets[i];
+                if (seen >= rank) {
+                    long upper = i == 0 ? 0 : i >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+                    return Math.max(min, Math.min(upper, max));
+                }
+            }
+            return max;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("count=%d, sum=%d, min=%d, max=%d, mean=%.1f, p50=%d, p90=%d, p99=%d", count, sum,
+                    min, max, getMean(), getMedian(), getPercentile90(), getPercentile99());
+        }
+    }
+}
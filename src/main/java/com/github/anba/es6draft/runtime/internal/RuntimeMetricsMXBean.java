@@ -0,0 +1,52 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.internal;
+
+import java.util.Map;
+
+/**
+ * Management interface for {@link RuntimeMetrics}.
+ *
+ * @see RuntimeMetrics#registerMBean(String)
+ */
+public interface RuntimeMetricsMXBean {
+    /**
+     * Returns {@code true} if metrics are currently recorded.
+     *
+     * @return {@code true} if enabled
+     */
+    boolean isEnabled();
+
+    /**
+     * Enables or disables recording of metrics.
+     *
+     * @param enabled
+     *            the new enabled state
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Returns the current counter values.
+     *
+     * @return the counter values
+     * @see RuntimeMetrics.Counter
+     */
+    Map<String, Long> getCounters();
+
+    /**
+     * Returns the current distribution snapshots.
+     *
+     * @return the distribution snapshots
+     * @see RuntimeMetrics.Distribution
+     */
+    Map<String, RuntimeMetrics.Snapshot> getDistributions();
+
+    /**
+     * Resets all counters and distributions.
+     */
+    void reset();
+}
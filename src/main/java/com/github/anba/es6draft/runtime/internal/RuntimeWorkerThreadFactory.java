@@ -17,7 +17,7 @@ import java.util.concurrent.atomic.AtomicInteger;
  * 
  */
 final class RuntimeWorkerThreadFactory implements ThreadFactory {
-    private static final int THREAD_POOL_SIZE = 2;
+    private static final int THREAD_POOL_SIZE = Math.max(2, Runtime.getRuntime().availableProcessors());
     private static final int WORKER_THREAD_CORE_SIZE = 2;
     private static final int WORKER_THREAD_POOL_SIZE = 12;
     private static final long THREAD_POOL_TTL = 5 * 60;
@@ -6,6 +6,8 @@
  */
 package com.github.anba.es6draft.runtime.internal;
 
+import java.io.PrintStream;
+import java.io.PrintWriter;
 import java.util.Objects;
 
 import com.github.anba.es6draft.runtime.AbstractOperations;
@@ -15,10 +17,19 @@ import com.github.anba.es6draft.runtime.types.ScriptObject;
 
 /**
  * Runtime exception to represent exceptions thrown from the ThrowStatement.
+ * <p>
+ * Only script stack frames are recorded when the exception is created. The stack trace elements are computed when the
+ * stack trace is first requested.
  */
 @SuppressWarnings("serial")
 public final class ScriptException extends RuntimeException implements InternalThrowable {
+    /**
+     * The default maximum number of recorded script stack frames.
+     */
+    public static final int DEFAULT_STACK_TRACE_DEPTH = 1024;
+
     private final Object value;
+    private transient Object[] frames;
 
     /**
      * Create a new {@link ScriptException} instance.
@@ -27,7 +38,20 @@ public final class ScriptException extends RuntimeException implements InternalT
      *            the wrapped exception value
      */
     public ScriptException(Object value) {
+        this(value, DEFAULT_STACK_TRACE_DEPTH);
+    }
+
+    /**
+     * Create a new {@link ScriptException} instance.
+     * 
+     * @param value
+     *            the wrapped exception value
+     * @param stackTraceDepth
+     *            the maximum number of recorded script stack frames, {@code 0} to disable stack traces
+     */
+    public ScriptException(Object value, int stackTraceDepth) {
         this.value = value;
+        captureStackTrace(stackTraceDepth);
     }
 
     /**
@@ -39,8 +63,23 @@ public final class ScriptException extends RuntimeException implements InternalT
      *            the exception's cause
      */
     public ScriptException(Object value, Throwable cause) {
+        this(value, cause, DEFAULT_STACK_TRACE_DEPTH);
+    }
+
+    /**
+     * Create a new {@link ScriptException} instance.
+     * 
+     * @param value
+     *            the wrapped exception value
+     * @param cause
+     *            the exception's cause
+     * @param stackTraceDepth
+     *            the maximum number of recorded script stack frames, {@code 0} to disable stack traces
+     */
+    public ScriptException(Object value, Throwable cause, int stackTraceDepth) {
         super(cause);
         this.value = value;
+        captureStackTrace(stackTraceDepth);
     }
 
     /**
@@ -58,6 +97,27 @@ public final class ScriptException extends RuntimeException implements InternalT
         return new ScriptException(value);
     }
 
+    /**
+     * Creates a new {@link ScriptException} instance, unless {@code value} is an instance of {@link ErrorObject}, in
+     * that case {@link ErrorObject#getException()} is returned.
+     * <p>
+     * Stack traces for non-Error values are only recorded if enabled in the runtime context.
+     * 
+     * @param value
+     *            the wrapped exception value
+     * @param cx
+     *            the execution context
+     * @return the script exception instance
+     * @see RuntimeContext#hasValueStackTraces()
+     */
+    public static ScriptException create(Object value, ExecutionContext cx) {
+        if (value instanceof ErrorObject) {
+            return ((ErrorObject) value).getException();
+        }
+        RuntimeContext context = cx.getRuntimeContext();
+        return new ScriptException(value, context.hasValueStackTraces() ? context.getStackTraceDepth() : 0);
+    }
+
     /**
      * Returns the wrapped value of this exception.
      * 
@@ -101,13 +161,62 @@ public final class ScriptException extends RuntimeException implements InternalT
 
     /**
      * Returns the native stack trace elements.
+     * <p>
+     * Only the stack frames of script functions are recorded.
      * 
      * @return the native stack trace elements
      */
     public StackTraceElement[] getNativeStackTrace() {
+        return getStackTrace();
+    }
+
+    private void captureStackTrace(int stackTraceDepth) {
+        if (stackTraceDepth < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (stackTraceDepth > 0) {
+            frames = StackCapture.capture(stackTraceDepth);
+        }
+    }
+
+    private synchronized void computeStackTrace() {
+        Object[] frames = this.frames;
+        if (frames != null) {
+            this.frames = null;
+            super.setStackTrace(StackCapture.toStackTrace(frames));
+        }
+    }
+
+    @Override
+    public Throwable fillInStackTrace() {
+        // Script stack frames are recorded in captureStackTrace().
+        return this;
+    }
+
+    @Override
+    public StackTraceElement[] getStackTrace() {
+        computeStackTrace();
         return super.getStackTrace();
     }
 
+    @Override
+    public synchronized void setStackTrace(StackTraceElement[] stackTrace) {
+        frames = null;
+        super.setStackTrace(stackTrace);
+    }
+
+    @Override
+    public void printStackTrace(PrintStream s) {
+        computeStackTrace();
+        super.printStackTrace(s);
+    }
+
+    @Override
+    public void printStackTrace(PrintWriter s) {
+        computeStackTrace();
+        super.printStackTrace(s);
+    }
+
     @Override
     public ScriptException toScriptException(ExecutionContext cx) {
         return this;
@@ -96,6 +96,15 @@ public final class ScriptLoader {
         this.context = context;
     }
 
+    /**
+     * Returns the runtime context of this script loader.
+     * 
+     * @return the runtime context
+     */
+    public RuntimeContext getRuntimeContext() {
+        return context;
+    }
+
     /**
      * Parses the javascript script source.
      * 
@@ -108,8 +117,14 @@ public final class ScriptLoader {
      *             if the source contains any syntax errors
      */
     public com.github.anba.es6draft.ast.Script parseScript(Source source, String sourceCode) throws ParserException {
+        RuntimeMetrics metrics = context.getMetrics();
+        long startParse = metrics.start();
+        Object event = RuntimeEvents.begin(RuntimeEvents.Type.Parse);
         Parser parser = new Parser(context, source);
-        return parser.parseScript(sourceCode);
+        com.github.anba.es6draft.ast.Script parsed = parser.parseScript(sourceCode);
+        metrics.stop(RuntimeMetrics.Distribution.ParseTime, startParse);
+        RuntimeEvents.endParse(event, source, "script", sourceCode.length());
+        return parsed;
     }
 
     /**
@@ -124,8 +139,64 @@ public final class ScriptLoader {
      *             if the source contains any syntax errors
      */
     public com.github.anba.es6draft.ast.Module parseModule(Source source, String sourceCode) throws ParserException {
+        RuntimeMetrics metrics = context.getMetrics();
+        long startParse = metrics.start();
+        Object event = RuntimeEvents.begin(RuntimeEvents.Type.Parse);
+        Parser parser = new Parser(context, source);
+        com.github.anba.es6draft.ast.Module parsed = parser.parseModule(sourceCode);
+        metrics.stop(RuntimeMetrics.Distribution.ParseTime, startParse);
+        RuntimeEvents.endParse(event, source, "module", sourceCode.length());
+        return parsed;
+    }
+
+    /**
+     * Parses the UTF-8 encoded javascript script file. The file is memory-mapped and decoded incrementally.
+     * 
+     * @param source
+     *            the script source descriptor
+     * @param file
+     *            the script file path
+     * @return the parsed script node
+     * @throws IOException
+     *             if there was any I/O error
+     * @throws ParserException
+     *             if the source contains any syntax errors
+     */
+    public com.github.anba.es6draft.ast.Script parseScript(Source source, Path file)
+            throws IOException, ParserException {
+        RuntimeMetrics metrics = context.getMetrics();
+        long startParse = metrics.start();
+        Object event = RuntimeEvents.begin(RuntimeEvents.Type.Parse);
         Parser parser = new Parser(context, source);
-        return parser.parseModule(sourceCode);
+        com.github.anba.es6draft.ast.Script parsed = parser.parseScript(file);
+        metrics.stop(RuntimeMetrics.Distribution.ParseTime, startParse);
+        RuntimeEvents.endParse(event, source, "script", file);
+        return parsed;
+    }
+
+    /**
+     * Parses the UTF-8 encoded javascript module file. The file is memory-mapped and decoded incrementally.
+     * 
+     * @param source
+     *            the script source descriptor
+     * @param file
+     *            the module file path
+     * @return the parsed module node
+     * @throws IOException
+     *             if there was any I/O error
+     * @throws ParserException
+     *             if the source contains any syntax errors
+     */
+    public com.github.anba.es6draft.ast.Module parseModule(Source source, Path file)
+            throws IOException, ParserException {
+        RuntimeMetrics metrics = context.getMetrics();
+        long startParse = metrics.start();
+        Object event = RuntimeEvents.begin(RuntimeEvents.Type.Parse);
+        Parser parser = new Parser(context, source);
+        com.github.anba.es6draft.ast.Module parsed = parser.parseModule(file);
+        metrics.stop(RuntimeMetrics.Distribution.ParseTime, startParse);
+        RuntimeEvents.endParse(event, source, "module", file);
+        return parsed;
     }
 
     /**
@@ -145,8 +216,13 @@ public final class ScriptLoader {
      */
     public Script evalScript(Source source, String sourceCode, EnumSet<Parser.Option> evalOptions)
             throws ParserException, CompilationException {
+        RuntimeMetrics metrics = context.getMetrics();
+        long startParse = metrics.start();
+        Object event = RuntimeEvents.begin(RuntimeEvents.Type.Parse);
         Parser parser = new Parser(context, source, evalOptions);
         com.github.anba.es6draft.ast.Script parsedScript = parser.parseScript(sourceCode);
+        metrics.stop(RuntimeMetrics.Distribution.ParseTime, startParse);
+        RuntimeEvents.endParse(event, source, "eval", sourceCode.length());
         if (parsedScript.getStatements().isEmpty()) {
             return null;
         }
@@ -170,8 +246,13 @@ public final class ScriptLoader {
      */
     public CompiledFunction function(Source source, String formals, String bodyText)
             throws ParserException, CompilationException {
+        RuntimeMetrics metrics = context.getMetrics();
+        long startParse = metrics.start();
+        Object event = RuntimeEvents.begin(RuntimeEvents.Type.Parse);
         Parser parser = new Parser(context, source);
         FunctionDefinition functionDef = parser.parseFunction(formals, bodyText);
+        metrics.stop(RuntimeMetrics.Distribution.ParseTime, startParse);
+        RuntimeEvents.endParse(event, source, "function", (long) formals.length() + bodyText.length());
         return compile(functionDef, nextFunctionName());
     }
 
@@ -192,8 +273,13 @@ public final class ScriptLoader {
      */
     public CompiledFunction generator(Source source, String formals, String bodyText)
             throws ParserException, CompilationException {
+        RuntimeMetrics metrics = context.getMetrics();
+        long startParse = metrics.start();
+        Object event = RuntimeEvents.begin(RuntimeEvents.Type.Parse);
         Parser parser = new Parser(context, source);
         GeneratorDefinition generatorDef = parser.parseGenerator(formals, bodyText);
+        metrics.stop(RuntimeMetrics.Distribution.ParseTime, startParse);
+        RuntimeEvents.endParse(event, source, "generator", (long) formals.length() + bodyText.length());
         return compile(generatorDef, nextFunctionName());
     }
 
@@ -214,8 +300,13 @@ public final class ScriptLoader {
      */
     public CompiledFunction asyncFunction(Source source, String formals, String bodyText)
             throws ParserException, CompilationException {
+        RuntimeMetrics metrics = context.getMetrics();
+        long startParse = metrics.start();
+        Object event = RuntimeEvents.begin(RuntimeEvents.Type.Parse);
         Parser parser = new Parser(context, source);
         AsyncFunctionDefinition asyncDef = parser.parseAsyncFunction(formals, bodyText);
+        metrics.stop(RuntimeMetrics.Distribution.ParseTime, startParse);
+        RuntimeEvents.endParse(event, source, "async function", (long) formals.length() + bodyText.length());
         return compile(asyncDef, nextFunctionName());
     }
 
@@ -236,8 +327,13 @@ public final class ScriptLoader {
      */
     public CompiledFunction asyncGenerator(Source source, String formals, String bodyText)
             throws ParserException, CompilationException {
+        RuntimeMetrics metrics = context.getMetrics();
+        long startParse = metrics.start();
+        Object event = RuntimeEvents.begin(RuntimeEvents.Type.Parse);
         Parser parser = new Parser(context, source);
         AsyncGeneratorDefinition asyncDef = parser.parseAsyncGenerator(formals, bodyText);
+        metrics.stop(RuntimeMetrics.Distribution.ParseTime, startParse);
+        RuntimeEvents.endParse(event, source, "async generator", (long) formals.length() + bodyText.length());
         return compile(asyncDef, nextFunctionName());
     }
 
@@ -317,9 +413,12 @@ public final class ScriptLoader {
         if (!file.isAbsolute()) {
             throw new IllegalArgumentException(String.format("'%s' is not an absolute path", file));
         }
+        CodeRepository codeRepository = context.getCodeRepository();
+        if (codeRepository != null) {
+            return codeRepository.script(this, source, readFully(file));
+        }
         // Don't interpret script files to get better stack trace information.
-        com.github.anba.es6draft.ast.Script parsedScript = parseScript(source, readFully(file));
-        return compile(parsedScript, nextScriptName());
+        return compile(parseScript(source, file), nextScriptName());
     }
 
     /**
@@ -336,10 +435,32 @@ public final class ScriptLoader {
      *             if the parsed source could not be compiled
      */
     public Script script(Source source, String sourceCode) throws ParserException, CompilationException {
+        CodeRepository codeRepository = context.getCodeRepository();
+        if (codeRepository != null) {
+            return codeRepository.script(this, source, sourceCode);
+        }
         com.github.anba.es6draft.ast.Script parsedScript = parseScript(source, sourceCode);
         return load(parsedScript, nextScriptName());
     }
 
+    /**
+     * Parses and compiles the javascript source code without using the interpreter or the code repository.
+     * 
+     * @param source
+     *            the script source descriptor
+     * @param sourceCode
+     *            the source code
+     * @return the compiled script
+     * @throws ParserException
+     *             if the source contains any syntax errors
+     * @throws CompilationException
+     *             if the parsed source could not be compiled
+     */
+    CompiledScript compileScript(Source source, String sourceCode) throws ParserException, CompilationException {
+        com.github.anba.es6draft.ast.Script parsedScript = parseScript(source, sourceCode);
+        return compile(parsedScript, nextScriptName());
+    }
+
     /**
      * Returns an executable {@link Script} object for the {@link com.github.anba.es6draft.ast.Script Script} AST-node.
      * 
@@ -367,6 +488,8 @@ public final class ScriptLoader {
         }
         if (script == null) {
             script = compile(parsedScript, className);
+        } else {
+            context.getMetrics().increment(RuntimeMetrics.Counter.InterpretedScripts);
         }
         return script;
     }
@@ -413,6 +536,7 @@ public final class ScriptLoader {
      */
     public CompiledScript compile(com.github.anba.es6draft.ast.Script parsedScript, String className)
             throws CompilationException {
+        context.getMetrics().increment(RuntimeMetrics.Counter.CompiledScripts);
         Compiler compiler = new Compiler(context);
         return compiler.compile(parsedScript, className);
     }
@@ -497,7 +621,16 @@ public final class ScriptLoader {
         return new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
     }
 
-    private static String readFully(Reader reader) throws IOException {
+    /**
+     * Reads the source into a string and closes the reader.
+     * 
+     * @param reader
+     *            the source
+     * @return the source code
+     * @throws IOException
+     *             if there was any I/O error
+     */
+    public static String readFully(Reader reader) throws IOException {
         try {
             StringBuilder sb = new StringBuilder(4096);
             char cbuf[] = new char[4096];
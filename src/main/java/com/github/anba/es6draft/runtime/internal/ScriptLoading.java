@@ -55,8 +55,15 @@ public final class ScriptLoading {
      *             if the parsed source could not be compiled
      */
     public static void include(Realm realm, Path file) throws IOException, ParserException, CompilationException {
-        ScriptCache scriptCache = realm.getRuntimeContext().getScriptCache();
-        Script script = scriptCache.get(file, realm.getScriptLoader()::script);
+        RuntimeContext context = realm.getRuntimeContext();
+        ScriptCache scriptCache = context.getScriptCache();
+        ScriptLoader scriptLoader = realm.getScriptLoader();
+        boolean[] cacheMiss = { false };
+        Script script = scriptCache.get(file, (source, path) -> {
+            cacheMiss[0] = true;
+            return scriptLoader.script(source, path);
+        });
+        recordCacheAccess(context, cacheMiss[0]);
         script.evaluate(realm);
     }
 
@@ -130,11 +137,20 @@ public final class ScriptLoading {
         RuntimeContext context = realm.getRuntimeContext();
         ScriptCache scriptCache = context.getScriptCache();
         URLSourceIdentifier sourceId = new URLSourceIdentifier(scriptURL);
-        Script script = scriptCache.get(sourceId,
-                (source, id) -> createNativeScriptLoader(context).script(source, id.toUri().toURL()));
+        boolean[] cacheMiss = { false };
+        Script script = scriptCache.get(sourceId, (source, id) -> {
+            cacheMiss[0] = true;
+            return createNativeScriptLoader(context).script(source, id.toUri().toURL());
+        });
+        recordCacheAccess(context, cacheMiss[0]);
         script.evaluate(realm);
     }
 
+    private static void recordCacheAccess(RuntimeContext context, boolean cacheMiss) {
+        context.getMetrics().increment(
+                cacheMiss ? RuntimeMetrics.Counter.ScriptCacheMisses : RuntimeMetrics.Counter.ScriptCacheHits);
+    }
+
     /**
      * Parses, compiles and executes the javascript module file.
      * 
@@ -157,6 +173,8 @@ public final class ScriptLoading {
             throws IOException, MalformedNameException, ResolutionException, ParserException, CompilationException {
         ModuleLoader moduleLoader = realm.getModuleLoader();
         SourceIdentifier moduleId = moduleLoader.normalizeName(moduleName, null);
+        // Load all dependencies upfront to allow parallel parsing.
+        moduleLoader.load(moduleId);
         ModuleRecord module = moduleLoader.resolve(moduleId, realm);
         module.instantiate();
         module.evaluate();
@@ -0,0 +1,427 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.internal;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Sampling profiler for script code.
+ * <p>
+ * The profiler periodically samples the stack of a single thread and maps the stack frames of compiled script code
+ * and of built-in functions to script level function frames. The samples can be written as collapsed stacks, the
+ * input format of flame graph tools, or as a report of the self and total samples per function.
+ * <p>
+ * Usage:
+ *
+ * <pre>
+ * ScriptProfiler profiler = new ScriptProfiler(Thread.currentThread(), 1, TimeUnit.MILLISECONDS);
+ * profiler.start();
+ * // evaluate scripts
+ * profiler.stop();
+ * profiler.writeCollapsedStacks(writer);
+ * </pre>
+ */
+public final class ScriptProfiler {
+    private static final String BUILTINS_PACKAGE = "com.github.anba.es6draft.runtime.objects.";
+    private static final String INTERPRETER_CLASS = "com.github.anba.es6draft.interpreter.InterpretedScriptBody";
+    private static final Frame NOT_A_FUNCTION = new Frame("", null, 0);
+
+    private final Thread thread;
+    private final long intervalNanos;
+    private final Frame interpreter = new Frame("(interpreter)", null, 0);
+    private final HashMap<String, Frame> frames = new HashMap<>();
+    private final HashMap<String, Frame> functions = new HashMap<>();
+    private final Node root = new Node(null);
+    private long samples;
+    private long scriptSamples;
+    private Thread sampler;
+    private volatile boolean running;
+
+    /**
+     * A script function or built-in function frame.
+     */
+    private static final class Frame {
+        final String name;
+        final String fileName;
+        int line;
+        long self;
+        long total;
+        long lastSample = -1;
+
+        Frame(String name, String fileName, int line) {
+            this.name = name;
+            this.fileName = fileName;
+            this.line = line;
+        }
+
+        String displayName() {
+            if (fileName == null) {
+                return name;
+            }
+            return String.format("%s (%s:%d)", name, fileName, line);
+        }
+    }
+
+    /**
+     * Node in the call tree.
+     */
+    private static final class Node {
+        final Frame frame;
+        final HashMap<Frame, Node> children = new HashMap<>();
+        long self;
+
+        Node(Frame frame) {
+            this.frame = frame;
+        }
+
+        Node child(Frame frame) {
+            return children.computeIfAbsent(frame, Node::new);
+        }
+    }
+
+    /**
+     * Sampled time of a single function.
+     */
+    public static final class FunctionProfile {
+        private final String name;
+        private final String fileName;
+        private final int line;
+        private final long selfSamples;
+        private final long totalSamples;
+
+        FunctionProfile(Frame frame) {
+            this.name = frame.name;
+            this.fileName = frame.fileName;
+            this.line = frame.line;
+            this.selfSamples = frame.self;
+            this.totalSamples = frame.total;
+        }
+
+        /**
+         * Returns the function name.
+         *
+         * @return the function name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Returns the file name or {@code null} for built-in functions.
+         *
+         * @return the file name or {@code null}
+         */
+        public String getFileName() {
+            return fileName;
+        }
+
+        /**
+         * Returns the first sampled line or {@code 0} for built-in functions.
+         *
+         * @return the first sampled line
+         */
+        public int getLine() {
+            return line;
+        }
+
+        /**
+         * Returns the number of samples where this function was the innermost script frame.
+         *
+         * @return the self samples
+         */
+        public long getSelfSamples() {
+            return selfSamples;
+        }
+
+        /**
+         * Returns the number of samples where this function was on the stack.
+         *
+         * @return the total samples
+         */
+        public long getTotalSamples() {
+            return totalSamples;
+        }
+
+        @Override
+        public String toString() {
+            return fileName == null ? name : String.format("%s (%s:%d)", name, fileName, line);
+        }
+    }
+
+    /**
+     * Constructs a new profiler for the thread.
+     *
+     * @param thread
+     *            the thread to profile
+     * @param interval
+     *            the sampling interval
+     * @param unit
+     *            the time unit of the sampling interval
+     */
+    public ScriptProfiler(Thread thread, long interval, TimeUnit unit) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.thread = thread;
+        this.intervalNanos = unit.toNanos(interval);
+    }
+
+    /**
+     * Returns {@code true} if the profiler is currently running.
+     *
+     * @return {@code true} if running
+     */
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Starts sampling.
+     */
+    public synchronized void start() {
+        if (running) {
+            throw new IllegalStateException();
+        }
+        running = true;
+        sampler = new Thread(this::run, "es6draft-profiler");
+        sampler.setDaemon(true);
+        sampler.start();
+    }
+
+    /**
+     * Stops sampling. The recorded samples are retained.
+     *
+     * @throws InterruptedException
+     *             if interrupted while waiting for the sampler thread
+     */
+    public void stop() throws InterruptedException {
+        Thread sampler;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            sampler = this.sampler;
+            this.sampler = null;
+        }
+        LockSupport.unpark(sampler);
+        sampler.join();
+    }
+
+    private void run() {
+        while (running) {
+            long next = System.nanoTime() + intervalNanos;
+            sample(thread.getStackTrace());
+            long remaining;
+            while (running && (remaining = next - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(remaining);
+            }
+        }
+    }
+
+    private synchronized void sample(StackTraceElement[] stackTrace) {
+        long sample = samples++;
+        Node node = root;
+        Frame leaf = null;
+        for (int i = stackTrace.length - 1; i >= 0; --i) {
+            Frame frame = frameFor(stackTrace[i]);
+            if (frame == NOT_A_FUNCTION) {
+                continue;
+            }
+            if (frame.lastSample != sample) {
+                frame.lastSample = sample;
+                frame.total += 1;
+            }
+            node = node.child(frame);
+            leaf = frame;
+        }
+        if (leaf != null) {
+            scriptSamples += 1;
+            leaf.self += 1;
+            node.self += 1;
+        }
+    }
+
+    private Frame frameFor(StackTraceElement element) {
+        String className = element.getClassName();
+        if (className.charAt(0) == '#') {
+            return scriptFrame(element);
+        }
+        if (className.startsWith(BUILTINS_PACKAGE)) {
+            String key = className + '#' + element.getMethodName();
+            Frame frame = frames.get(key);
+            if (frame == null) {
+                frame = builtinFrame(className, element.getMethodName());
+                frames.put(key, frame);
+                functions.put(key, frame);
+            }
+            return frame;
+        }
+        if (className.equals(INTERPRETER_CLASS) && element.getMethodName().equals("evaluate")) {
+            return interpreter;
+        }
+        return NOT_A_FUNCTION;
+    }
+
+    private Frame scriptFrame(StackTraceElement element) {
+        int line = element.getLineNumber();
+        if (line <= 0) {
+            return NOT_A_FUNCTION;
+        }
+        String key = element.getClassName() + '#' + element.getMethodName();
+        Frame frame = frames.get(key);
+        if (frame == null) {
+            // Instantiation and body methods are reported as a single function.
+            String functionId = StackTraces.scriptFunctionId(element.getMethodName());
+            if (functionId == null) {
+                frame = NOT_A_FUNCTION;
+            } else {
+                String functionKey = element.getClassName() + '#' + functionId;
+                frame = functions.get(functionKey);
+                if (frame == null) {
+                    String name = StackTraces.scriptFunctionName(functionId);
+                    frame = new Frame(name.isEmpty() ? "(script)" : name, element.getFileName(), line);
+                    functions.put(functionKey, frame);
+                }
+            }
+            frames.put(key, frame);
+        }
+        if (frame != NOT_A_FUNCTION && line < frame.line) {
+            frame.line = line;
+        }
+        return frame;
+    }
+
+    private static Frame builtinFrame(String className, String methodName) {
+        try {
+            Class<?> c = Class.forName(className, false, ScriptProfiler.class.getClassLoader());
+            for (Method method : c.getDeclaredMethods()) {
+                if (method.getName().equals(methodName)) {
+                    Properties.Function function = method.getAnnotation(Properties.Function.class);
+                    if (function != null) {
+                        Class<?> owner = c.getEnclosingClass() != null ? c.getEnclosingClass() : c;
+                        return new Frame(owner.getSimpleName() + "." + function.name(), null, 0);
+                    }
+                }
+            }
+        } catch (ClassNotFoundException | LinkageError e) {
+            // Ignore classes which cannot be inspected.
+        }
+        return NOT_A_FUNCTION;
+    }
+
+    /**
+     * Returns the number of samples.
+     *
+     * @return the number of samples
+     */
+    public synchronized long getSampleCount() {
+        return samples;
+    }
+
+    /**
+     * Returns the number of samples with at least one script or built-in function frame.
+     *
+     * @return the number of script samples
+     */
+    public synchronized long getScriptSampleCount() {
+        return scriptSamples;
+    }
+
+    /**
+     * Returns the sampled functions, ordered by their self samples.
+     *
+     * @return the function profiles
+     */
+    public synchronized List<FunctionProfile> getFunctionProfiles() {
+        ArrayList<FunctionProfile> profiles = new ArrayList<>();
+        for (Frame frame : functions.values()) {
+            if (frame != NOT_A_FUNCTION && frame.total > 0) {
+                profiles.add(new FunctionProfile(frame));
+            }
+        }
+        if (interpreter.total > 0) {
+            profiles.add(new FunctionProfile(interpreter));
+        }
+        profiles.sort(Comparator.comparingLong(FunctionProfile::getSelfSamples).reversed()
+                .thenComparing(Comparator.comparingLong(FunctionProfile::getTotalSamples).reversed())
+                .thenComparing(FunctionProfile::toString));
+        return profiles;
+    }
+
+    /**
+     * Writes the samples in collapsed stack format, one line per distinct stack with the frames separated by
+     * semicolons followed by the number of samples.
+     *
+     * @param writer
+     *            the writer
+     * @throws IOException
+     *             if there was any I/O error
+     */
+    public synchronized void writeCollapsedStacks(Writer writer) throws IOException {
+        StringBuilder stack = new StringBuilder();
+        for (Node child : sortedChildren(root)) {
+            writeCollapsedStacks(writer, child, stack);
+        }
+        writer.flush();
+    }
+
+    private static void writeCollapsedStacks(Writer writer, Node node, StringBuilder stack) throws IOException {
+        int length = stack.length();
+        if (length > 0) {
+            stack.append(';');
+        }
+        stack.append(node.frame.displayName().replace(';', ':'));
+        if (node.self > 0) {
+            writer.append(stack).append(' ').append(Long.toString(node.self)).append('\n');
+        }
+        for (Node child : sortedChildren(node)) {
+            writeCollapsedStacks(writer, child, stack);
+        }
+        stack.setLength(length);
+    }
+
+    private static List<Node> sortedChildren(Node node) {
+        ArrayList<Node> children = new ArrayList<>(node.children.values());
+        children.sort(Comparator.comparing(child -> child.frame.displayName()));
+        return children;
+    }
+
+    /**
+     * Writes a report of the self and total samples per function.
+     *
+     * @param writer
+     *            the writer
+     */
+    public synchronized void writeReport(Writer writer) {
+        PrintWriter out = new PrintWriter(writer);
+        double intervalMillis = intervalNanos / 1_000_000.0;
+        out.printf(Locale.ROOT, "Script profile: %d samples (%d with script frames), interval %.3f ms%n", samples,
+                scriptSamples, intervalMillis);
+        out.printf(Locale.ROOT, "%10s %7s %10s %7s  %s%n", "Self", "Self%", "Total", "Total%", "Function");
+        for (FunctionProfile profile : getFunctionProfiles()) {
+            out.printf(Locale.ROOT, "%10d %6.1f%% %10d %6.1f%%  %s%n", profile.getSelfSamples(),
+                    percent(profile.getSelfSamples()), profile.getTotalSamples(), percent(profile.getTotalSamples()),
+                    profile);
+        }
+        out.flush();
+    }
+
+    private double percent(long count) {
+        return scriptSamples != 0 ? count * 100.0 / scriptSamples : 0;
+    }
+}
@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.internal;
+
+/**
+ * Stable merge sort for primitive arrays with user-defined comparators.
+ * <p>
+ * Unlike {@link java.util.Arrays#sort(Object[], java.util.Comparator)}, the sort routines don't require boxed
+ * elements and never report inconsistent comparators.
+ */
+public final class Sorting {
+    private Sorting() {
+    }
+
+    // Arrays smaller than this threshold are sorted with insertion sort.
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    /**
+     * Comparator for {@code int} values.
+     */
+    @FunctionalInterface
+    public interface IntComparator {
+        /**
+         * Compares its two arguments for order.
+         *
+         * @param x
+         *            the first value
+         * @param y
+         *            the second value
+         * @return a negative integer, zero, or a positive integer if the first argument is less than, equal to, or
+         *         greater than the second argument
+         */
+        int compare(int x, int y);
+    }
+
+    /**
+     * Comparator for {@code long} values.
+     */
+    @FunctionalInterface
+    public interface LongComparator {
+        /**
+         * Compares its two arguments for order.
+         *
+         * @param x
+         *            the first value
+         * @param y
+         *            the second value
+         * @return a negative integer, zero, or a positive integer if the first argument is less than, equal to, or
+         *         greater than the second argument
+         */
+        int compare(long x, long y);
+    }
+
+    /**
+     * Comparator for {@code double} values.
+     */
+    @FunctionalInterface
+    public interface DoubleComparator {
+        /**
+         * Compares its two arguments for order.
+         *
+         * @param x
+         *            the first value
+         * @param y
+         *            the second value
+         * @return a negative integer, zero, or a positive integer if the first argument is less than, equal to, or
+         *         greater than the second argument
+         */
+        int compare(double x, double y);
+    }
+
+    /**
+     * Sorts the array using the supplied comparator. The sort is stable.
+     *
+     * @param array
+     *            the array to sort
+     * @param comparator
+     *            the comparator
+     */
+    public static void sort(int[] array, IntComparator comparator) {
+        if (array.length > 1) {
+            mergeSort(array.clone(), array, 0, array.length, comparator);
+        }
+    }
+
+    /**
+     * Sorts the array using the supplied comparator. The sort is stable.
+     *
+     * @param array
+     *            the array to sort
+     * @param comparator
+     *            the comparator
+     */
+    public static void sort(long[] array, LongComparator comparator) {
+        if (array.length > 1) {
+            mergeSort(array.clone(), array, 0, array.length, comparator);
+        }
+    }
+
+    /**
+     * Sorts the array using the supplied comparator. The sort is stable.
+     *
+     * @param array
+     *            the array to sort
+     * @param comparator
+     *            the comparator
+     */
+    public static void sort(double[] array, DoubleComparator comparator) {
+        if (array.length > 1) {
+            mergeSort(array.clone(), array, 0, array.length, comparator);
+        }
+    }
+
+    // Sorts src[low..high) into dest[low..high), src and dest must contain the same elements on entry.
+    private static void mergeSort(int[] src, int[] dest, int low, int high, IntComparator c) {
+        int length = high - low;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; ++i) {
+                int v = dest[i];
+                int j = i;
+                for (; j > low && c.compare(dest[j - 1], v) > 0; --j) {
+                    dest[j] = dest[j - 1];
+                }
+                dest[j] = v;
+            }
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        mergeSort(dest, src, low, mid, c);
+        mergeSort(dest, src, mid, high, c);
+        if (c.compare(src[mid - 1], src[mid]) <= 0) {
+            // Already sorted.
+            System.arraycopy(src, low, dest, low, length);
+            return;
+        }
+        for (int i = low, p = low, q = mid; i < high; ++i) {
+            if (q >= high || (p < mid && c.compare(src[p], src[q]) <= 0)) {
+                dest[i] = src[p++];
+            } else {
+                dest[i] = src[q++];
+            }
+        }
+    }
+
+    // Sorts src[low..high) into dest[low..high), src and dest must contain the same elements on entry.
+    private static void mergeSort(long[] src, long[] dest, int low, int high, LongComparator c) {
+        int length = high - low;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; ++i) {
+                long v = dest[i];
+                int j = i;
+                for (; j > low && c.compare(dest[j - 1], v) > 0; --j) {
+                    dest[j] = dest[j - 1];
+                }
+                dest[j] = v;
+            }
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        mergeSort(dest, src, low, mid, c);
+        mergeSort(dest, src, mid, high, c);
+        if (c.compare(src[mid - 1], src[mid]) <= 0) {
+            // Already sorted.
+            System.arraycopy(src, low, dest, low, length);
+            return;
+        }
+        for (int i = low, p = low, q = mid; i < high; ++i) {
+            if (q >= high || (p < mid && c.compare(src[p], src[q]) <= 0)) {
+                dest[i] = src[p++];
+            } else {
+                dest[i] = src[q++];
+            }
+        }
+    }
+
+    // Sorts src[low..high) into dest[low..high), src and dest must contain the same elements on entry.
+    private static void mergeSort(double[] src, double[] dest, int low, int high, DoubleComparator c) {
+        int length = high - low;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; ++i) {
+                double v = dest[i];
+                int j = i;
+                for (; j > low && c.compare(dest[j - 1], v) > 0; --j) {
+                    dest[j] = dest[j - 1];
+                }
+                dest[j] = v;
+            }
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        mergeSort(dest, src, low, mid, c);
+        mergeSort(dest, src, mid, high, c);
+        if (c.compare(src[mid - 1], src[mid]) <= 0) {
+            // Already sorted.
+            System.arraycopy(src, low, dest, low, length);
+            return;
+        }
+        for (int i = low, p = low, q = mid; i < high; ++i) {
+            if (q >= high || (p < mid && c.compare(src[p], src[q]) <= 0)) {
+                dest[i] = src[p++];
+            } else {
+                dest[i] = src[q++];
+            }
+        }
+    }
+}
@@ -57,11 +57,62 @@ public final class StackTraces {
      * @return the script stack trace element
      */
     private static StackTraceElement toScriptFrame(StackTraceElement e) {
-        String methodName = JVMNames.fromBytecodeName(e.getMethodName());
-        assert methodName.charAt(0) != '!';
-        int i = methodName.lastIndexOf('~');
-        String scriptMethod = methodName.substring(0, (i != -1 ? i : methodName.length()));
-        return new StackTraceElement("", scriptMethod, e.getFileName(), e.getLineNumber());
+        String functionId = scriptFunctionId(e.getMethodName());
+        assert functionId != null;
+        return new StackTraceElement("", scriptFunctionName(functionId), e.getFileName(), e.getLineNumber());
+    }
+
+    /**
+     * Returns the script function id of a compiled script method or {@code null} if the method is not a visible
+     * script function. The instantiation and body methods of a function ("name~1_init" and "name~1" resp.
+     * "~script_init" and "~script_body") have the same id.
+     * 
+     * @param methodName
+     *            the method name
+     * @return the script function id or {@code null}
+     */
+    static String scriptFunctionId(String methodName) {
+        // Decode the method name based on the encoding in Compiler/CodeGenerator.
+        String name = JVMNames.fromBytecodeName(methodName);
+        if (name.charAt(0) == '!') {
+            return null;
+        }
+        int i = name.lastIndexOf('~');
+        if (i == -1) {
+            return name;
+        }
+        int j = i + 1;
+        while (j < name.length() && Character.isDigit(name.charAt(j))) {
+            j += 1;
+        }
+        return name.substring(0, j);
+    }
+
+    /**
+     * Returns the function name for a script function id.
+     * 
+     * @param functionId
+     *            the script function id
+     * @return the function name
+     * @see #scriptFunctionId(String)
+     */
+    static String scriptFunctionName(String functionId) {
+        int i = functionId.lastIndexOf('~');
+        return functionId.substring(0, (i != -1 ? i : functionId.length()));
+    }
+
+    /**
+     * Returns {@code true} if the method is a visible script function.
+     * 
+     * @param className
+     *            the class name
+     * @param methodName
+     *            the method name
+     * @return {@code true} if the method is a visible script function
+     */
+    static boolean isScriptMethod(String className, String methodName) {
+        // Filter stacktrace elements based on the encoding in Compiler/CodeGenerator.
+        return className.charAt(0) == '#' && JVMNames.fromBytecodeName(methodName).charAt(0) != '!';
     }
 
     private static final class StackTraceElementIterator extends SimpleIterator<StackTraceElement> {
@@ -93,10 +144,7 @@ public final class StackTraces {
         }
 
         private static boolean isScriptStackFrame(StackTraceElement element) {
-            // Filter stacktrace elements based on the encoding in Compiler/CodeGenerator.
-            return element.getClassName().charAt(0) == '#'
-                    && JVMNames.fromBytecodeName(element.getMethodName()).charAt(0) != '!'
-                    && element.getLineNumber() > 0;
+            return isScriptMethod(element.getClassName(), element.getMethodName()) && element.getLineNumber() > 0;
         }
 
         private static StackTraceElement interpreterFrame() {
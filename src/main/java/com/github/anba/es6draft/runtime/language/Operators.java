@@ -545,9 +545,11 @@ public final class Operators {
      * 
      * @param value
      *            the value to throw
+     * @param cx
+     *            the execution context
      * @return always throws an exception
      */
-    public static Object _throw(Object value) {
-        throw ScriptException.create(value);
+    public static Object _throw(Object value, ExecutionContext cx) {
+        throw ScriptException.create(value, cx);
     }
 }
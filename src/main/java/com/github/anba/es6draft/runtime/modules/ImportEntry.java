@@ -32,6 +32,13 @@ public final class ImportEntry {
         this.sourcePosition = node.getBeginPosition();
     }
 
+    public ImportEntry(long sourcePosition, String moduleRequest, String importName, String localName) {
+        this.moduleRequest = moduleRequest;
+        this.importName = importName;
+        this.localName = localName;
+        this.sourcePosition = sourcePosition;
+    }
+
     public boolean isStarImport() {
         return "*".equals(importName);
     }
@@ -63,6 +70,15 @@ public final class ImportEntry {
         return localName;
     }
 
+    /**
+     * Returns the source position.
+     * 
+     * @return the source position
+     */
+    public long getSourcePosition() {
+        return sourcePosition;
+    }
+
     /**
      * Returns the source line position.
      * 
@@ -8,6 +8,8 @@ package com.github.anba.es6draft.runtime.modules;
 
 import java.io.IOException;
 
+import com.github.anba.es6draft.parser.ParserException;
+import com.github.anba.es6draft.runtime.internal.ScriptLoader;
 import com.github.anba.es6draft.runtime.internal.Source;
 
 /**
@@ -29,4 +31,19 @@ public interface ModuleSource {
      * @return the source information
      */
     Source toSource();
+
+    /**
+     * Parses the module source code.
+     * 
+     * @param scriptLoader
+     *            the script loader
+     * @return the parsed module node
+     * @throws IOException
+     *             if there was any I/O exception
+     * @throws ParserException
+     *             if the module source contains any syntax errors
+     */
+    default com.github.anba.es6draft.ast.Module parse(ScriptLoader scriptLoader) throws IOException, ParserException {
+        return scriptLoader.parseModule(toSource(), sourceCode());
+    }
 }
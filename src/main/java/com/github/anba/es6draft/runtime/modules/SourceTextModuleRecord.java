@@ -25,6 +25,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiFunction;
 
 import com.github.anba.es6draft.Module;
 import com.github.anba.es6draft.compiler.CompilationException;
@@ -33,6 +34,7 @@ import com.github.anba.es6draft.runtime.ExecutionContext;
 import com.github.anba.es6draft.runtime.LexicalEnvironment;
 import com.github.anba.es6draft.runtime.ModuleEnvironmentRecord;
 import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.internal.CodeRepository;
 import com.github.anba.es6draft.runtime.internal.ScriptException;
 import com.github.anba.es6draft.runtime.internal.ScriptLoader;
 import com.github.anba.es6draft.runtime.types.ScriptObject;
@@ -333,10 +335,13 @@ public final class SourceTextModuleRecord implements ModuleRecord, Cloneable {
      */
     public static SourceTextModuleRecord ParseModule(ScriptLoader scriptLoader, SourceIdentifier sourceCodeId,
             ModuleSource source) throws IOException, ParserException, CompilationException {
+        CodeRepository codeRepository = scriptLoader.getRuntimeContext().getCodeRepository();
+        if (codeRepository != null) {
+            return codeRepository.module(scriptLoader, sourceCodeId, source);
+        }
         /* step 1 (not applicable) */
         /* steps 2-3 */
-        com.github.anba.es6draft.ast.Module parsedBody = scriptLoader.parseModule(source.toSource(),
-                source.sourceCode());
+        com.github.anba.es6draft.ast.Module parsedBody = source.parse(scriptLoader);
         /* steps 4-12 */
         return ParseModule(scriptLoader, sourceCodeId, parsedBody);
     }
@@ -356,6 +361,26 @@ public final class SourceTextModuleRecord implements ModuleRecord, Cloneable {
      */
     public static SourceTextModuleRecord ParseModule(ScriptLoader scriptLoader, SourceIdentifier sourceCodeId,
             com.github.anba.es6draft.ast.Module parsedBody) throws CompilationException {
+        return ParseModule(sourceCodeId, parsedBody, scriptLoader::load);
+    }
+
+    /**
+     * 15.2.1.16.1 Runtime Semantics: ParseModule ( sourceText )
+     * 
+     * @param sourceCodeId
+     *            the source code identifier
+     * @param parsedBody
+     *            the parsed module source code
+     * @param compiler
+     *            the function to compile the parsed module source code for the new module record
+     * @return the parsed module record
+     * @throws CompilationException
+     *             if the parsed module source cannot be compiled
+     */
+    public static SourceTextModuleRecord ParseModule(SourceIdentifier sourceCodeId,
+            com.github.anba.es6draft.ast.Module parsedBody,
+            BiFunction<com.github.anba.es6draft.ast.Module, SourceTextModuleRecord, Module> compiler)
+            throws CompilationException {
         /* steps 1-3 (not applicable) */
         /* step 4 */
         Set<String> requestedModules = ModuleRequests(parsedBody);
@@ -395,7 +420,39 @@ public final class SourceTextModuleRecord implements ModuleRecord, Cloneable {
         /* step 12 */
         SourceTextModuleRecord m = new SourceTextModuleRecord(sourceCodeId, requestedModules, importEntries,
                 localExportEntries, indirectExportEntries, starExportEntries, nameSpaceExportEntries);
-        m.scriptCode = scriptLoader.load(parsedBody, m);
+        m.scriptCode = compiler.apply(parsedBody, m);
+        return m;
+    }
+
+    /**
+     * Creates a new module record for precompiled module code. The module code must have been compiled for a module
+     * record with the same requested modules, import and export entries.
+     * 
+     * @param sourceCodeId
+     *            the source code identifier
+     * @param scriptCode
+     *            the compiled module code
+     * @param requestedModules
+     *            the requested modules
+     * @param importEntries
+     *            the import entries
+     * @param localExportEntries
+     *            the local export entries
+     * @param indirectExportEntries
+     *            the indirect export entries
+     * @param starExportEntries
+     *            the star export entries
+     * @param nameSpaceExportEntries
+     *            the namespace export entries
+     * @return the new module record
+     */
+    public static SourceTextModuleRecord CreatePrecompiledModule(SourceIdentifier sourceCodeId, Module scriptCode,
+            Set<String> requestedModules, List<ImportEntry> importEntries, List<ExportEntry> localExportEntries,
+            List<ExportEntry> indirectExportEntries, List<ExportEntry> starExportEntries,
+            List<ExportEntry> nameSpaceExportEntries) {
+        SourceTextModuleRecord m = new SourceTextModuleRecord(sourceCodeId, requestedModules, importEntries,
+                localExportEntries, indirectExportEntries, starExportEntries, nameSpaceExportEntries);
+        m.scriptCode = Objects.requireNonNull(scriptCode);
         return m;
     }
 
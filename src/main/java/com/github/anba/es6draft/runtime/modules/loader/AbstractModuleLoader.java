@@ -7,10 +7,19 @@
 package com.github.anba.es6draft.runtime.modules.loader;
 
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.github.anba.es6draft.runtime.Realm;
 import com.github.anba.es6draft.runtime.internal.RuntimeContext;
@@ -137,10 +146,23 @@ public abstract class AbstractModuleLoader<MODULE extends ModuleRecord> implemen
         return module;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Requested modules are discovered as soon as their referrer has been parsed. Loading, parsing and compiling
+     * independent modules is performed in parallel on the {@link RuntimeContext#getExecutor() runtime executor}, all
+     * modules are defined on the calling thread. Linking is not performed by this method, so the module graph is
+     * always instantiated in the order required by the specification.
+     */
     @Override
     public MODULE load(SourceIdentifier identifier) throws MalformedNameException, IOException {
         MODULE module = loadIfAbsent(identifier);
-        loadRequested(module, new HashSet<>());
+        ExecutorService executor = context.getExecutor();
+        if (executor.isShutdown()) {
+            loadRequested(module, new HashSet<>());
+        } else {
+            new ParallelLoad(executor).loadRequested(module);
+        }
         return module;
     }
 
@@ -163,4 +185,94 @@ public abstract class AbstractModuleLoader<MODULE extends ModuleRecord> implemen
             }
         }
     }
+
+    private final class ParallelLoad {
+        private final CompletionService<MODULE> completionService;
+        private final ArrayList<Future<MODULE>> futures = new ArrayList<>();
+        private final HashSet<ModuleRecord> visited = new HashSet<>();
+        private final HashSet<SourceIdentifier> requested = new HashSet<>();
+        private int pending = 0;
+
+        ParallelLoad(ExecutorService executor) {
+            this.completionService = new ExecutorCompletionService<>(executor);
+        }
+
+        void loadRequested(MODULE module) throws MalformedNameException, IOException {
+            try {
+                visit(module);
+                while (pending > 0) {
+                    MODULE requestedModule = take();
+                    defineModule(requestedModule);
+                    visit(requestedModule);
+                }
+            } finally {
+                // On error, wait for the already submitted tasks so successfully loaded modules remain available,
+                // but don't request their dependencies. The first error is reported to the caller.
+                while (pending > 0) {
+                    try {
+                        defineModule(take());
+                    } catch (InterruptedIOException e) {
+                        for (Future<MODULE> future : futures) {
+                            future.cancel(true);
+                        }
+                        break;
+                    } catch (IOException | RuntimeException e) {
+                        // Ignore, see above.
+                    }
+                }
+            }
+        }
+
+        private void visit(MODULE module) throws MalformedNameException, IOException {
+            if (visited.add(module)) {
+                SourceIdentifier referrerId = module.getSourceCodeId();
+                for (String specifier : getRequestedModules(module)) {
+                    SourceIdentifier identifier = normalizeName(specifier, referrerId);
+                    MODULE requestedModule = getModule(identifier);
+                    if (requestedModule != null) {
+                        visit(requestedModule);
+                    } else if (requested.add(identifier)) {
+                        submit(identifier);
+                    }
+                }
+            }
+        }
+
+        private void submit(SourceIdentifier identifier) throws MalformedNameException, IOException {
+            try {
+                futures.add(completionService.submit(() -> parseModule(identifier, loadSource(identifier))));
+                pending += 1;
+            } catch (RejectedExecutionException e) {
+                // Executor was shut down concurrently, load on the current thread instead.
+                MODULE module = parseModule(identifier, loadSource(identifier));
+                defineModule(module);
+                visit(module);
+            }
+        }
+
+        private MODULE take() throws IOException {
+            try {
+                Future<MODULE> future = completionService.take();
+                pending -= 1;
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            } catch (CancellationException e) {
+                throw new InterruptedIOException();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+    }
 }
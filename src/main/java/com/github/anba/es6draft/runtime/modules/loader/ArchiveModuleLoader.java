@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.modules.loader;
+
+import static com.github.anba.es6draft.runtime.modules.SourceTextModuleRecord.CreatePrecompiledModule;
+import static com.github.anba.es6draft.runtime.modules.SourceTextModuleRecord.ParseModule;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Paths;
+
+import com.github.anba.es6draft.Module;
+import com.github.anba.es6draft.compiler.Compiler;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.ScriptLoader;
+import com.github.anba.es6draft.runtime.internal.Source;
+import com.github.anba.es6draft.runtime.modules.MalformedNameException;
+import com.github.anba.es6draft.runtime.modules.ModuleSource;
+import com.github.anba.es6draft.runtime.modules.SourceIdentifier;
+import com.github.anba.es6draft.runtime.modules.SourceTextModuleRecord;
+
+/**
+ * Module loader for precompiled {@link ModuleArchive module archives}.
+ * <p>
+ * Archived modules are instantiated from their class files and module dependency tables, neither the module source
+ * files nor the file system are accessed to resolve and load archived modules. Modules which are not present in the
+ * archive are loaded from the base directory.
+ */
+public final class ArchiveModuleLoader extends FileModuleLoader {
+    private final ScriptLoader scriptLoader;
+    private final ModuleArchive archive;
+    private final URI baseDirectoryURI;
+    private final Compiler compiler;
+
+    /**
+     * Constructs a new archive module loader. The archive must not be closed while the loader is in use.
+     *
+     * @param context
+     *            the runtime context
+     * @param scriptLoader
+     *            the script loader
+     * @param archive
+     *            the module archive
+     */
+    public ArchiveModuleLoader(RuntimeContext context, ScriptLoader scriptLoader, ModuleArchive archive) {
+        super(context, scriptLoader);
+        this.scriptLoader = scriptLoader;
+        this.archive = archive;
+        this.baseDirectoryURI = context.getBaseDirectory().toUri();
+        this.compiler = archive.isCompatible(context) ? new Compiler(context) : null;
+    }
+
+    /**
+     * Returns {@code true} if archived modules are loaded from their precompiled class files. Otherwise the runtime
+     * options don't match the archive and archived modules are compiled from their archived source code.
+     *
+     * @return {@code true} if precompiled class files are used
+     */
+    public boolean isPrecompiled() {
+        return compiler != null;
+    }
+
+    private ModuleArchive.Entry getEntry(SourceIdentifier identifier) {
+        return archive.getEntry(baseDirectoryURI.relativize(identifier.toUri()).toString());
+    }
+
+    @Override
+    public FileSourceIdentifier normalizeName(String unnormalizedName, SourceIdentifier referrerId)
+            throws MalformedNameException {
+        if (referrerId != null) {
+            ModuleArchive.Entry referrer = getEntry(referrerId);
+            if (referrer != null) {
+                String name = referrer.requestedModules.get(unnormalizedName);
+                if (name != null) {
+                    return new FileSourceIdentifier(baseDirectoryURI.resolve(name));
+                }
+            }
+        }
+        return super.normalizeName(unnormalizedName, referrerId);
+    }
+
+    @Override
+    protected SourceTextModuleRecord parseModule(SourceIdentifier identifier, ModuleSource source) throws IOException {
+        ModuleArchive.Entry entry = getEntry(identifier);
+        if (entry == null) {
+            return super.parseModule(identifier, source);
+        }
+        Source moduleSource = new Source(Paths.get(baseDirectoryURI.resolve(entry.name)), entry.name, 1);
+        if (compiler == null) {
+            return ParseModule(scriptLoader, identifier,
+                    scriptLoader.parseModule(moduleSource, archive.readSource(entry)));
+        }
+        Module scriptCode = compiler.loadModule(moduleSource, entry.className, archive.readClassFiles(entry));
+        return CreatePrecompiledModule(identifier, scriptCode, entry.requestedModules.keySet(), entry.importEntries,
+                entry.localExportEntries, entry.indirectExportEntries, entry.starExportEntries,
+                entry.nameSpaceExportEntries);
+    }
+}
@@ -11,6 +11,8 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 
+import com.github.anba.es6draft.parser.ParserException;
+import com.github.anba.es6draft.runtime.internal.ScriptLoader;
 import com.github.anba.es6draft.runtime.internal.Source;
 import com.github.anba.es6draft.runtime.modules.ModuleSource;
 
@@ -35,4 +37,9 @@ public final class FileModuleSource implements ModuleSource {
     public Source toSource() {
         return new Source(sourceFile, sourceName, 1);
     }
+
+    @Override
+    public com.github.anba.es6draft.ast.Module parse(ScriptLoader scriptLoader) throws IOException, ParserException {
+        return scriptLoader.parseModule(toSource(), sourceFile);
+    }
 }
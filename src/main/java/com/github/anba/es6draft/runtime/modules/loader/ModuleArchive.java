@@ -0,0 +1,442 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.modules.loader;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+
+import com.github.anba.es6draft.compiler.CompilationException;
+import com.github.anba.es6draft.compiler.Compiler;
+import com.github.anba.es6draft.parser.ParserException;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.ScriptLoader;
+import com.github.anba.es6draft.runtime.internal.Source;
+import com.github.anba.es6draft.runtime.modules.ExportEntry;
+import com.github.anba.es6draft.runtime.modules.ImportEntry;
+import com.github.anba.es6draft.runtime.modules.MalformedNameException;
+import com.github.anba.es6draft.runtime.modules.ModuleLoader;
+import com.github.anba.es6draft.runtime.modules.SourceIdentifier;
+import com.github.anba.es6draft.runtime.modules.SourceTextModuleRecord;
+
+/**
+ * Precompiled module archive.
+ * <p>
+ * A module archive is a jar file which contains the complete module graph of an entry module: the generated class
+ * files of each module, the module dependency tables (the requested modules together with their resolved module
+ * names and the import and export entries) and the compressed source code of each module. Module names are stored
+ * relative to the base directory, so an archive can be used with any base directory.
+ * <p>
+ * {@link ArchiveModuleLoader} instantiates the module graph from an archive without reading or parsing the module
+ * source files. The generated code depends on the runtime options, if the options of the runtime context don't match
+ * the options used to create the archive, the archived source code is parsed and compiled instead.
+ *
+ * @see ArchiveModuleLoader
+ */
+public final class ModuleArchive implements Closeable {
+    private static final int VERSION = 2;
+    private static final String INDEX = "META-INF/modules.idx";
+    private static final String CLASSES = "classes/";
+    private static final String SOURCES = "sources/";
+    private static final Attributes.Name ARCHIVE_VERSION = new Attributes.Name("Es6draft-Archive-Version");
+    private static final Attributes.Name MAIN_MODULE = new Attributes.Name("Main-Module");
+    private static final Attributes.Name COMPATIBILITY_OPTIONS = new Attributes.Name("Compatibility-Options");
+    private static final Attributes.Name PARSER_OPTIONS = new Attributes.Name("Parser-Options");
+    private static final Attributes.Name COMPILER_OPTIONS = new Attributes.Name("Compiler-Options");
+
+    private final JarFile jarFile;
+    private final Attributes attributes;
+    private final Map<String, Entry> modules;
+
+    /**
+     * Archived module entry.
+     */
+    static final class Entry {
+        final String name;
+        final String className;
+        final List<String> classNames;
+        final Map<String, String> requestedModules;
+        final List<ImportEntry> importEntries;
+        final List<ExportEntry> localExportEntries;
+        final List<ExportEntry> indirectExportEntries;
+        final List<ExportEntry> starExportEntries;
+        final List<ExportEntry> nameSpaceExportEntries;
+
+        Entry(String name, String className, List<String> classNames,
+                Map<String, String> requestedModules, List<ImportEntry> importEntries,
+                List<ExportEntry> localExportEntries, List<ExportEntry> indirectExportEntries,
+                List<ExportEntry> starExportEntries, List<ExportEntry> nameSpaceExportEntries) {
+            this.name = name;
+            this.className = className;
+            this.classNames = classNames;
+            this.requestedModules = requestedModules;
+            this.importEntries = importEntries;
+            this.localExportEntries = localExportEntries;
+            this.indirectExportEntries = indirectExportEntries;
+            this.starExportEntries = starExportEntries;
+            this.nameSpaceExportEntries = nameSpaceExportEntries;
+        }
+    }
+
+    private ModuleArchive(JarFile jarFile, Attributes attributes, Map<String, Entry> modules) {
+        this.jarFile = jarFile;
+        this.attributes = attributes;
+        this.modules = modules;
+    }
+
+    /**
+     * Creates a module archive.
+     * <p>
+     * Usage: {@code ModuleArchive <archive> <module> [<base-directory>]}
+     *
+     * @param args
+     *            the command line arguments
+     * @throws Exception
+     *             if the module archive could not be created
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2 || args.length > 3) {
+            System.err.println("Usage: ModuleArchive <archive> <module> [<base-directory>]");
+            System.exit(1);
+        }
+        Path archiveFile = Paths.get(args[0]);
+        String moduleName = args[1];
+        Path baseDirectory = Paths.get(args.length > 2 ? args[2] : "").toAbsolutePath();
+        RuntimeContext context = new RuntimeContext.Builder().setBaseDirectory(baseDirectory).build();
+        try {
+            write(context, moduleName, archiveFile);
+        } finally {
+            context.getExecutor().shutdown();
+        }
+    }
+
+    /**
+     * Opens the module archive.
+     *
+     * @param archiveFile
+     *            the archive file
+     * @return the module archive
+     * @throws IOException
+     *             if there was any I/O error or the file is not a valid module archive
+     */
+    public static ModuleArchive open(Path archiveFile) throws IOException {
+        JarFile jarFile = new JarFile(archiveFile.toFile());
+        try {
+            Manifest manifest = jarFile.getManifest();
+            Attributes attributes = manifest != null ? manifest.getMainAttributes() : null;
+            if (attributes == null || !String.valueOf(VERSION).equals(attributes.getValue(ARCHIVE_VERSION))) {
+                throw new IOException("Unsupported module archive: " + archiveFile);
+            }
+            ZipEntry index = jarFile.getEntry(INDEX);
+            if (index == null) {
+                throw new IOException("Missing module index: " + archiveFile);
+            }
+            try (DataInputStream in = new DataInputStream(
+                    new BufferedInputStream(jarFile.getInputStream(index)))) {
+                return new ModuleArchive(jarFile, attributes, readIndex(in));
+            }
+        } catch (IOException | RuntimeException e) {
+            jarFile.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        jarFile.close();
+    }
+
+    /**
+     * Returns the name of the entry module.
+     *
+     * @return the entry module name
+     */
+    public String getMainModule() {
+        return attributes.getValue(MAIN_MODULE);
+    }
+
+    /**
+     * Returns the names of all archived modules.
+     *
+     * @return the module names
+     */
+    public Set<String> getModuleNames() {
+        return Collections.unmodifiableSet(modules.keySet());
+    }
+
+    /**
+     * Returns {@code true} if the archived class files were generated with the options of the runtime context.
+     *
+     * @param context
+     *            the runtime context
+     * @return {@code true} if the class files can be used for the runtime context
+     */
+    public boolean isCompatible(RuntimeContext context) {
+        return toString(context.getOptions()).equals(attributes.getValue(COMPATIBILITY_OPTIONS))
+                && toString(context.getParserOptions()).equals(attributes.getValue(PARSER_OPTIONS))
+                && toString(context.getCompilerOptions()).equals(attributes.getValue(COMPILER_OPTIONS));
+    }
+
+    Entry getEntry(String name) {
+        return modules.get(name);
+    }
+
+    Map<String, byte[]> readClassFiles(Entry entry) throws IOException {
+        LinkedHashMap<String, byte[]> classFiles = new LinkedHashMap<>();
+        for (String className : entry.classNames) {
+            classFiles.put(className, read(CLASSES + className.replace('.', '/') + ".class"));
+        }
+        return classFiles;
+    }
+
+    String readSource(Entry entry) throws IOException {
+        return new String(read(SOURCES + entry.name), StandardCharsets.UTF_8);
+    }
+
+    private byte[] read(String name) throws IOException {
+        ZipEntry zipEntry = jarFile.getEntry(name);
+        if (zipEntry == null) {
+            throw new IOException("Missing archive entry: " + name);
+        }
+        try (InputStream in = jarFile.getInputStream(zipEntry)) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max((int) zipEntry.getSize(), 4096));
+            byte[] buf = new byte[4096];
+            for (int len; (len = in.read(buf)) != -1;) {
+                out.write(buf, 0, len);
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static String toString(EnumSet<?> options) {
+        return options.stream().map(Enum::name).collect(Collectors.joining(","));
+    }
+
+    /**
+     * Resolves the module graph of the requested module and writes the compiled modules to a new archive file. Module
+     * names are resolved with the module loader of the runtime context, only source text modules are supported.
+     *
+     * @param context
+     *            the runtime context
+     * @param moduleName
+     *            the unnormalized module name of the entry module
+     * @param archiveFile
+     *            the archive file
+     * @throws IOException
+     *             if there was any I/O error
+     * @throws MalformedNameException
+     *             if any module name cannot be normalized
+     * @throws ParserException
+     *             if any module source contains syntax errors
+     * @throws CompilationException
+     *             if any module cannot be compiled
+     */
+    public static void write(RuntimeContext context, String moduleName, Path archiveFile)
+            throws IOException, MalformedNameException, ParserException, CompilationException {
+        ScriptLoader scriptLoader = new ScriptLoader(context);
+        ModuleLoader resolver = context.getModuleLoader().apply(context, scriptLoader);
+        Compiler compiler = new Compiler(context);
+        URI baseDirectoryURI = context.getBaseDirectory().toUri();
+
+        SourceIdentifier mainId = resolver.normalizeName(moduleName, null);
+        String mainName = relativeName(baseDirectoryURI, mainId);
+
+        Manifest manifest = new Manifest();
+        Attributes attributes = manifest.getMainAttributes();
+        attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        attributes.put(ARCHIVE_VERSION, String.valueOf(VERSION));
+        attributes.put(MAIN_MODULE, mainName);
+        attributes.put(COMPATIBILITY_OPTIONS, toString(context.getOptions()));
+        attributes.put(PARSER_OPTIONS, toString(context.getParserOptions()));
+        attributes.put(COMPILER_OPTIONS, toString(context.getCompilerOptions()));
+
+        ArrayList<Entry> entries = new ArrayList<>();
+        LinkedHashMap<String, SourceIdentifier> pending = new LinkedHashMap<>();
+        ArrayDeque<String> worklist = new ArrayDeque<>();
+        pending.put(mainName, mainId);
+        worklist.add(mainName);
+
+        Path tempFile = Files.createTempFile(archiveFile.toAbsolutePath().getParent(), "archive", ".tmp");
+        try {
+            try (JarOutputStream jar = new JarOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tempFile)), manifest)) {
+                while (!worklist.isEmpty()) {
+                    String name = worklist.remove();
+                    SourceIdentifier identifier = pending.get(name);
+                    Path file = Paths.get(identifier.toUri());
+                    String sourceCode = new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+                    Source source = new FileModuleSource(file, name).toSource();
+                    String className = "#Module_" + (entries.size() + 1);
+
+                    LinkedHashMap<String, byte[]> classFiles = new LinkedHashMap<>();
+                    SourceTextModuleRecord module = SourceTextModuleRecord.ParseModule(identifier,
+                            scriptLoader.parseModule(source, sourceCode), (parsedBody, moduleRecord) -> {
+                                classFiles.putAll(compiler.compileToClassFiles(parsedBody, moduleRecord, className));
+                                return compiler.loadModule(source, className, classFiles);
+                            });
+
+                    LinkedHashMap<String, String> requestedModules = new LinkedHashMap<>();
+                    for (String specifier : module.getRequestedModules()) {
+                        SourceIdentifier requestedId = resolver.normalizeName(specifier, identifier);
+                        String requestedName = relativeName(baseDirectoryURI, requestedId);
+                        requestedModules.put(specifier, requestedName);
+                        if (pending.putIfAbsent(requestedName, requestedId) == null) {
+                            worklist.add(requestedName);
+                        }
+                    }
+                    entries.add(new Entry(name, className, new ArrayList<>(classFiles.keySet()),
+                            requestedModules, module.getImportEntries(), module.getLocalExportEntries(),
+                            module.getIndirectExportEntries(), module.getStarExportEntries(),
+                            module.getNameSpaceExportEntries()));
+
+                    for (Map.Entry<String, byte[]> classFile : classFiles.entrySet()) {
+                        writeEntry(jar, CLASSES + classFile.getKey().replace('.', '/') + ".class",
+                                classFile.getValue());
+                    }
+                    writeEntry(jar, SOURCES + name, sourceCode.getBytes(StandardCharsets.UTF_8));
+                }
+
+                jar.putNextEntry(new JarEntry(INDEX));
+                DataOutputStream out = new DataOutputStream(jar);
+                writeIndex(out, entries);
+                out.flush();
+                jar.closeEntry();
+            }
+            Files.move(tempFile, archiveFile, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+
+    private static String relativeName(URI baseDirectoryURI, SourceIdentifier identifier) {
+        URI uri = identifier.toUri();
+        if (!"file".equals(uri.getScheme())) {
+            throw new IllegalArgumentException("Not a file module: " + identifier);
+        }
+        return baseDirectoryURI.relativize(uri).toString();
+    }
+
+    private static void writeEntry(JarOutputStream jar, String name, byte[] bytes) throws IOException {
+        jar.putNextEntry(new JarEntry(name));
+        jar.write(bytes);
+        jar.closeEntry();
+    }
+
+    private static void writeIndex(DataOutputStream out, List<Entry> entries) throws IOException {
+        out.writeInt(entries.size());
+        for (Entry entry : entries) {
+            out.writeUTF(entry.name);
+            out.writeUTF(entry.className);
+            out.writeInt(entry.classNames.size());
+            for (String className : entry.classNames) {
+                out.writeUTF(className);
+            }
+            out.writeInt(entry.requestedModules.size());
+            for (Map.Entry<String, String> request : entry.requestedModules.entrySet()) {
+                out.writeUTF(request.getKey());
+                out.writeUTF(request.getValue());
+            }
+            out.writeInt(entry.importEntries.size());
+            for (ImportEntry importEntry : entry.importEntries) {
+                out.writeLong(importEntry.getSourcePosition());
+                writeString(out, importEntry.getModuleRequest());
+                writeString(out, importEntry.getImportName());
+                writeString(out, importEntry.getLocalName());
+            }
+            writeExportEntries(out, entry.localExportEntries);
+            writeExportEntries(out, entry.indirectExportEntries);
+            writeExportEntries(out, entry.starExportEntries);
+            writeExportEntries(out, entry.nameSpaceExportEntries);
+        }
+    }
+
+    private static void writeExportEntries(DataOutputStream out, List<ExportEntry> exportEntries) throws IOException {
+        out.writeInt(exportEntries.size());
+        for (ExportEntry exportEntry : exportEntries) {
+            out.writeLong(exportEntry.getSourcePosition());
+            writeString(out, exportEntry.getModuleRequest());
+            writeString(out, exportEntry.getImportName());
+            writeString(out, exportEntry.getLocalName());
+            writeString(out, exportEntry.getExportName());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) {
+            out.writeUTF(s);
+        }
+    }
+
+    private static Map<String, Entry> readIndex(DataInputStream in) throws IOException {
+        LinkedHashMap<String, Entry> modules = new LinkedHashMap<>();
+        for (int i = 0, count = in.readInt(); i < count; ++i) {
+            String name = in.readUTF();
+            String className = in.readUTF();
+            ArrayList<String> classNames = new ArrayList<>();
+            for (int j = 0, n = in.readInt(); j < n; ++j) {
+                classNames.add(in.readUTF());
+            }
+            LinkedHashMap<String, String> requestedModules = new LinkedHashMap<>();
+            for (int j = 0, n = in.readInt(); j < n; ++j) {
+                requestedModules.put(in.readUTF(), in.readUTF());
+            }
+            ArrayList<ImportEntry> importEntries = new ArrayList<>();
+            for (int j = 0, n = in.readInt(); j < n; ++j) {
+                importEntries.add(new ImportEntry(in.readLong(), readString(in), readString(in), readString(in)));
+            }
+            List<ExportEntry> localExportEntries = readExportEntries(in);
+            List<ExportEntry> indirectExportEntries = readExportEntries(in);
+            List<ExportEntry> starExportEntries = readExportEntries(in);
+            List<ExportEntry> nameSpaceExportEntries = readExportEntries(in);
+            modules.put(name,
+                    new Entry(name, className, classNames, requestedModules, importEntries,
+                            localExportEntries, indirectExportEntries, starExportEntries,
+                            nameSpaceExportEntries));
+        }
+        return modules;
+    }
+
+    private static List<ExportEntry> readExportEntries(DataInputStream in) throws IOException {
+        ArrayList<ExportEntry> exportEntries = new ArrayList<>();
+        for (int j = 0, n = in.readInt(); j < n; ++j) {
+            exportEntries.add(new ExportEntry(in.readLong(), readString(in), readString(in), readString(in),
+                    readString(in)));
+        }
+        return exportEntries;
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
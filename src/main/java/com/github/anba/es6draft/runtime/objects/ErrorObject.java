@@ -36,7 +36,7 @@ public final class ErrorObject extends OrdinaryObject {
      */
     public ErrorObject(Realm realm) {
         super(realm);
-        this.exception = new ScriptException(this);
+        this.exception = new ScriptException(this, realm.getRuntimeContext().getStackTraceDepth());
     }
 
     /**
@@ -51,7 +51,7 @@ public final class ErrorObject extends OrdinaryObject {
      */
     public ErrorObject(Realm realm, Intrinsics prototype, String message) {
         super(realm, realm.getIntrinsic(prototype));
-        this.exception = new ScriptException(this);
+        this.exception = new ScriptException(this, realm.getRuntimeContext().getStackTraceDepth());
         defineErrorProperty("message", message, false);
     }
 
@@ -69,7 +69,7 @@ public final class ErrorObject extends OrdinaryObject {
      */
     public ErrorObject(Realm realm, Throwable cause, Intrinsics prototype, String message) {
         super(realm, realm.getIntrinsic(prototype));
-        this.exception = new ScriptException(this, cause);
+        this.exception = new ScriptException(this, cause, realm.getRuntimeContext().getStackTraceDepth());
         defineErrorProperty("message", message, false);
     }
 
@@ -92,7 +92,7 @@ public final class ErrorObject extends OrdinaryObject {
     public ErrorObject(Realm realm, Intrinsics prototype, String message, String fileName, int lineNumber,
             int columnNumber) {
         super(realm, realm.getIntrinsic(prototype));
-        this.exception = new ScriptException(this);
+        this.exception = new ScriptException(this, realm.getRuntimeContext().getStackTraceDepth());
         defineErrorProperty("message", message, false);
         defineErrorProperty("fileName", fileName, true);
         defineErrorProperty("lineNumber", lineNumber, true);
@@ -120,7 +120,7 @@ public final class ErrorObject extends OrdinaryObject {
     public ErrorObject(Realm realm, Throwable cause, Intrinsics prototype, String message, String fileName,
             int lineNumber, int columnNumber) {
         super(realm, realm.getIntrinsic(prototype));
-        this.exception = new ScriptException(this, cause);
+        this.exception = new ScriptException(this, cause, realm.getRuntimeContext().getStackTraceDepth());
         defineErrorProperty("message", message, false);
         defineErrorProperty("fileName", fileName, true);
         defineErrorProperty("lineNumber", lineNumber, true);
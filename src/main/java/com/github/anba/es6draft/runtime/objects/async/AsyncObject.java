@@ -106,7 +106,7 @@ public final class AsyncObject implements Async {
             throw new AssertionError();
         case SuspendedAwait:
             state = AsyncState.Executing;
-            continuation._throw(cx, ScriptException.create(value));
+            continuation._throw(cx, ScriptException.create(value, cx));
             return;
         default:
             throw new AssertionError();
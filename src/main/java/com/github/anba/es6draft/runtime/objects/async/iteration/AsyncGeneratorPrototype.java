@@ -109,7 +109,7 @@ public final class AsyncGeneratorPrototype extends OrdinaryObject implements Ini
         @Function(name = "throw", arity = 1)
         public static Object _throw(ExecutionContext cx, Object thisValue, Object exception) {
             /* steps 1-3 */
-            return AsyncGeneratorEnqueue(cx, thisValue, ScriptException.create(exception),
+            return AsyncGeneratorEnqueue(cx, thisValue, ScriptException.create(exception, cx),
                     "AsyncGenerator.prototype.throw");
         }
 
@@ -45,6 +45,15 @@ public final class SharedByteBuffer {
         return other.uniqueKey == uniqueKey;
     }
 
+    /**
+     * Returns a hash code for the underlying memory space, consistent with {@link #sameData(SharedByteBuffer)}.
+     * 
+     * @return the hash code of the memory space
+     */
+    public int dataHashCode() {
+        return System.identityHashCode(uniqueKey);
+    }
+
     /**
      * Duplicates this shared byte buffer.
      * 
@@ -109,8 +109,7 @@ public final class BigIntPrototype extends OrdinaryObject implements Initializab
             /* steps 1-2 */
             BigInteger x = thisBigIntValue(cx, thisValue, "BigInt.prototype.toLocaleString");
             /* steps 3-4 */
-            NumberFormatConstructor ctor = (NumberFormatConstructor) cx.getIntrinsic(Intrinsics.Intl_NumberFormat);
-            NumberFormatObject numberFormat = ctor.construct(cx, ctor, locales, options);
+            NumberFormatObject numberFormat = NumberFormatConstructor.CachedNumberFormat(cx, locales, options);
             /* step 5 */
             return numberFormat.getNumberFormat().format(x);
         }
@@ -245,6 +245,40 @@ public enum ElementType {
         }
     }
 
+    /**
+     * Returns the prototype for the element type.
+     * 
+     * @return the prototype intrinsic
+     */
+    public Intrinsics getPrototype() {
+        switch (this) {
+        case Int8:
+            return Intrinsics.Int8ArrayPrototype;
+        case Uint8:
+            return Intrinsics.Uint8ArrayPrototype;
+        case Uint8C:
+            return Intrinsics.Uint8ClampedArrayPrototype;
+        case Int16:
+            return Intrinsics.Int16ArrayPrototype;
+        case Uint16:
+            return Intrinsics.Uint16ArrayPrototype;
+        case Int32:
+            return Intrinsics.Int32ArrayPrototype;
+        case Uint32:
+            return Intrinsics.Uint32ArrayPrototype;
+        case BigInt64:
+            return Intrinsics.BigInt64ArrayPrototype;
+        case BigUint64:
+            return Intrinsics.BigUint64ArrayPrototype;
+        case Float32:
+            return Intrinsics.Float32ArrayPrototype;
+        case Float64:
+            return Intrinsics.Float64ArrayPrototype;
+        default:
+            throw new AssertionError();
+        }
+    }
+
     /**
      * Converts the input value to a signed 8-bit integer.
      * 
@@ -34,6 +34,7 @@ import java.util.function.LongFunction;
 
 import com.github.anba.es6draft.runtime.ExecutionContext;
 import com.github.anba.es6draft.runtime.internal.Bytes;
+import com.github.anba.es6draft.runtime.internal.Sorting;
 import com.github.anba.es6draft.runtime.internal.StrBuilder;
 import com.github.anba.es6draft.runtime.objects.bigint.BigIntType;
 import com.github.anba.es6draft.runtime.types.Constructor;
@@ -758,109 +759,53 @@ abstract class TypedArrayFunctions {
     }
 
     private static final void sortArray(byte[] array, Comparator<? super Integer> comparator) {
-        Integer[] boxed = new Integer[array.length];
+        int[] elements = new int[array.length];
         for (int i = 0; i < array.length; ++i) {
-            boxed[i] = (int) array[i];
-        }
-        try {
-            Arrays.sort(boxed, comparator);
-        } catch (IllegalArgumentException e) {
-            // Ignore: `IllegalArgumentException: Comparison method violates its general contract!`
+            elements[i] = array[i];
         }
+        sortArray(elements, comparator);
         for (int i = 0; i < array.length; ++i) {
-            array[i] = (byte) (int) boxed[i];
+            array[i] = (byte) elements[i];
         }
     }
 
     private static final void sortArray(short[] array, Comparator<? super Integer> comparator) {
-        Integer[] boxed = new Integer[array.length];
+        int[] elements = new int[array.length];
         for (int i = 0; i < array.length; ++i) {
-            boxed[i] = (int) array[i];
-        }
-        try {
-            Arrays.sort(boxed, comparator);
-        } catch (IllegalArgumentException e) {
-            // Ignore: `IllegalArgumentException: Comparison method violates its general contract!`
+            elements[i] = array[i];
         }
+        sortArray(elements, comparator);
         for (int i = 0; i < array.length; ++i) {
-            array[i] = (short) (int) boxed[i];
+            array[i] = (short) elements[i];
         }
     }
 
     private static final void sortArray(int[] array, Comparator<? super Integer> comparator) {
-        Integer[] boxed = new Integer[array.length];
-        for (int i = 0; i < array.length; ++i) {
-            boxed[i] = array[i];
-        }
-        try {
-            Arrays.sort(boxed, comparator);
-        } catch (IllegalArgumentException e) {
-            // Ignore: `IllegalArgumentException: Comparison method violates its general contract!`
-        }
-        for (int i = 0; i < array.length; ++i) {
-            array[i] = boxed[i];
-        }
+        Sorting.sort(array, comparator::compare);
     }
 
     private static final void sortArray(long[] array, Comparator<? super Long> comparator) {
-        Long[] boxed = new Long[array.length];
-        for (int i = 0; i < array.length; ++i) {
-            boxed[i] = array[i];
-        }
-        try {
-            Arrays.sort(boxed, comparator);
-        } catch (IllegalArgumentException e) {
-            // Ignore: `IllegalArgumentException: Comparison method violates its general contract!`
-        }
-        for (int i = 0; i < array.length; ++i) {
-            array[i] = boxed[i];
-        }
+        Sorting.sort(array, comparator::compare);
     }
 
     private static final void sortArrayAsBigInt(long[] array, LongFunction<BigInteger> toBigInt,
             Comparator<? super BigInteger> comparator) {
-        BigInteger[] boxed = new BigInteger[array.length];
-        for (int i = 0; i < array.length; ++i) {
-            boxed[i] = toBigInt.apply(array[i]);
-        }
-        try {
-            Arrays.sort(boxed, comparator);
-        } catch (IllegalArgumentException e) {
-            // Ignore: `IllegalArgumentException: Comparison method violates its general contract!`
-        }
-        for (int i = 0; i < array.length; ++i) {
-            array[i] = boxed[i].longValue();
-        }
+        Sorting.sort(array, (x, y) -> comparator.compare(toBigInt.apply(x), toBigInt.apply(y)));
     }
 
     private static final void sortArray(float[] array, Comparator<? super Double> comparator) {
-        Double[] boxed = new Double[array.length];
+        double[] elements = new double[array.length];
         for (int i = 0; i < array.length; ++i) {
-            boxed[i] = (double) array[i];
-        }
-        try {
-            Arrays.sort(boxed, comparator);
-        } catch (IllegalArgumentException e) {
-            // Ignore: `IllegalArgumentException: Comparison method violates its general contract!`
+            elements[i] = array[i];
         }
+        sortArray(elements, comparator);
         for (int i = 0; i < array.length; ++i) {
-            array[i] = (float) (double) boxed[i];
+            array[i] = (float) elements[i];
         }
     }
 
     private static final void sortArray(double[] array, Comparator<? super Double> comparator) {
-        Double[] boxed = new Double[array.length];
-        for (int i = 0; i < array.length; ++i) {
-            boxed[i] = array[i];
-        }
-        try {
-            Arrays.sort(boxed, comparator);
-        } catch (IllegalArgumentException e) {
-            // Ignore: `IllegalArgumentException: Comparison method violates its general contract!`
-        }
-        for (int i = 0; i < array.length; ++i) {
-            array[i] = boxed[i];
-        }
+        Sorting.sort(array, comparator::compare);
     }
 
     private static final void sortArrayUnsigned(byte[] array) {
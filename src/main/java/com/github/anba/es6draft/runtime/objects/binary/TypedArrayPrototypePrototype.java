@@ -521,6 +521,8 @@ public final class TypedArrayPrototypePrototype extends OrdinaryObject implement
             private final ExecutionContext cx;
             private final Callable comparefn;
             private final ArrayBuffer buffer;
+            // Reused for each call, callees don't retain the arguments array.
+            private final Object[] arguments = new Object[2];
 
             FunctionComparator(ExecutionContext cx, Callable comparefn, ArrayBuffer buffer) {
                 this.cx = cx;
@@ -530,7 +532,10 @@ public final class TypedArrayPrototypePrototype extends OrdinaryObject implement
 
             @Override
             public int compare(Number x, Number y) {
-                double c = ToNumber(cx, comparefn.call(cx, UNDEFINED, x, y));
+                Object[] arguments = this.arguments;
+                arguments[0] = x;
+                arguments[1] = y;
+                double c = ToNumber(cx, comparefn.call(cx, UNDEFINED, arguments));
                 if (IsDetachedBuffer(buffer)) {
                     throw newTypeError(cx, Messages.Key.BufferDetached);
                 }
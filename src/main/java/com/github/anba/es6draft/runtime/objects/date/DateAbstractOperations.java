@@ -284,7 +284,7 @@ public final class DateAbstractOperations {
             return t;
         }
         assert Math.abs(t) <= 8.64e15;
-        return TimeZoneInfo.getDefault().getDSTSavings(realm.getTimeZone(), (long) t);
+        return DateConstructor.getTimeZoneCache(realm).getDSTSavings(realm.getTimeZone(), (long) t);
     }
 
     /**
@@ -302,7 +302,7 @@ public final class DateAbstractOperations {
             return t;
         }
         assert Math.abs(t) <= 8.64e15;
-        return TimeZoneInfo.getDefault().localTime(realm.getTimeZone(), (long) t);
+        return DateConstructor.getTimeZoneCache(realm).localTime(realm.getTimeZone(), (long) t);
     }
 
     /**
@@ -322,7 +322,7 @@ public final class DateAbstractOperations {
         if (Double.isNaN(t) || Math.abs(t) > (8.64e15 + 8.64e7)) {
             return t;
         }
-        return TimeZoneInfo.getDefault().utc(realm.getTimeZone(), (long) t);
+        return DateConstructor.getTimeZoneCache(realm).utc(realm.getTimeZone(), (long) t);
     }
 
     /**
@@ -38,6 +38,8 @@ import com.github.anba.es6draft.runtime.types.builtins.BuiltinConstructor;
  * </ul>
  */
 public final class DateConstructor extends BuiltinConstructor implements Initializable {
+    private final TimeZoneCache timeZoneCache = new TimeZoneCache(TimeZoneInfo.getDefault());
+
     /**
      * Constructs a new Date constructor function.
      * 
@@ -53,6 +55,17 @@ public final class DateConstructor extends BuiltinConstructor implements Initial
         createProperties(realm, this, Properties.class);
     }
 
+    /**
+     * Returns the time zone offset cache for the given realm.
+     * 
+     * @param realm
+     *            the realm instance
+     * @return the time zone offset cache
+     */
+    static TimeZoneCache getTimeZoneCache(Realm realm) {
+        return ((DateConstructor) realm.getIntrinsic(Intrinsics.Date)).timeZoneCache;
+    }
+
     /**
      * 20.3.2.1 Date (year, month [, date [, hours [, minutes [, seconds [, ms ] ] ] ] ] )<br>
      * 20.3.2.2 Date (value)<br>
@@ -11,8 +11,8 @@ import static com.github.anba.es6draft.runtime.internal.Errors.newRangeError;
 import static com.github.anba.es6draft.runtime.internal.Errors.newTypeError;
 import static com.github.anba.es6draft.runtime.internal.Properties.createProperties;
 import static com.github.anba.es6draft.runtime.objects.date.DateAbstractOperations.*;
+import static com.github.anba.es6draft.runtime.objects.intl.DateTimeFormatConstructor.CachedDateTimeFormat;
 import static com.github.anba.es6draft.runtime.objects.intl.DateTimeFormatConstructor.FormatDateTime;
-import static com.github.anba.es6draft.runtime.objects.intl.DateTimeFormatConstructor.ToDateTimeOptions;
 import static com.github.anba.es6draft.runtime.types.Null.NULL;
 
 import java.util.TimeZone;
@@ -30,7 +30,6 @@ import com.github.anba.es6draft.runtime.internal.Properties.Function;
 import com.github.anba.es6draft.runtime.internal.Properties.Optional;
 import com.github.anba.es6draft.runtime.internal.Properties.Prototype;
 import com.github.anba.es6draft.runtime.internal.Properties.Value;
-import com.github.anba.es6draft.runtime.objects.intl.DateTimeFormatConstructor;
 import com.github.anba.es6draft.runtime.objects.intl.DateTimeFormatObject;
 import com.github.anba.es6draft.runtime.types.BuiltinSymbol;
 import com.github.anba.es6draft.runtime.types.Intrinsics;
@@ -124,7 +123,7 @@ public final class DatePrototype extends OrdinaryObject implements Initializable
         /* steps 3-7 */
         long date = (long) tv;
         TimeZone tz = realm.getTimeZone();
-        int tzOffset = TimeZoneInfo.getDefault().getOffset(tz, date) / 60000;
+        int tzOffset = DateConstructor.getTimeZoneCache(realm).getOffset(tz, date) / 60000;
         tzOffset = (tzOffset / 60) * 100 + tzOffset % 60;
         String timeZoneDisplayName = TimeZoneInfo.getDefault().getDisplayName(tz, date);
         /* step 8 */
@@ -1167,12 +1166,8 @@ public final class DatePrototype extends OrdinaryObject implements Initializable
             if (Double.isNaN(t)) {
                 return "Invalid Date";
             }
-            /* step 3 */
-            options = ToDateTimeOptions(cx, options, "date", "date");
-            /* step 4 */
-            DateTimeFormatConstructor ctor = (DateTimeFormatConstructor) cx
-                    .getIntrinsic(Intrinsics.Intl_DateTimeFormat);
-            DateTimeFormatObject dateTimeFormat = ctor.construct(cx, ctor, locales, options);
+            /* steps 3-4 */
+            DateTimeFormatObject dateTimeFormat = CachedDateTimeFormat(cx, locales, options, "date", "date");
             /* step 5 */
             return FormatDateTime(cx, dateTimeFormat, t);
         }
@@ -1200,12 +1195,8 @@ public final class DatePrototype extends OrdinaryObject implements Initializable
             if (Double.isNaN(t)) {
                 return "Invalid Date";
             }
-            /* step 3 */
-            options = ToDateTimeOptions(cx, options, "any", "all");
-            /* step 4 */
-            DateTimeFormatConstructor ctor = (DateTimeFormatConstructor) cx
-                    .getIntrinsic(Intrinsics.Intl_DateTimeFormat);
-            DateTimeFormatObject dateTimeFormat = ctor.construct(cx, ctor, locales, options);
+            /* steps 3-4 */
+            DateTimeFormatObject dateTimeFormat = CachedDateTimeFormat(cx, locales, options, "any", "all");
             /* step 5 */
             return FormatDateTime(cx, dateTimeFormat, t);
         }
@@ -1233,12 +1224,8 @@ public final class DatePrototype extends OrdinaryObject implements Initializable
             if (Double.isNaN(t)) {
                 return "Invalid Date";
             }
-            /* step 3 */
-            options = ToDateTimeOptions(cx, options, "time", "time");
-            /* step 4 */
-            DateTimeFormatConstructor ctor = (DateTimeFormatConstructor) cx
-                    .getIntrinsic(Intrinsics.Intl_DateTimeFormat);
-            DateTimeFormatObject dateTimeFormat = ctor.construct(cx, ctor, locales, options);
+            /* steps 3-4 */
+            DateTimeFormatObject dateTimeFormat = CachedDateTimeFormat(cx, locales, options, "time", "time");
             /* step 5 */
             return FormatDateTime(cx, dateTimeFormat, t);
         }
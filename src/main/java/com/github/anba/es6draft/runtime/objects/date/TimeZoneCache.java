@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.objects.date;
+
+import java.util.Arrays;
+import java.util.TimeZone;
+
+/**
+ * Per-realm cache of time zone offset intervals.
+ * <p>
+ * Each interval describes a period of constant time zone offset and daylight savings time. The most recently used
+ * intervals are kept in a small LRU list, so repeated date operations near the same instant only require a range
+ * check.
+ */
+final class TimeZoneCache {
+    private static final int MAX_INTERVALS = 8;
+
+    // Upper bound for time zone offsets.
+    private static final long MAX_OFFSET = (long) DateAbstractOperations.msPerDay;
+
+    private final TimeZoneInfo timeZoneInfo;
+    private final Interval[] intervals = new Interval[MAX_INTERVALS];
+    private TimeZone timeZone;
+
+    private static final class Interval {
+        final long start;
+        final long end;
+        final int offset;
+        final int dstSavings;
+
+        Interval(long start, long end, int offset, int dstSavings) {
+            this.start = start;
+            this.end = end;
+            this.offset = offset;
+            this.dstSavings = dstSavings;
+        }
+
+        boolean contains(long date) {
+            return start <= date && date < end;
+        }
+    }
+
+    /**
+     * Constructs a new time zone cache.
+     *
+     * @param timeZoneInfo
+     *            the time zone info object
+     */
+    TimeZoneCache(TimeZoneInfo timeZoneInfo) {
+        this.timeZoneInfo = timeZoneInfo;
+    }
+
+    private Interval interval(TimeZone tz, long date) {
+        Interval[] intervals = this.intervals;
+        if (tz != timeZone) {
+            // Time zone was changed, clear all cached intervals.
+            Arrays.fill(intervals, null);
+            timeZone = tz;
+        }
+        for (int i = 0; i < MAX_INTERVALS; ++i) {
+            Interval interval = intervals[i];
+            if (interval == null) {
+                break;
+            }
+            if (interval.contains(date)) {
+                if (i != 0) {
+                    // Move to front.
+                    System.arraycopy(intervals, 0, intervals, 1, i);
+                    intervals[0] = interval;
+                }
+                return interval;
+            }
+        }
+        Interval interval = new Interval(timeZoneInfo.intervalStart(tz, date), timeZoneInfo.intervalEnd(tz, date),
+                timeZoneInfo.getOffset(tz, date), timeZoneInfo.getDSTSavings(tz, date));
+        System.arraycopy(intervals, 0, intervals, 1, MAX_INTERVALS - 1);
+        intervals[0] = interval;
+        return interval;
+    }
+
+    /**
+     * Returns the local time.
+     *
+     * @param tz
+     *            the timezone
+     * @param date
+     *            the date in milli-seconds since the start of the epoch
+     * @return the date in local time
+     * @see TimeZoneInfo#localTime(TimeZone, long)
+     */
+    long localTime(TimeZone tz, long date) {
+        return date + interval(tz, date).offset;
+    }
+
+    /**
+     * Returns the UTC time.
+     *
+     * @param tz
+     *            the timezone
+     * @param localTime
+     *            the date in local time
+     * @return the date in milli-seconds since the start of the epoch
+     * @see TimeZoneInfo#utc(TimeZone, long)
+     */
+    long utc(TimeZone tz, long localTime) {
+        Interval interval = interval(tz, localTime);
+        // Fast path when the offset is constant in the surrounding of the local time.
+        if (interval.start <= localTime - MAX_OFFSET && localTime + MAX_OFFSET < interval.end) {
+            return localTime - interval.offset;
+        }
+        return timeZoneInfo.utc(tz, localTime);
+    }
+
+    /**
+     * Returns the amount of saved daylight savings time.
+     *
+     * @param tz
+     *            the timezone
+     * @param date
+     *            the date in milli-seconds since the start of the epoch
+     * @return the amount of saved daylight savings time
+     * @see TimeZoneInfo#getDSTSavings(TimeZone, long)
+     */
+    int getDSTSavings(TimeZone tz, long date) {
+        return interval(tz, date).dstSavings;
+    }
+
+    /**
+     * Returns the offset from UTC in milli-seconds, including DST savings.
+     *
+     * @param tz
+     *            the timezone
+     * @param date
+     *            the date in milli-seconds since the start of the epoch
+     * @return the local offset adjusted with DST
+     * @see TimeZoneInfo#getOffset(TimeZone, long)
+     */
+    int getOffset(TimeZone tz, long date) {
+        return interval(tz, date).offset;
+    }
+}
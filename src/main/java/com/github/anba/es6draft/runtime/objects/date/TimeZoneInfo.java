@@ -14,6 +14,8 @@ import java.util.TimeZone;
 import org.joda.time.DateTimeZone;
 
 import com.ibm.icu.text.TimeZoneNames;
+import com.ibm.icu.util.BasicTimeZone;
+import com.ibm.icu.util.TimeZoneTransition;
 import com.ibm.icu.util.ULocale;
 
 /**
@@ -119,6 +121,30 @@ abstract class TimeZoneInfo {
      */
     public abstract int getRawOffset(TimeZone tz, long date);
 
+    /**
+     * Returns the start (inclusive) of the interval containing {@code date}. The time zone offset and the daylight
+     * savings time are constant within an interval.
+     * 
+     * @param tz
+     *            the timezone
+     * @param date
+     *            the date in milli-seconds since the start of the epoch
+     * @return the interval start in milli-seconds since the start of the epoch
+     */
+    public abstract long intervalStart(TimeZone tz, long date);
+
+    /**
+     * Returns the end (exclusive) of the interval containing {@code date}. The time zone offset and the daylight
+     * savings time are constant within an interval.
+     * 
+     * @param tz
+     *            the timezone
+     * @param date
+     *            the date in milli-seconds since the start of the epoch
+     * @return the interval end in milli-seconds since the start of the epoch
+     */
+    public abstract long intervalEnd(TimeZone tz, long date);
+
     /**
      * Returns the display name for the given time zone and date.
      * 
@@ -188,6 +214,18 @@ abstract class TimeZoneInfo {
             return tz.getRawOffset();
         }
 
+        @Override
+        public long intervalStart(TimeZone tz, long date) {
+            // Transition data is not available.
+            return date;
+        }
+
+        @Override
+        public long intervalEnd(TimeZone tz, long date) {
+            // Transition data is not available.
+            return date + 1;
+        }
+
         @Override
         public String getDisplayName(TimeZone tz, long date) {
             boolean daylightSavings = tz.inDaylightTime(new Date(date));
@@ -254,6 +292,26 @@ abstract class TimeZoneInfo {
             return offsets[0];
         }
 
+        @Override
+        public long intervalStart(TimeZone tz, long date) {
+            com.ibm.icu.util.TimeZone timeZone = toICUTimeZone(tz);
+            if (timeZone instanceof BasicTimeZone) {
+                TimeZoneTransition transition = ((BasicTimeZone) timeZone).getPreviousTransition(date, true);
+                return transition != null ? transition.getTime() : Long.MIN_VALUE;
+            }
+            return date;
+        }
+
+        @Override
+        public long intervalEnd(TimeZone tz, long date) {
+            com.ibm.icu.util.TimeZone timeZone = toICUTimeZone(tz);
+            if (timeZone instanceof BasicTimeZone) {
+                TimeZoneTransition transition = ((BasicTimeZone) timeZone).getNextTransition(date, false);
+                return transition != null ? transition.getTime() : Long.MAX_VALUE;
+            }
+            return date + 1;
+        }
+
         @Override
         public String getDisplayName(TimeZone tz, long date) {
             com.ibm.icu.util.TimeZone timeZone = toICUTimeZone(tz);
@@ -289,6 +347,10 @@ abstract class TimeZoneInfo {
         private static final long EPOCH = 0L;
         private static final boolean IGNORE_LOCAL_BEFORE_EPOCH = true;
 
+        // Offsets for dates before this limit are adjusted.
+        private static final long ADJUSTED_OFFSET_LIMIT = IGNORE_LOCAL_BEFORE_EPOCH ? EPOCH
+                : IGNORE_LOCAL ? LAST_LOCAL_TRANSITION + 1 : IGNORE_LMT ? LAST_LMT_TRANSITION + 1 : Long.MIN_VALUE;
+
         static {
             assert !((IGNORE_LMT | IGNORE_LOCAL) & (IGNORE_LMT | IGNORE_LOCAL_BEFORE_EPOCH)
                     & (IGNORE_LOCAL | IGNORE_LOCAL_BEFORE_EPOCH));
@@ -465,6 +527,31 @@ abstract class TimeZoneInfo {
             return timeZone.getStandardOffset(date);
         }
 
+        @Override
+        public long intervalStart(TimeZone tz, long date) {
+            DateTimeZone timeZone = toDateTimeZone(tz);
+            // previousTransition() returns the last instant before the transition.
+            long previous = timeZone.previousTransition(date + 1);
+            long start = previous != date + 1 ? previous + 1 : Long.MIN_VALUE;
+            // Don't let intervals cross the limit for adjusted offsets.
+            if (date >= ADJUSTED_OFFSET_LIMIT) {
+                return Math.max(start, ADJUSTED_OFFSET_LIMIT);
+            }
+            return start;
+        }
+
+        @Override
+        public long intervalEnd(TimeZone tz, long date) {
+            DateTimeZone timeZone = toDateTimeZone(tz);
+            long next = timeZone.nextTransition(date);
+            long end = next != date ? next : Long.MAX_VALUE;
+            // Don't let intervals cross the limit for adjusted offsets.
+            if (date < ADJUSTED_OFFSET_LIMIT) {
+                return Math.min(end, ADJUSTED_OFFSET_LIMIT);
+            }
+            return end;
+        }
+
         @Override
         public String getDisplayName(TimeZone tz, long date) {
             DateTimeZone timeZone = toDateTimeZone(tz);
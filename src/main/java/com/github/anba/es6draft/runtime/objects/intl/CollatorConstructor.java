@@ -16,6 +16,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import com.github.anba.es6draft.runtime.ExecutionContext;
 import com.github.anba.es6draft.runtime.Realm;
@@ -66,6 +67,51 @@ public final class CollatorConstructor extends BuiltinConstructor implements Ini
         return collator.availableLocales;
     }
 
+    /** Cached ICU collators, keyed by the resolved locale and options */
+    private final ServiceCache<Collator> collators = new ServiceCache<>();
+
+    /** Cached collator object for the default locale and options */
+    private CollatorObject defaultCollator;
+
+    /**
+     * Returns the cached ICU collator for {@code key} or creates a new collator if no cache entry is present.
+     * 
+     * @param realm
+     *            the realm object
+     * @param key
+     *            the cache key
+     * @param factory
+     *            the collator factory
+     * @return the ICU collator
+     */
+    static Collator getCollator(Realm realm, String key, Supplier<Collator> factory) {
+        CollatorConstructor collator = (CollatorConstructor) realm.getIntrinsic(Intrinsics.Intl_Collator);
+        return collator.collators.get(key, factory);
+    }
+
+    /**
+     * Returns a collator object for {@code locales} and {@code options}. If both arguments are undefined, a per-realm
+     * cached collator object is returned.
+     * 
+     * @param cx
+     *            the execution context
+     * @param locales
+     *            the locales array
+     * @param options
+     *            the options object
+     * @return the collator object
+     */
+    public static CollatorObject CachedCollator(ExecutionContext cx, Object locales, Object options) {
+        CollatorConstructor ctor = (CollatorConstructor) cx.getIntrinsic(Intrinsics.Intl_Collator);
+        if (Type.isUndefined(locales) && Type.isUndefined(options)) {
+            if (ctor.defaultCollator == null) {
+                ctor.defaultCollator = ctor.construct(cx, ctor, locales, options);
+            }
+            return ctor.defaultCollator;
+        }
+        return ctor.construct(cx, ctor, locales, options);
+    }
+
     /** [[relevantExtensionKeys]] */
     private static final List<ExtensionKey> relevantExtensionKeys = asList(ExtensionKey.co, ExtensionKey.kn,
             ExtensionKey.kf);
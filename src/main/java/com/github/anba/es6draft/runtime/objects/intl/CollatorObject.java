@@ -46,6 +46,8 @@ public final class CollatorObject extends OrdinaryObject {
 
     private Collator collator;
 
+    private final Realm realm;
+
     /**
      * Constructs a new Collator object.
      * 
@@ -54,6 +56,7 @@ public final class CollatorObject extends OrdinaryObject {
      */
     public CollatorObject(Realm realm) {
         super(realm);
+        this.realm = realm;
     }
 
     /**
@@ -63,11 +66,16 @@ public final class CollatorObject extends OrdinaryObject {
      */
     public Collator getCollator() {
         if (collator == null) {
-            collator = createCollator();
+            collator = CollatorConstructor.getCollator(realm, serviceKey(), this::createCollator);
         }
         return collator;
     }
 
+    private String serviceKey() {
+        return String.join("|", locale, usage, Boolean.toString(numeric), caseFirst, sensitivity,
+                Boolean.toString(ignorePunctuation));
+    }
+
     private Collator createCollator() {
         ULocale locale = ULocale.forLanguageTag(this.locale);
         if ("search".equals(usage)) {
@@ -113,7 +121,8 @@ public final class CollatorObject extends OrdinaryObject {
             throw new AssertionError();
         }
         collator.setAlternateHandlingShifted(ignorePunctuation);
-        return collator;
+        // Cached collators are shared between multiple Collator objects.
+        return collator.freeze();
     }
 
     /**
@@ -22,12 +22,15 @@ import java.text.CharacterIterator;
 import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TimeZone;
+import java.util.function.Supplier;
 
 import com.github.anba.es6draft.runtime.ExecutionContext;
 import com.github.anba.es6draft.runtime.Realm;
@@ -95,6 +98,72 @@ public final class DateTimeFormatConstructor extends BuiltinConstructor implemen
         return dateTimeFormat.availableLocales;
     }
 
+    /** Cached ICU date formats, keyed by the resolved locale, pattern and time zone */
+    private final ServiceCache<DateFormat> dateFormats = new ServiceCache<>();
+
+    /** Cached date-time format objects for the default locale and options, keyed by required and default fields */
+    private final HashMap<String, DateTimeFormatObject> defaultDateTimeFormats = new HashMap<>();
+
+    /** The time zone used for the cached default date-time format objects */
+    private TimeZone defaultTimeZone;
+
+    /**
+     * Returns the cached ICU date format for {@code key} or creates a new date format if no cache entry is present.
+     * 
+     * @param realm
+     *            the realm object
+     * @param key
+     *            the cache key
+     * @param factory
+     *            the date format factory
+     * @return the ICU date format
+     */
+    static DateFormat getDateFormat(Realm realm, String key, Supplier<DateFormat> factory) {
+        DateTimeFormatConstructor dateTimeFormat = (DateTimeFormatConstructor) realm
+                .getIntrinsic(Intrinsics.Intl_DateTimeFormat);
+        return dateTimeFormat.dateFormats.get(key, factory);
+    }
+
+    /**
+     * Returns a date-time format object for {@code locales} and {@code options}, using
+     * {@link #ToDateTimeOptions(ExecutionContext, Object, String, String) ToDateTimeOptions} to compute the actual
+     * options. If both arguments are undefined, a per-realm cached date-time format object is returned.
+     * 
+     * @param cx
+     *            the execution context
+     * @param locales
+     *            the locales array
+     * @param options
+     *            the options object
+     * @param required
+     *            the required date field
+     * @param defaults
+     *            the default date field
+     * @return the date-time format object
+     */
+    public static DateTimeFormatObject CachedDateTimeFormat(ExecutionContext cx, Object locales, Object options,
+            String required, String defaults) {
+        DateTimeFormatConstructor ctor = (DateTimeFormatConstructor) cx.getIntrinsic(Intrinsics.Intl_DateTimeFormat);
+        if (Type.isUndefined(locales) && Type.isUndefined(options)) {
+            TimeZone timeZone = cx.getRealm().getTimeZone();
+            if (ctor.defaultTimeZone != timeZone) {
+                // The default time zone was changed, clear all cached objects.
+                ctor.defaultDateTimeFormats.clear();
+                ctor.defaultTimeZone = timeZone;
+            }
+            String key = required + "|" + defaults;
+            DateTimeFormatObject dateTimeFormat = ctor.defaultDateTimeFormats.get(key);
+            if (dateTimeFormat == null) {
+                ScriptObject opts = ToDateTimeOptions(cx, options, required, defaults);
+                dateTimeFormat = ctor.construct(cx, ctor, locales, opts);
+                ctor.defaultDateTimeFormats.put(key, dateTimeFormat);
+            }
+            return dateTimeFormat;
+        }
+        ScriptObject opts = ToDateTimeOptions(cx, options, required, defaults);
+        return ctor.construct(cx, ctor, locales, opts);
+    }
+
     /** [[relevantExtensionKeys]] */
     private static final List<ExtensionKey> relevantExtensionKeys = asList(ExtensionKey.ca, ExtensionKey.hc,
             ExtensionKey.nu);
@@ -46,6 +46,8 @@ public final class DateTimeFormatObject extends OrdinaryObject {
 
     private DateFormat dateFormat;
 
+    private final Realm realm;
+
     /**
      * Constructs a new DateTimeFormat object.
      * 
@@ -54,6 +56,7 @@ public final class DateTimeFormatObject extends OrdinaryObject {
      */
     public DateTimeFormatObject(Realm realm) {
         super(realm);
+        this.realm = realm;
     }
 
     /**
@@ -63,11 +66,15 @@ public final class DateTimeFormatObject extends OrdinaryObject {
      */
     public DateFormat getDateFormat() {
         if (dateFormat == null) {
-            dateFormat = createDateFormat();
+            dateFormat = DateTimeFormatConstructor.getDateFormat(realm, serviceKey(), this::createDateFormat);
         }
         return dateFormat;
     }
 
+    private String serviceKey() {
+        return String.join("|", locale, pattern.get(), String.valueOf(timeZone));
+    }
+
     private DateFormat createDateFormat() {
         ULocale locale = ULocale.forLanguageTag(this.locale);
         // calendar and numberingSystem are already handled in language-tag
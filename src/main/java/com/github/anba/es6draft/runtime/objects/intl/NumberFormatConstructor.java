@@ -26,6 +26,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.IntConsumer;
+import java.util.function.Supplier;
 
 import com.github.anba.es6draft.runtime.ExecutionContext;
 import com.github.anba.es6draft.runtime.Realm;
@@ -84,6 +85,53 @@ public final class NumberFormatConstructor extends BuiltinConstructor implements
         return numberFormat.availableLocales;
     }
 
+    /** Cached ICU number formats, keyed by the resolved locale and options */
+    private final ServiceCache<NumberFormat> numberFormats = new ServiceCache<>();
+
+    /** Cached number format object for the default locale and options */
+    private NumberFormatObject defaultNumberFormat;
+
+    /**
+     * Returns the cached ICU number format for {@code key} or creates a new number format if no cache entry is
+     * present.
+     * 
+     * @param realm
+     *            the realm object
+     * @param key
+     *            the cache key
+     * @param factory
+     *            the number format factory
+     * @return the ICU number format
+     */
+    static NumberFormat getNumberFormat(Realm realm, String key, Supplier<NumberFormat> factory) {
+        NumberFormatConstructor numberFormat = (NumberFormatConstructor) realm
+                .getIntrinsic(Intrinsics.Intl_NumberFormat);
+        return numberFormat.numberFormats.get(key, factory);
+    }
+
+    /**
+     * Returns a number format object for {@code locales} and {@code options}. If both arguments are undefined, a
+     * per-realm cached number format object is returned.
+     * 
+     * @param cx
+     *            the execution context
+     * @param locales
+     *            the locales array
+     * @param options
+     *            the options object
+     * @return the number format object
+     */
+    public static NumberFormatObject CachedNumberFormat(ExecutionContext cx, Object locales, Object options) {
+        NumberFormatConstructor ctor = (NumberFormatConstructor) cx.getIntrinsic(Intrinsics.Intl_NumberFormat);
+        if (Type.isUndefined(locales) && Type.isUndefined(options)) {
+            if (ctor.defaultNumberFormat == null) {
+                ctor.defaultNumberFormat = ctor.construct(cx, ctor, locales, options);
+            }
+            return ctor.defaultNumberFormat;
+        }
+        return ctor.construct(cx, ctor, locales, options);
+    }
+
     /** [[relevantExtensionKeys]] */
     private static final List<ExtensionKey> relevantExtensionKeys = asList(ExtensionKey.nu);
 
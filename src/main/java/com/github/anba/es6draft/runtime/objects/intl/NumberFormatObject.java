@@ -60,6 +60,8 @@ public final class NumberFormatObject extends OrdinaryObject {
 
     private NumberFormat numberFormat;
 
+    private final Realm realm;
+
     /**
      * Constructs a new NumberFormat object.
      * 
@@ -68,6 +70,7 @@ public final class NumberFormatObject extends OrdinaryObject {
      */
     public NumberFormatObject(Realm realm) {
         super(realm);
+        this.realm = realm;
     }
 
     /**
@@ -77,11 +80,18 @@ public final class NumberFormatObject extends OrdinaryObject {
      */
     public NumberFormat getNumberFormat() {
         if (numberFormat == null) {
-            numberFormat = createNumberFormat();
+            numberFormat = NumberFormatConstructor.getNumberFormat(realm, serviceKey(), this::createNumberFormat);
         }
         return numberFormat;
     }
 
+    private String serviceKey() {
+        return String.join("|", locale, style, String.valueOf(currency), String.valueOf(currencyDisplay),
+                Integer.toString(minimumIntegerDigits), Integer.toString(minimumFractionDigits),
+                Integer.toString(maximumFractionDigits), Integer.toString(minimumSignificantDigits),
+                Integer.toString(maximumSignificantDigits), Boolean.toString(useGrouping));
+    }
+
     private NumberFormat createNumberFormat() {
         ULocale locale = ULocale.forLanguageTag(this.locale);
         int choice;
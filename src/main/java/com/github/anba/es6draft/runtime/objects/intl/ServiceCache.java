@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.objects.intl;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Per-realm cache for ICU service objects, keyed by the resolved locale and options.
+ * <p>
+ * Instances are not thread-safe, callers must ensure all accesses happen from the realm's thread.
+ */
+final class ServiceCache<SERVICE> {
+    private static final int DEFAULT_MAX_SIZE = 16;
+    private final Cache<SERVICE> cache;
+
+    @SuppressWarnings("serial")
+    private static final class Cache<SERVICE> extends LinkedHashMap<String, SERVICE> {
+        private final int maxSize;
+
+        Cache(int maxSize) {
+            super(16, .75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SERVICE> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    /**
+     * Constructs a new service cache.
+     */
+    ServiceCache() {
+        this.cache = new Cache<>(DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Returns the cached service object for {@code key}, or creates and caches a new service object if no cache entry
+     * is present.
+     *
+     * @param key
+     *            the cache key
+     * @param factory
+     *            the service object factory
+     * @return the service object
+     */
+    SERVICE get(String key, Supplier<SERVICE> factory) {
+        SERVICE service = cache.get(key);
+        if (service == null) {
+            service = factory.get();
+            cache.put(key, service);
+        }
+        return service;
+    }
+}
@@ -142,8 +142,7 @@ public final class NumberPrototype extends NumberObject implements Initializable
             /* steps 1-2 */
             double x = thisNumberValue(cx, thisValue, "Number.prototype.toLocaleString");
             /* steps 3-4 */
-            NumberFormatConstructor ctor = (NumberFormatConstructor) cx.getIntrinsic(Intrinsics.Intl_NumberFormat);
-            NumberFormatObject numberFormat = ctor.construct(cx, ctor, locales, options);
+            NumberFormatObject numberFormat = NumberFormatConstructor.CachedNumberFormat(cx, locales, options);
             /* step 5 */
             return FormatNumber(numberFormat, x);
         }
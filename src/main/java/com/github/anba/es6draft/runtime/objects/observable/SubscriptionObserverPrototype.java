@@ -147,7 +147,7 @@ public final class SubscriptionObserverPrototype extends OrdinaryObject implemen
             SubscriptionObject subscription = o.getSubscription();
             /* step 5 */
             if (SubscriptionClosed(subscription)) {
-                throw ScriptException.create(exception);
+                throw ScriptException.create(exception, cx);
             }
             /* step 6 */
             ScriptObject observer = subscription.getObserver();
@@ -316,7 +316,7 @@ public final class PromisePrototype extends OrdinaryObject implements Initializa
 
         @Override
         public Object call(ExecutionContext callerContext, Object thisValue, Object... args) {
-            throw ScriptException.create(reason);
+            throw ScriptException.create(reason, callerContext);
         }
     }
 
@@ -469,8 +469,7 @@ public final class StringPrototype extends StringObject implements Initializable
             /* step 3 */
             String t = ToFlatString(cx, that);
             /* step 4 */
-            CollatorConstructor ctor = (CollatorConstructor) cx.getIntrinsic(Intrinsics.Intl_Collator);
-            CollatorObject collator = ctor.construct(cx, ctor, locales, options);
+            CollatorObject collator = CollatorConstructor.CachedCollator(cx, locales, options);
             /* step 5 */
             return CompareStrings(collator, s, t);
         }
@@ -8,6 +8,8 @@ package com.github.anba.es6draft.runtime.types;
 
 import static com.github.anba.es6draft.runtime.types.Undefined.UNDEFINED;
 
+import java.util.function.Supplier;
+
 /**
  * <h1>6 ECMAScript Data Types and Values</h1><br>
  * <h2>6.1 ECMAScript Language Types</h2><br>
@@ -21,6 +23,17 @@ public final class Property implements Cloneable {
         Data, Accessor
     }
 
+    /**
+     * Placeholder for data property values which are computed on first access.
+     */
+    private static final class LazyValue {
+        private final Supplier<?> supplier;
+
+        LazyValue(Supplier<?> supplier) {
+            this.supplier = supplier;
+        }
+    }
+
     private PropertyType type;
     private Object value;
     private Callable getter;
@@ -85,6 +98,24 @@ public final class Property implements Cloneable {
         this.configurable = configurable;
     }
 
+    /**
+     * Create a new {@link Property} object for a data-property whose value is computed on first access.
+     * 
+     * @param value
+     *            the supplier for the property value
+     * @param writable
+     *            the enumerable flag
+     * @param enumerable
+     *            the writable flag
+     * @param configurable
+     *            the configurable flag
+     * @return the new property object
+     */
+    public static Property lazyDataProperty(Supplier<?> value, boolean writable, boolean enumerable,
+            boolean configurable) {
+        return new Property(new LazyValue(value), writable, enumerable, configurable);
+    }
+
     /**
      * Create a new {@link Property} object for an accessor-property.
      * 
@@ -231,6 +262,10 @@ public final class Property implements Cloneable {
      * @return the value field
      */
     public Object getValue() {
+        Object value = this.value;
+        if (value instanceof LazyValue) {
+            this.value = value = ((LazyValue) value).supplier.get();
+        }
         return value;
     }
 
@@ -22,6 +22,7 @@ import java.util.Set;
 
 import com.github.anba.es6draft.compiler.CompilationException;
 import com.github.anba.es6draft.parser.ParserException;
+import com.github.anba.es6draft.runtime.DeclarativeEnvironmentRecord;
 import com.github.anba.es6draft.runtime.EnvironmentRecord;
 import com.github.anba.es6draft.runtime.ExecutionContext;
 import com.github.anba.es6draft.runtime.LexicalEnvironment;
@@ -54,6 +55,23 @@ public final class ModuleNamespaceObject extends OrdinaryObject {
 
     private List<String> sortedExports;
 
+    /** Resolved export bindings, memoized on first access */
+    private final HashMap<String, ExportBinding> resolvedExports = new HashMap<>();
+
+    /**
+     * Export resolution is fixed once the module is linked, so only the target binding or namespace object needs to be
+     * looked up after the first access.
+     */
+    private static final class ExportBinding {
+        final ResolvedBinding resolved;
+        DeclarativeEnvironmentRecord.Binding binding;
+        ScriptObject namespace;
+
+        ExportBinding(ResolvedBinding resolved) {
+            this.resolved = resolved;
+        }
+    }
+
     /**
      * Constructs a new Module object.
      * 
@@ -257,6 +275,21 @@ public final class ModuleNamespaceObject extends OrdinaryObject {
     /** 9.4.6.7 [[Get]] (P, Receiver) */
     @Override
     public Object get(ExecutionContext cx, String propertyKey, Object receiver) {
+        ExportBinding export = resolvedExports.get(propertyKey);
+        if (export != null) {
+            DeclarativeEnvironmentRecord.Binding b = export.binding;
+            if (b != null) {
+                /* steps 12-13 (fast path) */
+                if (!b.isInitialized()) {
+                    throw newReferenceError(cx, Messages.Key.UninitializedBinding, export.resolved.getBindingName());
+                }
+                return b.getValue();
+            }
+            if (export.namespace != null) {
+                /* step ? (Extension: Export From, fast path) */
+                return export.namespace;
+            }
+        }
         /* steps 1-2 (not applicable) */
         /* step 3 */
         Set<String> exports = this.exports;
@@ -268,15 +301,20 @@ public final class ModuleNamespaceObject extends OrdinaryObject {
         ModuleRecord m = this.module;
         /* step 6 */
         ResolvedBinding binding;
-        try {
-            binding = m.resolveExport(propertyKey, new HashMap<>());
-        } catch (IOException e) {
-            throw Errors.newInternalError(cx, e, Messages.Key.ModulesIOException, e.getMessage());
-        } catch (ResolutionException | MalformedNameException | ParserException | CompilationException e) {
-            throw e.toScriptException(cx);
+        if (export != null) {
+            binding = export.resolved;
+        } else {
+            try {
+                binding = m.resolveExport(propertyKey, new HashMap<>());
+            } catch (IOException e) {
+                throw Errors.newInternalError(cx, e, Messages.Key.ModulesIOException, e.getMessage());
+            } catch (ResolutionException | MalformedNameException | ParserException | CompilationException e) {
+                throw e.toScriptException(cx);
+            }
+            /* step 7 */
+            assert binding != null && !binding.isAmbiguous();
+            resolvedExports.put(propertyKey, export = new ExportBinding(binding));
         }
-        /* step 7 */
-        assert binding != null && !binding.isAmbiguous();
         /* step 8 */
         ModuleRecord targetModule = binding.getModule();
         /* step 9 */
@@ -290,7 +328,7 @@ public final class ModuleNamespaceObject extends OrdinaryObject {
         /* step ? (Extension: Export From) */
         if (binding.isNameSpaceExport()) {
             try {
-                return GetModuleNamespace(cx, targetModule);
+                return export.namespace = GetModuleNamespace(cx, targetModule);
             } catch (IOException e) {
                 throw Errors.newInternalError(cx, Messages.Key.ModulesIOException, e.getMessage());
             } catch (MalformedNameException | ResolutionException e) {
@@ -299,6 +337,13 @@ public final class ModuleNamespaceObject extends OrdinaryObject {
         }
         /* step 12 */
         EnvironmentRecord targetEnvRec = targetEnv.getEnvRec();
+        if (targetEnvRec instanceof DeclarativeEnvironmentRecord) {
+            DeclarativeEnvironmentRecord.Binding b = ((DeclarativeEnvironmentRecord) targetEnvRec)
+                    .getBinding(binding.getBindingName());
+            if (b != null && !b.isDeletable()) {
+                export.binding = b;
+            }
+        }
         /* step 13 */
         return targetEnvRec.getBindingValue(binding.getBindingName(), true);
     }
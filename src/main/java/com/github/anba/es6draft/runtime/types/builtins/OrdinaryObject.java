@@ -45,12 +45,12 @@ public class OrdinaryObject implements ScriptObject {
 
     // Map for String valued property keys
     private final PropertyMap<String, Property> properties;
-    // Map for Symbol valued property keys
-    private final PropertyMap<Symbol, Property> symbolProperties;
+    // Map for Symbol valued property keys, allocated on first use
+    private PropertyMap<Symbol, Property> symbolProperties;
     // Map for indexed properties [0, 2^53 - 1]
     private final IndexedMap<Property> indexedProperties;
-    // Map for private names
-    private final HashMap<PrivateName, Property> privateNames;
+    // Map for private names, allocated on first use
+    private HashMap<PrivateName, Property> privateNames;
 
     /** [[Realm]] */
     @SuppressWarnings("unused")
@@ -71,9 +71,7 @@ public class OrdinaryObject implements ScriptObject {
     public OrdinaryObject(Realm realm) {
         this.realm = realm;
         this.properties = new PropertyMap<>(STRING_PROPERTIES_DEFAULT_INITIAL_CAPACITY);
-        this.symbolProperties = new PropertyMap<>(SYMBOL_PROPERTIES_DEFAULT_INITIAL_CAPACITY);
         this.indexedProperties = new IndexedMap<>();
-        this.privateNames = new HashMap<>(PRIVATE_NAMES_DEFAULT_INITIAL_CAPACITY);
     }
 
     /**
@@ -93,7 +91,15 @@ public class OrdinaryObject implements ScriptObject {
     public String toString() {
         return String.format("%s@%x: indexed=%s, strings=%s, symbols=%s, private=%s, extensible=%b",
                 getClass().getSimpleName(), System.identityHashCode(this), indexedProperties, properties.keySet(),
-                symbolProperties.keySet(), privateNames.keySet(), extensible);
+                symbolProperties != null ? symbolProperties.keySet() : "[]",
+                privateNames != null ? privateNames.keySet() : "[]", extensible);
+    }
+
+    private PropertyMap<Symbol, Property> symbolProperties() {
+        if (symbolProperties == null) {
+            symbolProperties = new PropertyMap<>(SYMBOL_PROPERTIES_DEFAULT_INITIAL_CAPACITY);
+        }
+        return symbolProperties;
     }
 
     final void defineOwnPropertiesUncheckedAtFront(Consumer<BiConsumer<String, Property>> newProperties) {
@@ -119,8 +125,8 @@ public class OrdinaryObject implements ScriptObject {
 
     public final void infallibleDefineOwnProperty(Symbol propertyKey, Property property) {
         assert extensible : "object not extensible";
-        assert !symbolProperties.containsKey(propertyKey) : "illegal property = " + propertyKey;
-        symbolProperties.put(propertyKey, property);
+        assert lookupOwnProperty(propertyKey) == null : "illegal property = " + propertyKey;
+        symbolProperties().put(propertyKey, property);
     }
 
     public final Property lookupOwnProperty(String propertyKey) {
@@ -129,7 +135,7 @@ public class OrdinaryObject implements ScriptObject {
     }
 
     public final Property lookupOwnProperty(Symbol propertyKey) {
-        return symbolProperties.get(propertyKey);
+        return symbolProperties != null ? symbolProperties.get(propertyKey) : null;
     }
 
     public final void infallibleSetPrototype(ScriptObject prototype) {
@@ -467,7 +473,7 @@ public class OrdinaryObject implements ScriptObject {
      */
     protected final boolean ordinaryHasOwnProperty(Symbol propertyKey) {
         // optimized: HasOwnProperty(cx, this, propertyKey)
-        return symbolProperties.containsKey(propertyKey);
+        return symbolProperties != null && symbolProperties.containsKey(propertyKey);
     }
 
     /** 9.1.1 [[GetPrototypeOf]] ( ) */
@@ -622,7 +628,7 @@ public class OrdinaryObject implements ScriptObject {
      */
     protected final Property ordinaryGetOwnProperty(Symbol propertyKey) {
         /* steps 1-9 (NB: returns live view on the property, not a property descriptor object!) */
-        return symbolProperties.get(propertyKey);
+        return symbolProperties != null ? symbolProperties.get(propertyKey) : null;
     }
 
     /** 9.1.6 [[DefineOwnProperty]] (P, Desc) */
@@ -706,7 +712,9 @@ public class OrdinaryObject implements ScriptObject {
         /* step 2 */
         boolean extensible = isExtensible();
         /* step 3 */
-        return validateAndApplyPropertyDescriptor(symbolProperties, propertyKey, extensible, desc, current);
+        // Only allocate the symbol property map when a new property is added.
+        PropertyMap<Symbol, Property> object = current == null && extensible ? symbolProperties() : symbolProperties;
+        return validateAndApplyPropertyDescriptor(object, propertyKey, extensible, desc, current);
     }
 
     /**
@@ -1464,7 +1472,9 @@ public class OrdinaryObject implements ScriptObject {
         }
         /* step 4 */
         if (desc.isConfigurable()) {
-            symbolProperties.remove(propertyKey);
+            if (symbolProperties != null) {
+                symbolProperties.remove(propertyKey);
+            }
             return true;
         }
         /* step 5 */
@@ -1523,7 +1533,7 @@ public class OrdinaryObject implements ScriptObject {
      *            the target list
      */
     protected void ownPropertySymbols(List<? super Symbol> list) {
-        if (!symbolProperties.isEmpty()) {
+        if (symbolProperties != null && !symbolProperties.isEmpty()) {
             list.addAll(symbolProperties.keySet());
         }
     }
@@ -1581,12 +1591,15 @@ public class OrdinaryObject implements ScriptObject {
 
     @Override
     public final Property get(PrivateName name) {
-        return privateNames.get(name);
+        return privateNames != null ? privateNames.get(name) : null;
     }
 
     @Override
     public final void define(PrivateName name, Property property) {
-        assert !privateNames.containsKey(name);
+        assert get(name) == null;
+        if (privateNames == null) {
+            privateNames = new HashMap<>(PRIVATE_NAMES_DEFAULT_INITIAL_CAPACITY);
+        }
         privateNames.put(name, property);
     }
 
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.scripting;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.github.anba.es6draft.Script;
+import com.github.anba.es6draft.compiler.CompilationException;
+import com.github.anba.es6draft.parser.ParserException;
+
+/**
+ * Cache for compiled scripting sources, shared by all script engines created from the same
+ * {@link ScriptEngineFactoryImpl}.
+ * <p>
+ * Entries are keyed by the source name and the source code, the least recently used entry is evicted when the cache
+ * is full. The cache is safe for use from multiple threads.
+ */
+final class CompiledScriptCache {
+    private final Map<CacheKey, Script> cache;
+
+    @SuppressWarnings("serial")
+    private static final class Cache extends LinkedHashMap<CacheKey, Script> {
+        private final int maxSize;
+
+        Cache(int maxSize) {
+            super(16, .75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<CacheKey, Script> eldest) {
+            return size() > maxSize;
+        }
+    }
+
+    private static final class CacheKey {
+        private final String sourceName;
+        private final String sourceCode;
+
+        CacheKey(String sourceName, String sourceCode) {
+            this.sourceName = sourceName;
+            this.sourceCode = sourceCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null || obj.getClass() != CacheKey.class) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return sourceName.equals(other.sourceName) && sourceCode.equals(other.sourceCode);
+        }
+
+        @Override
+        public int hashCode() {
+            // String hash codes are cached, so repeated look-ups don't need to rehash the source code.
+            return 31 * sourceName.hashCode() + sourceCode.hashCode();
+        }
+    }
+
+    @FunctionalInterface
+    interface ScriptCompiler {
+        Script compile(String sourceCode) throws ParserException, CompilationException;
+    }
+
+    /**
+     * Constructs a new compiled script cache.
+     *
+     * @param maxSize
+     *            the maximum number of cached scripts, a value of zero disables caching
+     */
+    CompiledScriptCache(int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.cache = maxSize > 0 ? Collections.synchronizedMap(new Cache(maxSize)) : null;
+    }
+
+    /**
+     * Returns the cached script for the source code or compiles and caches a new script if no cache entry is present.
+     *
+     * @param sourceName
+     *            the source name
+     * @param sourceCode
+     *            the source code
+     * @param compiler
+     *            the script compiler
+     * @return the compiled script
+     * @throws ParserException
+     *             if the source contains any syntax errors
+     * @throws CompilationException
+     *             if the parsed source could not be compiled
+     */
+    Script get(String sourceName, String sourceCode, ScriptCompiler compiler)
+            throws ParserException, CompilationException {
+        if (cache == null) {
+            return compiler.compile(sourceCode);
+        }
+        CacheKey cacheKey = new CacheKey(sourceName, sourceCode);
+        Script cachedScript = cache.get(cacheKey);
+        if (cachedScript != null) {
+            return cachedScript;
+        }
+        // Compile outside of the lock, concurrent requests for the same source may compile it more than once.
+        Script script = compiler.compile(sourceCode);
+        cache.put(cacheKey, script);
+        return script;
+    }
+
+    /**
+     * Returns the number of cached scripts.
+     *
+     * @return the number of cached scripts
+     */
+    int size() {
+        return cache != null ? cache.size() : 0;
+    }
+}
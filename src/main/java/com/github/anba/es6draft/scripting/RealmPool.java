@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.scripting;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+import com.github.anba.es6draft.runtime.Realm;
+
+/**
+ * Pool of pre-initialized realms for a single script engine.
+ * <p>
+ * Realms are checked out when a script is evaluated in a {@link javax.script.ScriptContext ScriptContext} without
+ * engine bindings of its own and when new bindings are created. Checked out realms are never returned to the pool,
+ * because scripts may have modified their global state. Instead the engine refills the pool after each evaluation.
+ * Pooled realms which were not checked out within the idle timeout are evicted to release their memory.
+ * <p>
+ * Instances are not thread-safe, callers must ensure all accesses happen from the engine's thread. Realms share the
+ * engine's world, so they must not be created in the background.
+ */
+final class RealmPool {
+    private final Supplier<Realm> realmFactory;
+    private final int maxSize;
+    private final long idleTimeoutNanos;
+    private final ArrayDeque<PooledRealm> pool = new ArrayDeque<>();
+
+    private static final class PooledRealm {
+        final Realm realm;
+        final long createdAt;
+
+        PooledRealm(Realm realm, long createdAt) {
+            this.realm = realm;
+            this.createdAt = createdAt;
+        }
+    }
+
+    /**
+     * Constructs a new realm pool.
+     *
+     * @param realmFactory
+     *            the realm factory
+     * @param maxSize
+     *            the maximum number of pooled realms
+     * @param idleTimeoutNanos
+     *            the idle timeout in nano-seconds
+     */
+    RealmPool(Supplier<Realm> realmFactory, int maxSize, long idleTimeoutNanos) {
+        if (maxSize < 0 || idleTimeoutNanos <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.realmFactory = realmFactory;
+        this.maxSize = maxSize;
+        this.idleTimeoutNanos = idleTimeoutNanos;
+    }
+
+    /**
+     * Creates new realms until the pool is full. Errors from the realm factory are propagated to the caller.
+     */
+    void fill() {
+        evictIdle(System.nanoTime());
+        while (pool.size() < maxSize) {
+            pool.addLast(new PooledRealm(realmFactory.get(), System.nanoTime()));
+        }
+    }
+
+    /**
+     * Checks out a pooled realm or creates a new realm if the pool is empty.
+     *
+     * @return the realm
+     */
+    Realm checkout() {
+        evictIdle(System.nanoTime());
+        PooledRealm pooled = pool.pollFirst();
+        if (pooled != null) {
+            return pooled.realm;
+        }
+        return realmFactory.get();
+    }
+
+    /**
+     * Returns the number of pooled realms.
+     *
+     * @return the number of pooled realms
+     */
+    int size() {
+        return pool.size();
+    }
+
+    private void evictIdle(long now) {
+        // Realms are appended in creation order, so the oldest realm is always at the head.
+        for (PooledRealm pooled; (pooled = pool.peekFirst()) != null && now - pooled.createdAt >= idleTimeoutNanos;) {
+            pool.pollFirst();
+        }
+    }
+}
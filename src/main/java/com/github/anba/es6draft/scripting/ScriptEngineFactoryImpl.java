@@ -14,6 +14,7 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
@@ -22,6 +23,69 @@ import javax.script.ScriptEngineFactory;
  * Concrete implementation of the {@link ScriptEngineFactory} interface.
  */
 public final class ScriptEngineFactoryImpl implements ScriptEngineFactory {
+    private static final int DEFAULT_SCRIPT_CACHE_SIZE = 64;
+    private static final int DEFAULT_REALM_POOL_SIZE = 0;
+    private static final long DEFAULT_REALM_IDLE_TIMEOUT = TimeUnit.MINUTES.toNanos(1);
+
+    private final CompiledScriptCache scriptCache;
+    private final int realmPoolSize;
+    private final long realmIdleTimeoutNanos;
+
+    /**
+     * Constructs a new script engine factory with the default script cache and realm pool settings.
+     */
+    public ScriptEngineFactoryImpl() {
+        this(DEFAULT_SCRIPT_CACHE_SIZE, DEFAULT_REALM_POOL_SIZE, DEFAULT_REALM_IDLE_TIMEOUT, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Constructs a new script engine factory.
+     * 
+     * @param scriptCacheSize
+     *            the maximum number of compiled scripts shared by all engines of this factory, zero disables caching
+     * @param realmPoolSize
+     *            the number of pre-initialized realms per engine
+     * @param realmIdleTimeout
+     *            the time after which unused pre-initialized realms are evicted
+     * @param unit
+     *            the time unit of {@code realmIdleTimeout}
+     */
+    public ScriptEngineFactoryImpl(int scriptCacheSize, int realmPoolSize, long realmIdleTimeout, TimeUnit unit) {
+        if (realmPoolSize < 0 || realmIdleTimeout <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.scriptCache = new CompiledScriptCache(scriptCacheSize);
+        this.realmPoolSize = realmPoolSize;
+        this.realmIdleTimeoutNanos = unit.toNanos(realmIdleTimeout);
+    }
+
+    /**
+     * Returns the compiled script cache shared by all engines of this factory.
+     * 
+     * @return the compiled script cache
+     */
+    CompiledScriptCache getScriptCache() {
+        return scriptCache;
+    }
+
+    /**
+     * Returns the number of pre-initialized realms per engine.
+     * 
+     * @return the realm pool size
+     */
+    int getRealmPoolSize() {
+        return realmPoolSize;
+    }
+
+    /**
+     * Returns the idle timeout for pre-initialized realms in nano-seconds.
+     * 
+     * @return the realm idle timeout
+     */
+    long getRealmIdleTimeout() {
+        return realmIdleTimeoutNanos;
+    }
+
     @Override
     public String getEngineName() {
         return "es6draft";
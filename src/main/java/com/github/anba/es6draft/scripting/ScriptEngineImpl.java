@@ -56,6 +56,7 @@ final class ScriptEngineImpl extends AbstractScriptEngine implements ScriptEngin
     // 'scripting' parser-option when evaluating the source code.
     private final ScriptLoader scriptingLoader;
     private final World world;
+    private final RealmPool realmPool;
 
     ScriptEngineImpl(ScriptEngineFactoryImpl factory) {
         this.factory = factory;
@@ -74,7 +75,10 @@ final class ScriptEngineImpl extends AbstractScriptEngine implements ScriptEngin
 
         this.world = new World(context);
         this.scriptingLoader = new ScriptLoader(scriptingContext);
+        this.realmPool = new RealmPool(this::newScriptingRealm, factory.getRealmPoolSize(),
+                factory.getRealmIdleTimeout());
         this.context.setBindings(createBindings(), ScriptContext.ENGINE_SCOPE);
+        this.realmPool.fill();
     }
 
     private static final class ScriptingRealmData extends RealmData {
@@ -96,6 +100,10 @@ final class ScriptEngineImpl extends AbstractScriptEngine implements ScriptEngin
         }
     }
 
+    RealmPool getRealmPool() {
+        return realmPool;
+    }
+
     @Override
     public ScriptEngineFactory getFactory() {
         return factory;
@@ -103,7 +111,7 @@ final class ScriptEngineImpl extends AbstractScriptEngine implements ScriptEngin
 
     @Override
     public Bindings createBindings() {
-        return new GlobalBindings(newScriptingRealm());
+        return new GlobalBindings(realmPool.checkout());
     }
 
     @Override
@@ -166,7 +174,8 @@ final class ScriptEngineImpl extends AbstractScriptEngine implements ScriptEngin
     private Script script(String sourceCode, ScriptContext context) throws javax.script.ScriptException {
         Source source = createSource(context);
         try {
-            return scriptingLoader.script(source, sourceCode);
+            return factory.getScriptCache().get(source.getName(), sourceCode,
+                    code -> scriptingLoader.script(source, code));
         } catch (ParserException e) {
             throw new javax.script.ScriptException(e.getMessage(), e.getFile(), e.getLine(), e.getColumn());
         } catch (CompilationException e) {
@@ -175,14 +184,13 @@ final class ScriptEngineImpl extends AbstractScriptEngine implements ScriptEngin
     }
 
     private Script script(Reader reader, ScriptContext context) throws javax.script.ScriptException {
-        Source source = createSource(context);
+        String sourceCode;
         try {
-            return scriptingLoader.script(source, reader);
-        } catch (ParserException e) {
-            throw new javax.script.ScriptException(e.getMessage(), e.getFile(), e.getLine(), e.getColumn());
-        } catch (CompilationException | IOException e) {
+            sourceCode = ScriptLoader.readFully(reader);
+        } catch (IOException e) {
             throw new javax.script.ScriptException(e);
         }
+        return script(sourceCode, context);
     }
 
     Object eval(Script script, ScriptContext context) throws javax.script.ScriptException {
@@ -196,6 +204,8 @@ final class ScriptEngineImpl extends AbstractScriptEngine implements ScriptEngin
                     realm.getGlobalEnv(), new ScriptContextEnvironmentRecord(realm.defaultContext(), context)));
             Object result = script.evaluate(evalCxt);
             realm.getWorld().runEventLoop();
+            // Refill the pool on the engine's thread after the evaluation has completed.
+            realmPool.fill();
             return TypeConverter.toJava(result);
         } catch (ScriptException e) {
             throw new javax.script.ScriptException(e);
@@ -222,6 +232,8 @@ final class ScriptEngineImpl extends AbstractScriptEngine implements ScriptEngin
             }
             Object result = ((Callable) func).call(cx, thisValue, arguments);
             realm.getWorld().runEventLoop();
+            // Refill the pool on the engine's thread after the evaluation has completed.
+            realmPool.fill();
             return TypeConverter.toJava(result);
         } catch (ScriptException e) {
             throw new javax.script.ScriptException(e);
@@ -254,7 +266,7 @@ final class ScriptEngineImpl extends AbstractScriptEngine implements ScriptEngin
                 return realm;
             }
         }
-        // Otherwise create a new realm.
-        return newScriptingRealm();
+        // Otherwise use a new realm.
+        return realmPool.checkout();
     }
 }
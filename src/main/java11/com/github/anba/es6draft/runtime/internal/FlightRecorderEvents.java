@@ -0,0 +1,293 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.internal;
+
+import java.io.IOException;
+import java.lang.invoke.MethodType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JDK Flight Recorder implementation of {@link RuntimeEvents}.
+ */
+final class FlightRecorderEvents implements RuntimeEvents.Recorder {
+    private static final String CATEGORY = "es6draft";
+
+    @Name("es6draft.Parse")
+    @Label("Parse")
+    @Category({ CATEGORY, "Parser" })
+    @Description("Parsing of scripts, modules and functions")
+    static final class ParseEvent extends Event {
+        @Label("Source Name")
+        String sourceName;
+
+        @Label("Kind")
+        String kind;
+
+        @Label("Source Size")
+        @Description("Source size in characters, or in bytes for files")
+        long sourceSize;
+    }
+
+    @Name("es6draft.Compile")
+    @Label("Compile")
+    @Category({ CATEGORY, "Compiler" })
+    @Description("Bytecode generation of scripts, modules and functions")
+    static final class CompileEvent extends Event {
+        @Label("Source Name")
+        String sourceName;
+
+        @Label("Kind")
+        String kind;
+
+        @Label("Class Name")
+        String className;
+    }
+
+    @Name("es6draft.DefineClasses")
+    @Label("Define Classes")
+    @Category({ CATEGORY, "Compiler" })
+    @Description("Definition and loading of generated classes")
+    static final class DefineClassesEvent extends Event {
+        @Label("Source Name")
+        String sourceName;
+
+        @Label("Class Name")
+        String className;
+
+        @Label("Class Count")
+        int classCount;
+
+        @Label("Bytecode Size")
+        @DataAmount
+        long bytecodeSize;
+    }
+
+    @Name("es6draft.Job")
+    @Label("Job")
+    @Category({ CATEGORY, "Event Loop" })
+    @Description("Execution of a single job")
+    @StackTrace(false)
+    static final class JobEvent extends Event {
+        @Label("Kind")
+        String kind;
+
+        @Label("Job Class")
+        Class<?> jobClass;
+
+        @Label("Queue Depth")
+        @Description("Number of pending jobs in the same queue")
+        int queueDepth;
+    }
+
+    @Name("es6draft.EventLoop")
+    @Label("Event Loop")
+    @Category({ CATEGORY, "Event Loop" })
+    @Description("Execution of the event loop until all job queues are empty")
+    static final class EventLoopEvent extends Event {
+        @Label("Job Count")
+        int jobCount;
+    }
+
+    @Name("es6draft.RealmInitialization")
+    @Label("Realm Initialization")
+    @Category({ CATEGORY, "Runtime" })
+    @Description("Initialization of a host defined realm")
+    static final class RealmInitializationEvent extends Event {
+    }
+
+    @Name("es6draft.RegExpParse")
+    @Label("RegExp Parse")
+    @Category({ CATEGORY, "Parser" })
+    @Description("Parsing of regular expression patterns")
+    static final class RegExpParseEvent extends Event {
+        @Label("Pattern")
+        String pattern;
+
+        @Label("Flags")
+        String flags;
+
+        @Label("Matcher")
+        Class<?> matcher;
+    }
+
+    @Name("es6draft.CallSiteLink")
+    @Label("Call Site Link")
+    @Category({ CATEGORY, "Runtime" })
+    @Description("Linking of an invokedynamic call site to a new target")
+    static final class CallSiteLinkEvent extends Event {
+        @Label("Call Site Type")
+        String type;
+
+        @Label("Generic")
+        @Description("Linked to the generic target")
+        boolean generic;
+
+        @Label("Fallback")
+        @Description("Relinked after a guard failure")
+        boolean fallback;
+    }
+
+    private static final int MAX_PATTERN_LENGTH = 256;
+
+    @Override
+    public Object begin(RuntimeEvents.Type type) {
+        Event event;
+        switch (type) {
+        case Parse:
+            event = new ParseEvent();
+            break;
+        case Compile:
+            event = new CompileEvent();
+            break;
+        case DefineClasses:
+            event = new DefineClassesEvent();
+            break;
+        case Job:
+            event = new JobEvent();
+            break;
+        case EventLoop:
+            event = new EventLoopEvent();
+            break;
+        case RealmInitialization:
+            event = new RealmInitializationEvent();
+            break;
+        case RegExpParse:
+            event = new RegExpParseEvent();
+            break;
+        default:
+            throw new AssertionError();
+        }
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void endParse(Object event, Source source, String kind, long size) {
+        ParseEvent parseEvent = (ParseEvent) event;
+        parseEvent.end();
+        if (parseEvent.shouldCommit()) {
+            parseEvent.sourceName = source.getName();
+            parseEvent.kind = kind;
+            parseEvent.sourceSize = size;
+            parseEvent.commit();
+        }
+    }
+
+    @Override
+    public void endParse(Object event, Source source, String kind, Path file) {
+        ParseEvent parseEvent = (ParseEvent) event;
+        parseEvent.end();
+        if (parseEvent.shouldCommit()) {
+            parseEvent.sourceName = source.getName();
+            parseEvent.kind = kind;
+            parseEvent.sourceSize = fileSize(file);
+            parseEvent.commit();
+        }
+    }
+
+    private static long fileSize(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public void endCompile(Object event, Source source, String kind, String className) {
+        CompileEvent compileEvent = (CompileEvent) event;
+        compileEvent.end();
+        if (compileEvent.shouldCommit()) {
+            compileEvent.sourceName = source.getName();
+            compileEvent.kind = kind;
+            compileEvent.className = className;
+            compileEvent.commit();
+        }
+    }
+
+    @Override
+    public void endDefineClasses(Object event, Source source, String className, int classCount,
+            long bytecodeSize) {
+        DefineClassesEvent defineEvent = (DefineClassesEvent) event;
+        defineEvent.end();
+        if (defineEvent.shouldCommit()) {
+            defineEvent.sourceName = source.getName();
+            defineEvent.className = className;
+            defineEvent.classCount = classCount;
+            defineEvent.bytecodeSize = bytecodeSize;
+            defineEvent.commit();
+        }
+    }
+
+    @Override
+    public void endJob(Object event, String kind, Object job, Collection<?> queue) {
+        JobEvent jobEvent = (JobEvent) event;
+        jobEvent.end();
+        if (jobEvent.shouldCommit()) {
+            jobEvent.kind = kind;
+            jobEvent.jobClass = job.getClass();
+            jobEvent.queueDepth = queue.size();
+            jobEvent.commit();
+        }
+    }
+
+    @Override
+    public void endEventLoop(Object event, int jobCount) {
+        EventLoopEvent loopEvent = (EventLoopEvent) event;
+        loopEvent.end();
+        if (loopEvent.shouldCommit()) {
+            loopEvent.jobCount = jobCount;
+            loopEvent.commit();
+        }
+    }
+
+    @Override
+    public void endRealmInitialization(Object event) {
+        RealmInitializationEvent realmEvent = (RealmInitializationEvent) event;
+        realmEvent.end();
+        if (realmEvent.shouldCommit()) {
+            realmEvent.commit();
+        }
+    }
+
+    @Override
+    public void endRegExpParse(Object event, String pattern, String flags, Object matcher) {
+        RegExpParseEvent regExpEvent = (RegExpParseEvent) event;
+        regExpEvent.end();
+        if (regExpEvent.shouldCommit()) {
+            regExpEvent.pattern = pattern.length() <= MAX_PATTERN_LENGTH ? pattern
+                    : pattern.substring(0, MAX_PATTERN_LENGTH);
+            regExpEvent.flags = flags;
+            regExpEvent.matcher = matcher.getClass();
+            regExpEvent.commit();
+        }
+    }
+
+    @Override
+    public void callSiteLinked(MethodType type, boolean generic, boolean fallback) {
+        CallSiteLinkEvent linkEvent = new CallSiteLinkEvent();
+        if (linkEvent.shouldCommit()) {
+            linkEvent.type = type.toString();
+            linkEvent.generic = generic;
+            linkEvent.fallback = fallback;
+            linkEvent.commit();
+        }
+    }
+}
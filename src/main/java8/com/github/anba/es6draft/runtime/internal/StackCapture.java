@@ -0,0 +1,48 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.internal;
+
+import java.util.Arrays;
+
+/**
+ * Captures script stack frames using {@link Throwable#getStackTrace()}.
+ */
+final class StackCapture {
+    private StackCapture() {
+    }
+
+    /**
+     * Captures the script frames of the current thread's stack.
+     * 
+     * @param maxDepth
+     *            the maximum number of script frames
+     * @return the captured frames
+     */
+    static Object[] capture(int maxDepth) {
+        StackTraceElement[] stackTrace = new Throwable().getStackTrace();
+        int depth = 0;
+        for (int i = 0; i < stackTrace.length && depth < maxDepth; ++i) {
+            StackTraceElement element = stackTrace[i];
+            if (StackTraces.isScriptMethod(element.getClassName(), element.getMethodName())
+                    && element.getLineNumber() > 0) {
+                stackTrace[depth++] = element;
+            }
+        }
+        return Arrays.copyOf(stackTrace, depth);
+    }
+
+    /**
+     * Converts the captured frames to stack trace elements.
+     * 
+     * @param frames
+     *            the captured frames
+     * @return the stack trace elements
+     */
+    static StackTraceElement[] toStackTrace(Object[] frames) {
+        return (StackTraceElement[]) frames;
+    }
+}
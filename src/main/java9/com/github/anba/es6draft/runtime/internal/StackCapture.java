@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.runtime.internal;
+
+/**
+ * Captures script stack frames using {@link StackWalker}.
+ */
+final class StackCapture {
+    private StackCapture() {
+    }
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    /**
+     * Captures the script frames of the current thread's stack.
+     * 
+     * @param maxDepth
+     *            the maximum number of script frames
+     * @return the captured frames
+     */
+    static Object[] capture(int maxDepth) {
+        return WALKER.walk(frames -> frames.filter(StackCapture::isScriptStackFrame).limit(maxDepth).toArray());
+    }
+
+    private static boolean isScriptStackFrame(StackWalker.StackFrame frame) {
+        return StackTraces.isScriptMethod(frame.getClassName(), frame.getMethodName()) && frame.getLineNumber() > 0;
+    }
+
+    /**
+     * Converts the captured frames to stack trace elements.
+     * 
+     * @param frames
+     *            the captured frames
+     * @return the stack trace elements
+     */
+    static StackTraceElement[] toStackTrace(Object[] frames) {
+        StackTraceElement[] stackTrace = new StackTraceElement[frames.length];
+        for (int i = 0; i < frames.length; ++i) {
+            stackTrace[i] = ((StackWalker.StackFrame) frames[i]).toStackTraceElement();
+        }
+        return stackTrace;
+    }
+}
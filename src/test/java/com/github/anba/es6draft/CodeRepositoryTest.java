@@ -0,0 +1,170 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.anba.es6draft.parser.Parser;
+import com.github.anba.es6draft.parser.ParserException;
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.internal.CodeRepository;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.ScriptLoading;
+import com.github.anba.es6draft.runtime.internal.Source;
+import com.github.anba.es6draft.runtime.modules.ModuleRecord;
+import com.github.anba.es6draft.runtime.modules.SourceIdentifier;
+
+/**
+ * Tests for {@link CodeRepository}.
+ */
+public final class CodeRepositoryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Realm newRealm(CodeRepository repository, Path baseDirectory) throws Exception {
+        RuntimeContext context = new RuntimeContext.Builder().setCodeRepository(repository)
+                .setBaseDirectory(baseDirectory).build();
+        return Realm.InitializeHostDefinedRealm(new World(context));
+    }
+
+    private static Realm newRealm(CodeRepository repository) throws Exception {
+        return newRealm(repository, Paths.get("").toAbsolutePath());
+    }
+
+    @Test
+    public void scriptSharedAcrossWorlds() throws Exception {
+        CodeRepository repository = new CodeRepository();
+        Realm realm1 = newRealm(repository);
+        Realm realm2 = newRealm(repository);
+        Source source = new Source("test.js", 1);
+        String sourceCode = "var count = (typeof count === 'number' ? count : 0) + 1; count";
+
+        Script script1 = realm1.getScriptLoader().script(source, sourceCode);
+        Script script2 = realm2.getScriptLoader().script(source, sourceCode);
+        assertSame(script1, script2);
+        assertEquals(1, repository.scriptCount());
+
+        assertEquals(1, ((Number) script1.evaluate(realm1)).intValue());
+        assertEquals(2, ((Number) script1.evaluate(realm1)).intValue());
+        assertEquals(1, ((Number) script2.evaluate(realm2)).intValue());
+    }
+
+    @Test
+    public void scriptKeyedBySourceAndOptions() throws Exception {
+        CodeRepository repository = new CodeRepository();
+        Realm realm = newRealm(repository);
+        RuntimeContext strictContext = new RuntimeContext.Builder().setCodeRepository(repository)
+                .setParserOptions(EnumSet.of(Parser.Option.Strict)).build();
+        Realm strictRealm = Realm.InitializeHostDefinedRealm(new World(strictContext));
+
+        Script script1 = realm.getScriptLoader().script(new Source("a.js", 1), "1");
+        Script script2 = realm.getScriptLoader().script(new Source("b.js", 1), "1");
+        Script script3 = realm.getScriptLoader().script(new Source("a.js", 1), "2");
+        Script script4 = strictRealm.getScriptLoader().script(new Source("a.js", 1), "1");
+        assertNotSame(script1, script2);
+        assertNotSame(script1, script3);
+        assertNotSame(script1, script4);
+        assertEquals(4, repository.scriptCount());
+    }
+
+    @Test
+    public void syntaxErrorNotStored() throws Exception {
+        CodeRepository repository = new CodeRepository();
+        Realm realm = newRealm(repository);
+        try {
+            realm.getScriptLoader().script(new Source("test.js", 1), "(");
+            fail("expected ParserException");
+        } catch (ParserException e) {
+            // expected
+        }
+        assertEquals(0, repository.scriptCount());
+    }
+
+    @Test
+    public void leastRecentlyUsedScriptEvicted() throws Exception {
+        CodeRepository repository = new CodeRepository(2);
+        Realm realm = newRealm(repository);
+
+        Script scriptA = realm.getScriptLoader().script(new Source("a.js", 1), "1");
+        Script scriptB = realm.getScriptLoader().script(new Source("b.js", 1), "2");
+        assertSame(scriptA, realm.getScriptLoader().script(new Source("a.js", 1), "1"));
+        realm.getScriptLoader().script(new Source("c.js", 1), "3");
+        assertEquals(2, repository.scriptCount());
+
+        assertSame(scriptA, realm.getScriptLoader().script(new Source("a.js", 1), "1"));
+        assertNotSame(scriptB, realm.getScriptLoader().script(new Source("b.js", 1), "2"));
+        assertEquals(2, repository.scriptCount());
+    }
+
+    @Test
+    public void scriptSharedAcrossThreads() throws Exception {
+        CodeRepository repository = new CodeRepository();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 16; ++i) {
+                int value = i;
+                Callable<Object> task = () -> {
+                    Realm realm = newRealm(repository);
+                    ScriptLoading.eval(realm, "shared.js", "function f(x) { return x * 2 } var v = 0;");
+                    return ScriptLoading.eval(realm, "value.js", "f(" + value + ")");
+                };
+                results.add(executor.submit(task));
+            }
+            for (int i = 0; i < results.size(); ++i) {
+                assertEquals(i * 2, ((Number) results.get(i).get()).intValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(17, repository.scriptCount());
+    }
+
+    @Test
+    public void moduleSharedAcrossWorlds() throws Exception {
+        Path dir = folder.getRoot().toPath();
+        Files.write(dir.resolve("module.js"),
+                "export let value = 0; export function inc() { return ++value; }".getBytes(StandardCharsets.UTF_8));
+        CodeRepository repository = new CodeRepository();
+        Realm realm1 = newRealm(repository, dir);
+        Realm realm2 = newRealm(repository, dir);
+
+        ModuleRecord module1 = loadModule(realm1, "./module.js");
+        ModuleRecord module2 = loadModule(realm2, "./module.js");
+        assertNotSame(module1, module2);
+        assertEquals(1, repository.moduleCount());
+
+        ScriptLoading.evalModule(realm1, "./module.js");
+        ScriptLoading.evalModule(realm2, "./module.js");
+        assertEquals(1, repository.moduleCount());
+    }
+
+    private static ModuleRecord loadModule(Realm realm, String name) throws Exception {
+        SourceIdentifier moduleId = realm.getModuleLoader().normalizeName(name, null);
+        return realm.getModuleLoader().load(moduleId);
+    }
+}
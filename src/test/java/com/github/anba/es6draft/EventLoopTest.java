@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.extensions.eventloop.EventLoop;
+import com.github.anba.es6draft.runtime.extensions.eventloop.EventLoopAgent;
+import com.github.anba.es6draft.runtime.extensions.timer.TimerQueue;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.ScriptException;
+import com.github.anba.es6draft.runtime.internal.ScriptLoading;
+
+/**
+ * Tests for {@link EventLoop}.
+ */
+public final class EventLoopTest {
+    private static final RuntimeContext context = new RuntimeContext.Builder().build();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private EventLoop eventLoop;
+
+    @Before
+    public void setUp() {
+        eventLoop = new EventLoop(2);
+    }
+
+    @After
+    public void tearDown() {
+        eventLoop.close();
+    }
+
+    private static Realm newRealm() throws Exception {
+        return Realm.InitializeHostDefinedRealm(new World(context));
+    }
+
+    private static Object eval(Realm realm, String sourceCode) {
+        return ScriptLoading.eval(realm, "eventloop-test", sourceCode);
+    }
+
+    private static void await(EventLoopAgent agent) throws Exception {
+        agent.getTermination().get(30, TimeUnit.SECONDS);
+        assertTrue(agent.isTerminated());
+    }
+
+    @Test
+    public void multiplexManyWorlds() throws Exception {
+        int worlds = 200;
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        List<Realm> realms = new ArrayList<>();
+        List<EventLoopAgent> agents = new ArrayList<>();
+        for (int i = 0; i < worlds; ++i) {
+            Realm realm = newRealm();
+            EventLoopAgent agent = eventLoop.register(realm.getWorld());
+            int id = i;
+            agent.submit(() -> {
+                threads.add(Thread.currentThread().getName());
+                eval(realm, "var log = []; Promise.resolve(" + id + ").then(v => log.push(v));");
+                agent.schedule(() -> {
+                    threads.add(Thread.currentThread().getName());
+                    eval(realm, "log.push('timer'); Promise.resolve().then(() => log.push('done'));");
+                }, 1 + id % 10, TimeUnit.MILLISECONDS);
+            });
+            realms.add(realm);
+            agents.add(agent);
+        }
+        for (EventLoopAgent agent : agents) {
+            await(agent);
+        }
+        for (int i = 0; i < worlds; ++i) {
+            assertEquals(i + ",timer,done", eval(realms.get(i), "log.join()"));
+        }
+        assertEquals(0, eventLoop.getActiveAgents());
+        assertTrue(threads.toString(), threads.size() <= 2);
+        for (String thread : threads) {
+            assertTrue(thread, thread.startsWith("eventloop-"));
+        }
+    }
+
+    @Test
+    public void pendingOperationKeepsAgentAlive() throws Exception {
+        Realm realm = newRealm();
+        EventLoopAgent agent = eventLoop.register(realm.getWorld());
+        CompletableFuture<String> operation = new CompletableFuture<>();
+        agent.submit(() -> {
+            eval(realm, "var result;");
+            agent.onComplete(operation, (value, error) -> {
+                realm.getGlobalObject().set(realm.defaultContext(), "result", value, realm.getGlobalObject());
+            });
+        });
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertFalse(agent.isTerminated());
+        assertEquals(1, agent.getPendingOperations());
+
+        operation.complete("completed");
+        await(agent);
+        assertEquals("completed", eval(realm, "result"));
+        assertEquals(0, agent.getPendingOperations());
+        try {
+            agent.submit(() -> {
+            });
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void cancelTimer() throws Exception {
+        Realm realm = newRealm();
+        EventLoopAgent agent = eventLoop.register(realm.getWorld());
+        agent.submit(() -> {
+            eval(realm, "var fired = false;");
+            TimerQueue.Timeout timeout = agent.schedule(() -> eval(realm, "fired = true;"), 1, TimeUnit.HOURS);
+            assertTrue(timeout.cancel());
+            assertFalse(timeout.cancel());
+        });
+        await(agent);
+        assertEquals(false, eval(realm, "fired"));
+    }
+
+    @Test
+    public void asyncFileRead() throws Exception {
+        Path file = folder.newFile("data.txt").toPath();
+        Files.write(file, "file content".getBytes(StandardCharsets.UTF_8));
+        Realm realm = newRealm();
+        EventLoopAgent agent = eventLoop.register(realm.getWorld());
+        agent.submit(() -> {
+            eval(realm, "var content;");
+            try {
+                AsynchronousFileChannel channel = AsynchronousFileChannel.open(file, StandardOpenOption.READ);
+                ByteBuffer buffer = ByteBuffer.allocate((int) channel.size());
+                channel.read(buffer, 0, null, agent.<Integer, Object> completionHandler((bytesRead, error) -> {
+                    String content = new String(buffer.array(), 0, bytesRead, StandardCharsets.UTF_8);
+                    realm.getGlobalObject().set(realm.defaultContext(), "content", content, realm.getGlobalObject());
+                    try {
+                        channel.close();
+                    } catch (IOException e) {
+                        throw new AssertionError(e);
+                    }
+                }));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+        });
+        await(agent);
+        assertEquals("file content", eval(realm, "content"));
+    }
+
+    @Test
+    public void uncaughtError() throws Exception {
+        Realm realm = newRealm();
+        EventLoopAgent agent = eventLoop.register(realm.getWorld());
+        agent.submit(() -> eval(realm, "throw new Error('uncaught')"));
+        try {
+            agent.getTermination().get(30, TimeUnit.SECONDS);
+            fail("expected ExecutionException");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ScriptException);
+        }
+        assertTrue(agent.isTerminated());
+        assertEquals(0, eventLoop.getActiveAgents());
+    }
+}
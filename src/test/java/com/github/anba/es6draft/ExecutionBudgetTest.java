@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.github.anba.es6draft.runtime.ExecutionBudget;
+import com.github.anba.es6draft.runtime.ExecutionBudget.Termination;
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.internal.ExecutionTerminatedError;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.ScriptException;
+import com.github.anba.es6draft.runtime.internal.ScriptLoading;
+
+/**
+ * Tests for {@link ExecutionBudget}.
+ */
+public final class ExecutionBudgetTest {
+    private static final RuntimeContext context = new RuntimeContext.Builder().build();
+
+    private static Realm newRealm(ExecutionBudget budget) throws Exception {
+        World world = new World(context);
+        Realm realm = Realm.InitializeHostDefinedRealm(world);
+        world.setExecutionBudget(budget);
+        return realm;
+    }
+
+    private static Object eval(Realm realm, String sourceCode) {
+        return ScriptLoading.eval(realm, "budget-test", sourceCode);
+    }
+
+    private static void assertTerminated(Realm realm, String sourceCode) {
+        try {
+            eval(realm, sourceCode);
+            fail("expected ExecutionTerminatedError");
+        } catch (ExecutionTerminatedError e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void unlimited() throws Exception {
+        Realm realm = newRealm(null);
+        assertEquals(100_000.0, eval(realm, "var n = 0; for (var i = 0; i < 100000; ++i) n++; n"));
+    }
+
+    @Test
+    public void stepsWithinBudget() throws Exception {
+        ExecutionBudget budget = ExecutionBudget.ofSteps(10_000, Termination.Uncatchable);
+        Realm realm = newRealm(budget);
+        assertEquals(5_000.0, eval(realm, "var n = 0; while (n < 5000) n++; n"));
+        assertFalse(budget.isExhausted());
+        assertTrue(budget.getRemainingSteps() <= 5_000);
+    }
+
+    @Test
+    public void loops() throws Exception {
+        String[] loops = { "while (true) ;", "do ; while (true);", "for (;;) ;", "for (let i = 0; ; ++i) ;",
+                "for (var k in 'x'.repeat(1000000)) ;",
+                "function* g() { while (true) yield 0; } for (var v of g()) ;",
+                "async function f() { for (;;) await 0; } f();", };
+        for (String loop : loops) {
+            ExecutionBudget budget = ExecutionBudget.ofSteps(100_000, Termination.Uncatchable);
+            Realm realm = newRealm(budget);
+            try {
+                eval(realm, loop);
+                realm.getWorld().runEventLoop();
+                fail("expected ExecutionTerminatedError: " + loop);
+            } catch (ExecutionTerminatedError e) {
+                // expected
+            }
+            assertTrue(loop, budget.isExhausted());
+        }
+    }
+
+    @Test
+    public void recursion() throws Exception {
+        ExecutionBudget budget = ExecutionBudget.ofSteps(300, Termination.Uncatchable);
+        Realm realm = newRealm(budget);
+        eval(realm, "var calls = 0; function f(n) { calls++; return n > 0 ? f(n - 1) : 0; }");
+        assertTerminated(realm, "f(5000)");
+        budget.reset();
+        assertEquals(0, eval(realm, "calls = 0, f(100)"));
+        assertEquals(101.0, eval(realm, "calls"));
+    }
+
+    @Test
+    public void uncatchableSkipsCatchAndFinally() throws Exception {
+        ExecutionBudget budget = ExecutionBudget.ofSteps(10_000, Termination.Uncatchable);
+        Realm realm = newRealm(budget);
+        eval(realm, "var caught = false, finallyRun = false;");
+        assertTerminated(realm, "try { while (true) ; } catch (e) { caught = true; } finally { finallyRun = true; }");
+        budget.reset();
+        assertEquals(false, eval(realm, "caught"));
+        assertEquals(false, eval(realm, "finallyRun"));
+    }
+
+    @Test
+    public void catchable() throws Exception {
+        ExecutionBudget budget = ExecutionBudget.ofSteps(10_000, Termination.Catchable);
+        Realm realm = newRealm(budget);
+        Object result = eval(realm, "var r; try { while (true) ; } catch (e) { r = e instanceof InternalError; } r");
+        assertEquals(true, result);
+        assertTrue(budget.isExhausted());
+        try {
+            // The budget stays exhausted.
+            eval(realm, "try { while (true) ; } catch (e) { } for (;;) ;");
+            fail("expected ScriptException");
+        } catch (ScriptException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void timeout() throws Exception {
+        ExecutionBudget budget = ExecutionBudget.ofTime(50, TimeUnit.MILLISECONDS, Termination.Uncatchable);
+        Realm realm = newRealm(budget);
+        long start = System.nanoTime();
+        assertTerminated(realm, "while (true) ;");
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("elapsed: " + elapsed, elapsed >= 40 && elapsed < 10_000);
+        assertEquals(ExecutionBudget.UNLIMITED, budget.getRemainingSteps());
+    }
+
+    @Test
+    public void terminateFromOtherThread() throws Exception {
+        ExecutionBudget budget = ExecutionBudget.ofSteps(ExecutionBudget.UNLIMITED, Termination.Uncatchable);
+        Realm realm = newRealm(budget);
+        Thread thread = new Thread(() -> {
+            try {
+                TimeUnit.MILLISECONDS.sleep(50);
+            } catch (InterruptedException e) {
+                // ignore
+            }
+            budget.terminate();
+        });
+        thread.start();
+        assertTerminated(realm, "for (;;) { [1, 2, 3].map(x => x); }");
+        thread.join();
+    }
+
+    @Test
+    public void invalidBudget() {
+        try {
+            ExecutionBudget.ofSteps(-2, Termination.Catchable);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.anba.es6draft.runtime.internal.Futex;
+import com.github.anba.es6draft.runtime.internal.Futex.State;
+import com.github.anba.es6draft.runtime.objects.atomics.SharedByteBuffer;
+
+/**
+ * Tests for {@link Futex}.
+ */
+public final class FutexTest {
+    private Futex futex;
+    private SharedByteBuffer buffer;
+    private ThreadPoolExecutor executor;
+
+    @Before
+    public void setUp() {
+        futex = new Futex();
+        buffer = new SharedByteBuffer(ByteBuffer.allocateDirect(64).order(ByteOrder.nativeOrder()));
+        executor = (ThreadPoolExecutor) Executors.newCachedThreadPool();
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    private Future<State> waitAsThread(SharedByteBuffer buffer, int index, long timeout) {
+        return executor.submit(() -> futex.wait(buffer, index, 0, timeout, TimeUnit.MILLISECONDS));
+    }
+
+    private void awaitWaiters(int count) throws InterruptedException {
+        // Wait until the tasks are running and give them some time to enqueue themselves.
+        while (executor.getActiveCount() < count) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(50);
+    }
+
+    @Test
+    public void notEqual() throws InterruptedException {
+        buffer.get().putInt(0, 1);
+        assertEquals(State.NotEqual, futex.wait(buffer, 0, 0, 1000, TimeUnit.MILLISECONDS));
+        assertEquals(State.NotEqual, futex.wait(buffer, 0, 0L, 1000, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void timeout() throws InterruptedException {
+        assertEquals(State.Timedout, futex.wait(buffer, 0, 0, 10, TimeUnit.MILLISECONDS));
+        assertEquals(State.Timedout, futex.wait(buffer, 0, 0, 0, TimeUnit.MILLISECONDS));
+        assertEquals(0, futex.wake(buffer, 0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void wakeCount() throws Exception {
+        List<Future<State>> waiters = new ArrayList<>();
+        for (int i = 0; i < 4; ++i) {
+            waiters.add(waitAsThread(buffer, 8, Long.MAX_VALUE));
+        }
+        awaitWaiters(4);
+
+        assertEquals(0, futex.wake(buffer, 0, Integer.MAX_VALUE));
+        assertEquals(0, futex.wake(buffer.duplicate(), 12, Integer.MAX_VALUE));
+        assertEquals(2, futex.wake(buffer.duplicate(), 8, 2));
+        assertEquals(2, futex.wake(buffer, 8, Integer.MAX_VALUE));
+        assertEquals(0, futex.wake(buffer, 8, Integer.MAX_VALUE));
+        for (Future<State> waiter : waiters) {
+            assertEquals(State.OK, waiter.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void separateBuffers() throws Exception {
+        SharedByteBuffer other = new SharedByteBuffer(ByteBuffer.allocateDirect(64).order(ByteOrder.nativeOrder()));
+        Future<State> waiter = waitAsThread(buffer, 0, Long.MAX_VALUE);
+        awaitWaiters(1);
+
+        assertEquals(0, futex.wake(other, 0, Integer.MAX_VALUE));
+        try {
+            waiter.get(50, TimeUnit.MILLISECONDS);
+            throw new AssertionError("waiter should not be woken");
+        } catch (TimeoutException e) {
+            // expected
+        }
+        assertEquals(1, futex.wake(buffer, 0, Integer.MAX_VALUE));
+        assertEquals(State.OK, waiter.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void interrupt() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Boolean> interrupted = new CompletableFuture<>();
+        Thread thread = new Thread(() -> {
+            started.countDown();
+            try {
+                futex.wait(buffer, 0, 0, Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+                interrupted.complete(false);
+            } catch (InterruptedException e) {
+                interrupted.complete(true);
+            }
+        });
+        thread.start();
+        started.await();
+        Thread.sleep(50);
+        thread.interrupt();
+        assertTrue(interrupted.get(10, TimeUnit.SECONDS));
+        assertEquals(0, futex.wake(buffer, 0, Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void asyncWake() throws Exception {
+        CompletableFuture<State> result = new CompletableFuture<>();
+        assertEquals(State.OK,
+                futex.waitAsync(buffer, 4, 0, Long.MAX_VALUE, TimeUnit.MILLISECONDS, (s, e) -> result.complete(s)));
+        assertFalse(result.isDone());
+        assertEquals(1, futex.wake(buffer, 4, 1));
+        assertEquals(State.OK, result.get(10, TimeUnit.SECONDS));
+        assertEquals(0, futex.wake(buffer, 4, 1));
+    }
+
+    @Test
+    public void asyncTimeout() throws Exception {
+        CompletableFuture<State> first = new CompletableFuture<>();
+        CompletableFuture<State> second = new CompletableFuture<>();
+        futex.waitAsync(buffer, 4, 0, 10_000, TimeUnit.MILLISECONDS, (s, e) -> first.complete(s));
+        futex.waitAsync(buffer, 4, 0, 10, TimeUnit.MILLISECONDS, (s, e) -> second.complete(s));
+
+        assertEquals(State.Timedout, second.get(10, TimeUnit.SECONDS));
+        assertFalse(first.isDone());
+        assertEquals(1, futex.wake(buffer, 4, Integer.MAX_VALUE));
+        assertEquals(State.OK, first.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void asyncTimeoutActionThrows() throws Exception {
+        CompletableFuture<State> result = new CompletableFuture<>();
+        futex.waitAsync(buffer, 4, 0, 10, TimeUnit.MILLISECONDS, (s, e) -> {
+            throw new IllegalStateException("expected");
+        });
+        futex.waitAsync(buffer, 8, 0, 50, TimeUnit.MILLISECONDS, (s, e) -> result.complete(s));
+
+        // The timer thread still handles timeouts after an action threw an exception.
+        assertEquals(State.Timedout, result.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void asyncWakeTimedWaiters() throws Exception {
+        int count = 1000;
+        List<CompletableFuture<State>> results = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            CompletableFuture<State> result = new CompletableFuture<>();
+            futex.waitAsync(buffer, 4, 0, 60_000, TimeUnit.MILLISECONDS, (s, e) -> result.complete(s));
+            results.add(result);
+        }
+        assertEquals(count, futex.wake(buffer, 4, Integer.MAX_VALUE));
+        for (CompletableFuture<State> result : results) {
+            assertEquals(State.OK, result.get(10, TimeUnit.SECONDS));
+        }
+
+        // Woken waiters don't delay later timeouts.
+        CompletableFuture<State> timedOut = new CompletableFuture<>();
+        futex.waitAsync(buffer, 4, 0, 10, TimeUnit.MILLISECONDS, (s, e) -> timedOut.complete(s));
+        assertEquals(State.Timedout, timedOut.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void asyncNotEqual() throws InterruptedException {
+        buffer.get().putInt(4, 1);
+        assertEquals(State.NotEqual,
+                futex.waitAsync(buffer, 4, 0, Long.MAX_VALUE, TimeUnit.MILLISECONDS, (s, e) -> {
+                    throw new AssertionError();
+                }));
+    }
+}
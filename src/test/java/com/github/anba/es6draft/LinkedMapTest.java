@@ -8,6 +8,7 @@ package com.github.anba.es6draft;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -18,6 +19,7 @@ import java.util.NoSuchElementException;
 import org.junit.Test;
 
 import com.github.anba.es6draft.runtime.internal.LinkedMap;
+import com.github.anba.es6draft.runtime.internal.LinkedMapImpl;
 
 /**
  * 
@@ -235,4 +237,146 @@ public final class LinkedMapTest {
         } catch (NoSuchElementException e) {
         }
     }
+
+    @Test
+    public void testIteratorCompaction() {
+        LinkedMap<String, String> map = new LinkedMap<>();
+        for (int i = 0; i < 100; ++i) {
+            map.set("key" + i, "value" + i);
+        }
+
+        Iterator<Entry<String, String>> itr = map.iterator();
+        for (int i = 0; i < 10; ++i) {
+            assertEntryEquals("key" + i, "value" + i, itr.next());
+        }
+
+        // Delete enough entries to shrink and compact the table.
+        for (int i = 0; i < 95; ++i) {
+            if (i != 50) {
+                map.delete("key" + i);
+            }
+        }
+        assertEquals(6, map.size());
+        map.set("key100", "value100");
+
+        assertEntryEquals("key50", "value50", itr.next());
+        for (int i = 95; i <= 100; ++i) {
+            assertEntryEquals("key" + i, "value" + i, itr.next());
+        }
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void testIteratorGrow() {
+        LinkedMap<String, String> map = new LinkedMap<>();
+        map.set("key0", "value0");
+        map.set("key1", "value1");
+
+        Iterator<Entry<String, String>> itr = map.iterator();
+        assertEntryEquals("key0", "value0", itr.next());
+        map.delete("key0");
+        for (int i = 2; i < 1000; ++i) {
+            map.set("key" + i, "value" + i);
+        }
+        for (int i = 1; i < 1000; ++i) {
+            assertEntryEquals("key" + i, "value" + i, itr.next());
+        }
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void testIteratorClear() {
+        LinkedMap<String, String> map = new LinkedMap<>();
+        map.set("key1", "value1");
+        map.set("key2", "value2");
+
+        Iterator<Entry<String, String>> itr = map.iterator();
+        assertEntryEquals("key1", "value1", itr.next());
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(itr.hasNext());
+
+        map.set("key3", "value3");
+        assertTrue(itr.hasNext());
+        assertEntryEquals("key3", "value3", itr.next());
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void testReinsert() {
+        LinkedMap<String, String> map = new LinkedMap<>();
+        for (int i = 0; i < 10000; ++i) {
+            map.set("key", "value" + i);
+            map.delete("key");
+        }
+        assertEquals(0, map.size());
+        map.set("key", "value");
+        assertEquals("value", map.get("key"));
+        assertNull(map.get("other"));
+    }
+
+    @Test
+    public void testSetAll() {
+        LinkedMap<String, String> source = new LinkedMap<>();
+        for (int i = 0; i < 20; ++i) {
+            source.set("key" + i, "value" + i);
+        }
+        source.delete("key5");
+
+        LinkedMap<String, String> copy = new LinkedMap<>();
+        copy.setAll(source);
+        assertEquals(19, copy.size());
+        assertFalse(copy.has("key5"));
+
+        LinkedMap<String, String> merged = new LinkedMap<>();
+        merged.set("key19", "first");
+        merged.setAll(source);
+        assertEquals(19, merged.size());
+        assertEquals("value19", merged.get("key19"));
+
+        Iterator<Entry<String, String>> itr = merged.iterator();
+        assertEntryEquals("key19", "value19", itr.next());
+        assertEntryEquals("key0", "value0", itr.next());
+    }
+
+    @Test
+    public void testNumberKeys() {
+        LinkedMapImpl<String> map = new LinkedMapImpl<>();
+        map.set(1, "int");
+        assertEquals("int", map.get(1d));
+        assertEquals("int", map.get(1L));
+        map.set(1d, "double");
+        assertEquals(1, map.size());
+        assertEquals("double", map.get(1));
+
+        map.set(-0d, "zero");
+        assertTrue(map.has(0));
+        assertTrue(map.has(0d));
+        assertEquals(0d, lastKey(map));
+        assertEquals(Double.doubleToRawLongBits(0d), Double.doubleToRawLongBits((Double) lastKey(map)));
+
+        map.set(Double.NaN, "nan");
+        assertEquals("nan", map.get(0d / 0d));
+        assertFalse(map.has("1"));
+        assertEquals(3, map.size());
+
+        for (int i = 0; i < 100000; ++i) {
+            map.set(i, "v" + i);
+        }
+        assertEquals(100001, map.size());
+        for (int i = 0; i < 100000; ++i) {
+            assertEquals("v" + i, map.get((double) i));
+        }
+        assertTrue(map.delete(5L));
+        assertFalse(map.has(5));
+    }
+
+    private static Object lastKey(LinkedMap<Object, String> map) {
+        Object key = null;
+        for (Entry<Object, String> entry : map) {
+            key = entry.getKey();
+        }
+        return key;
+    }
 }
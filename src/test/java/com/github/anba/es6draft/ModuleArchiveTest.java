@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.anba.es6draft.compiler.Compiler;
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.ScriptLoading;
+import com.github.anba.es6draft.runtime.modules.ModuleLoader;
+import com.github.anba.es6draft.runtime.modules.ModuleRecord;
+import com.github.anba.es6draft.runtime.modules.loader.ArchiveModuleLoader;
+import com.github.anba.es6draft.runtime.modules.loader.ModuleArchive;
+
+/**
+ * Tests for {@link ModuleArchive} and {@link ArchiveModuleLoader}.
+ */
+public final class ModuleArchiveTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path sources;
+    private Path archiveFile;
+
+    @Before
+    public void setUp() throws Exception {
+        sources = folder.newFolder("src").toPath();
+        archiveFile = folder.getRoot().toPath().resolve("app.jar");
+        write("main.js", "import {add} from './lib/math.js';\n" + "import * as util from './lib/util.js';\n"
+                + "export {twice} from './lib/util.js';\n" + "export const result = add(util.twice(20), 2);\n");
+        write("lib/math.js", "export function add(a, b) { return a + b; }\n");
+        write("lib/util.js", "import {add} from './math.js';\n" + "export function twice(x) { return add(x, x); }\n"
+                + "export default function() { return 'util'; }\n");
+    }
+
+    private void write(String name, String sourceCode) throws IOException {
+        Path file = sources.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, sourceCode.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static RuntimeContext.Builder newContext(Path baseDirectory) {
+        return new RuntimeContext.Builder().setBaseDirectory(baseDirectory);
+    }
+
+    private Object evalMain(RuntimeContext context) throws Exception {
+        Realm realm = Realm.InitializeHostDefinedRealm(new World(context));
+        ScriptLoading.evalModule(realm, "./main.js");
+        ModuleLoader loader = realm.getModuleLoader();
+        ModuleRecord module = loader.get(loader.normalizeName("./main.js", null), realm);
+        return ScriptLoading.getModuleExport(module, "result");
+    }
+
+    @Test
+    public void writeArchive() throws Exception {
+        ModuleArchive.write(newContext(sources).build(), "./main.js", archiveFile);
+        try (ModuleArchive archive = ModuleArchive.open(archiveFile)) {
+            assertEquals("main.js", archive.getMainModule());
+            assertEquals(new HashSet<>(Arrays.asList("main.js", "lib/math.js", "lib/util.js")),
+                    archive.getModuleNames());
+            assertTrue(archive.isCompatible(newContext(sources).build()));
+            assertFalse(archive.isCompatible(
+                    newContext(sources).setCompilerOptions(EnumSet.of(Compiler.Option.NoTailCall)).build()));
+        }
+    }
+
+    @Test
+    public void loadWithoutSources() throws Exception {
+        ModuleArchive.write(newContext(sources).build(), "./main.js", archiveFile);
+        // Use a different base directory without any module source files.
+        Path baseDirectory = folder.newFolder("empty").toPath();
+        try (ModuleArchive archive = ModuleArchive.open(archiveFile)) {
+            RuntimeContext context = newContext(baseDirectory)
+                    .setModuleLoader((cx, scriptLoader) -> new ArchiveModuleLoader(cx, scriptLoader, archive))
+                    .build();
+            assertEquals(42.0, evalMain(context));
+
+            ModuleLoader loader = new World(context).getModuleLoader();
+            assertTrue(((ArchiveModuleLoader) loader).isPrecompiled());
+        }
+    }
+
+    @Test
+    public void incompatibleOptions() throws Exception {
+        ModuleArchive.write(newContext(sources).build(), "./main.js", archiveFile);
+        for (String name : Arrays.asList("main.js", "lib/math.js", "lib/util.js")) {
+            Files.delete(sources.resolve(name));
+        }
+        try (ModuleArchive archive = ModuleArchive.open(archiveFile)) {
+            RuntimeContext context = newContext(sources).setCompilerOptions(EnumSet.of(Compiler.Option.NoTailCall))
+                    .setModuleLoader((cx, scriptLoader) -> new ArchiveModuleLoader(cx, scriptLoader, archive))
+                    .build();
+            assertFalse(((ArchiveModuleLoader) new World(context).getModuleLoader()).isPrecompiled());
+            assertEquals(42.0, evalMain(context));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void invalidArchive() throws Exception {
+        Files.write(archiveFile, new byte[] { 'P', 'K', 3, 4 });
+        ModuleArchive.open(archiveFile).close();
+    }
+}
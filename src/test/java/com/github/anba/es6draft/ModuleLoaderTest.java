@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.anba.es6draft.parser.ParserException;
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.ScriptLoading;
+import com.github.anba.es6draft.runtime.modules.ModuleLoader;
+import com.github.anba.es6draft.runtime.modules.ModuleRecord;
+import com.github.anba.es6draft.runtime.modules.SourceIdentifier;
+import com.github.anba.es6draft.runtime.modules.loader.AbstractModuleLoader;
+
+/**
+ * Tests for {@link AbstractModuleLoader}.
+ */
+public final class ModuleLoaderTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Realm newRealm() throws Exception {
+        RuntimeContext context = new RuntimeContext.Builder().setBaseDirectory(folder.getRoot().toPath()).build();
+        return Realm.InitializeHostDefinedRealm(new World(context));
+    }
+
+    private void write(String name, String sourceCode) throws IOException {
+        Path dir = folder.getRoot().toPath();
+        Files.write(dir.resolve(name), sourceCode.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void postOrder(int id, int count, List<Integer> order) {
+        if (id < count) {
+            postOrder(2 * id + 1, count, order);
+            postOrder(2 * id + 2, count, order);
+            order.add(id);
+        }
+    }
+
+    @Test
+    public void loadModuleGraph() throws Exception {
+        int count = 300;
+        write("common.js", "export const values = [];");
+        for (int i = 0; i < count; ++i) {
+            StringBuilder sb = new StringBuilder();
+            for (int child : new int[] { 2 * i + 1, 2 * i + 2 }) {
+                if (child < count) {
+                    sb.append("import './m").append(child).append(".js';\n");
+                }
+            }
+            sb.append("import {values} from './common.js';\n");
+            sb.append("values.push(").append(i).append(");\n");
+            write("m" + i + ".js", sb.toString());
+        }
+        Realm realm = newRealm();
+        ModuleLoader loader = realm.getModuleLoader();
+        SourceIdentifier rootId = loader.normalizeName("./m0.js", null);
+        ModuleRecord root = loader.load(rootId);
+        assertNotNull(root);
+        for (int i = 0; i < count; ++i) {
+            assertNotNull(loader.get(loader.normalizeName("./m" + i + ".js", null), realm));
+        }
+
+        ScriptLoading.evalModule(realm, "./m0.js");
+        ModuleRecord common = loader.get(loader.normalizeName("./common.js", null), realm);
+        Object values = ScriptLoading.getModuleExport(common, "values");
+        realm.getGlobalObject().set(realm.defaultContext(), "values", values, realm.getGlobalObject());
+        List<Integer> expected = new ArrayList<>();
+        postOrder(0, count, expected);
+        assertEquals(expected.toString().replace(" ", ""),
+                "[" + ScriptLoading.eval(realm, "module-test", "values.join()") + "]");
+    }
+
+    @Test
+    public void missingModule() throws Exception {
+        write("a.js", "import './b.js'; import './c.js';");
+        write("b.js", "import './missing.js';");
+        write("c.js", "");
+        Realm realm = newRealm();
+        ModuleLoader loader = realm.getModuleLoader();
+        try {
+            loader.load(loader.normalizeName("./a.js", null));
+            fail("expected IOException");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void syntaxError() throws Exception {
+        write("a.js", "import './b.js'; import './c.js';");
+        write("b.js", "export default 0;");
+        write("c.js", "import './b.js'; export let = ;");
+        Realm realm = newRealm();
+        ModuleLoader loader = realm.getModuleLoader();
+        try {
+            loader.load(loader.normalizeName("./a.js", null));
+            fail("expected ParserException");
+        } catch (ParserException e) {
+            // expected
+        }
+        // Modules which were loaded successfully remain available.
+        assertNotNull(loader.get(loader.normalizeName("./b.js", null), realm));
+    }
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.anba.es6draft.repl.loader.NodeModuleLoader;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.modules.SourceIdentifier;
+
+/**
+ * Tests for the module resolution cache of {@link NodeModuleLoader}.
+ */
+public final class NodeModuleResolutionTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path dir;
+    private NodeModuleLoader loader;
+    private SourceIdentifier referrer;
+
+    @Before
+    public void setUp() throws Exception {
+        dir = folder.getRoot().toPath().toRealPath();
+        write("app/src/main.js", "");
+        write("app/node_modules/pkg/package.json", "{\"name\": \"pkg\", \"main\": \"lib/entry\"}");
+        write("app/node_modules/pkg/lib/entry.js", "");
+        write("app/node_modules/other/index.json", "{}");
+        RuntimeContext context = new RuntimeContext.Builder().setBaseDirectory(dir)
+                .setModuleLoader(NodeModuleLoader::new).build();
+        loader = (NodeModuleLoader) new World(context).getModuleLoader();
+        referrer = loader.normalizeName("./app/src/main.js", null);
+    }
+
+    private void write(String name, String content) throws IOException {
+        Path file = dir.resolve(name);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Path resolve(String name) throws Exception {
+        return dir.relativize(Paths.get(loader.normalizeName(name, referrer).toUri()));
+    }
+
+    @Test
+    public void resolution() throws Exception {
+        assertEquals("app/node_modules/pkg/lib/entry.js", resolve("pkg").toString());
+        assertEquals("app/node_modules/other/index.json", resolve("other").toString());
+        assertEquals("app/src/main.js", resolve("./main").toString());
+    }
+
+    @Test
+    public void cachedLookups() throws Exception {
+        resolve("pkg");
+        resolve("other");
+        long lookups = loader.getResolution().getFileSystemLookups();
+        long hits = loader.getResolution().getCacheHits();
+        assertTrue(lookups > 0);
+
+        for (int i = 0; i < 10; ++i) {
+            assertEquals("app/node_modules/pkg/lib/entry.js", resolve("pkg").toString());
+            assertEquals("app/node_modules/other/index.json", resolve("other").toString());
+        }
+        assertEquals(lookups, loader.getResolution().getFileSystemLookups());
+        assertTrue(loader.getResolution().getCacheHits() > hits);
+    }
+
+    @Test
+    public void clearCache() throws Exception {
+        assertEquals("app/node_modules/pkg/lib/entry.js", resolve("pkg").toString());
+        write("app/node_modules/pkg.js", "");
+        // Stale result without invalidation.
+        assertEquals("app/node_modules/pkg/lib/entry.js", resolve("pkg").toString());
+        loader.getResolution().clear();
+        assertEquals("app/node_modules/pkg.js", resolve("pkg").toString());
+    }
+
+    @Test
+    public void watchFileSystem() throws Exception {
+        loader.getResolution().startWatching();
+        try {
+            assertEquals("app/node_modules/pkg/lib/entry.js", resolve("pkg").toString());
+            write("app/node_modules/pkg/package.json", "{\"name\": \"pkg\", \"main\": \"lib/other\"}");
+            write("app/node_modules/pkg/lib/other.js", "");
+            assertEventually("app/node_modules/pkg/lib/other.js", "pkg");
+
+            write("app/src/node_modules/pkg/index.js", "");
+            assertEventually("app/src/node_modules/pkg/index.js", "pkg");
+        } finally {
+            loader.getResolution().stopWatching();
+        }
+    }
+
+    private void assertEventually(String expected, String name) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        String actual;
+        while (!(actual = resolve(name).toString()).equals(expected) && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(20);
+        }
+        assertEquals(expected, actual);
+    }
+}
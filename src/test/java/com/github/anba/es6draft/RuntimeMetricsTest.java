@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import javax.management.Attribute;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.RuntimeMetrics;
+import com.github.anba.es6draft.runtime.internal.RuntimeMetrics.Counter;
+import com.github.anba.es6draft.runtime.internal.RuntimeMetrics.Distribution;
+import com.github.anba.es6draft.runtime.internal.ScriptLoading;
+
+/**
+ * Tests for {@link RuntimeMetrics}.
+ */
+public final class RuntimeMetricsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Realm newRealm(RuntimeMetrics metrics) throws Exception {
+        RuntimeContext context = new RuntimeContext.Builder().setMetrics(metrics).build();
+        Realm realm = Realm.InitializeHostDefinedRealm(new World(context));
+        metrics.reset();
+        return realm;
+    }
+
+    @Test
+    public void disabledByDefault() throws Exception {
+        RuntimeContext context = new RuntimeContext.Builder().build();
+        RuntimeMetrics metrics = context.getMetrics();
+        assertFalse(metrics.isEnabled());
+
+        Realm realm = Realm.InitializeHostDefinedRealm(new World(context));
+        ScriptLoading.eval(realm, "test.js", "function f() { return 1 } f()");
+        for (Counter counter : Counter.values()) {
+            assertEquals(counter.name(), 0, metrics.get(counter));
+        }
+        for (Distribution distribution : Distribution.values()) {
+            assertEquals(distribution.name(), 0, metrics.snapshot(distribution).getCount());
+        }
+    }
+
+    @Test
+    public void compiledScript() throws Exception {
+        RuntimeMetrics metrics = new RuntimeMetrics(true);
+        Realm realm = newRealm(metrics);
+
+        ScriptLoading.eval(realm, "test.js", "function f() { return 1 } f()");
+        assertEquals(1, metrics.get(Counter.CompiledScripts));
+        assertEquals(0, metrics.get(Counter.InterpretedScripts));
+        assertEquals(1, metrics.snapshot(Distribution.ParseTime).getCount());
+        assertEquals(1, metrics.snapshot(Distribution.CompileTimeScript).getCount());
+        assertEquals(1, metrics.snapshot(Distribution.ClassDefinitionTime).getCount());
+        assertTrue(metrics.get(Counter.DefinedClasses) > 0);
+        assertEquals(metrics.get(Counter.DefinedClasses), metrics.snapshot(Distribution.BytecodeSize).getCount());
+        assertTrue(metrics.snapshot(Distribution.BytecodeSize).getMin() > 0);
+    }
+
+    @Test
+    public void interpretedScript() throws Exception {
+        RuntimeMetrics metrics = new RuntimeMetrics(true);
+        Realm realm = newRealm(metrics);
+
+        Object result = ScriptLoading.eval(realm, "test.js", "1 + 2");
+        assertEquals(3, ((Number) result).intValue());
+        assertEquals(1, metrics.get(Counter.InterpretedScripts));
+        assertEquals(0, metrics.get(Counter.CompiledScripts));
+        assertEquals(0, metrics.get(Counter.DefinedClasses));
+    }
+
+    @Test
+    public void compiledFunction() throws Exception {
+        RuntimeMetrics metrics = new RuntimeMetrics(true);
+        Realm realm = newRealm(metrics);
+
+        ScriptLoading.eval(realm, "test.js", "new Function('a', 'return a')");
+        assertEquals(1, metrics.snapshot(Distribution.CompileTimeFunction).getCount());
+        assertEquals(2, metrics.snapshot(Distribution.ParseTime).getCount());
+    }
+
+    @Test
+    public void scriptCache() throws Exception {
+        RuntimeMetrics metrics = new RuntimeMetrics(true);
+        Realm realm = newRealm(metrics);
+        Path file = folder.newFile("include.js").toPath();
+        Files.write(file, "var included = (typeof included === 'number' ? included : 0) + 1;"
+                .getBytes(StandardCharsets.UTF_8));
+
+        ScriptLoading.include(realm, file);
+        assertEquals(0, metrics.get(Counter.ScriptCacheHits));
+        assertEquals(1, metrics.get(Counter.ScriptCacheMisses));
+
+        ScriptLoading.include(realm, file);
+        assertEquals(1, metrics.get(Counter.ScriptCacheHits));
+        assertEquals(1, metrics.get(Counter.ScriptCacheMisses));
+    }
+
+    @Test
+    public void toggleAtRuntime() throws Exception {
+        RuntimeMetrics metrics = new RuntimeMetrics(false);
+        Realm realm = newRealm(metrics);
+
+        ScriptLoading.eval(realm, "a.js", "function f() {}");
+        assertEquals(0, metrics.snapshot(Distribution.ParseTime).getCount());
+
+        metrics.setEnabled(true);
+        ScriptLoading.eval(realm, "b.js", "function f() {}");
+        assertEquals(1, metrics.snapshot(Distribution.ParseTime).getCount());
+
+        metrics.setEnabled(false);
+        ScriptLoading.eval(realm, "c.js", "function f() {}");
+        assertEquals(1, metrics.snapshot(Distribution.ParseTime).getCount());
+    }
+
+    @Test
+    public void snapshot() {
+        RuntimeMetrics metrics = new RuntimeMetrics(true);
+        RuntimeMetrics.Snapshot empty = metrics.snapshot(Distribution.BytecodeSize);
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getMax());
+        assertEquals(0, empty.getMedian());
+
+        for (int i = 1; i <= 100; ++i) {
+            metrics.record(Distribution.BytecodeSize, i);
+        }
+        RuntimeMetrics.Snapshot snapshot = metrics.snapshot(Distribution.BytecodeSize);
+        assertEquals(100, snapshot.getCount());
+        assertEquals(5050, snapshot.getSum());
+        assertEquals(1, snapshot.getMin());
+        assertEquals(100, snapshot.getMax());
+        assertEquals(50.5, snapshot.getMean(), 0);
+        assertEquals(63, snapshot.getMedian());
+        assertEquals(100, snapshot.getPercentile99());
+        assertEquals(1, snapshot.percentile(0));
+
+        metrics.reset();
+        assertEquals(0, metrics.snapshot(Distribution.BytecodeSize).getCount());
+    }
+
+    @Test
+    public void managementBean() throws Exception {
+        RuntimeMetrics metrics = new RuntimeMetrics(false);
+        Realm realm = newRealm(metrics);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = metrics.registerMBean("RuntimeMetricsTest");
+        try {
+            assertEquals(RuntimeMetrics.objectName("RuntimeMetricsTest"), name);
+            assertEquals(false, server.getAttribute(name, "Enabled"));
+
+            server.setAttribute(name, new Attribute("Enabled", true));
+            assertTrue(metrics.isEnabled());
+            ScriptLoading.eval(realm, "test.js", "function f() {}");
+
+            TabularData counters = (TabularData) server.getAttribute(name, "Counters");
+            CompositeData compiled = counters.get(new Object[] { Counter.CompiledScripts.name() });
+            assertEquals(1L, compiled.get("value"));
+
+            TabularData distributions = (TabularData) server.getAttribute(name, "Distributions");
+            CompositeData parseTime = distributions.get(new Object[] { Distribution.ParseTime.name() });
+            assertEquals(1L, ((CompositeData) parseTime.get("value")).get("count"));
+
+            server.invoke(name, "reset", new Object[0], new String[0]);
+            assertEquals(0, metrics.get(Counter.CompiledScripts));
+        } finally {
+            RuntimeMetrics.unregisterMBean("RuntimeMetricsTest");
+        }
+        assertFalse(server.isRegistered(name));
+    }
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.ScriptLoading;
+import com.github.anba.es6draft.runtime.internal.ScriptProfiler;
+import com.github.anba.es6draft.runtime.internal.ScriptProfiler.FunctionProfile;
+
+/**
+ * Tests for {@link ScriptProfiler}.
+ */
+public final class ScriptProfilerTest {
+    private static final String SCRIPT = String.join("\n", //
+            "function hot(n) {", //
+            "  var s = 0;", //
+            "  for (var i = 0; i < n; ++i) s += i % 7;", //
+            "  return s;", //
+            "}", //
+            "function viaBuiltin() {", //
+            "  return [1, 2, 3, 4].map(() => hot(10000));", //
+            "}", //
+            "var end = Date.now() + 500;", //
+            "while (Date.now() < end) { hot(10000); viaBuiltin(); }");
+
+    private static ScriptProfiler profile(String sourceName, String sourceCode) throws Exception {
+        Realm realm = Realm.InitializeHostDefinedRealm(new World(new RuntimeContext.Builder().build()));
+        ScriptProfiler profiler = new ScriptProfiler(Thread.currentThread(), 1, TimeUnit.MILLISECONDS);
+        profiler.start();
+        try {
+            assertTrue(profiler.isRunning());
+            ScriptLoading.eval(realm, sourceName, sourceCode);
+        } finally {
+            profiler.stop();
+        }
+        assertFalse(profiler.isRunning());
+        return profiler;
+    }
+
+    private static FunctionProfile find(List<FunctionProfile> profiles, String name) {
+        return profiles.stream().filter(p -> p.getName().equals(name)).findFirst()
+                .orElseThrow(() -> new AssertionError(name + " not in " + profiles));
+    }
+
+    @Test
+    public void functionProfiles() throws Exception {
+        ScriptProfiler profiler = profile("profile.js", SCRIPT);
+        assertTrue(profiler.getSampleCount() > 0);
+        assertTrue(profiler.getScriptSampleCount() > 0);
+
+        List<FunctionProfile> profiles = profiler.getFunctionProfiles();
+        FunctionProfile hot = find(profiles, "hot");
+        assertEquals("profile.js", hot.getFileName());
+        assertTrue(hot.getLine() >= 1 && hot.getLine() <= 4);
+        assertTrue(hot.getSelfSamples() > 0);
+        assertTrue(hot.getTotalSamples() >= hot.getSelfSamples());
+
+        FunctionProfile map = find(profiles, "ArrayPrototype.map");
+        assertEquals(null, map.getFileName());
+
+        FunctionProfile script = find(profiles, "(script)");
+        assertEquals(profiler.getScriptSampleCount(), script.getTotalSamples());
+    }
+
+    @Test
+    public void collapsedStacks() throws Exception {
+        ScriptProfiler profiler = profile("profile.js", SCRIPT);
+        StringWriter writer = new StringWriter();
+        profiler.writeCollapsedStacks(writer);
+
+        List<String> lines = Arrays.asList(writer.toString().split("\n"));
+        assertFalse(lines.isEmpty());
+        long total = 0;
+        for (String line : lines) {
+            assertTrue(line, line.startsWith("(script) (profile.js:"));
+            total += Long.parseLong(line.substring(line.lastIndexOf(' ') + 1));
+        }
+        assertEquals(profiler.getScriptSampleCount(), total);
+        // The function line is the lowest sampled line, which may be the line of the function declaration.
+        int viaBuiltinLine = find(profiler.getFunctionProfiles(), "viaBuiltin").getLine();
+        String viaBuiltin = "viaBuiltin (profile.js:" + viaBuiltinLine + ")";
+        assertTrue(lines.stream().anyMatch(line -> line.contains(";" + viaBuiltin + ";ArrayPrototype.map;")));
+    }
+
+    @Test
+    public void report() throws Exception {
+        ScriptProfiler profiler = profile("profile.js", SCRIPT);
+        StringWriter writer = new StringWriter();
+        profiler.writeReport(writer);
+
+        String[] lines = writer.toString().split("\\R");
+        assertTrue(lines[0], lines[0].startsWith("Script profile: " + profiler.getSampleCount() + " samples"));
+        assertTrue(lines[1], lines[1].trim().startsWith("Self"));
+        assertTrue(Arrays.stream(lines).anyMatch(line -> line.endsWith("hot (profile.js:" + find(
+                profiler.getFunctionProfiles(), "hot").getLine() + ")")));
+    }
+}
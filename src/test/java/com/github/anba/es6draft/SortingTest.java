@@ -0,0 +1,107 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+import com.github.anba.es6draft.runtime.internal.Sorting;
+
+/**
+ * 
+ */
+public final class SortingTest {
+    private static final int[] LENGTHS = { 0, 1, 2, 3, 15, 16, 17, 31, 32, 33, 100, 1000, 10000 };
+
+    @Test
+    public void sortInt() {
+        Random random = new Random(0);
+        for (int length : LENGTHS) {
+            int[] array = random.ints(length).toArray();
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+
+            Sorting.sort(array, Integer::compare);
+            assertArrayEquals(expected, array);
+        }
+    }
+
+    @Test
+    public void sortLong() {
+        Random random = new Random(0);
+        for (int length : LENGTHS) {
+            long[] array = random.longs(length).toArray();
+            long[] expected = array.clone();
+            Arrays.sort(expected);
+
+            Sorting.sort(array, Long::compare);
+            assertArrayEquals(expected, array);
+        }
+    }
+
+    @Test
+    public void sortDouble() {
+        Random random = new Random(0);
+        for (int length : LENGTHS) {
+            double[] array = random.doubles(length).toArray();
+            double[] expected = array.clone();
+            Arrays.sort(expected);
+
+            Sorting.sort(array, Double::compare);
+            assertArrayEquals(expected, array, 0);
+        }
+    }
+
+    @Test
+    public void sortDescending() {
+        Random random = new Random(0);
+        for (int length : LENGTHS) {
+            int[] array = random.ints(length, 0, 100).toArray();
+            int[] expected = Arrays.stream(array).boxed().sorted((x, y) -> Integer.compare(y, x))
+                    .mapToInt(Integer::intValue).toArray();
+
+            Sorting.sort(array, (x, y) -> Integer.compare(y, x));
+            assertArrayEquals(expected, array);
+        }
+    }
+
+    @Test
+    public void stable() {
+        Random random = new Random(0);
+        for (int length : LENGTHS) {
+            // Sort by the upper 16 bits, the lower 16 bits record the original position.
+            int[] array = new int[length];
+            for (int i = 0; i < length; ++i) {
+                array[i] = (random.nextInt(10) << 16) | i;
+            }
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+
+            Sorting.sort(array, (x, y) -> Integer.compare(x >>> 16, y >>> 16));
+            assertArrayEquals(expected, array);
+        }
+    }
+
+    @Test
+    public void inconsistentComparator() {
+        Random random = new Random(0);
+        for (int length : LENGTHS) {
+            int[] array = random.ints(length).toArray();
+            int[] expected = array.clone();
+            Arrays.sort(expected);
+
+            // Result is unspecified, but all elements must still be present.
+            Sorting.sort(array, (x, y) -> random.nextInt(3) - 1);
+            Arrays.sort(array);
+            assertArrayEquals(expected, array);
+        }
+    }
+}
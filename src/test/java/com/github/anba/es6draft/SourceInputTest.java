@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.StringJoiner;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.anba.es6draft.parser.Parser;
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.ScriptLoading;
+import com.github.anba.es6draft.runtime.internal.Source;
+
+/**
+ * Tests for the {@link Parser} source inputs.
+ */
+public final class SourceInputTest {
+    private static final RuntimeContext context = new RuntimeContext.Builder().build();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Realm newRealm() throws Exception {
+        return Realm.InitializeHostDefinedRealm(new World(context));
+    }
+
+    private Path write(byte[] bytes) throws Exception {
+        Path file = folder.newFile().toPath().toAbsolutePath();
+        Files.write(file, bytes);
+        return file;
+    }
+
+    private static Object evalFile(Path file) throws Exception {
+        return ScriptLoading.eval(newRealm(), Paths.get("source-test"), file);
+    }
+
+    private static Object evalCharBuffer(CharBuffer buffer) throws Exception {
+        Realm realm = newRealm();
+        Source source = new Source("source-test", 1);
+        Parser parser = new Parser(context, source);
+        return realm.getScriptLoader().load(parser.parseScript(buffer)).evaluate(realm);
+    }
+
+    @Test
+    public void functionSourceAcrossBlocks() throws Exception {
+        int count = 40;
+        StringBuilder padding = new StringBuilder();
+        for (int i = 0; i < 700; ++i) {
+            padding.append("ä€😀 ");
+        }
+        StringBuilder sb = new StringBuilder();
+        StringJoiner functions = new StringJoiner("\n");
+        for (int i = 0; i < count; ++i) {
+            String function = "function f" + i + "() { /* " + padding + " */ return " + i + "; }";
+            sb.append(function).append('\n');
+            functions.add(function);
+        }
+        sb.append("var a = []; for (var i = 0; i < " + count + "; ++i) a.push(String(this['f' + i])); a.join('\\n')");
+        String sourceCode = sb.toString();
+
+        Path file = write(sourceCode.getBytes(StandardCharsets.UTF_8));
+        assertEquals(functions.toString(), evalFile(file));
+
+        CharBuffer buffer = CharBuffer.allocate(sourceCode.length() + 10);
+        buffer.put("/*prefix*/").put(sourceCode).flip();
+        buffer.position(10);
+        assertEquals(functions.toString(), evalCharBuffer(buffer));
+    }
+
+    @Test
+    public void malformedInput() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write("var s = 'a".getBytes(StandardCharsets.UTF_8));
+        out.write(new byte[] { (byte) 0xff, 'b', (byte) 0xe2, (byte) 0x82 });
+        out.write("c'; s // ".getBytes(StandardCharsets.UTF_8));
+        out.write(new byte[] { (byte) 0xf0, (byte) 0x9f });
+        byte[] bytes = out.toByteArray();
+
+        Object expected = ScriptLoading.eval(newRealm(), "source-test", new String(bytes, StandardCharsets.UTF_8));
+        assertEquals(expected, evalFile(write(bytes)));
+    }
+
+    @Test
+    public void emptyFile() throws Exception {
+        assertEquals(evalCharBuffer(CharBuffer.allocate(0)), evalFile(write(new byte[0])));
+    }
+}
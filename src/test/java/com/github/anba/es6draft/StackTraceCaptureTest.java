@@ -0,0 +1,99 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.ScriptException;
+import com.github.anba.es6draft.runtime.internal.ScriptLoading;
+import com.github.anba.es6draft.runtime.objects.ErrorObject;
+
+/**
+ * Tests for the script stack traces recorded by {@link ScriptException}.
+ */
+public final class StackTraceCaptureTest {
+    private static final String RECURSION = "function f(n) { if (n === 0) throw %s; return f(n - 1) + 1; }\nf(10);";
+
+    private static ScriptException evalThrows(RuntimeContext context, String sourceCode) throws Exception {
+        Realm realm = Realm.InitializeHostDefinedRealm(new World(context));
+        try {
+            ScriptLoading.eval(realm, "stack.js", sourceCode);
+        } catch (ScriptException e) {
+            return e;
+        }
+        fail("no exception thrown");
+        return null;
+    }
+
+    private static void assertScriptFrames(StackTraceElement[] stackTrace, int expectedLength) {
+        assertEquals(expectedLength, stackTrace.length);
+        for (StackTraceElement element : stackTrace) {
+            assertTrue(element.toString(), element.getClassName().startsWith("#"));
+            assertEquals("stack.js", element.getFileName());
+            assertTrue(element.getLineNumber() > 0);
+        }
+    }
+
+    @Test
+    public void errorStackTrace() throws Exception {
+        ScriptException e = evalThrows(new RuntimeContext.Builder().build(), String.format(RECURSION, "new Error()"));
+        assertTrue(e.getValue() instanceof ErrorObject);
+        assertSame(((ErrorObject) e.getValue()).getException(), e);
+        // 11 calls of f() and the script body.
+        assertScriptFrames(e.getStackTrace(), 12);
+        assertEquals(12, e.getScriptStackTrace().length);
+        assertEquals("f", e.getScriptStackTrace()[0].getMethodName());
+        assertEquals(1, e.getScriptStackTrace()[0].getLineNumber());
+        assertEquals(2, e.getScriptStackTrace()[11].getLineNumber());
+    }
+
+    @Test
+    public void stackTraceDepth() throws Exception {
+        RuntimeContext context = new RuntimeContext.Builder().setStackTraceDepth(3).build();
+        ScriptException e = evalThrows(context, String.format(RECURSION, "new Error()"));
+        assertScriptFrames(e.getStackTrace(), 3);
+    }
+
+    @Test
+    public void disabledStackTrace() throws Exception {
+        RuntimeContext context = new RuntimeContext.Builder().setStackTraceDepth(0).build();
+        ScriptException e = evalThrows(context, String.format(RECURSION, "new Error()"));
+        assertScriptFrames(e.getStackTrace(), 0);
+    }
+
+    @Test
+    public void valueWithoutStackTrace() throws Exception {
+        ScriptException e = evalThrows(new RuntimeContext.Builder().build(), String.format(RECURSION, "'abc'"));
+        assertEquals("abc", e.getValue());
+        assertScriptFrames(e.getStackTrace(), 0);
+    }
+
+    @Test
+    public void valueWithStackTrace() throws Exception {
+        RuntimeContext context = new RuntimeContext.Builder().setValueStackTraces(true).build();
+        ScriptException e = evalThrows(context, String.format(RECURSION, "'abc'"));
+        assertEquals("abc", e.getValue());
+        assertScriptFrames(e.getStackTrace(), 12);
+    }
+
+    @Test
+    public void setStackTrace() throws Exception {
+        ScriptException e = evalThrows(new RuntimeContext.Builder().build(), String.format(RECURSION, "new Error()"));
+        StackTraceElement element = new StackTraceElement("#Test", "test", "test.js", 1);
+        e.setStackTrace(new StackTraceElement[] { element });
+        assertEquals(1, e.getStackTrace().length);
+        assertEquals(element, e.getStackTrace()[0]);
+    }
+}
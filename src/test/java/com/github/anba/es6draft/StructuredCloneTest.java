@@ -0,0 +1,269 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static com.github.anba.es6draft.runtime.extensions.clone.StructuredClone.StructuredDeserialize;
+import static com.github.anba.es6draft.runtime.extensions.clone.StructuredClone.StructuredSerialize;
+import static com.github.anba.es6draft.runtime.extensions.clone.StructuredClone.StructuredSerializeWithTransfer;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.github.anba.es6draft.runtime.ExecutionContext;
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.extensions.clone.SerializedValue;
+import com.github.anba.es6draft.runtime.internal.CompatibilityOption;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.ScriptException;
+import com.github.anba.es6draft.runtime.internal.ScriptLoading;
+import com.github.anba.es6draft.runtime.objects.binary.ArrayBufferObject;
+import com.github.anba.es6draft.runtime.types.Intrinsics;
+import com.github.anba.es6draft.runtime.types.ScriptObject;
+
+/**
+ * Tests for {@link com.github.anba.es6draft.runtime.extensions.clone.StructuredClone}.
+ */
+public final class StructuredCloneTest {
+    private Realm source;
+    private Realm target;
+
+    private static Realm newRealm() throws Exception {
+        RuntimeContext context = new RuntimeContext.Builder().setOptions(EnumSet.of(CompatibilityOption.BigInt))
+                .build();
+        return Realm.InitializeHostDefinedRealm(new World(context));
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        source = newRealm();
+        target = newRealm();
+    }
+
+    private Object eval(Realm realm, String sourceCode) {
+        return ScriptLoading.eval(realm, "structured-clone-test", sourceCode);
+    }
+
+    private Object cloneInto(String sourceCode) {
+        SerializedValue serialized = StructuredSerialize(source.defaultContext(), eval(source, sourceCode));
+        Object value = StructuredDeserialize(target.defaultContext(), serialized);
+        target.getGlobalObject().set(target.defaultContext(), "value", value, target.getGlobalObject());
+        return value;
+    }
+
+    private boolean test(String sourceCode) {
+        return (Boolean) eval(target, sourceCode);
+    }
+
+    @Test
+    public void primitives() {
+        cloneInto("[undefined, null, true, false, 0, -0, 1.5, -123456789, 2**40, NaN, 'abc', 'ä€😀']");
+        assertTrue(test("value.length === 12"));
+        assertTrue(test("value[0] === undefined && value[1] === null && value[2] === true && value[3] === false"));
+        assertTrue(test("Object.is(value[4], 0) && Object.is(value[5], -0) && value[6] === 1.5"));
+        assertTrue(test("value[7] === -123456789 && value[8] === 2**40 && Number.isNaN(value[9])"));
+        assertTrue(test("value[10] === 'abc' && value[11] === 'ä€😀'"));
+    }
+
+    @Test
+    public void objectsAndArrays() {
+        cloneInto("({a: 1, b: {c: [1, , 3]}, 0: 'zero', get d() { return 'getter'; }})");
+        assertTrue(test("Object.getPrototypeOf(value) === Object.prototype"));
+        assertTrue(test("Object.keys(value).join() === '0,a,b,d'"));
+        assertTrue(test("value.d === 'getter' && value[0] === 'zero'"));
+        assertTrue(test("Array.isArray(value.b.c) && value.b.c.length === 3 && !(1 in value.b.c)"));
+        assertTrue(test("value.b.c[2] === 3"));
+    }
+
+    @Test
+    public void cycles() {
+        cloneInto("var o = {}; var a = [o, o]; o.self = o; o.array = a; a");
+        assertTrue(test("value[0] === value[1]"));
+        assertTrue(test("value[0].self === value[0] && value[0].array === value"));
+    }
+
+    @Test
+    public void arrayBuffersAndViews() {
+        cloneInto("var b = new ArrayBuffer(8); new Uint8Array(b).set([1, 2, 3, 4, 5, 6, 7, 8]);"
+                + "[b, new Int16Array(b, 2, 2), new DataView(b, 4)]");
+        assertTrue(test("value[0] instanceof ArrayBuffer && value[0].byteLength === 8"));
+        assertTrue(test("value[1] instanceof Int16Array && value[1].buffer === value[0]"));
+        assertTrue(test("value[1].byteOffset === 2 && value[1].length === 2"));
+        assertTrue(test("value[2] instanceof DataView && value[2].buffer === value[0]"));
+        assertTrue(test("value[2].byteOffset === 4 && value[2].getUint8(0) === 5"));
+        assertTrue(test("new Uint8Array(value[0]).join() === '1,2,3,4,5,6,7,8'"));
+        assertTrue((Boolean) eval(source, "b.byteLength === 8"));
+    }
+
+    @Test
+    public void transferArrayBuffer() {
+        ExecutionContext cx = source.defaultContext();
+        ArrayBufferObject buffer = (ArrayBufferObject) eval(source,
+                "var b = new ArrayBuffer(4); new Uint8Array(b).set([1, 2, 3, 4]); b");
+        Object value = eval(source, "({buffer: b, view: new Uint8Array(b, 1)})");
+        SerializedValue serialized = StructuredSerializeWithTransfer(cx, value, Collections.singletonList(buffer));
+        assertTrue(buffer.isDetached());
+        assertTrue(serialized.hasTransferredBuffers());
+
+        Object result = StructuredDeserialize(target.defaultContext(), serialized);
+        target.getGlobalObject().set(target.defaultContext(), "value", result, target.getGlobalObject());
+        assertTrue(test("value.view.buffer === value.buffer && value.buffer.byteLength === 4"));
+        assertTrue(test("value.view.join() === '2,3,4'"));
+        try {
+            StructuredDeserialize(target.defaultContext(), serialized);
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void sharedArrayBuffer() {
+        cloneInto("var sab = new SharedArrayBuffer(8); [sab, new Int32Array(sab)]");
+        eval(target, "value[1][1] = 42;");
+        assertEquals(42, ((Number) eval(source, "new Int32Array(sab)[1]")).intValue());
+        assertTrue(test("value[1].buffer === value[0]"));
+    }
+
+    @Test
+    public void mapsAndSets() {
+        cloneInto("var o = {}; var m = new Map([[1, 'one'], ['k', o], [o, null], [-0, 'zero']]); m.set(o, m);"
+                + "[m, new Set([1, 'a', o, m])]");
+        assertTrue(test("value[0] instanceof Map && value[0].size === 4"));
+        assertTrue(test("[...value[0].keys()].slice(0, 2).join() === '1,k' && value[0].get(1) === 'one'"));
+        assertTrue(test("var k = value[0].get('k'); value[0].get(k) === value[0] && value[0].get(0) === 'zero'"));
+        assertTrue(test("value[1] instanceof Set && value[1].size === 4 && value[1].has(1) && value[1].has('a')"));
+        assertTrue(test("value[1].has(k) && value[1].has(value[0])"));
+    }
+
+    @Test
+    public void datesAndRegExps() {
+        cloneInto("var re = /a+(b)/giu; re.lastIndex = 3; [new Date(1e12), new Date(NaN), re]");
+        assertTrue(test("value[0] instanceof Date && value[0].getTime() === 1e12"));
+        assertTrue(test("value[1] instanceof Date && Number.isNaN(value[1].getTime())"));
+        assertTrue(test("value[2] instanceof RegExp && value[2].source === 'a+(b)' && value[2].flags === 'giu'"));
+        assertTrue(test("value[2].lastIndex === 0 && value[2].exec('xaab')[1] === 'b'"));
+    }
+
+    @Test
+    public void bigIntAndWrappers() {
+        cloneInto("var big = 2n ** 100n; [0n, -1n, big, -big, Object(big), Object(true), Object(-0), Object('s')]");
+        assertTrue(test("value[0] === 0n && value[1] === -1n && value[2] === 2n ** 100n && value[3] === -(2n ** 100n)"));
+        assertTrue(test("typeof value[4] === 'object' && value[4].valueOf() === 2n ** 100n"));
+        assertTrue(test("value[5] instanceof Boolean && value[5].valueOf() === true"));
+        assertTrue(test("value[6] instanceof Number && Object.is(value[6].valueOf(), -0)"));
+        assertTrue(test("value[7] instanceof String && value[7].valueOf() === 's' && value[7].length === 1"));
+    }
+
+    @Test
+    public void externalRepresentation() throws Exception {
+        ExecutionContext cx = source.defaultContext();
+        SerializedValue serialized = StructuredSerialize(cx,
+                eval(source, "({map: new Map([['a', [1, 2n, new Date(0)]]]), bytes: new Uint8Array([7, 8])})"));
+
+        ByteBuffer buffer = ByteBuffer.allocate(serialized.externalLength());
+        serialized.writeTo(buffer);
+        assertFalse(buffer.hasRemaining());
+        buffer.flip();
+        SerializedValue fromBuffer = SerializedValue.readFrom(buffer);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serialized.writeTo(Channels.newChannel(out));
+        SerializedValue fromChannel = SerializedValue.readFrom(
+                Channels.newChannel(new ByteArrayInputStream(out.toByteArray())));
+
+        for (SerializedValue value : new SerializedValue[] { fromBuffer, fromChannel }) {
+            Object result = StructuredDeserialize(target.defaultContext(), value);
+            target.getGlobalObject().set(target.defaultContext(), "value", result, target.getGlobalObject());
+            assertTrue(test("var a = value.map.get('a'); a[0] === 1 && a[1] === 2n && a[2].getTime() === 0"));
+            assertTrue(test("value.bytes.join() === '7,8'"));
+        }
+    }
+
+    @Test
+    public void externalRepresentationNotSelfContained() {
+        SerializedValue serialized = StructuredSerialize(source.defaultContext(),
+                eval(source, "new SharedArrayBuffer(8)"));
+        try {
+            serialized.writeTo(ByteBuffer.allocate(serialized.externalLength()));
+            fail("expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void malformedExternalRepresentation() {
+        SerializedValue serialized = StructuredSerialize(source.defaultContext(), eval(source, "({a: [1, 2, 3]})"));
+        ByteBuffer buffer = ByteBuffer.allocate(serialized.externalLength());
+        serialized.writeTo(buffer);
+        byte[] bytes = buffer.array();
+        // Truncate the encoded object graph.
+        ByteBuffer truncated = ByteBuffer.allocate(bytes.length - 2);
+        truncated.putInt(0, buffer.getInt(0)).putInt(4, bytes.length - 10);
+        System.arraycopy(bytes, 8, truncated.array(), 8, bytes.length - 10);
+        SerializedValue malformed = SerializedValue.readFrom(truncated);
+        try {
+            StructuredDeserialize(target.defaultContext(), malformed);
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        bytes[0] ^= 0xFF;
+        try {
+            SerializedValue.readFrom(ByteBuffer.wrap(bytes));
+            fail("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void invalidTransfer() {
+        ExecutionContext cx = source.defaultContext();
+        Object buffer = eval(source, "new ArrayBuffer(4)");
+        Object object = eval(source, "({})");
+        assertThrowsTypeError(() -> StructuredSerializeWithTransfer(cx, buffer, Arrays.asList(buffer, buffer)));
+        assertThrowsTypeError(() -> StructuredSerializeWithTransfer(cx, buffer, Arrays.asList(object)));
+        assertFalse(((ArrayBufferObject) buffer).isDetached());
+    }
+
+    @Test
+    public void notCloneable() {
+        ExecutionContext cx = source.defaultContext();
+        for (String sourceCode : new String[] { "Symbol()", "(function(){})", "new Proxy({}, {})", "[Symbol()]",
+                "({a: new WeakMap})" }) {
+            Object value = eval(source, sourceCode);
+            assertThrowsTypeError(() -> StructuredSerialize(cx, value));
+        }
+    }
+
+    private void assertThrowsTypeError(Runnable runnable) {
+        try {
+            runnable.run();
+            fail("expected TypeError");
+        } catch (ScriptException e) {
+            Object error = e.getValue();
+            assertTrue(error instanceof ScriptObject);
+            assertSame(source.getIntrinsic(Intrinsics.TypeErrorPrototype),
+                    ((ScriptObject) error).getPrototypeOf(source.defaultContext()));
+        }
+    }
+}
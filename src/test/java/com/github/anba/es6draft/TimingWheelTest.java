@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import com.github.anba.es6draft.runtime.Job;
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.extensions.timer.TimerQueue;
+import com.github.anba.es6draft.runtime.extensions.timer.Timers;
+import com.github.anba.es6draft.runtime.extensions.timer.TimingWheel;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.ScriptLoading;
+
+/**
+ * Tests for {@link TimingWheel}.
+ */
+public final class TimingWheelTest {
+    private static void runAll(TimerQueue queue) throws InterruptedException {
+        for (Job job; (job = queue.nextJob()) != null;) {
+            job.execute();
+        }
+    }
+
+    private static void testOrdering(TimingWheel wheel, int count, int maxDelayMicros) throws InterruptedException {
+        Random random = new Random(count);
+        long[] delays = new long[count];
+        long[] deadlines = new long[count];
+        long[] executed = new long[count];
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            int id = i;
+            delays[i] = random.nextInt(maxDelayMicros);
+            deadlines[i] = System.nanoTime() + TimeUnit.MICROSECONDS.toNanos(delays[i]);
+            wheel.schedule(() -> {
+                executed[id] = System.nanoTime();
+                order.add(id);
+            }, delays[i], TimeUnit.MICROSECONDS);
+        }
+        assertEquals(count, wheel.size());
+        runAll(wheel);
+        assertEquals(0, wheel.size());
+        assertEquals(count, order.size());
+
+        int[] position = new int[count];
+        for (int i = 0; i < count; ++i) {
+            position[order.get(i)] = i;
+        }
+        for (int i = 0; i < count; ++i) {
+            assertTrue("job " + i + " run too early", executed[i] >= deadlines[i]);
+            for (int j = i + 1; j < count; ++j) {
+                if (delays[i] <= delays[j]) {
+                    assertTrue("job " + i + " run after job " + j, position[i] < position[j]);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void ordering() throws InterruptedException {
+        testOrdering(new TimingWheel(1, TimeUnit.MILLISECONDS), 200, 20_000);
+        testOrdering(new TimingWheel(100, TimeUnit.MICROSECONDS, 4), 200, 20_000);
+        testOrdering(new TimingWheel(10, TimeUnit.MICROSECONDS, 2), 200, 20_000);
+    }
+
+    @Test
+    public void cancellation() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel(100, TimeUnit.MICROSECONDS, 8);
+        int count = 1000;
+        List<TimerQueue.Timeout> timeouts = new ArrayList<>();
+        List<Integer> executed = new ArrayList<>();
+        for (int i = 0; i < count; ++i) {
+            int id = i;
+            timeouts.add(wheel.schedule(() -> executed.add(id), i % 50, TimeUnit.MILLISECONDS));
+        }
+        for (int i = 1; i < count; i += 2) {
+            assertTrue(timeouts.get(i).cancel());
+            assertFalse(timeouts.get(i).cancel());
+        }
+        assertEquals(count / 2, wheel.size());
+        runAll(wheel);
+        assertEquals(count / 2, executed.size());
+        for (int id : executed) {
+            assertEquals(0, id % 2);
+        }
+        assertFalse(timeouts.get(0).cancel());
+        assertNull(wheel.poll());
+    }
+
+    @Test
+    public void cancelExpired() throws InterruptedException {
+        TimingWheel wheel = new TimingWheel(1, TimeUnit.MILLISECONDS);
+        List<String> executed = new ArrayList<>();
+        TimerQueue.Timeout first = wheel.schedule(() -> executed.add("first"), 0, TimeUnit.MILLISECONDS);
+        wheel.schedule(() -> executed.add("second"), 0, TimeUnit.MILLISECONDS);
+        assertTrue(first.cancel());
+        runAll(wheel);
+        assertEquals(1, executed.size());
+        assertEquals("second", executed.get(0));
+    }
+
+    @Test
+    public void invalidConfiguration() {
+        for (int wheelSize : new int[] { 0, 1, 3, 100 }) {
+            try {
+                new TimingWheel(1, TimeUnit.MILLISECONDS, wheelSize);
+                throw new AssertionError("expected IllegalArgumentException");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+        try {
+            new TimingWheel(0, TimeUnit.MILLISECONDS);
+            throw new AssertionError("expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void timersWithRuntimeContext() throws Exception {
+        RuntimeContext context = new RuntimeContext.Builder()
+                .setTimerQueue(() -> new TimingWheel(1, TimeUnit.MILLISECONDS)).build();
+        Realm realm = Realm.InitializeHostDefinedRealm(new World(context));
+        TimerQueue queue = context.getTimerQueue().get();
+        assertTrue(queue instanceof TimingWheel);
+        Timers timers = realm.createGlobalProperties(new Timers(queue), Timers.class);
+
+        ScriptLoading.eval(realm, "timers-test", "var log = [];"
+                + "setTimeout(() => log.push('c'), 20);"
+                + "setTimeout(() => log.push('a'), 0);"
+                + "var cancelled = setTimeout(() => log.push('x'), 10);"
+                + "setTimeout(() => log.push('b'), 10);"
+                + "clearTimeout(cancelled);"
+                + "var n = 0, id = setInterval(() => { log.push('i' + n); if (++n === 3) clearInterval(id); }, 5);");
+        realm.getWorld().runEventLoop(timers);
+        Object log = ScriptLoading.eval(realm, "timers-test-result", "log.join()");
+        List<String> entries = java.util.Arrays.asList(((String) log).split(","));
+        assertEquals(6, entries.size());
+        assertEquals("a", entries.get(0));
+        assertTrue(entries.indexOf("b") < entries.indexOf("c"));
+        assertTrue(entries.indexOf("i0") < entries.indexOf("i1") && entries.indexOf("i1") < entries.indexOf("i2"));
+        assertFalse(entries.contains("x"));
+        assertEquals(0, queue.size());
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static com.github.anba.es6draft.runtime.extensions.clone.StructuredClone.StructuredDeserialize;
+import static com.github.anba.es6draft.runtime.extensions.clone.StructuredClone.StructuredSerialize;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.extensions.clone.SerializedValue;
+import com.github.anba.es6draft.runtime.extensions.worker.WorkerAgent;
+import com.github.anba.es6draft.runtime.extensions.worker.Workers;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.ScriptLoading;
+import com.github.anba.es6draft.runtime.internal.Source;
+
+/**
+ * Tests for {@link Workers} and {@link WorkerAgent}.
+ */
+public final class WorkersTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Realm realm;
+    private Workers workers;
+
+    @Before
+    public void setUp() throws Exception {
+        RuntimeContext context = new RuntimeContext.Builder().setBaseDirectory(folder.getRoot().toPath()).build();
+        realm = Realm.InitializeHostDefinedRealm(new World(context));
+        workers = realm.createGlobalProperties(new Workers(), Workers.class);
+    }
+
+    private Object run(String sourceCode) throws InterruptedException {
+        ScriptLoading.eval(realm, "workers-test", sourceCode);
+        realm.getWorld().runEventLoop(workers);
+        assertEquals(0, workers.getActiveWorkers());
+        return ScriptLoading.eval(realm, "workers-test-result", "result");
+    }
+
+    @Test
+    public void postMessageRoundTrip() throws Exception {
+        String sourceCode = "var result = [];"
+                + "var w = new Worker('onmessage = e => postMessage(e.data.value * 2)', {type: 'string'});"
+                + "w.onmessage = e => { result.push(e.data); if (result.length === 3) w.terminate(); };"
+                + "for (var i = 1; i <= 3; ++i) w.postMessage({value: i});";
+        run(sourceCode);
+        assertEquals("2,4,6", ScriptLoading.eval(realm, "join", "result.join()"));
+    }
+
+    @Test
+    public void workerScriptFile() throws Exception {
+        Path file = folder.getRoot().toPath().resolve("worker.js");
+        Files.write(file, "postMessage('from file'); close();".getBytes(StandardCharsets.UTF_8));
+        String sourceCode = "var result; var w = new Worker('worker.js'); w.onmessage = e => { result = e.data; };";
+        assertEquals("from file", run(sourceCode));
+    }
+
+    @Test
+    public void transferArrayBuffer() throws Exception {
+        String workerCode = "onmessage = e => {"
+                + "  var a = new Uint8Array(e.data); a.forEach((v, i) => a[i] = v * 10);"
+                + "  postMessage(e.data, [e.data]); close();"
+                + "};";
+        String sourceCode = "var result;"
+                + "var w = new Worker(" + quote(workerCode) + ", {type: 'string'});"
+                + "var buffer = new Uint8Array([1, 2, 3]).buffer;"
+                + "function isDetached(b) { try { b.byteLength; return false; } catch (e) { return true; } }"
+                + "w.onmessage = e => { result = new Uint8Array(e.data).join() + ';' + isDetached(buffer); };"
+                + "w.postMessage(buffer, [buffer]);";
+        assertEquals("10,20,30;true", run(sourceCode));
+    }
+
+    @Test
+    public void sharedArrayBuffer() throws Exception {
+        String workerCode = "onmessage = e => {"
+                + "  var ta = new Int32Array(e.data); Atomics.store(ta, 0, 42); postMessage('done'); close();"
+                + "};";
+        String sourceCode = "var result;"
+                + "var w = new Worker(" + quote(workerCode) + ", {type: 'string'});"
+                + "var ta = new Int32Array(new SharedArrayBuffer(16));"
+                + "w.onmessage = e => { result = e.data + ':' + Atomics.load(ta, 0); };"
+                + "w.postMessage(ta.buffer);";
+        assertEquals("done:42", run(sourceCode));
+    }
+
+    @Test
+    public void workerError() throws Exception {
+        String sourceCode = "var result;"
+                + "var w = new Worker('throw new RangeError(\"bad\")', {type: 'string'});"
+                + "w.onerror = e => { result = e.message; };";
+        Object result = run(sourceCode);
+        assertTrue(String.valueOf(result), String.valueOf(result).contains("bad"));
+    }
+
+    @Test
+    public void embeddingApi() throws Exception {
+        LinkedBlockingQueue<SerializedValue> messages = new LinkedBlockingQueue<>();
+        CompletableFuture<Throwable> exit = new CompletableFuture<>();
+        WorkerAgent agent = WorkerAgent.start(realm.getWorld().getRuntimeContext(), new Source("agent.js", 1),
+                "onmessage = e => postMessage({sum: e.data.reduce((a, b) => a + b, 0)});",
+                new WorkerAgent.Listener() {
+                    @Override
+                    public void onMessage(SerializedValue message) {
+                        messages.offer(message);
+                    }
+
+                    @Override
+                    public void onExit(Throwable error) {
+                        exit.complete(error);
+                    }
+                });
+        Object array = ScriptLoading.eval(realm, "array", "[1, 2, 3, 4]");
+        agent.postMessage(StructuredSerialize(realm.defaultContext(), array));
+        SerializedValue reply = messages.poll(10, TimeUnit.SECONDS);
+        realm.getGlobalObject().set(realm.defaultContext(), "reply",
+                StructuredDeserialize(realm.defaultContext(), reply), realm.getGlobalObject());
+        assertEquals(10, ((Number) ScriptLoading.eval(realm, "reply", "reply.sum")).intValue());
+
+        agent.terminate();
+        assertNull(exit.get(10, TimeUnit.SECONDS));
+        assertTrue(agent.isClosed());
+    }
+
+    private static String quote(String s) {
+        return "'" + s.replace("'", "\\'") + "'";
+    }
+}
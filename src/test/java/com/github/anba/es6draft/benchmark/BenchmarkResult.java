@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmark;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+
+/**
+ * Measurements of a single macro benchmark workload.
+ */
+final class BenchmarkResult {
+    private final String name;
+    private final double compileTime;
+    private final double[] warmup;
+    private final double[] iterations;
+    private final long allocatedBytes;
+
+    /**
+     * Constructs a new benchmark result.
+     *
+     * @param name
+     *            the workload name
+     * @param compileTime
+     *            the parse and compile time in milliseconds
+     * @param warmup
+     *            the warmup iteration times in milliseconds
+     * @param iterations
+     *            the measured iteration times in milliseconds
+     * @param allocatedBytes
+     *            the average number of allocated bytes per measured iteration or {@code -1} if not available
+     */
+    BenchmarkResult(String name, double compileTime, double[] warmup, double[] iterations, long allocatedBytes) {
+        this.name = name;
+        this.compileTime = compileTime;
+        this.warmup = warmup;
+        this.iterations = iterations;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    /**
+     * Returns the workload name.
+     *
+     * @return the workload name
+     */
+    String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the parse and compile time in milliseconds.
+     *
+     * @return the compile time
+     */
+    double getCompileTime() {
+        return compileTime;
+    }
+
+    /**
+     * Returns the warmup curve, the time in milliseconds for each warmup iteration.
+     *
+     * @return the warmup iteration times
+     */
+    double[] getWarmup() {
+        return warmup.clone();
+    }
+
+    /**
+     * Returns the mean time in milliseconds of the measured iterations.
+     *
+     * @return the mean iteration time
+     */
+    double getMean() {
+        return DoubleStream.of(iterations).average().orElse(Double.NaN);
+    }
+
+    /**
+     * Returns the steady-state score in iterations per second.
+     *
+     * @return the score
+     */
+    double getScore() {
+        return 1000 / getMean();
+    }
+
+    /**
+     * Returns the average number of allocated bytes per measured iteration or {@code -1} if not available.
+     *
+     * @return the allocated bytes per iteration
+     */
+    long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Returns the properties entries for this result.
+     *
+     * @return the properties entries
+     */
+    Map<String, String> toProperties() {
+        LinkedHashMap<String, String> map = new LinkedHashMap<>();
+        map.put(name + ".score", format(getScore()));
+        map.put(name + ".mean", format(getMean()));
+        map.put(name + ".min", format(DoubleStream.of(iterations).min().orElse(Double.NaN)));
+        map.put(name + ".compileTime", format(compileTime));
+        map.put(name + ".allocatedBytes", Long.toString(allocatedBytes));
+        map.put(name + ".warmup", DoubleStream.of(warmup).mapToObj(BenchmarkResult::format)
+                .collect(Collectors.joining(", ")));
+        map.put(name + ".iterations", DoubleStream.of(iterations).mapToObj(BenchmarkResult::format)
+                .collect(Collectors.joining(", ")));
+        return map;
+    }
+
+    /**
+     * Reads a benchmark result from the properties object.
+     *
+     * @param properties
+     *            the properties object
+     * @param name
+     *            the workload name
+     * @return the benchmark result or {@code null} if not present
+     */
+    static BenchmarkResult fromProperties(Properties properties, String name) {
+        String iterations = properties.getProperty(name + ".iterations");
+        if (iterations == null) {
+            return null;
+        }
+        double compileTime = Double.parseDouble(properties.getProperty(name + ".compileTime", "NaN"));
+        long allocatedBytes = Long.parseLong(properties.getProperty(name + ".allocatedBytes", "-1"));
+        return new BenchmarkResult(name, compileTime, parseList(properties.getProperty(name + ".warmup", "")),
+                parseList(iterations), allocatedBytes);
+    }
+
+    private static double[] parseList(String list) {
+        return Arrays.stream(list.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                .mapToDouble(Double::parseDouble).toArray();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmark;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.apache.commons.configuration.Configuration;
+import org.junit.rules.ExternalResource;
+
+/**
+ * {@link ExternalResource} sub-class to collect {@link BenchmarkResult}s, write them to the results file and compare
+ * them against an optional baseline results file.
+ * <p>
+ * Results are stored in properties format with one {@code <workload>.<metric>} entry per measurement, so a results
+ * file from a previous run can directly be used as the baseline for a later run.
+ */
+final class BenchmarkResults extends ExternalResource {
+    private final Configuration configuration;
+    private final TreeMap<String, BenchmarkResult> results = new TreeMap<>();
+    private Properties baseline;
+    private double tolerance;
+
+    BenchmarkResults(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    @Override
+    protected void before() throws Throwable {
+        tolerance = configuration.getDouble("tolerance", 0.1);
+        String baselineFile = configuration.getString("baseline", "");
+        if (!baselineFile.isEmpty()) {
+            baseline = new Properties();
+            try (Reader reader = Files.newBufferedReader(Paths.get(baselineFile), StandardCharsets.UTF_8)) {
+                baseline.load(reader);
+            }
+        }
+    }
+
+    @Override
+    protected void after() {
+        if (results.isEmpty()) {
+            return;
+        }
+        try {
+            write(Paths.get(configuration.getString("results")));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Records the benchmark result.
+     *
+     * @param result
+     *            the benchmark result
+     */
+    synchronized void add(BenchmarkResult result) {
+        results.put(result.getName(), result);
+    }
+
+    /**
+     * Compares the benchmark result against the baseline.
+     *
+     * @param result
+     *            the benchmark result
+     * @return the list of regressions, empty if no baseline is present or no regressions were found
+     */
+    List<String> compare(BenchmarkResult result) {
+        ArrayList<String> regressions = new ArrayList<>();
+        BenchmarkResult base = baseline != null ? BenchmarkResult.fromProperties(baseline, result.getName()) : null;
+        if (base == null) {
+            return regressions;
+        }
+        if (result.getScore() < base.getScore() * (1 - tolerance)) {
+            regressions.add(String.format(Locale.ROOT, "%s: score %.3f, baseline %.3f (%+.1f%%)", result.getName(),
+                    result.getScore(), base.getScore(), change(result.getScore(), base.getScore())));
+        }
+        if (result.getAllocatedBytes() >= 0 && base.getAllocatedBytes() >= 0
+                && result.getAllocatedBytes() > base.getAllocatedBytes() * (1 + tolerance)) {
+            regressions.add(String.format(Locale.ROOT, "%s: allocated bytes %d, baseline %d (%+.1f%%)",
+                    result.getName(), result.getAllocatedBytes(), base.getAllocatedBytes(),
+                    change(result.getAllocatedBytes(), base.getAllocatedBytes())));
+        }
+        return regressions;
+    }
+
+    private static double change(double value, double base) {
+        return (value - base) / base * 100;
+    }
+
+    private synchronized void write(Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# es6draft macro benchmark results");
+            writer.newLine();
+            writer.write("# date = " + Instant.now());
+            writer.newLine();
+            writer.write("# java = " + System.getProperty("java.vm.name") + " " + System.getProperty("java.version"));
+            writer.newLine();
+            writer.write("# os = " + System.getProperty("os.name") + " " + System.getProperty("os.arch") + ", "
+                    + Runtime.getRuntime().availableProcessors() + " cpus");
+            writer.newLine();
+            writer.write("# Scores are iterations per second, times are in milliseconds.");
+            writer.newLine();
+            for (BenchmarkResult result : results.values()) {
+                writer.newLine();
+                for (Map.Entry<String, String> entry : result.toProperties().entrySet()) {
+                    writer.write(entry.getKey() + " = " + entry.getValue());
+                    writer.newLine();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.benchmark;
+
+import static com.github.anba.es6draft.runtime.AbstractOperations.Call;
+import static com.github.anba.es6draft.runtime.AbstractOperations.Get;
+import static com.github.anba.es6draft.runtime.AbstractOperations.IsCallable;
+import static com.github.anba.es6draft.runtime.types.Undefined.UNDEFINED;
+import static com.github.anba.es6draft.util.Resources.loadConfiguration;
+import static com.github.anba.es6draft.util.Resources.loadTests;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
+
+import org.apache.commons.configuration.Configuration;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.Timeout;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+import org.junit.runners.Parameterized.UseParametersRunnerFactory;
+
+import com.github.anba.es6draft.Script;
+import com.github.anba.es6draft.runtime.ExecutionContext;
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.RealmData;
+import com.github.anba.es6draft.runtime.internal.ScriptException;
+import com.github.anba.es6draft.runtime.internal.Source;
+import com.github.anba.es6draft.runtime.objects.promise.PromiseObject;
+import com.github.anba.es6draft.util.ParameterizedRunnerFactory;
+import com.github.anba.es6draft.util.SystemConsole;
+import com.github.anba.es6draft.util.TestConfiguration;
+import com.github.anba.es6draft.util.TestInfo;
+import com.github.anba.es6draft.util.TestRealm;
+import com.github.anba.es6draft.util.TestRealms;
+import com.github.anba.es6draft.util.rules.ExceptionHandlers.ScriptExceptionHandler;
+import com.github.anba.es6draft.util.rules.ExceptionHandlers.StandardErrorHandler;
+
+/**
+ * Macro benchmark runner.
+ * <p>
+ * Each workload script defines a global {@code run()} function which performs a single, self-validating iteration.
+ * When {@code run()} returns a promise, the event loop is drained and the promise must be fulfilled. The runner
+ * measures the parse and compile time of the workload script, the warmup curve, the steady-state score and the
+ * allocated bytes per iteration, and compares the results against the baseline results file if configured.
+ * <p>
+ * Workloads are run sequentially to avoid interference between measurements.
+ */
+@RunWith(Parameterized.class)
+@UseParametersRunnerFactory(ParameterizedRunnerFactory.class)
+@TestConfiguration(name = "benchmark.test", file = "resource:/test-configuration.properties")
+public final class MacroBenchmarkTest {
+    private static final Configuration configuration = loadConfiguration(MacroBenchmarkTest.class);
+
+    @Parameters(name = "{0}")
+    public static List<TestInfo> suiteValues() throws IOException {
+        return loadTests(configuration);
+    }
+
+    @ClassRule
+    public static TestRealms<TestInfo> realms = new TestRealms<>(configuration, RealmData::new);
+
+    @ClassRule
+    public static BenchmarkResults results = new BenchmarkResults(configuration);
+
+    @Rule
+    public Timeout maxTime = new Timeout(30, TimeUnit.MINUTES);
+
+    @Rule
+    public StandardErrorHandler errorHandler = new StandardErrorHandler();
+
+    @Rule
+    public ScriptExceptionHandler exceptionHandler = new ScriptExceptionHandler();
+
+    @Parameter(0)
+    public TestInfo test;
+
+    @Rule
+    public TestRealm<TestInfo> realm = new TestRealm<>(realms);
+
+    @Before
+    public void setUp() throws Throwable {
+        assumeTrue("Test disabled", test.isEnabled());
+
+        realm.initialize(new SystemConsole(), test);
+        exceptionHandler.setExecutionContext(realm.get().defaultContext());
+    }
+
+    @Test
+    public void runBenchmark() throws Throwable {
+        Realm realm = this.realm.get();
+        ExecutionContext cx = realm.defaultContext();
+        int warmupIterations = configuration.getInt("warmup");
+        int measuredIterations = configuration.getInt("iterations");
+        assertTrue("iterations > 0", measuredIterations > 0);
+
+        // Parse and compile the workload, then evaluate it to define the run() function.
+        long start = System.nanoTime();
+        Script script = realm.getScriptLoader().script(new Source(test.toFile(), test.getScript().toString(), 1),
+                test.toFile());
+        double compileTime = toMillis(System.nanoTime() - start);
+        script.evaluate(realm);
+        Object run = Get(cx, realm.getGlobalThis(), "run");
+        assertTrue("run() not defined", IsCallable(run));
+
+        double[] warmup = new double[warmupIterations];
+        for (int i = 0; i < warmupIterations; ++i) {
+            warmup[i] = runIteration(realm, run);
+        }
+
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        long allocatedStart = allocatedBytes(threadBean);
+        double[] iterations = new double[measuredIterations];
+        for (int i = 0; i < measuredIterations; ++i) {
+            iterations[i] = runIteration(realm, run);
+        }
+        long allocatedEnd = allocatedBytes(threadBean);
+        long allocatedBytes = allocatedStart >= 0 && allocatedEnd >= 0
+                ? (allocatedEnd - allocatedStart) / measuredIterations : -1;
+
+        String name = test.getScript().getFileName().toString().replaceFirst("\\.js$", "");
+        BenchmarkResult result = new BenchmarkResult(name, compileTime, warmup, iterations, allocatedBytes);
+        results.add(result);
+
+        System.out.printf(Locale.ROOT, "%s: score %.3f/s, mean %.3f ms, compile %.3f ms, allocated %d bytes%n",
+                name, result.getScore(), result.getMean(), compileTime, allocatedBytes);
+        System.out.printf(Locale.ROOT, "%s: warmup [%s]%n", name,
+                DoubleStream.of(warmup).mapToObj(t -> String.format(Locale.ROOT, "%.1f", t))
+                        .collect(Collectors.joining(", ")));
+
+        List<String> regressions = results.compare(result);
+        if (!regressions.isEmpty()) {
+            fail(String.join("\n", regressions));
+        }
+    }
+
+    private static double runIteration(Realm realm, Object run) {
+        ExecutionContext cx = realm.defaultContext();
+        long start = System.nanoTime();
+        Object value = Call(cx, run, UNDEFINED);
+        if (value instanceof PromiseObject) {
+            realm.getWorld().runEventLoop();
+            PromiseObject promise = (PromiseObject) value;
+            if (promise.getState() == PromiseObject.State.Rejected) {
+                throw ScriptException.create(promise.getResult());
+            }
+            assertTrue("run() promise not settled", promise.getState() == PromiseObject.State.Fulfilled);
+        }
+        return toMillis(System.nanoTime() - start);
+    }
+
+    private static long allocatedBytes(ThreadMXBean threadBean) {
+        if (threadBean instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) threadBean;
+            if (bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled()) {
+                return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft.scripting;
+
+import static com.github.anba.es6draft.util.matchers.IsInstanceOfWith.instanceOfWith;
+import static com.github.anba.es6draft.util.matchers.IsNumberCloseTo.numberCloseTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.script.ScriptContext;
+import javax.script.ScriptEngine;
+import javax.script.ScriptException;
+import javax.script.SimpleBindings;
+import javax.script.SimpleScriptContext;
+
+import org.junit.Test;
+
+/**
+ * JSR-223 Scripting API tests for the compiled script cache and the realm pool.
+ */
+public final class ScriptEngineCacheTest {
+    @Test
+    public void scriptCacheSharedAcrossEngines() throws ScriptException {
+        ScriptEngineFactoryImpl factory = new ScriptEngineFactoryImpl();
+        ScriptEngine engine1 = factory.getScriptEngine();
+        ScriptEngine engine2 = factory.getScriptEngine();
+
+        engine1.put("numberVal", 2);
+        engine2.put("numberVal", 3);
+        assertThat(engine1.eval("numberVal * 10"), instanceOfWith(Number.class, is(numberCloseTo(20))));
+        assertThat(engine2.eval("numberVal * 10"), instanceOfWith(Number.class, is(numberCloseTo(30))));
+        assertThat(engine2.eval(new StringReader("numberVal * 10")),
+                instanceOfWith(Number.class, is(numberCloseTo(30))));
+        assertThat(factory.getScriptCache().size(), is(1));
+
+        assertThat(engine1.eval("numberVal * 20"), instanceOfWith(Number.class, is(numberCloseTo(40))));
+        assertThat(factory.getScriptCache().size(), is(2));
+    }
+
+    @Test
+    public void scriptCacheKeyedBySourceName() throws ScriptException {
+        ScriptEngineFactoryImpl factory = new ScriptEngineFactoryImpl();
+        ScriptEngine engine = factory.getScriptEngine();
+
+        engine.eval("1 + 1");
+        engine.put(ScriptEngine.FILENAME, "file.js");
+        engine.eval("1 + 1");
+        assertThat(factory.getScriptCache().size(), is(2));
+    }
+
+    @Test
+    public void scriptCacheEviction() throws ScriptException {
+        ScriptEngineFactoryImpl factory = new ScriptEngineFactoryImpl(2, 0, 1, TimeUnit.MINUTES);
+        ScriptEngine engine = factory.getScriptEngine();
+
+        for (int i = 0; i < 5; ++i) {
+            assertThat(engine.eval("1 + " + i), instanceOfWith(Number.class, is(numberCloseTo(1 + i))));
+        }
+        assertThat(factory.getScriptCache().size(), is(2));
+    }
+
+    @Test
+    public void scriptCacheDisabled() throws ScriptException {
+        ScriptEngineFactoryImpl factory = new ScriptEngineFactoryImpl(0, 0, 1, TimeUnit.MINUTES);
+        ScriptEngine engine = factory.getScriptEngine();
+
+        assertThat(engine.eval("1 + 1"), instanceOfWith(Number.class, is(numberCloseTo(2))));
+        assertThat(factory.getScriptCache().size(), is(0));
+    }
+
+    @Test(expected = ScriptException.class)
+    public void syntaxErrorNotCached() throws ScriptException {
+        ScriptEngineFactoryImpl factory = new ScriptEngineFactoryImpl();
+        ScriptEngine engine = factory.getScriptEngine();
+
+        try {
+            engine.eval("(");
+        } finally {
+            assertThat(factory.getScriptCache().size(), is(0));
+        }
+    }
+
+    @Test
+    public void pooledRealmsAreIsolated() throws ScriptException {
+        ScriptEngineFactoryImpl factory = new ScriptEngineFactoryImpl(16, 2, 1, TimeUnit.MINUTES);
+        ScriptEngine engine = factory.getScriptEngine();
+        ScriptContext context = new SimpleScriptContext();
+
+        assertThat(engine.eval("Object.prototype.value = 'Deneb'; value", context),
+                instanceOfWith(String.class, is("Deneb")));
+        assertThat(engine.eval("typeof value", context), instanceOfWith(String.class, is("undefined")));
+        assertThat(engine.eval("typeof value", new SimpleBindings()), instanceOfWith(String.class, is("undefined")));
+        assertThat(engine.eval("typeof value"), instanceOfWith(String.class, is("undefined")));
+        assertThat(engine.eval("Object", new SimpleBindings()),
+                not(sameInstance(engine.eval("Object", new SimpleBindings()))));
+    }
+
+    @Test
+    public void realmPoolFillAndCheckout() {
+        AtomicInteger created = new AtomicInteger();
+        RealmPool pool = new RealmPool(() -> {
+            created.incrementAndGet();
+            return null;
+        }, 3, TimeUnit.MINUTES.toNanos(1));
+
+        pool.fill();
+        assertThat(pool.size(), is(3));
+        assertThat(created.get(), is(3));
+
+        pool.checkout();
+        pool.checkout();
+        assertThat(pool.size(), is(1));
+        assertThat(created.get(), is(3));
+
+        pool.checkout();
+        pool.checkout();
+        assertThat(pool.size(), is(0));
+        assertThat(created.get(), is(4));
+
+        pool.fill();
+        assertThat(pool.size(), is(3));
+        assertThat(created.get(), is(7));
+    }
+
+    @Test
+    public void realmPoolRefilledAfterEvaluation() throws ScriptException {
+        ScriptEngineFactoryImpl factory = new ScriptEngineFactoryImpl(16, 2, 1, TimeUnit.MINUTES);
+        ScriptEngineImpl engine = (ScriptEngineImpl) factory.getScriptEngine();
+        RealmPool pool = engine.getRealmPool();
+        assertThat(pool.size(), is(2));
+
+        // Check out more realms than the pool holds.
+        for (int i = 0; i < 5; ++i) {
+            assertThat(engine.eval("typeof value", new SimpleBindings()),
+                    instanceOfWith(String.class, is("undefined")));
+            assertThat(pool.size(), is(2));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void realmPoolFillErrorPropagated() {
+        RealmPool pool = new RealmPool(() -> {
+            throw new IllegalStateException();
+        }, 1, TimeUnit.MINUTES.toNanos(1));
+
+        pool.fill();
+    }
+
+    @Test
+    public void realmPoolEvictsIdleRealms() throws InterruptedException {
+        AtomicInteger created = new AtomicInteger();
+        RealmPool pool = new RealmPool(() -> {
+            created.incrementAndGet();
+            return null;
+        }, 2, TimeUnit.MILLISECONDS.toNanos(1));
+
+        pool.fill();
+        assertThat(pool.size(), is(2));
+        Thread.sleep(10);
+
+        pool.checkout();
+        assertThat(pool.size(), is(0));
+        assertThat(created.get(), is(3));
+    }
+}
@@ -15,6 +15,6 @@ import org.junit.runners.Suite.SuiteClasses;
  */
 @RunWith(Suite.class)
 @SuiteClasses({ ScriptEngineFactoryTest.class, ScriptEngineTest.class, ScriptEngineScopeTest.class,
-        TypeConversionTest.class, InvocableTest.class, CompilableTest.class })
+        TypeConversionTest.class, InvocableTest.class, CompilableTest.class, ScriptEngineCacheTest.class })
 public final class ScriptingTestSuite {
 }
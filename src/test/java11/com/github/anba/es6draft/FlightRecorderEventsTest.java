@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+package com.github.anba.es6draft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.github.anba.es6draft.runtime.Realm;
+import com.github.anba.es6draft.runtime.World;
+import com.github.anba.es6draft.runtime.internal.RuntimeContext;
+import com.github.anba.es6draft.runtime.internal.RuntimeEvents;
+import com.github.anba.es6draft.runtime.internal.ScriptLoading;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Tests for the flight recorder events emitted through {@link RuntimeEvents}.
+ */
+public final class FlightRecorderEventsTest {
+    private static final String[] EVENTS = { "es6draft.Parse", "es6draft.Compile", "es6draft.DefineClasses",
+            "es6draft.Job", "es6draft.EventLoop", "es6draft.RealmInitialization", "es6draft.RegExpParse",
+            "es6draft.CallSiteLink" };
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void supported() {
+        assertTrue(RuntimeEvents.isSupported());
+    }
+
+    @Test
+    public void disabledWithoutRecording() {
+        for (RuntimeEvents.Type type : RuntimeEvents.Type.values()) {
+            assertNull(type.name(), RuntimeEvents.begin(type));
+        }
+    }
+
+    @Test
+    public void recordedEvents() throws Exception {
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            for (String name : EVENTS) {
+                recording.enable(name).withThreshold(Duration.ZERO).withoutStackTrace();
+            }
+            recording.start();
+
+            World world = new World(new RuntimeContext.Builder().build());
+            Realm realm = Realm.InitializeHostDefinedRealm(world);
+            ScriptLoading.eval(realm, "test.js", "function f(a, b) { return a + b; }"
+                    + "var r = /a+b/.test('xaab') && f(1, 2) === 3 && f('a', 'b') === 'ab';"
+                    + "Promise.resolve().then(() => { r = r && new Function('return 1')() === 1; });");
+            world.runEventLoop();
+            assertEquals(true, realm.getGlobalObject().get(realm.defaultContext(), "r", realm.getGlobalObject()));
+
+            recording.stop();
+            Path file = folder.getRoot().toPath().resolve("events.jfr");
+            recording.dump(file);
+            events = RecordingFile.readAllEvents(file);
+        }
+
+        for (String name : EVENTS) {
+            assertFalse(name, byName(events, name).isEmpty());
+        }
+
+        RecordedEvent parse = byName(events, "es6draft.Parse").stream()
+                .filter(e -> "test.js".equals(e.getString("sourceName"))).findFirst().get();
+        assertEquals("script", parse.getString("kind"));
+        assertTrue(parse.getLong("sourceSize") > 0);
+
+        assertTrue(byName(events, "es6draft.Compile").stream().anyMatch(e -> "function".equals(e.getString("kind"))));
+        assertTrue(byName(events, "es6draft.Job").stream().anyMatch(e -> "promise".equals(e.getString("kind"))));
+        assertTrue(byName(events, "es6draft.RegExpParse").stream().anyMatch(e -> "a+b".equals(e.getString("pattern"))));
+        assertTrue(byName(events, "es6draft.CallSiteLink").stream().anyMatch(e -> e.getBoolean("fallback")));
+    }
+
+    private static List<RecordedEvent> byName(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).collect(Collectors.toList());
+    }
+}
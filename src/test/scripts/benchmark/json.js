@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+
+// Serializes and parses a document of nested records, with and without replacer and reviver functions.
+// Exercises JSON.stringify, JSON.parse, string escaping and object literal creation.
+
+var RECORDS = 400;
+
+function createDocument(count) {
+  var records = [];
+  for (var i = 0; i < count; ++i) {
+    records.push({
+      id: i,
+      name: "record \"" + i + "\"",
+      active: (i % 3) !== 0,
+      score: i * 1.25,
+      tags: ["alpha", "beta", "gamma\n" + (i % 7)],
+      location: { lat: 48.137 + i / 1000, lng: 11.575 - i / 1000, label: "München ☃" },
+      parent: i > 0 ? i - 1 : null,
+    });
+  }
+  return { version: 2, generated: "2018-01-01T00:00:00.000Z", records: records };
+}
+
+var documentObject = createDocument(RECORDS);
+
+function run() {
+  var text = JSON.stringify(documentObject);
+  var parsed = JSON.parse(text);
+  if (parsed.records.length !== RECORDS || parsed.records[RECORDS - 1].tags[2] !== "gamma\n" + ((RECORDS - 1) % 7)) {
+    throw new Error("JSON: round-trip failed");
+  }
+
+  var pretty = JSON.stringify(parsed, ["version", "records", "id", "name", "location", "label"], 2);
+  var scoreSum = 0;
+  var revived = JSON.parse(text, function(key, value) {
+    if (key === "score") {
+      scoreSum += value;
+      return undefined;
+    }
+    return value;
+  });
+  if ("score" in revived.records[0] || scoreSum !== 1.25 * RECORDS * (RECORDS - 1) / 2) {
+    throw new Error("JSON: reviver failed");
+  }
+
+  var filtered = JSON.parse(pretty);
+  if (filtered.records[1].id !== 1 || "active" in filtered.records[1] || filtered.records[1].location.lat !== undefined) {
+    throw new Error("JSON: replacer failed");
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+
+// 2D fluid dynamics solver after Jos Stam's "Real-Time Fluid Dynamics for Games": diffusion, advection and
+// projection steps over a square grid. Exercises typed array loads and stores in tight numeric loops.
+
+var SIZE = 32;
+var STEPS = 4;
+var SOLVER_ITERATIONS = 20;
+var EXPECTED_CHECKSUM = 258415085;
+
+function FluidField(size) {
+  var rowSize = size + 2;
+  var cells = rowSize * rowSize;
+  var dt = 0.1;
+  var diffusion = 0.0001;
+  var viscosity = 0;
+
+  var dens = new Float64Array(cells), densPrev = new Float64Array(cells);
+  var u = new Float64Array(cells), uPrev = new Float64Array(cells);
+  var v = new Float64Array(cells), vPrev = new Float64Array(cells);
+
+  function ix(i, j) {
+    return i + rowSize * j;
+  }
+
+  function addSource(x, s) {
+    for (var i = 0; i < cells; i++) {
+      x[i] += dt * s[i];
+    }
+  }
+
+  function setBoundary(b, x) {
+    for (var i = 1; i <= size; i++) {
+      x[ix(0, i)] = b === 1 ? -x[ix(1, i)] : x[ix(1, i)];
+      x[ix(size + 1, i)] = b === 1 ? -x[ix(size, i)] : x[ix(size, i)];
+      x[ix(i, 0)] = b === 2 ? -x[ix(i, 1)] : x[ix(i, 1)];
+      x[ix(i, size + 1)] = b === 2 ? -x[ix(i, size)] : x[ix(i, size)];
+    }
+    x[ix(0, 0)] = 0.5 * (x[ix(1, 0)] + x[ix(0, 1)]);
+    x[ix(0, size + 1)] = 0.5 * (x[ix(1, size + 1)] + x[ix(0, size)]);
+    x[ix(size + 1, 0)] = 0.5 * (x[ix(size, 0)] + x[ix(size + 1, 1)]);
+    x[ix(size + 1, size + 1)] = 0.5 * (x[ix(size, size + 1)] + x[ix(size + 1, size)]);
+  }
+
+  function linearSolve(b, x, x0, a, c) {
+    var invC = 1 / c;
+    for (var k = 0; k < SOLVER_ITERATIONS; k++) {
+      for (var j = 1; j <= size; j++) {
+        var row = j * rowSize;
+        for (var i = 1; i <= size; i++) {
+          var index = row + i;
+          x[index] = (x0[index] + a * (x[index - 1] + x[index + 1] + x[index - rowSize] + x[index + rowSize])) * invC;
+        }
+      }
+      setBoundary(b, x);
+    }
+  }
+
+  function diffuse(b, x, x0, diff) {
+    var a = dt * diff * size * size;
+    linearSolve(b, x, x0, a, 1 + 4 * a);
+  }
+
+  function advect(b, d, d0, velX, velY) {
+    var dt0 = dt * size;
+    for (var j = 1; j <= size; j++) {
+      for (var i = 1; i <= size; i++) {
+        var index = ix(i, j);
+        var x = i - dt0 * velX[index];
+        var y = j - dt0 * velY[index];
+        if (x < 0.5) x = 0.5;
+        if (x > size + 0.5) x = size + 0.5;
+        if (y < 0.5) y = 0.5;
+        if (y > size + 0.5) y = size + 0.5;
+        var i0 = x | 0, i1 = i0 + 1;
+        var j0 = y | 0, j1 = j0 + 1;
+        var s1 = x - i0, s0 = 1 - s1;
+        var t1 = y - j0, t0 = 1 - t1;
+        d[index] = s0 * (t0 * d0[ix(i0, j0)] + t1 * d0[ix(i0, j1)]) + s1 * (t0 * d0[ix(i1, j0)] + t1 * d0[ix(i1, j1)]);
+      }
+    }
+    setBoundary(b, d);
+  }
+
+  function project(velX, velY, p, div) {
+    var h = -0.5 / size;
+    for (var j = 1; j <= size; j++) {
+      for (var i = 1; i <= size; i++) {
+        var index = ix(i, j);
+        div[index] = h * (velX[index + 1] - velX[index - 1] + velY[index + rowSize] - velY[index - rowSize]);
+        p[index] = 0;
+      }
+    }
+    setBoundary(0, div);
+    setBoundary(0, p);
+    linearSolve(0, p, div, 1, 4);
+    var scale = 0.5 * size;
+    for (var j = 1; j <= size; j++) {
+      for (var i = 1; i <= size; i++) {
+        var index = ix(i, j);
+        velX[index] -= scale * (p[index + 1] - p[index - 1]);
+        velY[index] -= scale * (p[index + rowSize] - p[index - rowSize]);
+      }
+    }
+    setBoundary(1, velX);
+    setBoundary(2, velY);
+  }
+
+  function densityStep() {
+    addSource(dens, densPrev);
+    var t = densPrev; densPrev = dens; dens = t;
+    diffuse(0, dens, densPrev, diffusion);
+    t = densPrev; densPrev = dens; dens = t;
+    advect(0, dens, densPrev, u, v);
+  }
+
+  function velocityStep() {
+    addSource(u, uPrev);
+    addSource(v, vPrev);
+    var t = uPrev; uPrev = u; u = t;
+    diffuse(1, u, uPrev, viscosity);
+    t = vPrev; vPrev = v; v = t;
+    diffuse(2, v, vPrev, viscosity);
+    project(u, v, uPrev, vPrev);
+    t = uPrev; uPrev = u; u = t;
+    t = vPrev; vPrev = v; v = t;
+    advect(1, u, uPrev, uPrev, vPrev);
+    advect(2, v, vPrev, uPrev, vPrev);
+    project(u, v, uPrev, vPrev);
+  }
+
+  function addForces(step) {
+    densPrev.fill(0);
+    uPrev.fill(0);
+    vPrev.fill(0);
+    var center = (size / 2) | 0;
+    for (var k = -2; k <= 2; k++) {
+      densPrev[ix(center + k, center)] = 50;
+      uPrev[ix(center + k, center)] = step % 2 === 0 ? 30 : -30;
+      vPrev[ix(center, center + k)] = 40;
+    }
+  }
+
+  this.step = function(step) {
+    addForces(step);
+    velocityStep();
+    densityStep();
+  };
+
+  this.checksum = function() {
+    var checksum = 0;
+    for (var i = 0; i < cells; i++) {
+      checksum = (checksum * 31 + Math.round(dens[i] * 1e4)) % 0x7fffffff;
+    }
+    return checksum;
+  };
+}
+
+function run() {
+  var field = new FluidField(SIZE);
+  for (var step = 0; step < STEPS; step++) {
+    field.step(step);
+  }
+  var checksum = field.checksum();
+  if (checksum !== EXPECTED_CHECKSUM) {
+    throw new Error("NavierStokes: checksum = " + checksum);
+  }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+
+// Simulates a request pipeline built from async functions, promise chains and combinators.
+// run() returns a promise, the benchmark runner drains the job queue before the iteration is complete.
+// Exercises promise reaction jobs, async function suspension and resumption.
+
+var REQUESTS = 200;
+var STAGES = 5;
+
+function delayValue(value) {
+  return Promise.resolve(value);
+}
+
+async function stage(request, index) {
+  var value = await delayValue(request.value);
+  if (index % 2 === 0) {
+    value = await new Promise(resolve => resolve(value + index));
+  } else {
+    value = await delayValue(value).then(v => v * 2).then(v => v - index);
+  }
+  return value;
+}
+
+async function handle(request) {
+  for (var i = 0; i < STAGES; ++i) {
+    request.value = await stage(request, i);
+  }
+  try {
+    if (request.id % 10 === 0) {
+      await Promise.reject(new Error("request " + request.id));
+    }
+  } catch (e) {
+    request.failed = true;
+  }
+  return request;
+}
+
+function expectedValue(value) {
+  for (var i = 0; i < STAGES; ++i) {
+    value = i % 2 === 0 ? value + i : value * 2 - i;
+  }
+  return value;
+}
+
+function run() {
+  var requests = [];
+  for (var i = 0; i < REQUESTS; ++i) {
+    requests.push({ id: i, value: i, failed: false });
+  }
+  var first = Promise.race(requests.map(r => delayValue(r.id)));
+  return Promise.all(requests.map(handle)).then(results => {
+    var failed = results.filter(r => r.failed).length;
+    if (failed !== REQUESTS / 10) {
+      throw new Error("Promise: failed = " + failed);
+    }
+    for (var r of results) {
+      if (r.value !== expectedValue(r.id)) {
+        throw new Error("Promise: value = " + r.value + " for request " + r.id);
+      }
+    }
+    return first;
+  }).then(id => {
+    if (id !== 0) {
+      throw new Error("Promise: race = " + id);
+    }
+  });
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+
+// Ray tracer rendering a small scene of spheres above a checkerboard plane, with point lights, shadows and
+// reflections. Exercises floating-point arithmetic, short-lived object allocation and method calls on small classes.
+
+var WIDTH = 32;
+var HEIGHT = 32;
+var MAX_DEPTH = 3;
+var EXPECTED_CHECKSUM = 585906413;
+
+class Vector {
+  constructor(x, y, z) {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+  }
+
+  add(v) {
+    return new Vector(this.x + v.x, this.y + v.y, this.z + v.z);
+  }
+
+  subtract(v) {
+    return new Vector(this.x - v.x, this.y - v.y, this.z - v.z);
+  }
+
+  scale(s) {
+    return new Vector(this.x * s, this.y * s, this.z * s);
+  }
+
+  dot(v) {
+    return this.x * v.x + this.y * v.y + this.z * v.z;
+  }
+
+  cross(v) {
+    return new Vector(this.y * v.z - this.z * v.y, this.z * v.x - this.x * v.z, this.x * v.y - this.y * v.x);
+  }
+
+  magnitude() {
+    return Math.sqrt(this.dot(this));
+  }
+
+  normalize() {
+    return this.scale(1 / this.magnitude());
+  }
+}
+
+class Color {
+  constructor(r, g, b) {
+    this.r = r;
+    this.g = g;
+    this.b = b;
+  }
+
+  add(c) {
+    return new Color(this.r + c.r, this.g + c.g, this.b + c.b);
+  }
+
+  multiply(c) {
+    return new Color(this.r * c.r, this.g * c.g, this.b * c.b);
+  }
+
+  scale(s) {
+    return new Color(this.r * s, this.g * s, this.b * s);
+  }
+
+  toRGB() {
+    let clamp = v => Math.floor(Math.min(Math.max(v, 0), 1) * 255);
+    return (clamp(this.r) << 16) | (clamp(this.g) << 8) | clamp(this.b);
+  }
+}
+
+Color.BLACK = new Color(0, 0, 0);
+Color.BACKGROUND = new Color(0.1, 0.1, 0.2);
+
+class Ray {
+  constructor(origin, direction) {
+    this.origin = origin;
+    this.direction = direction;
+  }
+}
+
+class Intersection {
+  constructor(shape, ray, distance) {
+    this.shape = shape;
+    this.ray = ray;
+    this.distance = distance;
+  }
+}
+
+class Material {
+  constructor(color, reflection, specular) {
+    this.color = color;
+    this.reflection = reflection;
+    this.specular = specular;
+  }
+
+  colorAt(position) {
+    return this.color;
+  }
+}
+
+class Checkerboard extends Material {
+  constructor(even, odd, reflection) {
+    super(even, reflection, 0);
+    this.odd = odd;
+  }
+
+  colorAt(position) {
+    let t = Math.floor(position.x) + Math.floor(position.z);
+    return (t & 1) === 0 ? this.color : this.odd;
+  }
+}
+
+class Sphere {
+  constructor(center, radius, material) {
+    this.center = center;
+    this.radius2 = radius * radius;
+    this.material = material;
+  }
+
+  intersect(ray) {
+    let eo = this.center.subtract(ray.origin);
+    let v = eo.dot(ray.direction);
+    if (v < 0) {
+      return null;
+    }
+    let disc = this.radius2 - (eo.dot(eo) - v * v);
+    if (disc < 0) {
+      return null;
+    }
+    return new Intersection(this, ray, v - Math.sqrt(disc));
+  }
+
+  normal(position) {
+    return position.subtract(this.center).normalize();
+  }
+}
+
+class Plane {
+  constructor(normal, offset, material) {
+    this.norm = normal;
+    this.offset = offset;
+    this.material = material;
+  }
+
+  intersect(ray) {
+    let denom = this.norm.dot(ray.direction);
+    if (denom >= 0) {
+      return null;
+    }
+    let distance = (this.norm.dot(ray.origin) + this.offset) / -denom;
+    return new Intersection(this, ray, distance);
+  }
+
+  normal(position) {
+    return this.norm;
+  }
+}
+
+class Light {
+  constructor(position, color) {
+    this.position = position;
+    this.color = color;
+  }
+}
+
+class Camera {
+  constructor(position, lookAt) {
+    let down = new Vector(0, -1, 0);
+    this.position = position;
+    this.forward = lookAt.subtract(position).normalize();
+    this.right = this.forward.cross(down).normalize().scale(1.5);
+    this.up = this.forward.cross(this.right).normalize().scale(1.5);
+  }
+
+  rayFor(x, y) {
+    let recenterX = (x - WIDTH / 2) / 2 / WIDTH;
+    let recenterY = -(y - HEIGHT / 2) / 2 / HEIGHT;
+    let direction = this.forward.add(this.right.scale(recenterX).add(this.up.scale(recenterY))).normalize();
+    return new Ray(this.position, direction);
+  }
+}
+
+class Scene {
+  constructor() {
+    this.shapes = [
+      new Plane(new Vector(0, 1, 0), 0,
+        new Checkerboard(new Color(0.9, 0.9, 0.9), new Color(0.1, 0.1, 0.1), 0.3)),
+      new Sphere(new Vector(0, 1, -0.25), 1, new Material(new Color(0.8, 0.2, 0.2), 0.4, 0.6)),
+      new Sphere(new Vector(-1.8, 0.6, 1.5), 0.6, new Material(new Color(0.2, 0.8, 0.3), 0.2, 0.3)),
+      new Sphere(new Vector(1.6, 0.5, 1.2), 0.5, new Material(new Color(0.3, 0.3, 0.9), 0.6, 0.9)),
+    ];
+    this.lights = [
+      new Light(new Vector(-2, 2.5, 0), new Color(0.49, 0.07, 0.07)),
+      new Light(new Vector(1.5, 2.5, 1.5), new Color(0.07, 0.07, 0.49)),
+      new Light(new Vector(1.5, 2.5, -1.5), new Color(0.07, 0.49, 0.071)),
+      new Light(new Vector(0, 3.5, 0), new Color(0.21, 0.21, 0.35)),
+    ];
+    this.camera = new Camera(new Vector(3, 2, 4), new Vector(-1, 0.5, 0));
+  }
+
+  closestIntersection(ray) {
+    let closest = null;
+    for (let shape of this.shapes) {
+      let isect = shape.intersect(ray);
+      if (isect !== null && isect.distance > 1e-6 && (closest === null || isect.distance < closest.distance)) {
+        closest = isect;
+      }
+    }
+    return closest;
+  }
+
+  traceRay(ray, depth) {
+    let isect = this.closestIntersection(ray);
+    if (isect === null) {
+      return Color.BACKGROUND;
+    }
+    return this.shade(isect, depth);
+  }
+
+  shade(isect, depth) {
+    let d = isect.ray.direction;
+    let position = isect.ray.origin.add(d.scale(isect.distance));
+    let normal = isect.shape.normal(position);
+    let reflectDir = d.subtract(normal.scale(2 * normal.dot(d)));
+    let material = isect.shape.material;
+    let color = this.lighting(material, position, normal, reflectDir);
+    if (depth < MAX_DEPTH && material.reflection > 0) {
+      let origin = position.add(reflectDir.scale(1e-4));
+      let reflected = this.traceRay(new Ray(origin, reflectDir), depth + 1);
+      color = color.add(reflected.scale(material.reflection));
+    }
+    return color;
+  }
+
+  lighting(material, position, normal, reflectDir) {
+    let baseColor = material.colorAt(position);
+    let color = Color.BLACK;
+    for (let light of this.lights) {
+      let toLight = light.position.subtract(position);
+      let distance = toLight.magnitude();
+      let direction = toLight.scale(1 / distance);
+      let shadow = this.closestIntersection(new Ray(position.add(direction.scale(1e-4)), direction));
+      if (shadow !== null && shadow.distance < distance) {
+        continue;
+      }
+      let illumination = normal.dot(direction);
+      if (illumination > 0) {
+        color = color.add(light.color.multiply(baseColor).scale(illumination));
+      }
+      let specular = direction.dot(reflectDir.normalize());
+      if (specular > 0 && material.specular > 0) {
+        // Avoid Math.pow to keep the checksum independent of the platform's pow() implementation.
+        let s2 = specular * specular, s4 = s2 * s2;
+        color = color.add(light.color.scale(s4 * s4 * material.specular));
+      }
+    }
+    return color;
+  }
+
+  render() {
+    let checksum = 0;
+    for (let y = 0; y < HEIGHT; ++y) {
+      for (let x = 0; x < WIDTH; ++x) {
+        let rgb = this.traceRay(this.camera.rayFor(x, y), 0).toRGB();
+        checksum = (checksum * 31 + rgb) % 0x7fffffff;
+      }
+    }
+    return checksum;
+  }
+}
+
+function run() {
+  let checksum = new Scene().render();
+  if (checksum !== EXPECTED_CHECKSUM) {
+    throw new Error(`RayTrace: checksum = ${checksum}`);
+  }
+}
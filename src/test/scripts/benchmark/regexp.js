@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+
+// Parses and rewrites a synthetic web server log with a mix of global, sticky, case-insensitive and
+// backtracking-heavy regular expressions. Exercises RegExp.prototype.exec, String.prototype.replace/split/match.
+
+var LINES = 300;
+
+function createLog(count) {
+  var methods = ["GET", "POST", "PUT", "DELETE"];
+  var agents = ["Mozilla/5.0 (X11; Linux x86_64)", "curl/7.58.0", "Googlebot/2.1 (+http://www.google.com/bot.html)"];
+  var lines = [];
+  for (var i = 0; i < count; ++i) {
+    var ip = "10." + (i % 256) + "." + ((i * 7) % 256) + "." + ((i * 13) % 256);
+    var path = "/api/v" + (i % 3) + "/items/" + i + (i % 5 === 0 ? "?q=search+term&page=" + (i % 10) : "");
+    var status = [200, 201, 304, 404, 500][i % 5];
+    lines.push(ip + " - - [18/Oct/2018:13:" + String(i % 60).padStart(2, "0") + ":07 +0200] \"" +
+      methods[i % methods.length] + " " + path + " HTTP/1.1\" " + status + " " + (i * 37 % 10000) + " \"" +
+      agents[i % agents.length] + "\" user=" + (i % 4 === 0 ? "admin@example.com" : "-"));
+  }
+  return lines.join("\n");
+}
+
+var log = createLog(LINES);
+
+var lineRe = /^(\d{1,3}(?:\.\d{1,3}){3}) \S+ \S+ \[([^\]]+)\] "([A-Z]+) ([^ "]+) HTTP\/[\d.]+" (\d{3}) (\d+) "([^"]*)"(.*)$/gm;
+var queryRe = /[?&]([^=&#]+)=([^&#]*)/g;
+var emailRe = /\b[\w.+-]+@(?:[\w-]+\.)+[a-z]{2,}\b/gi;
+var botRe = /bot|crawler|spider/i;
+var tokenRe = /\s*(?:(\d+)|([A-Za-z_]\w*)|(\S))/y;
+
+function run() {
+  var requests = 0, errors = 0, bytes = 0, bots = 0, params = 0;
+  var m;
+  lineRe.lastIndex = 0;
+  while ((m = lineRe.exec(log)) !== null) {
+    requests++;
+    if (m[5] >= 500) errors++;
+    bytes += +m[6];
+    if (botRe.test(m[7])) bots++;
+    var q;
+    queryRe.lastIndex = 0;
+    while ((q = queryRe.exec(m[4])) !== null) {
+      params += decodeURIComponent(q[2].replace(/\+/g, " ")).split(" ").length;
+    }
+  }
+
+  var masked = log.replace(emailRe, function(email) {
+    return email.charAt(0) + "***@" + email.slice(email.indexOf("@") + 1);
+  });
+  var maskedCount = (masked.match(/\*\*\*@/g) || []).length;
+
+  var dates = log.replace(/\[(\d{2})\/(\w{3})\/(\d{4}):(\d{2}:\d{2}:\d{2}) ([+-]\d{4})\]/g, "[$3-$2-$1T$4$5]");
+  var words = dates.split(/[\s\/\[\]"?&=]+/).length;
+
+  var tokens = 0;
+  var source = "count = items[12] + total * 3 - offset(7, name) ;";
+  for (var k = 0; k < 20; ++k) {
+    tokenRe.lastIndex = 0;
+    while (tokenRe.lastIndex < source.length && tokenRe.exec(source) !== null) {
+      tokens++;
+    }
+  }
+
+  if (requests !== LINES || errors !== LINES / 5 || bots !== LINES / 3 || params !== 3 * LINES / 5 ||
+      maskedCount !== LINES / 4 || words < LINES * 10 || tokens !== 18 * 20 || bytes <= 0) {
+    throw new Error("RegExp: " + [requests, errors, bots, params, maskedCount, words, tokens].join(", "));
+  }
+}
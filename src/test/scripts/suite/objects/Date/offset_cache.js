@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+const {
+  assertSame,
+} = Assert;
+
+// Repeated date operations near time zone transitions return consistent results.
+
+const msPerHour = 60 * 60 * 1000;
+
+setTimeZone("America/Los_Angeles");
+
+// 2018-03-11T10:00:00Z is the start of daylight savings time.
+for (let t = Date.UTC(2018, 2, 11, 6); t < Date.UTC(2018, 2, 11, 14); t += msPerHour / 2) {
+  let d = new Date(t);
+  let offset = t < Date.UTC(2018, 2, 11, 10) ? 8 * 60 : 7 * 60;
+  assertSame(offset, d.getTimezoneOffset());
+  assertSame(t, new Date(d.getFullYear(), d.getMonth(), d.getDate(), d.getHours(), d.getMinutes()).getTime());
+}
+
+// 2018-11-04T09:00:00Z is the end of daylight savings time.
+for (let t = Date.UTC(2018, 10, 4, 6); t < Date.UTC(2018, 10, 4, 12); t += msPerHour / 2) {
+  let d = new Date(t);
+  let offset = t < Date.UTC(2018, 10, 4, 9) ? 7 * 60 : 8 * 60;
+  assertSame(offset, d.getTimezoneOffset());
+}
+
+// Local times in the skipped hour are moved forward.
+assertSame(Date.UTC(2018, 2, 11, 10, 30), new Date(2018, 2, 11, 2, 30).getTime());
+
+// Changing the time zone invalidates cached offsets.
+{
+  let d = new Date(Date.UTC(2018, 0, 1));
+  assertSame(8 * 60, d.getTimezoneOffset());
+  setTimeZone("Europe/London");
+  assertSame(0, d.getTimezoneOffset());
+  setTimeZone("America/Los_Angeles");
+  assertSame(8 * 60, d.getTimezoneOffset());
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+const {
+  assertSame,
+} = Assert;
+
+// Cached ICU services must not leak options between different formatter objects.
+
+assertSame(0, "a".localeCompare("A", "en", {sensitivity: "base"}));
+assertSame(-1, "a".localeCompare("A", "en", {sensitivity: "variant"}));
+assertSame(0, "a".localeCompare("A", "en", {sensitivity: "base"}));
+assertSame(-1, "a".localeCompare("A"));
+assertSame(-1, "a".localeCompare("A"));
+assertSame(1, "2".localeCompare("10"));
+assertSame(1, "2".localeCompare("10", "en", {numeric: false}));
+assertSame(-1, "2".localeCompare("10", "en", {numeric: true}));
+
+assertSame("1,234.5", (1234.5).toLocaleString("en"));
+assertSame("1234.5", (1234.5).toLocaleString("en", {useGrouping: false}));
+assertSame("1,234.5", (1234.5).toLocaleString("en"));
+assertSame("1,234.500", (1234.5).toLocaleString("en", {minimumFractionDigits: 3}));
+assertSame((1234.5).toLocaleString(), (1234.5).toLocaleString());
+
+var date = new Date(2000, 0, 1, 12, 30);
+assertSame("1/1/2000", date.toLocaleDateString("en-US"));
+assertSame("12:30:00 PM", date.toLocaleTimeString("en-US"));
+assertSame("1/1/2000, 12:30:00 PM", date.toLocaleString("en-US"));
+assertSame("1/1/2000", date.toLocaleDateString("en-US"));
+assertSame(date.toLocaleString(), date.toLocaleString());
+assertSame(date.toLocaleDateString(), date.toLocaleDateString());
+assertSame(date.toLocaleTimeString(), date.toLocaleTimeString());
+assertSame("January", date.toLocaleDateString("en-US", {month: "long"}));
+assertSame("1/1/2000", date.toLocaleDateString("en-US"));
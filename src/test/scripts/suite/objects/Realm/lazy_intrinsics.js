@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+const {
+  assertSame, assertNotSame, assertEquals, assertTrue, assertFalse, assertDataProperty
+} = Assert;
+
+// Lazily created intrinsics are indistinguishable from eagerly created intrinsics.
+
+// Property attributes and key order are not affected.
+{
+  let realm = new Reflect.Realm();
+  let keys = Object.getOwnPropertyNames(realm.global);
+  assertTrue(keys.indexOf("Int8Array") !== -1);
+  assertTrue(keys.indexOf("Intl") !== -1);
+  assertTrue(keys.indexOf("Atomics") !== -1);
+
+  let desc = Object.getOwnPropertyDescriptor(realm.global, "Intl");
+  assertDataProperty(realm.global, "Intl", {value: desc.value, writable: true, enumerable: false, configurable: true});
+  assertSame("object", typeof desc.value);
+  assertSame(realm.global.Object.prototype, Object.getPrototypeOf(desc.value));
+  assertEquals(keys, Object.getOwnPropertyNames(realm.global));
+}
+
+// Internal access and global property access return the same object.
+{
+  let realm = new Reflect.Realm();
+  let ta = realm.eval("new Int8Array(4)");
+  assertSame(realm.global.Int8Array.prototype, Object.getPrototypeOf(ta));
+  assertSame(realm.global.Int8Array, ta.constructor);
+  assertSame(realm.eval("Object.getPrototypeOf(Int8Array)"), realm.intrinsics.TypedArray);
+}
+{
+  let realm = new Reflect.Realm();
+  assertSame(-1, realm.eval(`"a".localeCompare("b")`));
+  assertSame(realm.global.Intl.Collator, realm.intrinsics.Intl_Collator);
+}
+
+// Overwriting or deleting the global property before first access.
+{
+  let realm = new Reflect.Realm();
+  realm.eval("Intl = 0");
+  assertSame(0, realm.global.Intl);
+  assertSame("object", typeof realm.intrinsics.Intl);
+
+  realm.eval("delete Float64Array");
+  assertFalse("Float64Array" in realm.global);
+  assertSame("function", typeof realm.intrinsics.Float64Array);
+}
+{
+  let realm = new Reflect.Realm();
+  Object.defineProperty(realm.global, "Atomics", {value: 1, writable: false});
+  assertDataProperty(realm.global, "Atomics", {value: 1, writable: false, enumerable: false, configurable: true});
+}
+
+// Intrinsics are not shared between realms.
+{
+  let r1 = new Reflect.Realm(), r2 = new Reflect.Realm();
+  assertNotSame(r1.global.Uint8Array, r2.global.Uint8Array);
+  assertNotSame(r1.global.Intl, r2.global.Intl);
+  assertSame(r1.global.Uint8Array, r1.global.Uint8Array);
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) André Bargull
+ * Alle Rechte vorbehalten / All Rights Reserved.  Use is subject to license terms.
+ *
+ * <https://github.com/anba/es6draft>
+ */
+const {
+  assertSame, assertThrows
+} = Assert;
+
+function assertElements(expected, actual) {
+  assertSame(expected.length, actual.length);
+  for (let i = 0; i < expected.length; ++i) {
+    assertSame(expected[i], actual[i], `index ${i}`);
+  }
+}
+
+const integerTypes = [Int8Array, Uint8Array, Uint8ClampedArray, Int16Array, Uint16Array, Int32Array, Uint32Array];
+const floatTypes = [Float32Array, Float64Array];
+
+// Numeric comparators.
+for (let TA of [...integerTypes, ...floatTypes]) {
+  let values = [5, 1, 100, 0, 7, 3, 100, 42, 2];
+  let ascending = [0, 1, 2, 3, 5, 7, 42, 100, 100];
+  let descending = [100, 100, 42, 7, 5, 3, 2, 1, 0];
+
+  assertElements(ascending, new TA(values).sort((a, b) => a - b));
+  assertElements(ascending, new TA(values).sort((x, y) => { return x - y; }));
+  assertElements(ascending, new TA(values).sort(function(a, b) { return a - b; }));
+  assertElements(ascending, new TA(values).sort(function cmp(a, b) { return a - b }));
+  assertElements(descending, new TA(values).sort((a, b) => b - a));
+  assertElements(descending, new TA(values).sort(function(a, b) { return b - a; }));
+}
+
+// Numeric comparators keep the relative order of +0 and -0.
+for (let TA of floatTypes) {
+  assertElements([-1, 0, -0, 0, -0, 1], new TA([0, 1, -0, -1, 0, -0]).sort((a, b) => a - b));
+  assertElements([1, -0, 0, -0, 0, -1], new TA([-0, 1, 0, -1, -0, 0]).sort((a, b) => b - a));
+  assertElements([-Infinity, -1.5, 0.25, Infinity], new TA([Infinity, 0.25, -Infinity, -1.5]).sort((a, b) => a - b));
+}
+
+// Comparators which only look like numeric comparators.
+for (let TA of [...integerTypes, ...floatTypes]) {
+  let values = [3, 1, 2];
+  assertElements([3, 1, 2], new TA(values).sort((a, a2) => 0));
+  assertElements([3, 1, 2], new TA(values).sort((a, b) => a - a));
+  assertElements([3, 2, 1], new TA(values).sort((a, b) => { return (
+    b - a); }));
+  assertElements([3, 1, 2], new TA(values).sort((a, b) => { return
+    a - b; }));
+  assertElements([1, 2, 3], new TA(values).sort((a, b) => a - b /* comment */));
+}
+
+// Comparator functions are called with two arguments.
+for (let TA of [...integerTypes, ...floatTypes]) {
+  let calls = 0;
+  new TA([3, 1, 2, 5, 4]).sort(function(a, b) {
+    calls++;
+    assertSame(2, arguments.length);
+    assertSame(a, arguments[0]);
+    assertSame(b, arguments[1]);
+    return a - b;
+  });
+  assertSame(true, calls > 0);
+
+  let args = [];
+  new TA([3, 1, 2]).sort(function() {
+    args.push(arguments);
+    return arguments[0] - arguments[1];
+  });
+  for (let a of args) {
+    assertSame(2, a.length);
+    assertSame("number", typeof a[0]);
+    assertSame("number", typeof a[1]);
+  }
+  assertSame(false, args.some((a, i) => args.indexOf(a) !== i));
+}
+
+// Stable sort with user comparators.
+for (let TA of [Int32Array, Float64Array]) {
+  let values = [];
+  for (let i = 0; i < 200; ++i) {
+    values.push((i * 7919) % 200);
+  }
+  let ta = new TA(values).sort((a, b) => (a % 10) - (b % 10));
+  let expected = values.slice().sort((a, b) => (a % 10) - (b % 10));
+  assertElements(expected, ta);
+}
+
+// Numeric comparators on BigInt typed arrays still throw.
+for (let TA of [BigInt64Array, BigUint64Array]) {
+  assertThrows(TypeError, () => new TA([3n, 1n, 2n]).sort((a, b) => a - b));
+  assertElements([1n, 2n, 3n], new TA([3n, 1n, 2n]).sort((a, b) => a < b ? -1 : a > b ? 1 : 0));
+}